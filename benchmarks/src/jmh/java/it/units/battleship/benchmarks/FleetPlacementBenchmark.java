@@ -0,0 +1,69 @@
+package it.units.battleship.benchmarks;
+
+import it.units.battleship.Coordinate;
+import it.units.battleship.Defaults;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.FleetPlacementGenerator;
+import it.units.battleship.model.Grid;
+import it.units.battleship.model.Ship;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random fleets per second on the standard board with the standard fleet.
+ * {@code legacyRandomRetry} is the placement loop {@code SimpleAIOpponent} used before the generator: random
+ * anchors checked against a {@link FleetManager}, up to {@link Defaults#MAX_ATTEMPTS} tries per ship.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FleetPlacementBenchmark {
+
+    FleetPlacementGenerator generator;
+    SplittableRandom random;
+    int[] placements;
+
+    @Setup
+    public void setup() {
+        generator = new FleetPlacementGenerator(Defaults.GRID_ROWS, Defaults.GRID_COLS, Defaults.FLEET_CONFIGURATION);
+        random = new SplittableRandom(42);
+        placements = new int[3 * generator.getShipCount()];
+    }
+
+    @Benchmark
+    public int[] generate() {
+        generator.generate(random, placements);
+        return placements;
+    }
+
+    @Benchmark
+    public List<Ship> generateFleet() {
+        return generator.generateFleet(random);
+    }
+
+    @Benchmark
+    public FleetManager legacyRandomRetry() {
+        Grid grid = new Grid(Defaults.GRID_ROWS, Defaults.GRID_COLS);
+        FleetManager fleetManager = new FleetManager(grid, Defaults.FLEET_CONFIGURATION);
+        for (Map.Entry<ShipType, Integer> entry : Defaults.FLEET_CONFIGURATION.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                boolean placed = false;
+                for (int attempts = 0; !placed && attempts < Defaults.MAX_ATTEMPTS; attempts++) {
+                    int row = random.nextInt(grid.getRow());
+                    int col = random.nextInt(grid.getCol());
+                    Orientation orientation = random.nextBoolean() ? Orientation.HORIZONTAL_RIGHT : Orientation.VERTICAL_UP;
+                    if (fleetManager.canPlaceShip(entry.getKey(), orientation, row, col)) {
+                        placed = fleetManager.addShip(Ship.createShip(new Coordinate(row, col), orientation, entry.getKey(), grid));
+                    }
+                }
+            }
+        }
+        return fleetManager;
+    }
+}
@@ -0,0 +1,114 @@
+package it.units.battleship.benchmarks;
+
+import it.units.battleship.Coordinate;
+import it.units.battleship.Defaults;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.data.socket.payloads.GridUpdateDTO;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.Grid;
+import it.units.battleship.model.Ship;
+import it.units.battleship.serializer.GameDataMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the game model operations run on every shot and every placement attempt, on a standard board
+ * with a complete fleet.
+ * <p>
+ * {@code incomingSalvo} shoots every cell of a fresh board once, so each reported operation is a single
+ * shot on a cell that was not shot before. The board is rebuilt before each salvo, outside the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameModelBenchmark {
+    private static final int CELLS = Defaults.GRID_ROWS * Defaults.GRID_COLS;
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+    private static final Coordinate[] CELLS_BY_INDEX = new Coordinate[CELLS];
+
+    static {
+        for (int i = 0; i < CELLS; i++) {
+            CELLS_BY_INDEX[i] = new Coordinate(i / Defaults.GRID_COLS, i % Defaults.GRID_COLS);
+        }
+    }
+
+    Grid grid;
+    FleetManager fleetManager;
+    int cursor;
+
+    /**
+     * A board nobody has shot yet, rebuilt before each salvo.
+     */
+    @State(Scope.Thread)
+    public static class FreshBoard {
+        FleetManager fleetManager;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            fleetManager = newFleet(new Grid(Defaults.GRID_ROWS, Defaults.GRID_COLS));
+        }
+    }
+
+    @Setup
+    public void setup() {
+        grid = new Grid(Defaults.GRID_ROWS, Defaults.GRID_COLS);
+        fleetManager = newFleet(grid);
+        // a row of shots so that the grid update carries hits, misses and a sunk ship
+        for (int col = 0; col < Defaults.GRID_COLS; col++) {
+            fleetManager.handleIncomingShot(CELLS_BY_INDEX[8 * Defaults.GRID_COLS + col]);
+        }
+    }
+
+    private static FleetManager newFleet(Grid grid) {
+        FleetManager fleetManager = new FleetManager(grid, Map.of(
+                ShipType.CARRIER, 1, ShipType.BATTLESHIP, 1, ShipType.CRUISER, 1,
+                ShipType.FRIGATE, 1, ShipType.DESTROYER, 1));
+        int row = 0;
+        for (ShipType type : ShipType.values()) {
+            fleetManager.addShip(Ship.createShip(new Coordinate(row, 1), Orientation.HORIZONTAL_RIGHT, type, grid));
+            row += 2;
+        }
+        return fleetManager;
+    }
+
+    private int next() {
+        cursor = (cursor + 1) % (CELLS * ORIENTATIONS.length);
+        return cursor;
+    }
+
+    @Benchmark
+    public boolean canPlaceShip() {
+        int c = next();
+        Orientation orientation = ORIENTATIONS[c / CELLS];
+        LinkedHashSet<Coordinate> coordinates = ShipType.FRIGATE.getShipCoordinates(CELLS_BY_INDEX[c % CELLS], orientation);
+        return fleetManager.canPlaceShip(Ship.restoreShip(coordinates, ShipType.FRIGATE, orientation));
+    }
+
+    @Benchmark
+    public boolean canPlaceShipAllocationFree() {
+        int c = next();
+        int cell = c % CELLS;
+        return fleetManager.canPlaceShip(ShipType.FRIGATE, ORIENTATIONS[c / CELLS], cell / Defaults.GRID_COLS, cell % Defaults.GRID_COLS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CELLS)
+    public int incomingSalvo(FreshBoard board) {
+        int hits = 0;
+        for (Coordinate cell : CELLS_BY_INDEX) {
+            if (board.fleetManager.handleIncomingShot(cell)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public GridUpdateDTO toGridUpdateDTO() {
+        return GameDataMapper.toGridUpdateDTO(true, grid, fleetManager.getFleet());
+    }
+}
@@ -0,0 +1,99 @@
+package it.units.battleship.benchmarks;
+
+import it.units.battleship.CellState;
+import it.units.battleship.GridCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of the {@link GridCodec} formats on square boards from 10x10 to 1000x1000,
+ * with about 2% of the cells shot at, as in a typical game.
+ * {@code legacyPlainDecode} is the per-cell scan over {@link CellState#values()} the lookup table replaced.
+ * The encoded sizes are printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GridCodecBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    CellState[][] grid;
+    String plain;
+    String packed;
+    String runLength;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        grid = new CellState[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                grid[r][c] = random.nextInt(50) == 0 ? CellState.values()[1 + random.nextInt(3)] : CellState.EMPTY;
+            }
+        }
+        plain = GridCodec.encode(grid, GridCodec.Format.PLAIN);
+        packed = GridCodec.encode(grid, GridCodec.Format.PACKED);
+        runLength = GridCodec.encode(grid, GridCodec.Format.RUN_LENGTH);
+        System.out.printf("%n[GridCodecBenchmark] %dx%d: plain %d chars, packed %d chars, run-length %d chars%n",
+                size, size, plain.length(), packed.length(), runLength.length());
+    }
+
+    @Benchmark
+    public CellState[][] legacyPlainDecode() {
+        CellState[][] decoded = new CellState[size][size];
+        int index = 0;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                CellState state = CellState.EMPTY;
+                for (CellState candidate : CellState.values()) {
+                    if (candidate.representation == plain.charAt(index)) {
+                        state = candidate;
+                        break;
+                    }
+                }
+                decoded[r][c] = state;
+                index++;
+            }
+        }
+        return decoded;
+    }
+
+    @Benchmark
+    public CellState[][] plainDecode() {
+        return GridCodec.decode(plain, size, size);
+    }
+
+    @Benchmark
+    public CellState[][] packedDecode() {
+        return GridCodec.decode(packed, size, size);
+    }
+
+    @Benchmark
+    public CellState[][] runLengthDecode() {
+        return GridCodec.decode(runLength, size, size);
+    }
+
+    @Benchmark
+    public String plainEncode() {
+        return GridCodec.encode(grid, GridCodec.Format.PLAIN);
+    }
+
+    @Benchmark
+    public String packedEncode() {
+        return GridCodec.encode(grid, GridCodec.Format.PACKED);
+    }
+
+    @Benchmark
+    public String runLengthEncode() {
+        return GridCodec.encode(grid, GridCodec.Format.RUN_LENGTH);
+    }
+
+    @Benchmark
+    public byte[] packedToRaw() {
+        return GridCodec.toPacked(packed);
+    }
+}
@@ -0,0 +1,44 @@
+package it.units.battleship.benchmarks;
+
+import it.units.battleship.CellState;
+import it.units.battleship.Defaults;
+import it.units.battleship.GridMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the plain grid string sent with every grid update, on a standard board halfway through a game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GridMapperBenchmark {
+
+    CellState[][] grid;
+    String serialized;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        CellState[] states = CellState.values();
+        grid = new CellState[Defaults.GRID_ROWS][Defaults.GRID_COLS];
+        for (int r = 0; r < Defaults.GRID_ROWS; r++) {
+            for (int c = 0; c < Defaults.GRID_COLS; c++) {
+                grid[r][c] = random.nextBoolean() ? CellState.EMPTY : states[random.nextInt(states.length)];
+            }
+        }
+        serialized = GridMapper.serialize(grid);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return GridMapper.serialize(grid);
+    }
+
+    @Benchmark
+    public CellState[][] deserialize() {
+        return GridMapper.deserialize(serialized, Defaults.GRID_ROWS, Defaults.GRID_COLS);
+    }
+}
@@ -0,0 +1,104 @@
+package it.units.battleship.benchmarks;
+
+import it.units.battleship.Coordinate;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.Grid;
+import it.units.battleship.model.Ship;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a setup hover preview on a 10x10 board with part of the fleet already placed.
+ * <p>
+ * {@code legacy*} reproduce the rotation matrix computed on every call before the offset tables,
+ * the other benchmarks use the precomputed tables. Each invocation moves the cursor to the next cell.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HoverPreviewBenchmark {
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    @Param({"CARRIER", "DESTROYER"})
+    ShipType type;
+
+    Grid grid;
+    FleetManager fleetManager;
+    int[] buffer;
+    int cursor;
+
+    @Setup
+    public void setup() {
+        grid = new Grid(10, 10);
+        fleetManager = new FleetManager(grid, Map.of(ShipType.CARRIER, 2, ShipType.BATTLESHIP, 1, ShipType.DESTROYER, 2));
+        fleetManager.addShip(Ship.createShip(new Coordinate(0, 0), Orientation.HORIZONTAL_RIGHT, ShipType.BATTLESHIP, grid));
+        fleetManager.addShip(Ship.createShip(new Coordinate(6, 6), Orientation.VERTICAL_DOWN, ShipType.CARRIER, grid));
+        fleetManager.addShip(Ship.createShip(new Coordinate(9, 0), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid));
+        buffer = new int[2 * ShipType.CARRIER.getSize()];
+    }
+
+    private int next() {
+        cursor = (cursor + 1) % (100 * ORIENTATIONS.length);
+        return cursor;
+    }
+
+    @Benchmark
+    public LinkedHashSet<Coordinate> legacyCoordinates() {
+        int c = next();
+        return legacyShipCoordinates(type, new Coordinate(c / 10 % 10, c % 10), ORIENTATIONS[c / 100]);
+    }
+
+    @Benchmark
+    public LinkedHashSet<Coordinate> tableCoordinates() {
+        int c = next();
+        return type.getShipCoordinates(new Coordinate(c / 10 % 10, c % 10), ORIENTATIONS[c / 100]);
+    }
+
+    @Benchmark
+    public int tableFillCells() {
+        int c = next();
+        return type.fillShipCells(c / 10 % 10, c % 10, ORIENTATIONS[c / 100], buffer);
+    }
+
+    @Benchmark
+    public boolean legacyHoverValidation() {
+        int c = next();
+        Orientation orientation = ORIENTATIONS[c / 100];
+        LinkedHashSet<Coordinate> cells = legacyShipCoordinates(type, new Coordinate(c / 10 % 10, c % 10), orientation);
+        for (Coordinate cell : cells) {
+            if (cell.row() < 0 || cell.row() >= grid.getRow() || cell.col() < 0 || cell.col() >= grid.getCol()) {
+                return false;
+            }
+        }
+        return fleetManager.canPlaceShip(Ship.restoreShip(cells, type, orientation));
+    }
+
+    @Benchmark
+    public boolean hoverValidation() {
+        int c = next();
+        return fleetManager.canPlaceShip(type, ORIENTATIONS[c / 100], c / 10 % 10, c % 10);
+    }
+
+    /**
+     * The rotation as it was computed before the offset tables, kept here as the baseline.
+     */
+    private static LinkedHashSet<Coordinate> legacyShipCoordinates(ShipType type, Coordinate initCoordinate, Orientation orientation) {
+        Double theta = orientation.getAngle();
+        Double[][] rotationMatrix = {
+                {Math.cos(theta), -Math.sin(theta)},
+                {Math.sin(theta), Math.cos(theta)}
+        };
+        LinkedHashSet<Coordinate> coordinates = new LinkedHashSet<>();
+        for (Coordinate coordinate : type.getShipFrame()) {
+            double relativeRow = rotationMatrix[0][0] * coordinate.row() + rotationMatrix[0][1] * coordinate.col();
+            double relativeCol = rotationMatrix[1][0] * coordinate.row() + rotationMatrix[1][1] * coordinate.col();
+            coordinates.add(new Coordinate(initCoordinate.row() + (int) Math.round(relativeRow), initCoordinate.col() + (int) Math.round(relativeCol)));
+        }
+        return coordinates;
+    }
+}
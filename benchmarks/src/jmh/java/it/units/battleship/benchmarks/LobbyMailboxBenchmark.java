@@ -0,0 +1,94 @@
+package it.units.battleship.benchmarks;
+
+import io.javalin.websocket.WsMessageContext;
+import it.units.battleship.Coordinate;
+import it.units.battleship.WebServerApp;
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.WebSocketAuthenticationRequest;
+import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.payloads.ShotRequestDTO;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import it.units.battleship.routes.metrics.MetricsService;
+import org.eclipse.jetty.websocket.api.Session;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Messages per second dispatched across many lobbies: both players of every lobby send shots, which
+ * {@link LobbySocketClient#onMessage} hands to the lobby mailbox to be sniffed and forwarded to the opponent on a
+ * virtual thread, the path of every relayed message. The benchmark thread plays the Jetty I/O threads and an
+ * invocation returns once the metrics count every forward.
+ * <p>
+ * The clients have no connection, so a forwarded message stops where it would be queued for writing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(LobbyMailboxBenchmark.MESSAGES)
+public class LobbyMailboxBenchmark {
+    static final int LOBBIES = 1_000;
+    static final int MESSAGES_PER_PLAYER = 10;
+    static final int MESSAGES = LOBBIES * 2 * MESSAGES_PER_PLAYER;
+
+    WebServerApp app;
+    MetricsService metrics;
+    LobbySocketClient[] players;
+    WsMessageContext shot;
+
+    @Setup
+    public void setup() {
+        app = new WebServerApp(0);
+        metrics = app.getMetricsService();
+        players = new LobbySocketClient[2 * LOBBIES];
+        for (int lobby = 0; lobby < LOBBIES; lobby++) {
+            String lobbyID = "lobby-" + lobby;
+            app.getLobbiesService().addLobby(LobbyData.builder().lobbyID(lobbyID).lobbyName(lobbyID).build());
+            for (int player = 0; player < 2; player++) {
+                LobbySocketClient client = new LobbySocketClient(app, null);
+                WebSocketMessage<WebSocketAuthenticationRequest> authentication = new WebSocketMessage<>(
+                        GameMessageType.AUTHENTICATE.getType(), new WebSocketAuthenticationRequest(lobbyID, "Player " + player));
+                client.onMessage(messageContext(app.getGson().toJson(authentication)));
+                players[2 * lobby + player] = client;
+            }
+        }
+        shot = messageContext(app.getGson().toJson(
+                new WebSocketMessage<>(GameMessageType.SHOT_REQUEST.getType(), new ShotRequestDTO(new Coordinate(4, 7)))));
+    }
+
+    /**
+     * A message context as Jetty would hand it to the route: only the message is read, never the session.
+     */
+    static WsMessageContext messageContext(String message) {
+        Session session = (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[]{Session.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "benchmark session";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return new WsMessageContext("benchmark", session, message);
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.getLobbiesService().close();
+    }
+
+    @Benchmark
+    public long dispatch() {
+        long target = metrics.getForwardedCount(GameMessageType.SHOT_REQUEST) + MESSAGES;
+        for (int message = 0; message < MESSAGES_PER_PLAYER; message++) {
+            for (LobbySocketClient player : players) {
+                player.onMessage(shot);
+            }
+        }
+        long forwarded;
+        while ((forwarded = metrics.getForwardedCount(GameMessageType.SHOT_REQUEST)) < target) {
+            Thread.onSpinWait();
+        }
+        return forwarded;
+    }
+}
@@ -0,0 +1,155 @@
+package it.units.battleship.benchmarks;
+
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.models.Lobby;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput of the lobby registry under contention: most threads create a lobby, connect two players and remove it,
+ * while one thread keeps listing the open lobbies, the access pattern of the Jetty workers and the cleanup scheduler.
+ * The {@link LobbiesService}, backed by a {@code ConcurrentHashMap}, is compared with the previous registry, a
+ * {@link HashMap} with every access wrapped in a synchronized block.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LobbyRegistryBenchmark {
+    /**
+     * Lobbies waiting for a second player, listed by every scan.
+     */
+    static final int OPEN_LOBBIES = 2_000;
+
+    @Param({"concurrent", "synchronized"})
+    public String registry;
+
+    LobbyRegistry lobbies;
+    final AtomicLong nextLobby = new AtomicLong();
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        lobbies = registry.equals("concurrent") ? new ConcurrentLobbyRegistry() : new SynchronizedLobbyRegistry();
+        for (int i = 0; i < OPEN_LOBBIES; i++) {
+            String lobbyID = "open-" + i;
+            lobbies.add(lobbyID);
+            lobbies.connect(lobbyID, "A");
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        lobbies.close();
+    }
+
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(15)
+    public LobbiesService.PlayerType connect() {
+        String lobbyID = "lobby-" + nextLobby.incrementAndGet();
+        lobbies.add(lobbyID);
+        lobbies.connect(lobbyID, "A");
+        LobbiesService.PlayerType second = lobbies.connect(lobbyID, "B");
+        lobbies.remove(lobbyID);
+        return second;
+    }
+
+    @Benchmark
+    @Group("registry")
+    @GroupThreads(1)
+    public int scan() {
+        return lobbies.scan();
+    }
+
+    interface LobbyRegistry {
+        void add(String lobbyID);
+
+        LobbiesService.PlayerType connect(String lobbyID, String name);
+
+        void remove(String lobbyID);
+
+        int scan();
+
+        void close();
+    }
+
+    static final class ConcurrentLobbyRegistry implements LobbyRegistry {
+        final LobbiesService service = new LobbiesService();
+
+        @Override
+        public void add(String lobbyID) {
+            service.addLobby(LobbyData.builder().lobbyID(lobbyID).lobbyName(lobbyID).build());
+        }
+
+        @Override
+        public LobbiesService.PlayerType connect(String lobbyID, String name) {
+            return service.connectPlayer(lobbyID, new LobbySocketClient(null, null), name);
+        }
+
+        @Override
+        public void remove(String lobbyID) {
+            service.removeLobby(lobbyID);
+        }
+
+        @Override
+        public int scan() {
+            return service.getAvailableLobbies().size();
+        }
+
+        @Override
+        public void close() {
+            service.close();
+        }
+    }
+
+    /**
+     * Baseline: the previous HashMap based registry with every access wrapped in a synchronized block.
+     */
+    static final class SynchronizedLobbyRegistry implements LobbyRegistry {
+        final HashMap<String, Lobby> lobbies = new HashMap<>();
+
+        @Override
+        public synchronized void add(String lobbyID) {
+            Lobby lobby = new Lobby();
+            lobby.setLobbyID(lobbyID);
+            lobby.setLobbyName(lobbyID);
+            lobbies.put(lobbyID, lobby);
+        }
+
+        @Override
+        public synchronized LobbiesService.PlayerType connect(String lobbyID, String name) {
+            Lobby lobby = lobbies.get(lobbyID);
+            if (lobby == null) {
+                return LobbiesService.PlayerType.INVALID;
+            }
+            if (lobby.getPlayerOneCtx() == null) {
+                lobby.setPlayerOneCtx(new LobbySocketClient(null, null));
+                lobby.setPlayerOne(name);
+                return LobbiesService.PlayerType.PLAYER_ONE;
+            } else if (lobby.getPlayerTwoCtx() == null) {
+                lobby.setPlayerTwoCtx(new LobbySocketClient(null, null));
+                lobby.setPlayerTwo(name);
+                return LobbiesService.PlayerType.PLAYER_TWO;
+            }
+            return LobbiesService.PlayerType.INVALID;
+        }
+
+        @Override
+        public synchronized void remove(String lobbyID) {
+            lobbies.remove(lobbyID);
+        }
+
+        @Override
+        public synchronized int scan() {
+            return (int) lobbies.values().stream().filter(lobby -> lobby.getPlayerTwoCtx() == null).count();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
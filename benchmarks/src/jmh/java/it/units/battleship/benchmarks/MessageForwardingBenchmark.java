@@ -0,0 +1,62 @@
+package it.units.battleship.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import it.units.battleship.Coordinate;
+import it.units.battleship.Defaults;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.data.socket.MessageTypeSniffer;
+import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.payloads.GridUpdateDTO;
+import it.units.battleship.data.socket.payloads.ShipDTO;
+import it.units.battleship.data.socket.payloads.ShotRequestDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading the type of a message the server only forwards.
+ * Run with the gc profiler to compare the bytes allocated per forwarded message ({@code gc.alloc.rate.norm}):
+ * the legacy path builds a full {@link JsonObject} tree, the sniffer reads the type in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageForwardingBenchmark {
+
+    @Param({"shot_request", "grid_update"})
+    public String messageType;
+
+    Gson gson;
+    String message;
+
+    @Setup
+    public void setup() {
+        gson = new Gson();
+        if (messageType.equals("shot_request")) {
+            message = gson.toJson(new WebSocketMessage<>("shot_request", new ShotRequestDTO(new Coordinate(4, 7))));
+        } else {
+            ShipType type = ShipType.CRUISER;
+            Coordinate anchor = new Coordinate(2, 2);
+            ShipDTO ship = new ShipDTO(type, type.getShipCoordinates(anchor, Orientation.HORIZONTAL_RIGHT), Orientation.HORIZONTAL_RIGHT);
+            String grid = "0".repeat(Defaults.GRID_ROWS * Defaults.GRID_COLS - 4) + "XKKM";
+            message = gson.toJson(new WebSocketMessage<>("grid_update", new GridUpdateDTO(true, grid, List.of(ship))));
+        }
+    }
+
+    /**
+     * Previous behaviour of the server: a full tree parse just to read the type.
+     */
+    @Benchmark
+    public String jsonObjectParse() {
+        JsonObject fromJson = gson.fromJson(message, JsonObject.class);
+        return fromJson.get("type").getAsString();
+    }
+
+    @Benchmark
+    public String typeSniffer() {
+        return MessageTypeSniffer.sniffType(message);
+    }
+}
@@ -0,0 +1,91 @@
+package it.units.battleship.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import it.units.battleship.*;
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.payloads.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson encode and decode cost of every {@link WebSocketMessage} payload, with the payloads a standard game sends.
+ * The message sizes are printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadSerializationBenchmark {
+
+    @Param({"GAME_SETUP", "GRID_UPDATE", "GRID_DELTA", "GRID_RESYNC", "SHOT_REQUEST", "FLEET_SUBMIT", "TURN_CHANGE", "PROTOCOL", "ERROR"})
+    GameMessageType messageType;
+
+    Gson gson;
+    WebSocketMessage<?> message;
+    Type type;
+    String json;
+
+    @Setup
+    public void setup() {
+        gson = new Gson();
+        Object payload = switch (messageType) {
+            case GAME_SETUP -> new GameConfigDTO(Defaults.GRID_ROWS, Defaults.GRID_COLS, Defaults.FLEET_CONFIGURATION);
+            case GRID_UPDATE -> new GridUpdateDTO(true, GridMapper.serialize(sampleGrid()), sampleFleet());
+            case GRID_DELTA -> new GridDeltaDTO(12, false, true,
+                    List.of(new CellChangeDTO(4, 2, CellState.SUNK), new CellChangeDTO(4, 3, CellState.SUNK)),
+                    sampleFleet().subList(0, 1));
+            case GRID_RESYNC -> new GridResyncRequestDTO(11);
+            case SHOT_REQUEST -> new ShotRequestDTO(new Coordinate(4, 7));
+            case FLEET_SUBMIT -> new FleetSubmitDTO(sampleFleet());
+            case TURN_CHANGE -> new GameStatusDTO(GameState.ACTIVE_TURN, "Your turn");
+            case PROTOCOL -> 2;
+            case ERROR -> "Opponent disconnected";
+            default -> throw new IllegalArgumentException("No sample payload for " + messageType);
+        };
+        message = new WebSocketMessage<>(messageType.getType(), payload);
+        type = TypeToken.getParameterized(WebSocketMessage.class, payload.getClass()).getType();
+        json = gson.toJson(message);
+        System.out.printf("%n[PayloadSerializationBenchmark] %s: %d chars%n", messageType, json.length());
+    }
+
+    private static CellState[][] sampleGrid() {
+        CellState[][] grid = new CellState[Defaults.GRID_ROWS][Defaults.GRID_COLS];
+        for (int r = 0; r < Defaults.GRID_ROWS; r++) {
+            for (int c = 0; c < Defaults.GRID_COLS; c++) {
+                grid[r][c] = (r + c) % 7 == 0 ? CellState.MISS : CellState.EMPTY;
+            }
+        }
+        return grid;
+    }
+
+    private static List<ShipDTO> sampleFleet() {
+        List<ShipDTO> fleet = new ArrayList<>();
+        int row = 0;
+        for (ShipType shipType : ShipType.values()) {
+            var coordinates = shipType.getShipCoordinates(new Coordinate(row, 0), Orientation.HORIZONTAL_RIGHT);
+            fleet.add(new ShipDTO(shipType, coordinates, Orientation.HORIZONTAL_RIGHT));
+            row += 2;
+        }
+        return fleet;
+    }
+
+    @Benchmark
+    public String encode() {
+        return gson.toJson(message);
+    }
+
+    @Benchmark
+    public WebSocketMessage<?> decode() {
+        return gson.fromJson(json, type);
+    }
+
+    @Benchmark
+    public WebSocketMessage<?> roundTrip() {
+        return gson.fromJson(gson.toJson(message), type);
+    }
+}
@@ -0,0 +1,74 @@
+package it.units.battleship.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import it.units.battleship.Coordinate;
+import it.units.battleship.Defaults;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.binary.BinaryMessageCodec;
+import it.units.battleship.data.socket.payloads.GridUpdateDTO;
+import it.units.battleship.data.socket.payloads.ShipDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of a 10x10 grid update with a fully sunk fleet, JSON against the binary protocol.
+ * The frame sizes are printed once at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProtocolCodecBenchmark {
+    static final Type GRID_UPDATE_MESSAGE_TYPE = new TypeToken<WebSocketMessage<GridUpdateDTO>>() {
+    }.getType();
+
+    Gson gson;
+    GridUpdateDTO update;
+    String json;
+    byte[] binary;
+
+    @Setup
+    public void setup() {
+        gson = new Gson();
+        List<ShipDTO> fleet = new ArrayList<>();
+        char[] grid = "0".repeat(Defaults.GRID_ROWS * Defaults.GRID_COLS).toCharArray();
+        int row = 0;
+        for (ShipType type : ShipType.values()) {
+            var coordinates = type.getShipCoordinates(new Coordinate(row, 0), Orientation.HORIZONTAL_RIGHT);
+            coordinates.forEach(c -> grid[c.row() * Defaults.GRID_COLS + c.col()] = 'K');
+            fleet.add(new ShipDTO(type, coordinates, Orientation.HORIZONTAL_RIGHT));
+            row += 2;
+        }
+        update = new GridUpdateDTO(true, new String(grid), fleet);
+        json = gson.toJson(new WebSocketMessage<>(GameMessageType.GRID_UPDATE.getType(), update));
+        binary = BinaryMessageCodec.encode(GameMessageType.GRID_UPDATE, update);
+        System.out.printf("%n[ProtocolCodecBenchmark] grid update: json %d bytes, binary %d bytes%n", json.length(), binary.length);
+    }
+
+    @Benchmark
+    public String jsonEncode() {
+        return gson.toJson(new WebSocketMessage<>(GameMessageType.GRID_UPDATE.getType(), update));
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return BinaryMessageCodec.encode(GameMessageType.GRID_UPDATE, update);
+    }
+
+    @Benchmark
+    public WebSocketMessage<GridUpdateDTO> jsonDecode() {
+        return gson.fromJson(json, GRID_UPDATE_MESSAGE_TYPE);
+    }
+
+    @Benchmark
+    public WebSocketMessage<Object> binaryDecode() {
+        return BinaryMessageCodec.decode(binary);
+    }
+}
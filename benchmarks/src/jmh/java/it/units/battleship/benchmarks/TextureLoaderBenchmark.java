@@ -0,0 +1,45 @@
+package it.units.battleship.benchmarks;
+
+import it.units.battleship.Coordinate;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.model.Grid;
+import it.units.battleship.model.Ship;
+import it.units.battleship.view.utils.TextureLoader;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the texture lookup {@code GridUI} runs for every ship cell each time a board is repainted.
+ * Each invocation moves to the next cell of the ship.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextureLoaderBenchmark {
+
+    @Param({"CARRIER", "DESTROYER"})
+    ShipType type;
+
+    @Param({"HORIZONTAL_RIGHT", "VERTICAL_DOWN"})
+    Orientation orientation;
+
+    Ship ship;
+    Coordinate[] cells;
+    int cursor;
+
+    @Setup
+    public void setup() {
+        Grid grid = new Grid(10, 10);
+        ship = Ship.createShip(new Coordinate(4, 4), orientation, type, grid);
+        cells = ship.getCoordinates().toArray(new Coordinate[0]);
+    }
+
+    @Benchmark
+    public BufferedImage getTextureForShip() {
+        cursor = (cursor + 1) % cells.length;
+        return TextureLoader.getTextureForShip(ship, cells[cursor]);
+    }
+}
@@ -12,9 +12,35 @@ public class Defaults {
     public static final String HTTP_LOBBY_ENDPOINT = HTTP_SERVER_SCHEME + "://" + HTTP_SERVER_HOST + ":" + HTTP_SERVER_PORT + HTTP_LOBBY_PATH;
     public static final String WEBSOCKET_LOBBY_ENDPOINT = WS_SERVER_SCHEME + "://" + HTTP_SERVER_HOST + ":" + HTTP_SERVER_PORT + HTTP_LOBBY_PATH;
 
+    public static final int LOBBY_PAGE_SIZE = 20;
+    public static final int MAX_LOBBY_PAGE_SIZE = 100;
+
+    public static final String HTTP_LOBBY_FEED_PATH = HTTP_LOBBY_PATH + "/feed";
+    public static final String WEBSOCKET_LOBBY_FEED_ENDPOINT = WEBSOCKET_LOBBY_ENDPOINT + "/feed";
+
+    /**
+     * Maximum number of frames waiting to be sent to a WebSocket client before it is disconnected as a slow consumer.
+     */
+    public static final int OUTBOUND_QUEUE_LIMIT = 256;
+
+    /**
+     * Time a new lobby is kept without any connected player.
+     */
+    public static final long LOBBY_CREATION_TTL_MS = 60_000;
+    /**
+     * Time a lobby is kept without any message from its players.
+     */
+    public static final long LOBBY_IDLE_TTL_MS = 30 * 60_000;
+    /**
+     * Time a WebSocket client has to authenticate before it is disconnected.
+     */
+    public static final long CONNECTION_AUTH_GRACE_MS = 30_000;
+
     public static final String HTTP_PING_PATH = "/api/ping";
     public static final String HTTP_PING_ENDPOINT = HTTP_SERVER_SCHEME + "://" + HTTP_SERVER_HOST + ":" + HTTP_SERVER_PORT + HTTP_PING_PATH;
 
+    public static final String HTTP_METRICS_PATH = "/api/metrics";
+
 
     public static final Map<ShipType, Integer> FLEET_CONFIGURATION = Map.of(
             ShipType.DESTROYER, 2,
@@ -29,6 +55,8 @@ public class Defaults {
 
     public static final int MIN_DISTANCE_THRESHOLD = 1;
 
+    public static final boolean SERVER_AUTHORITATIVE_LOBBIES = false;
+
     public static final long DELAY_MS = 500;
     public static final int MAX_ATTEMPTS = 100;
 
@@ -0,0 +1,359 @@
+package it.units.battleship;
+
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Text and raw encodings of a grid of {@link CellState}s, selected by the first character of the string.
+ * <ul>
+ *     <li>{@link Format#PLAIN}: the original format, one {@link CellState#representation} per cell in row-major
+ *     order. It has no header, since its characters ({@code 0 X K M}) never clash with the headers below, so
+ *     strings produced by older clients keep decoding.</li>
+ *     <li>{@link Format#PACKED}: {@code P<cells>:<base64>}, the cells packed as 2-bit {@link CellState} ordinals,
+ *     4 per byte with the first cell in the lowest bits, then Base64 encoded. The same bytes, without Base64,
+ *     are the raw form used by binary frames.</li>
+ *     <li>{@link Format#RUN_LENGTH}: {@code R<cells>:<runs>}, each run being a state letter ({@code E H S M}
+ *     by ordinal) optionally followed by its decimal length when longer than one cell; a trailing run of empty
+ *     cells is omitted. Meant for large, mostly empty boards.</li>
+ * </ul>
+ * Decoding is table driven: no per-cell scan over {@link CellState#values()}.
+ */
+public final class GridCodec {
+
+    /**
+     * Supported encodings.
+     */
+    public enum Format {
+        PLAIN,
+        PACKED,
+        RUN_LENGTH
+    }
+
+    /**
+     * Boards up to this many cells are sent in {@link Format#PLAIN} by {@link #encodeForTransport(CellState[][])},
+     * which is what the default board size has always used and what older clients understand.
+     */
+    public static final int PLAIN_MAX_CELLS = Defaults.GRID_ROWS * Defaults.GRID_COLS;
+
+    /**
+     * Largest cell count accepted in a header, well above a 1000x1000 board; guards the decoders against
+     * headers that would make them allocate huge buffers.
+     */
+    public static final int MAX_CELLS = 1 << 22;
+
+    static final char PACKED_HEADER = 'P';
+    static final char RUN_LENGTH_HEADER = 'R';
+    static final char COUNT_SEPARATOR = ':';
+    private static final String RUN_LENGTH_LETTERS = "EHSM";
+
+    private static final CellState[] CELL_STATES = CellState.values();
+    private static final CellState[] BY_REPRESENTATION = new CellState[128];
+    private static final byte[] RUN_LENGTH_ORDINALS = new byte[128];
+
+    static {
+        for (CellState state : CELL_STATES) {
+            BY_REPRESENTATION[state.representation] = state;
+        }
+        Arrays.fill(RUN_LENGTH_ORDINALS, (byte) -1);
+        for (int i = 0; i < RUN_LENGTH_LETTERS.length(); i++) {
+            RUN_LENGTH_ORDINALS[RUN_LENGTH_LETTERS.charAt(i)] = (byte) i;
+        }
+    }
+
+    private GridCodec() {
+    }
+
+    /**
+     * Decodes a single {@link Format#PLAIN} character through a lookup table.
+     *
+     * @param code the character to decode
+     * @return the matching state, {@link CellState#EMPTY} for unknown characters
+     */
+    public static CellState decodeCell(char code) {
+        CellState state = code < BY_REPRESENTATION.length ? BY_REPRESENTATION[code] : null;
+        return state == null ? CellState.EMPTY : state;
+    }
+
+    /**
+     * Detects the format of an encoded grid from its header.
+     *
+     * @param encoded the encoded grid
+     * @return the format of the string, {@link Format#PLAIN} when there is no header
+     */
+    public static Format detect(@NonNull String encoded) {
+        if (encoded.length() > 1 && isDigit(encoded.charAt(1))) {
+            if (encoded.charAt(0) == PACKED_HEADER) {
+                return Format.PACKED;
+            }
+            if (encoded.charAt(0) == RUN_LENGTH_HEADER) {
+                return Format.RUN_LENGTH;
+            }
+        }
+        return Format.PLAIN;
+    }
+
+    /**
+     * Encodes a grid in the given format.
+     *
+     * @param grid   the grid to encode
+     * @param format the format to use
+     * @return the encoded grid
+     */
+    public static String encode(@NonNull CellState[][] grid, @NonNull Format format) {
+        return switch (format) {
+            case PLAIN -> encodePlain(grid);
+            case PACKED -> packedString(pack(grid), cellCount(grid));
+            case RUN_LENGTH -> encodeRunLength(grid);
+        };
+    }
+
+    /**
+     * Encodes a grid for the wire: {@link Format#PLAIN} up to {@link #PLAIN_MAX_CELLS} cells,
+     * otherwise the shorter of {@link Format#PACKED} and {@link Format#RUN_LENGTH}.
+     *
+     * @param grid the grid to encode
+     * @return the encoded grid
+     */
+    public static String encodeForTransport(@NonNull CellState[][] grid) {
+        if (cellCount(grid) <= PLAIN_MAX_CELLS) {
+            return encodePlain(grid);
+        }
+        String packed = encode(grid, Format.PACKED);
+        String runLength = encodeRunLength(grid);
+        return runLength.length() < packed.length() ? runLength : packed;
+    }
+
+    /**
+     * Decodes a grid in any format. Missing cells are {@link CellState#EMPTY} and extra cells are ignored,
+     * as the plain decoder has always done.
+     *
+     * @param encoded the encoded grid
+     * @param rows    the number of rows of the grid
+     * @param cols    the number of columns of the grid
+     * @return the decoded grid
+     * @throws IllegalArgumentException if a packed or run-length string is malformed
+     */
+    public static CellState[][] decode(@NonNull String encoded, int rows, int cols) {
+        CellState[][] grid = new CellState[rows][cols];
+        switch (detect(encoded)) {
+            case PLAIN -> {
+                int index = 0;
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        grid[r][c] = index < encoded.length() ? decodeCell(encoded.charAt(index)) : CellState.EMPTY;
+                        index++;
+                    }
+                }
+            }
+            case PACKED -> {
+                byte[] packed = decodePackedBytes(encoded);
+                int cells = Math.min(parseCount(encoded), packed.length * 4);
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        int index = r * cols + c;
+                        grid[r][c] = index < cells ? CELL_STATES[(packed[index >>> 2] >>> ((index & 3) << 1)) & 0b11] : CellState.EMPTY;
+                    }
+                }
+            }
+            case RUN_LENGTH -> {
+                for (CellState[] row : grid) {
+                    Arrays.fill(row, CellState.EMPTY);
+                }
+                int limit = Math.min(parseCount(encoded), rows * cols);
+                forEachRun(encoded, (start, length, state) -> {
+                    int end = Math.min(start + length, limit);
+                    for (int index = start; index < end; index++) {
+                        grid[index / cols][index % cols] = state;
+                    }
+                });
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Number of cells described by an encoded grid, as used by the raw form.
+     *
+     * @param encoded the encoded grid
+     * @return the number of cells
+     */
+    public static int cellCount(@NonNull String encoded) {
+        return detect(encoded) == Format.PLAIN ? encoded.length() : parseCount(encoded);
+    }
+
+    /**
+     * Converts an encoded grid of any format to the raw packed form, 4 cells per byte.
+     * Packed strings are only Base64 decoded, the cells are not unpacked.
+     *
+     * @param encoded the encoded grid
+     * @return the packed cells, {@code ceil(cellCount / 4)} bytes
+     * @throws IllegalArgumentException if a plain string contains a character that is not a cell state
+     */
+    public static byte[] toPacked(@NonNull String encoded) {
+        int cells = cellCount(encoded);
+        byte[] packed = new byte[(cells + 3) >>> 2];
+        switch (detect(encoded)) {
+            case PLAIN -> {
+                for (int i = 0; i < cells; i++) {
+                    char code = encoded.charAt(i);
+                    CellState state = code < BY_REPRESENTATION.length ? BY_REPRESENTATION[code] : null;
+                    if (state == null) {
+                        throw new IllegalArgumentException("Invalid cell character in grid: " + code);
+                    }
+                    packed[i >>> 2] |= (byte) (state.ordinal() << ((i & 3) << 1));
+                }
+            }
+            case PACKED -> {
+                byte[] decoded = decodePackedBytes(encoded);
+                System.arraycopy(decoded, 0, packed, 0, Math.min(decoded.length, packed.length));
+            }
+            case RUN_LENGTH -> forEachRun(encoded, (start, length, state) -> {
+                int end = Math.min(start + length, cells);
+                for (int index = start; index < end; index++) {
+                    packed[index >>> 2] |= (byte) (state.ordinal() << ((index & 3) << 1));
+                }
+            });
+        }
+        return packed;
+    }
+
+    /**
+     * Builds the string form of raw packed cells: {@link Format#PLAIN} up to {@link #PLAIN_MAX_CELLS} cells,
+     * {@link Format#PACKED} otherwise, which costs no unpacking.
+     *
+     * @param packed the packed cells
+     * @param cells  the number of cells
+     * @return the encoded grid
+     */
+    public static String fromPacked(@NonNull byte[] packed, int cells) {
+        if (cells > PLAIN_MAX_CELLS) {
+            return packedString(packed, cells);
+        }
+        char[] plain = new char[cells];
+        for (int i = 0; i < cells; i++) {
+            plain[i] = CELL_STATES[(packed[i >>> 2] >>> ((i & 3) << 1)) & 0b11].representation;
+        }
+        return new String(plain);
+    }
+
+    private static String encodePlain(CellState[][] grid) {
+        char[] plain = new char[cellCount(grid)];
+        int index = 0;
+        for (CellState[] row : grid) {
+            for (CellState cell : row) {
+                plain[index++] = cell.representation;
+            }
+        }
+        return new String(plain);
+    }
+
+    private static byte[] pack(CellState[][] grid) {
+        byte[] packed = new byte[(cellCount(grid) + 3) >>> 2];
+        int index = 0;
+        for (CellState[] row : grid) {
+            for (CellState cell : row) {
+                packed[index >>> 2] |= (byte) (cell.ordinal() << ((index & 3) << 1));
+                index++;
+            }
+        }
+        return packed;
+    }
+
+    private static String packedString(byte[] packed, int cells) {
+        return PACKED_HEADER + Integer.toString(cells) + COUNT_SEPARATOR + Base64.getEncoder().encodeToString(packed);
+    }
+
+    private static String encodeRunLength(CellState[][] grid) {
+        StringBuilder encoded = new StringBuilder().append(RUN_LENGTH_HEADER).append(cellCount(grid)).append(COUNT_SEPARATOR);
+        CellState current = null;
+        int length = 0;
+        for (CellState[] row : grid) {
+            for (CellState cell : row) {
+                if (cell == current) {
+                    length++;
+                    continue;
+                }
+                appendRun(encoded, current, length);
+                current = cell;
+                length = 1;
+            }
+        }
+        if (current != CellState.EMPTY) {
+            appendRun(encoded, current, length);
+        }
+        return encoded.toString();
+    }
+
+    private static void appendRun(StringBuilder encoded, CellState state, int length) {
+        if (state == null || length == 0) {
+            return;
+        }
+        encoded.append(RUN_LENGTH_LETTERS.charAt(state.ordinal()));
+        if (length > 1) {
+            encoded.append(length);
+        }
+    }
+
+    private interface RunConsumer {
+        void accept(int start, int length, CellState state);
+    }
+
+    private static void forEachRun(String encoded, RunConsumer consumer) {
+        int position = encoded.indexOf(COUNT_SEPARATOR) + 1;
+        int start = 0;
+        while (position < encoded.length()) {
+            char letter = encoded.charAt(position++);
+            int ordinal = letter < RUN_LENGTH_ORDINALS.length ? RUN_LENGTH_ORDINALS[letter] : -1;
+            if (ordinal < 0) {
+                throw new IllegalArgumentException("Invalid run-length grid: unexpected '" + letter + "'");
+            }
+            long length = 0;
+            boolean digits = false;
+            while (position < encoded.length() && isDigit(encoded.charAt(position))) {
+                length = length * 10 + (encoded.charAt(position++) - '0');
+                if (length > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Invalid run-length grid: run too long");
+                }
+                digits = true;
+            }
+            int run = digits ? (int) length : 1;
+            consumer.accept(start, run, CELL_STATES[ordinal]);
+            start = (int) Math.min(Integer.MAX_VALUE, (long) start + run);
+        }
+    }
+
+    private static int parseCount(String encoded) {
+        int separator = encoded.indexOf(COUNT_SEPARATOR);
+        if (separator < 2) {
+            throw new IllegalArgumentException("Invalid grid header");
+        }
+        int count;
+        try {
+            count = Integer.parseInt(encoded, 1, separator, 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid grid header", e);
+        }
+        if (count > MAX_CELLS) {
+            throw new IllegalArgumentException("Grid too large: " + count + " cells");
+        }
+        return count;
+    }
+
+    private static byte[] decodePackedBytes(String encoded) {
+        try {
+            return Base64.getDecoder().decode(encoded.substring(encoded.indexOf(COUNT_SEPARATOR) + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid packed grid", e);
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int cellCount(CellState[][] grid) {
+        return grid.length == 0 ? 0 : grid.length * grid[0].length;
+    }
+}
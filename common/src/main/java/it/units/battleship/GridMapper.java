@@ -13,17 +13,12 @@ public class GridMapper {
      */
     public static String serialize(CellState[][] grid) {
         if (grid == null) return "";
-        StringBuilder flattenedGrid = new StringBuilder();
-        for (CellState[] row : grid) {
-            for (CellState cell : row) {
-                flattenedGrid.append(cell.representation);
-            }
-        }
-        return flattenedGrid.toString();
+        return GridCodec.encode(grid, GridCodec.Format.PLAIN);
     }
 
     /**
      * Deserializes a string representation of the grid into a 2D array of CellState.
+     * Any {@link GridCodec} format is accepted, the format is detected from the string.
      *
      * @param gridSerialized the string representation of the grid
      * @param rows the number of rows in the grid
@@ -31,28 +26,6 @@ public class GridMapper {
      * @return a 2D array of CellState representing the grid
      */
     public static CellState[][] deserialize(String gridSerialized, int rows, int cols) {
-        CellState[][] grid = new CellState[rows][cols];
-        int index = 0;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (index < gridSerialized.length()) {
-                    char code = gridSerialized.charAt(index);
-                    grid[r][c] = decodeCharToState(code);
-                } else {
-                    grid[r][c] = CellState.EMPTY;
-                }
-                index++;
-            }
-        }
-        return grid;
-    }
-
-    private static CellState decodeCharToState(char code) {
-        for (CellState state : CellState.values()) {
-            if (state.representation == code) {
-                return state;
-            }
-        }
-        return CellState.EMPTY;
+        return GridCodec.decode(gridSerialized, rows, cols);
     }
 }
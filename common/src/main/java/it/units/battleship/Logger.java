@@ -1,26 +1,92 @@
 package it.units.battleship;
 
-import it.units.battleship.service.PathManager;
-import lombok.Setter;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.config.Configurator;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 /**
  * Logger utility class for logging messages at different levels.
+ * <p>
+ * Besides plain strings, every level accepts a message pattern with {@code {}} placeholders and its arguments, or a
+ * {@link Supplier}: the message is only formatted if the level is enabled, so a disabled log line costs a level check.
+ * The level tag ({@code [LOG]}, {@code [WARN]}, ...) is a marker rendered by the layout, never concatenated.
+ * <p>
+ * The messages go to the {@code battleship} log4j logger, or to one of its categories ({@code battleship.<name>}, see
+ * {@link #category(String)}), whose levels can be set independently in {@code log4j2.xml} or with
+ * {@link #setLevel(String, Level)}. Raw protocol payloads are logged through {@link #payload(String, CharSequence)},
+ * which is disabled unless debugging and rate limited.
  */
 public class Logger {
-    private static final org.apache.logging.log4j.Logger logger;
-    @Setter
-    private static boolean debugEnabled = false;
+    static final Marker LOG = MarkerManager.getMarker("LOG");
+    static final Marker ERROR = MarkerManager.getMarker("ERROR");
+    static final Marker WARN = MarkerManager.getMarker("WARN");
+    static final Marker DEBUG = MarkerManager.getMarker("DEBUG");
+    static final Marker EX = MarkerManager.getMarker("EX");
 
     /**
-     * Static initializer to set up the logger and program path.
-     * Sets the "programPath" system property to the absolute path of the logs directory to be used by the logging framework.
+     * Name of the root category, the prefix of every other category.
      */
-    static {
-        logger = LogManager.getLogger(Logger.class);
+    public static final String ROOT_CATEGORY = "battleship";
+    /**
+     * Maximum number of payloads logged per second by a category, the others are counted and reported later.
+     */
+    public static final int PAYLOADS_PER_SECOND = 20;
+    /**
+     * Maximum number of characters of a payload written to the log.
+     */
+    public static final int MAX_PAYLOAD_LENGTH = 512;
+
+    private static final Map<String, Category> categories = new ConcurrentHashMap<>();
+    private static final Category root = category(null);
+    private static final Category payloads = category("payload");
+    private static volatile boolean debugEnabled = false;
+
+    /**
+     * Returns the category with the given name, created on first use.
+     *
+     * @param name the name of the category, relative to {@link #ROOT_CATEGORY}
+     * @return the category
+     */
+    public static Category category(String name) {
+        String loggerName = name == null ? ROOT_CATEGORY : ROOT_CATEGORY + "." + name;
+        return categories.computeIfAbsent(loggerName, key -> new Category(LogManager.getLogger(key)));
+    }
+
+    /**
+     * Sets the level of a category and of its sub-categories.
+     *
+     * @param name  the name of the category, relative to {@link #ROOT_CATEGORY}, null for the root category
+     * @param level the new level
+     */
+    public static void setLevel(String name, Level level) {
+        Configurator.setLevel(name == null ? ROOT_CATEGORY : ROOT_CATEGORY + "." + name, level);
+    }
+
+    /**
+     * Enables the debug messages of every category, whatever their level.
+     *
+     * @param enabled true to write the debug messages
+     */
+    public static void setDebugEnabled(boolean enabled) {
+        debugEnabled = enabled;
+    }
+
+    /**
+     * Checks whether the debug messages of the root category are written.
+     *
+     * @return true if debug is enabled globally or by the level of the root category
+     */
+    public static boolean isDebugEnabled() {
+        return root.isDebugEnabled();
     }
 
     /**
@@ -28,7 +94,45 @@ public class Logger {
      * @param message the message to log
      */
     public static void log(String message) {
-        logger.info("[LOG] {}", message);
+        root.log(message);
+    }
+
+    /**
+     * Logs a message at info level.
+     * @param pattern the message pattern, with a {@code {}} placeholder
+     * @param arg the argument of the placeholder
+     */
+    public static void log(String pattern, Object arg) {
+        root.log(pattern, arg);
+    }
+
+    /**
+     * Logs a message at info level.
+     * @param pattern the message pattern, with two {@code {}} placeholders
+     * @param arg0 the argument of the first placeholder
+     * @param arg1 the argument of the second placeholder
+     */
+    public static void log(String pattern, Object arg0, Object arg1) {
+        root.log(pattern, arg0, arg1);
+    }
+
+    /**
+     * Logs a message at info level.
+     * @param pattern the message pattern, with three {@code {}} placeholders
+     * @param arg0 the argument of the first placeholder
+     * @param arg1 the argument of the second placeholder
+     * @param arg2 the argument of the third placeholder
+     */
+    public static void log(String pattern, Object arg0, Object arg1, Object arg2) {
+        root.log(pattern, arg0, arg1, arg2);
+    }
+
+    /**
+     * Logs a message at info level, built only if the level is enabled.
+     * @param message builds the message to log
+     */
+    public static void log(Supplier<String> message) {
+        root.log(message);
     }
 
     /**
@@ -36,7 +140,26 @@ public class Logger {
      * @param message the message to log
      */
     public static void error(String message) {
-        logger.error("[ERROR] {}", message);
+        root.error(message);
+    }
+
+    /**
+     * Logs a message at error level.
+     * @param pattern the message pattern, with a {@code {}} placeholder
+     * @param arg the argument of the placeholder
+     */
+    public static void error(String pattern, Object arg) {
+        root.error(pattern, arg);
+    }
+
+    /**
+     * Logs a message at error level.
+     * @param pattern the message pattern, with two {@code {}} placeholders
+     * @param arg0 the argument of the first placeholder
+     * @param arg1 the argument of the second placeholder
+     */
+    public static void error(String pattern, Object arg0, Object arg1) {
+        root.error(pattern, arg0, arg1);
     }
 
     /**
@@ -44,7 +167,26 @@ public class Logger {
      * @param message the message to log
      */
     public static void warn(String message) {
-        logger.warn("[WARN] {}", message);
+        root.warn(message);
+    }
+
+    /**
+     * Logs a message at warn level.
+     * @param pattern the message pattern, with a {@code {}} placeholder
+     * @param arg the argument of the placeholder
+     */
+    public static void warn(String pattern, Object arg) {
+        root.warn(pattern, arg);
+    }
+
+    /**
+     * Logs a message at warn level.
+     * @param pattern the message pattern, with two {@code {}} placeholders
+     * @param arg0 the argument of the first placeholder
+     * @param arg1 the argument of the second placeholder
+     */
+    public static void warn(String pattern, Object arg0, Object arg1) {
+        root.warn(pattern, arg0, arg1);
     }
 
     /**
@@ -52,19 +194,223 @@ public class Logger {
      * @param message the message to log
      */
     public static void debug(String message) {
-        if (debugEnabled) {
-            logger.info("[DEBUG] {}", message);
-        }
+        root.debug(message);
+    }
+
+    /**
+     * Logs a message at debug level if debug is enabled.
+     * @param pattern the message pattern, with a {@code {}} placeholder
+     * @param arg the argument of the placeholder
+     */
+    public static void debug(String pattern, Object arg) {
+        root.debug(pattern, arg);
+    }
+
+    /**
+     * Logs a message at debug level if debug is enabled, built only in that case.
+     * @param message builds the message to log
+     */
+    public static void debug(Supplier<String> message) {
+        root.debug(message);
+    }
+
+    /**
+     * Logs a raw protocol payload at debug level, truncated and rate limited, see {@link Category#payload(String, CharSequence)}.
+     * @param source where the payload comes from or goes to
+     * @param payload the payload to log
+     */
+    public static void payload(String source, CharSequence payload) {
+        payloads.payload(source, payload);
+    }
+
+    /**
+     * Cuts a payload at {@link #MAX_PAYLOAD_LENGTH} characters, followed by its full length.
+     * @param payload the payload to log
+     * @return the payload itself if short enough, its beginning otherwise
+     */
+    public static CharSequence truncatePayload(CharSequence payload) {
+        return payload.length() > MAX_PAYLOAD_LENGTH
+                ? payload.subSequence(0, MAX_PAYLOAD_LENGTH) + "... (" + payload.length() + " chars)"
+                : payload;
     }
 
     /**
      * Logs an exception's stack trace at error level.
+     * The stack trace is rendered by the layout, on the thread writing the log, so the caller takes no lock.
      * @param e the exception to log
      */
-    public static synchronized void exception(Throwable e) {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        e.printStackTrace(pw);
-        logger.error("[EX] [{}] {}", Thread.currentThread().getName(), sw.toString());
+    public static void exception(Throwable e) {
+        root.logger.log(Level.ERROR, EX, "[{}]", Thread.currentThread().getName(), e);
+    }
+
+    /**
+     * A named logger, whose level is set independently of the others.
+     * Its methods behave like the static methods of {@link Logger} with the same name.
+     */
+    public static final class Category {
+        final org.apache.logging.log4j.Logger logger;
+        final RateLimit payloadLimit = new RateLimit(PAYLOADS_PER_SECOND);
+
+        Category(org.apache.logging.log4j.Logger logger) {
+            this.logger = logger;
+        }
+
+        /**
+         * Checks whether the debug messages of the category are written.
+         *
+         * @return true if debug is enabled globally or by the level of the category
+         */
+        public boolean isDebugEnabled() {
+            return debugEnabled || logger.isDebugEnabled();
+        }
+
+        /**
+         * Returns the level the debug messages are written at: info when debug is enabled globally, so they get
+         * through the default configuration, debug when it is enabled by the level of the category.
+         *
+         * @return the level of the debug messages
+         */
+        Level debugLevel() {
+            return logger.isDebugEnabled() ? Level.DEBUG : Level.INFO;
+        }
+
+        public void log(String message) {
+            logger.log(Level.INFO, LOG, "{}", message);
+        }
+
+        public void log(String pattern, Object arg) {
+            logger.log(Level.INFO, LOG, pattern, arg);
+        }
+
+        public void log(String pattern, Object arg0, Object arg1) {
+            logger.log(Level.INFO, LOG, pattern, arg0, arg1);
+        }
+
+        public void log(String pattern, Object arg0, Object arg1, Object arg2) {
+            logger.log(Level.INFO, LOG, pattern, arg0, arg1, arg2);
+        }
+
+        public void log(Supplier<String> message) {
+            if (logger.isEnabled(Level.INFO, LOG)) {
+                logger.log(Level.INFO, LOG, "{}", message.get());
+            }
+        }
+
+        public void error(String message) {
+            logger.log(Level.ERROR, ERROR, "{}", message);
+        }
+
+        public void error(String pattern, Object arg) {
+            logger.log(Level.ERROR, ERROR, pattern, arg);
+        }
+
+        public void error(String pattern, Object arg0, Object arg1) {
+            logger.log(Level.ERROR, ERROR, pattern, arg0, arg1);
+        }
+
+        public void warn(String message) {
+            logger.log(Level.WARN, WARN, "{}", message);
+        }
+
+        public void warn(String pattern, Object arg) {
+            logger.log(Level.WARN, WARN, pattern, arg);
+        }
+
+        public void warn(String pattern, Object arg0, Object arg1) {
+            logger.log(Level.WARN, WARN, pattern, arg0, arg1);
+        }
+
+        public void debug(String message) {
+            if (isDebugEnabled()) {
+                logger.log(debugLevel(), DEBUG, "{}", message);
+            }
+        }
+
+        public void debug(String pattern, Object arg) {
+            if (isDebugEnabled()) {
+                logger.log(debugLevel(), DEBUG, pattern, arg);
+            }
+        }
+
+        public void debug(Supplier<String> message) {
+            if (isDebugEnabled()) {
+                logger.log(debugLevel(), DEBUG, "{}", message.get());
+            }
+        }
+
+        /**
+         * Logs a raw protocol payload at debug level. At most {@link #PAYLOADS_PER_SECOND} payloads are written per
+         * second, the number of the skipped ones is reported with the next payload written; each payload is cut at
+         * {@link #MAX_PAYLOAD_LENGTH} characters.
+         *
+         * @param source  where the payload comes from or goes to
+         * @param payload the payload to log
+         */
+        public void payload(String source, CharSequence payload) {
+            if (!isDebugEnabled() || !payloadLimit.tryAcquire()) {
+                return;
+            }
+            long skipped = payloadLimit.drainSkipped();
+            CharSequence shown = truncatePayload(payload);
+            if (skipped > 0) {
+                logger.log(debugLevel(), DEBUG, "[{}] {} ({} payloads skipped)", source, shown, skipped);
+            } else {
+                logger.log(debugLevel(), DEBUG, "[{}] {}", source, shown);
+            }
+        }
+    }
+
+    /**
+     * Fixed one-second window limiting how many messages are written; lock-free and allocation-free.
+     */
+    public static final class RateLimit {
+        final int permitsPerSecond;
+        final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+        final AtomicInteger used = new AtomicInteger();
+        final LongAdder skipped = new LongAdder();
+
+        /**
+         * @param permitsPerSecond the number of messages written per second
+         */
+        public RateLimit(int permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        /**
+         * Takes a permit of the current second.
+         *
+         * @return true if the message can be written, false if it is counted as skipped
+         */
+        public boolean tryAcquire() {
+            return tryAcquire(System.nanoTime());
+        }
+
+        /**
+         * Takes a permit of the second a {@link System#nanoTime()} reading falls in.
+         *
+         * @param nanoTime the current time, in nanoseconds
+         * @return true if the message can be written, false if it is counted as skipped
+         */
+        public boolean tryAcquire(long nanoTime) {
+            long second = nanoTime / 1_000_000_000L;
+            long current = window.get();
+            if (second != current && window.compareAndSet(current, second)) {
+                used.set(0);
+            }
+            if (used.incrementAndGet() <= permitsPerSecond) {
+                return true;
+            }
+            skipped.increment();
+            return false;
+        }
+
+        /**
+         * Returns the number of messages skipped since the previous call.
+         *
+         * @return the number of skipped messages
+         */
+        public long drainSkipped() {
+            return skipped.sumThenReset();
+        }
     }
 }
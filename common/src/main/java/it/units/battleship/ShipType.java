@@ -22,6 +22,9 @@ import java.util.List;
  *
  * Additionally, the enum provides functionality to calculate the actual coordinates
  * of the ship on the grid, given an initial coordinate and an orientation.
+ * The rotated frame of every orientation is computed once, when the enum is loaded, and kept as
+ * primitive offset tables, so computing the cells of a ship involves no trigonometry and, through
+ * {@link #fillShipCells(int, int, Orientation, int[])}, no allocation.
  */
 public enum ShipType {
     CARRIER(7, "Carrier", List.of(new Coordinate(0, 0), new Coordinate(0, 1), new Coordinate(0, 2), new Coordinate(0,3), new Coordinate(1,0), new Coordinate(1,1), new Coordinate(1,2))),
@@ -36,6 +39,14 @@ public enum ShipType {
     private final String name;
     @Getter
     private final List<Coordinate> shipFrame;
+    /**
+     * Rotated frame per orientation ordinal, as interleaved {@code row, col} offsets from the initial coordinate.
+     */
+    private final int[][] offsets;
+    /**
+     * Bounding box of the rotated frame per orientation ordinal: {@code minRow, maxRow, minCol, maxCol}.
+     */
+    private final int[][] bounds;
 
     ShipType(int size, @NonNull String name, List<Coordinate> shipFrame) {
         if (shipFrame.size() != size) {
@@ -46,6 +57,21 @@ public enum ShipType {
         this.size = size;
         this.name = name;
         this.shipFrame = shipFrame;
+        Orientation[] orientations = Orientation.values();
+        this.offsets = new int[orientations.length][];
+        this.bounds = new int[orientations.length][];
+        for (Orientation orientation : orientations) {
+            int[] rotated = rotateFrame(shipFrame, orientation.getAngle());
+            int[] box = {Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE};
+            for (int i = 0; i < rotated.length; i += 2) {
+                box[0] = Math.min(box[0], rotated[i]);
+                box[1] = Math.max(box[1], rotated[i]);
+                box[2] = Math.min(box[2], rotated[i + 1]);
+                box[3] = Math.max(box[3], rotated[i + 1]);
+            }
+            this.offsets[orientation.ordinal()] = rotated;
+            this.bounds[orientation.ordinal()] = box;
+        }
     }
 
     /**
@@ -57,39 +83,93 @@ public enum ShipType {
      * @return a set of {@link Coordinate} objects representing the ship's absolute positions on the grid
      */
     public LinkedHashSet<Coordinate> getShipCoordinates(@NonNull Coordinate initCoordinate,@NonNull Orientation orientation){
-        return computeShipCoordinates(orientation.getAngle(), initCoordinate);
+        int[] rotated = offsets[orientation.ordinal()];
+        LinkedHashSet<Coordinate> coordinates = new LinkedHashSet<>();
+        for (int i = 0; i < rotated.length; i += 2) {
+            coordinates.add(new Coordinate(initCoordinate.row() + rotated[i], initCoordinate.col() + rotated[i + 1]));
+        }
+        return coordinates;
     }
 
     /**
-     * Computes the absolute coordinates of a ship using its initial coordinate and rotation angle on the grid.
+     * Writes the absolute cells of a ship into a caller-supplied buffer, without allocating.
+     * Cell {@code i} is stored as its row at {@code buffer[2 * i]} and its column at {@code buffer[2 * i + 1]},
+     * in the same order as {@link #getShipCoordinates(Coordinate, Orientation)}.
      *
-     * @param theta the rotation angle in radians to apply to the ship's frame
-     * @param initCoordinate the initial coordinate of the ship's starting position
-     * @return a set of {@code Coordinate} objects representing the computed absolute positions of the ship
+     * @param initRow the row of the initial coordinate
+     * @param initCol the column of the initial coordinate
+     * @param orientation the orientation of the ship, must not be null
+     * @param buffer the destination, at least {@code 2 * size} long
+     * @return the number of cells written, which is the size of the ship
+     * @throws IllegalArgumentException if the buffer is too short
      */
-    private LinkedHashSet<Coordinate> computeShipCoordinates(Double theta, Coordinate initCoordinate) {
-        Double[][] rotation_matrix = {
-                {Math.cos(theta), -Math.sin(theta)},
-                {Math.sin(theta), Math.cos(theta)}
-        };
-
-        LinkedHashSet<Coordinate> coordinates = new LinkedHashSet<>();
-
-        for (Coordinate coordinate : getShipFrame()) {
-            int x = coordinate.row();
-            int y = coordinate.col();
+    public int fillShipCells(int initRow, int initCol, @NonNull Orientation orientation, int[] buffer) {
+        int[] rotated = offsets[orientation.ordinal()];
+        if (buffer.length < rotated.length) {
+            throw new IllegalArgumentException("Buffer must hold at least " + rotated.length + " values");
+        }
+        for (int i = 0; i < rotated.length; i += 2) {
+            buffer[i] = initRow + rotated[i];
+            buffer[i + 1] = initCol + rotated[i + 1];
+        }
+        return size;
+    }
 
-            double relativeRow = rotation_matrix[0][0] * x + rotation_matrix[0][1] * y;
-            double relativeCol = rotation_matrix[1][0] * x + rotation_matrix[1][1] * y;
+    /**
+     * Returns the row offset of a cell of the rotated frame, relative to the initial coordinate.
+     *
+     * @param orientation the orientation of the ship, must not be null
+     * @param cell the index of the cell, between 0 and {@code size - 1}
+     * @return the row offset of the cell
+     */
+    public int getRowOffset(@NonNull Orientation orientation, int cell) {
+        return offsets[orientation.ordinal()][2 * cell];
+    }
 
-            int rotX = (int) Math.round(relativeRow);
-            int rotY = (int) Math.round(relativeCol);
+    /**
+     * Returns the column offset of a cell of the rotated frame, relative to the initial coordinate.
+     *
+     * @param orientation the orientation of the ship, must not be null
+     * @param cell the index of the cell, between 0 and {@code size - 1}
+     * @return the column offset of the cell
+     */
+    public int getColOffset(@NonNull Orientation orientation, int cell) {
+        return offsets[orientation.ordinal()][2 * cell + 1];
+    }
 
-            int newRow = initCoordinate.row() + rotX;
-            int newCol = initCoordinate.col() + rotY;
+    /**
+     * Checks in constant time whether a ship placed at the given position lies entirely within a grid.
+     *
+     * @param initRow the row of the initial coordinate
+     * @param initCol the column of the initial coordinate
+     * @param orientation the orientation of the ship, must not be null
+     * @param rows the number of rows of the grid
+     * @param cols the number of columns of the grid
+     * @return true if every cell of the ship is inside the grid
+     */
+    public boolean fitsInGrid(int initRow, int initCol, @NonNull Orientation orientation, int rows, int cols) {
+        int[] box = bounds[orientation.ordinal()];
+        return initRow + box[0] >= 0 && initRow + box[1] < rows && initCol + box[2] >= 0 && initCol + box[3] < cols;
+    }
 
-            coordinates.add(new Coordinate(newRow, newCol));
+    /**
+     * Rotates the ship frame by the given angle, rounding to the nearest cell.
+     *
+     * @param frame the frame to rotate
+     * @param theta the rotation angle in radians to apply to the ship's frame
+     * @return the rotated frame as interleaved {@code row, col} offsets
+     */
+    private static int[] rotateFrame(List<Coordinate> frame, double theta) {
+        double cos = Math.cos(theta);
+        double sin = Math.sin(theta);
+        int[] rotated = new int[frame.size() * 2];
+        int i = 0;
+        for (Coordinate coordinate : frame) {
+            int x = coordinate.row();
+            int y = coordinate.col();
+            rotated[i++] = (int) Math.round(cos * x - sin * y);
+            rotated[i++] = (int) Math.round(sin * x + cos * y);
         }
-        return coordinates;
+        return rotated;
     }
 }
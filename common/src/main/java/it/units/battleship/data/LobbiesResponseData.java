@@ -10,6 +10,13 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 public class LobbiesResponseData {
+    /**
+     * The number of lobbies on the server, or the number of lobbies of the page for a paginated listing.
+     */
     private int count;
     private List<? extends LobbyData> results;
+    /**
+     * Cursor of the next page of a paginated listing, null on the last page or when the listing is not paginated.
+     */
+    private String nextCursor;
 }
@@ -10,4 +10,12 @@ import lombok.*;
 public class LobbyCreateRequestData {
     String name;
     String player;
+    /**
+     * Whether the lobby is played on the server game engine, see {@link LobbyData#isServerAuthoritative()}.
+     */
+    boolean serverAuthoritative;
+
+    public LobbyCreateRequestData(String name, String player) {
+        this(name, player, false);
+    }
 }
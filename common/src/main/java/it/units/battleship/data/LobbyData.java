@@ -12,4 +12,12 @@ public class LobbyData {
     String lobbyName;
     String playerOne;
     String playerTwo;
+    /**
+     * Whether the server holds both fleets and resolves the shots, instead of relaying them between the players.
+     */
+    boolean serverAuthoritative;
+    /**
+     * Creation time of the lobby on the server, in milliseconds since the epoch.
+     */
+    long createdAt;
 }
@@ -0,0 +1,50 @@
+package it.units.battleship.data;
+
+import com.google.gson.annotations.SerializedName;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * An event pushed to the subscribers of the lobby feed.
+ * A subscriber first receives a {@link Kind#SNAPSHOT} with every joinable lobby, then one event per change.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LobbyFeedEventData {
+    Kind event;
+    /**
+     * The lobby the event is about, for every event but {@link Kind#SNAPSHOT}.
+     */
+    LobbyData lobby;
+    /**
+     * The joinable lobbies, for {@link Kind#SNAPSHOT} only.
+     */
+    List<LobbyData> lobbies;
+
+    public enum Kind {
+        /**
+         * Replaces the whole list, sent once when subscribing.
+         */
+        @SerializedName("snapshot")
+        SNAPSHOT,
+        /**
+         * A new joinable lobby.
+         */
+        @SerializedName("added")
+        ADDED,
+        /**
+         * A joinable lobby changed, or became joinable again.
+         */
+        @SerializedName("updated")
+        UPDATED,
+        /**
+         * A lobby was closed or is full, it can no longer be joined.
+         */
+        @SerializedName("removed")
+        REMOVED
+    }
+}
@@ -19,11 +19,27 @@ public enum GameMessageType {
      */
     GRID_UPDATE("grid_update"),
 
+    /**
+     * Sent to synchronize only the grid cells changed since the previous update.
+     */
+    GRID_DELTA("grid_delta"),
+
+    /**
+     * Sent to ask for a full grid update after a gap in the grid delta sequence.
+     */
+    GRID_RESYNC("grid_resync"),
+
     /**
      * Sent to notify the opponent of an incoming attack at specific coordinates.
      */
     SHOT_REQUEST("shot_request"),
 
+    /**
+     * Sent once at the end of setup to hand the fleet to the server, in lobbies where the server resolves the shots.
+     * It is never forwarded to the opponent.
+     */
+    FLEET_SUBMIT("fleet_submit"),
+
     /**
      * Sent to signal the passing of move authority to the other player.
      */
@@ -34,14 +50,48 @@ public enum GameMessageType {
      */
     AUTHENTICATE("authenticate"),
 
+    /**
+     * Sent by the server after a successful authentication to confirm the negotiated binary protocol version.
+     */
+    PROTOCOL("protocol"),
+
+    /**
+     * Sent by the server after a successful authentication, to the clients that support it, to tell whether the
+     * server resolves the shots of the lobby; sent again if the lobby falls back to relaying.
+     */
+    SERVER_AUTHORITATIVE("server_authoritative"),
+
+    /**
+     * Sent by the server to both players once both advertised support for grid deltas: from then on the grids are
+     * sent as {@link #GRID_DELTA}s, full {@link #GRID_UPDATE}s until then.
+     */
+    DELTA_UPDATES("delta_updates"),
+
     /**
      * Used for protocol errors or unexpected communication failures.
      */
     ERROR("error");
 
+    private static final GameMessageType[] VALUES = values();
+
     private final String type;
 
     GameMessageType(String type){
         this.type = type;
     }
+
+    /**
+     * Looks up a message type by its protocol name, without copying the array of the constants on every lookup.
+     *
+     * @param type the protocol name, e.g. "shot_request"
+     * @return the matching message type, or null if the name is unknown
+     */
+    public static GameMessageType fromType(String type) {
+        for (GameMessageType value : VALUES) {
+            if (value.type.equals(type)) {
+                return value;
+            }
+        }
+        return null;
+    }
 }
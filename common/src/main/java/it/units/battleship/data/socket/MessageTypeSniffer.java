@@ -0,0 +1,171 @@
+package it.units.battleship.data.socket;
+
+/**
+ * Fast-path reader for the {@code type} field of a {@link WebSocketMessage} serialized as JSON.
+ * <p>
+ * Instead of building a JSON tree, the sniffer walks the raw text only as far as the top-level {@code "type"} key
+ * and compares its value in place against the known message types. For every known type the returned string is
+ * the shared constant, so sniffing a message allocates nothing; only an unknown type costs a substring.
+ * Everything after the type (usually the payload) is never looked at.
+ */
+public class MessageTypeSniffer {
+
+    /**
+     * Message type used by the server to push lobby snapshots, not part of {@link GameMessageType}.
+     */
+    public static final String LOBBY_TYPE = "lobby";
+
+    private static final String TYPE_KEY = "type";
+    private static final String[] KNOWN_TYPES;
+
+    static {
+        GameMessageType[] values = GameMessageType.values();
+        KNOWN_TYPES = new String[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+            KNOWN_TYPES[i] = values[i].getType();
+        }
+        KNOWN_TYPES[values.length] = LOBBY_TYPE;
+    }
+
+    /**
+     * Extracts the value of the top-level {@code type} field.
+     *
+     * @param json the raw JSON message
+     * @return the message type, or null if the message is not a JSON object with a string {@code type} field
+     */
+    public static String sniffType(String json) {
+        if (json == null) {
+            return null;
+        }
+        int length = json.length();
+        int i = skipWhitespace(json, 0);
+        if (i >= length || json.charAt(i) != '{') {
+            return null;
+        }
+        i++;
+        while (true) {
+            i = skipWhitespace(json, i);
+            if (i >= length || json.charAt(i) != '"') {
+                return null;
+            }
+            int keyStart = i + 1;
+            int keyEnd = skipString(json, i);
+            if (keyEnd < 0) {
+                return null;
+            }
+            i = skipWhitespace(json, keyEnd + 1);
+            if (i >= length || json.charAt(i) != ':') {
+                return null;
+            }
+            i = skipWhitespace(json, i + 1);
+            if (keyEnd - keyStart == TYPE_KEY.length() && json.startsWith(TYPE_KEY, keyStart)) {
+                return readTypeValue(json, i);
+            }
+            i = skipValue(json, i);
+            if (i < 0) {
+                return null;
+            }
+            i = skipWhitespace(json, i);
+            if (i >= length || json.charAt(i) != ',') {
+                return null;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Resolves the string value starting at the given index to a known type constant, without allocating.
+     */
+    private static String readTypeValue(String json, int start) {
+        if (start >= json.length() || json.charAt(start) != '"') {
+            return null;
+        }
+        int end = skipString(json, start);
+        if (end < 0) {
+            return null;
+        }
+        int valueStart = start + 1;
+        int valueLength = end - valueStart;
+        for (String known : KNOWN_TYPES) {
+            if (known.length() == valueLength && json.startsWith(known, valueStart)) {
+                return known;
+            }
+        }
+        return json.substring(valueStart, end);
+    }
+
+    private static int skipWhitespace(String json, int i) {
+        int length = json.length();
+        while (i < length) {
+            char c = json.charAt(i);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skips a string literal.
+     *
+     * @return the index of the closing quote, or -1 if the string is not terminated
+     */
+    private static int skipString(String json, int openingQuote) {
+        int length = json.length();
+        for (int i = openingQuote + 1; i < length; i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Skips any JSON value (string, number, literal, object or array).
+     *
+     * @return the index right after the value, or -1 if the value is malformed
+     */
+    private static int skipValue(String json, int i) {
+        int length = json.length();
+        if (i >= length) {
+            return -1;
+        }
+        char first = json.charAt(i);
+        if (first == '"') {
+            int end = skipString(json, i);
+            return end < 0 ? -1 : end + 1;
+        }
+        if (first == '{' || first == '[') {
+            int depth = 0;
+            for (; i < length; i++) {
+                char c = json.charAt(i);
+                if (c == '"') {
+                    i = skipString(json, i);
+                    if (i < 0) {
+                        return -1;
+                    }
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return i + 1;
+                    }
+                }
+            }
+            return -1;
+        }
+        while (i < length) {
+            char c = json.charAt(i);
+            if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+}
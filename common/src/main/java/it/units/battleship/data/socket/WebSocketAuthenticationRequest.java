@@ -10,4 +10,26 @@ import lombok.*;
 public class WebSocketAuthenticationRequest {
     String id;
     String name;
+    /**
+     * Highest binary protocol version supported by the client, 0 (the default for older clients) for JSON only.
+     */
+    int binaryVersion;
+    /**
+     * Whether the client can play a server-authoritative lobby, false (the default for older clients) if it only
+     * knows the relay protocol: such a client always gets a relay lobby.
+     */
+    boolean serverAuthoritative;
+    /**
+     * Whether the client understands grid deltas, false (the default for older clients) if it only applies full
+     * grid updates: the grids of a lobby are sent as deltas only once both players support them.
+     */
+    boolean deltaUpdates;
+
+    public WebSocketAuthenticationRequest(String id, String name) {
+        this(id, name, 0);
+    }
+
+    public WebSocketAuthenticationRequest(String id, String name, int binaryVersion) {
+        this(id, name, binaryVersion, false, false);
+    }
 }
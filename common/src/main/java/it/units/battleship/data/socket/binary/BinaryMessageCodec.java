@@ -0,0 +1,332 @@
+package it.units.battleship.data.socket.binary;
+
+import it.units.battleship.CellState;
+import it.units.battleship.Coordinate;
+import it.units.battleship.GameState;
+import it.units.battleship.GridCodec;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.payloads.CellChangeDTO;
+import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.GridUpdateDTO;
+import it.units.battleship.data.socket.payloads.ShipDTO;
+import it.units.battleship.data.socket.payloads.ShotRequestDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Compact binary framing for the in-game messages, used instead of JSON once both sides agree on it during authentication.
+ * <p>
+ * Every frame starts with a two bytes header: the protocol {@link #VERSION} and the message tag. Numbers are
+ * unsigned varints, so a coordinate on a 10x10 grid takes one byte per component.
+ * <ul>
+ *     <li>{@link GameMessageType#SHOT_REQUEST}: row, col.</li>
+ *     <li>{@link GameMessageType#GRID_UPDATE}: shot outcome byte, cell count, cells in the raw {@link GridCodec}
+ *     packed form (2-bit {@link CellState} ordinals, 4 per byte), ship count and the ships. A ship is its type and orientation
+ *     followed by the anchor cell, the coordinates are rebuilt from the {@link ShipType} frame; ships whose
+ *     coordinates do not match their frame are sent with the explicit coordinate list instead.</li>
+ *     <li>{@link GameMessageType#GRID_DELTA}: flags (shot outcome, reset), sequence, changed cells as row, col and
+ *     {@link CellState} ordinal, then the newly sunk ships encoded as above.</li>
+ *     <li>{@link GameMessageType#TURN_CHANGE}: {@link GameState} ordinal and the optional UTF-8 message.</li>
+ * </ul>
+ * Any other message type keeps using JSON.
+ */
+public final class BinaryMessageCodec {
+
+    /**
+     * Current binary protocol version, written as the first byte of every frame.
+     */
+    public static final int VERSION = 1;
+
+    static final int TAG_SHOT_REQUEST = 1;
+    static final int TAG_GRID_UPDATE = 2;
+    static final int TAG_TURN_CHANGE = 3;
+    static final int TAG_GRID_DELTA = 4;
+
+    static final int FLAG_SHOT_OUTCOME = 1;
+    static final int FLAG_RESET = 1 << 1;
+
+    static final int NULL_ORDINAL = 0xFF;
+    static final int SHIP_FRAME = 0;
+    static final int SHIP_EXPLICIT = 1;
+
+    private static final CellState[] CELL_STATES = CellState.values();
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    private BinaryMessageCodec() {
+    }
+
+    /**
+     * Checks whether a message type has a binary encoding.
+     *
+     * @param type the message type
+     * @return true for shot requests, grid updates, grid deltas and turn changes
+     */
+    public static boolean supports(GameMessageType type) {
+        return type == GameMessageType.SHOT_REQUEST
+                || type == GameMessageType.GRID_UPDATE
+                || type == GameMessageType.GRID_DELTA
+                || type == GameMessageType.TURN_CHANGE;
+    }
+
+    /**
+     * Negotiates the protocol version between a peer and this codec.
+     *
+     * @param requestedVersion the highest version supported by the peer, 0 for JSON only
+     * @return the version to use, 0 meaning JSON
+     */
+    public static int negotiate(int requestedVersion) {
+        return Math.max(0, Math.min(requestedVersion, VERSION));
+    }
+
+    /**
+     * Checks whether a frame looks like a binary frame rather than a JSON document sent as bytes.
+     *
+     * @param data the raw frame
+     * @param offset the frame start
+     * @param length the frame length
+     * @return true if the frame starts with a supported version byte
+     */
+    public static boolean isBinaryFrame(byte[] data, int offset, int length) {
+        return length >= 2 && data[offset] > 0 && data[offset] <= VERSION;
+    }
+
+    /**
+     * Encodes a message payload into a binary frame.
+     *
+     * @param type the message type, must be {@link #supports(GameMessageType) supported}
+     * @param payload the payload matching the message type
+     * @return the encoded frame
+     * @throws IllegalArgumentException if the type has no binary encoding or the payload does not match it
+     */
+    public static byte[] encode(GameMessageType type, Object payload) {
+        if (payload == null) {
+            throw new IllegalArgumentException("Binary frames require a payload");
+        }
+        switch (type) {
+            case SHOT_REQUEST -> {
+                Coordinate coord = ((ShotRequestDTO) payload).coord();
+                BinaryWriter writer = header(TAG_SHOT_REQUEST, 4);
+                writer.writeVarInt(coord.row());
+                writer.writeVarInt(coord.col());
+                return writer.toByteArray();
+            }
+            case GRID_UPDATE -> {
+                return encodeGridUpdate((GridUpdateDTO) payload);
+            }
+            case GRID_DELTA -> {
+                return encodeGridDelta((GridDeltaDTO) payload);
+            }
+            case TURN_CHANGE -> {
+                GameStatusDTO status = (GameStatusDTO) payload;
+                BinaryWriter writer = header(TAG_TURN_CHANGE, 8);
+                writer.writeByte(status.state() == null ? NULL_ORDINAL : status.state().ordinal());
+                writer.writeNullableString(status.message());
+                return writer.toByteArray();
+            }
+            default -> throw new IllegalArgumentException("No binary encoding for message type: " + type.getType());
+        }
+    }
+
+    /**
+     * Reads the message type of a frame without decoding its payload.
+     *
+     * @param data the raw frame
+     * @param offset the frame start
+     * @param length the frame length
+     * @return the message type
+     * @throws IllegalArgumentException if the frame version or tag is unknown
+     */
+    public static GameMessageType peekType(byte[] data, int offset, int length) {
+        BinaryReader reader = new BinaryReader(data, offset, length);
+        readVersion(reader);
+        return typeOfTag(reader.readUnsignedByte());
+    }
+
+    /**
+     * Decodes a binary frame into the same message the JSON protocol would have produced.
+     *
+     * @param data the raw frame
+     * @param offset the frame start
+     * @param length the frame length
+     * @return the decoded message, whose data is a {@link ShotRequestDTO}, {@link GridUpdateDTO}, {@link GridDeltaDTO}
+     * or {@link GameStatusDTO}
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    public static WebSocketMessage<Object> decode(byte[] data, int offset, int length) {
+        BinaryReader reader = new BinaryReader(data, offset, length);
+        readVersion(reader);
+        GameMessageType type = typeOfTag(reader.readUnsignedByte());
+        Object payload = switch (type) {
+            case SHOT_REQUEST -> new ShotRequestDTO(new Coordinate(reader.readVarInt(), reader.readVarInt()));
+            case GRID_UPDATE -> decodeGridUpdate(reader);
+            case GRID_DELTA -> decodeGridDelta(reader);
+            case TURN_CHANGE -> {
+                int state = reader.readUnsignedByte();
+                yield new GameStatusDTO(state == NULL_ORDINAL ? null : ordinal(GAME_STATES, state), reader.readNullableString());
+            }
+            default -> throw new IllegalArgumentException("No binary encoding for message type: " + type.getType());
+        };
+        return new WebSocketMessage<>(type.getType(), payload);
+    }
+
+    /**
+     * Decodes a whole binary frame.
+     *
+     * @param frame the raw frame
+     * @return the decoded message
+     * @see #decode(byte[], int, int)
+     */
+    public static WebSocketMessage<Object> decode(byte[] frame) {
+        return decode(frame, 0, frame.length);
+    }
+
+    private static BinaryWriter header(int tag, int payloadSizeHint) {
+        BinaryWriter writer = new BinaryWriter(2 + payloadSizeHint);
+        writer.writeByte(VERSION);
+        writer.writeByte(tag);
+        return writer;
+    }
+
+    private static void readVersion(BinaryReader reader) {
+        int version = reader.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Unsupported binary protocol version: " + version);
+        }
+    }
+
+    private static GameMessageType typeOfTag(int tag) {
+        return switch (tag) {
+            case TAG_SHOT_REQUEST -> GameMessageType.SHOT_REQUEST;
+            case TAG_GRID_UPDATE -> GameMessageType.GRID_UPDATE;
+            case TAG_TURN_CHANGE -> GameMessageType.TURN_CHANGE;
+            case TAG_GRID_DELTA -> GameMessageType.GRID_DELTA;
+            default -> throw new IllegalArgumentException("Unknown binary message tag: " + tag);
+        };
+    }
+
+    private static byte[] encodeGridUpdate(GridUpdateDTO update) {
+        String grid = update.gridSerialized() == null ? "" : update.gridSerialized();
+        List<ShipDTO> fleet = update.fleet() == null ? List.of() : update.fleet();
+        byte[] packed = GridCodec.toPacked(grid);
+        BinaryWriter writer = header(TAG_GRID_UPDATE, 8 + packed.length + fleet.size() * 4);
+        writer.writeByte(update.shotOutcome() ? 1 : 0);
+        writer.writeVarInt(GridCodec.cellCount(grid));
+        writer.writeBytes(packed);
+        writer.writeVarInt(fleet.size());
+        for (ShipDTO ship : fleet) {
+            encodeShip(writer, ship);
+        }
+        return writer.toByteArray();
+    }
+
+    private static byte[] encodeGridDelta(GridDeltaDTO delta) {
+        List<CellChangeDTO> changes = delta.changes() == null ? List.of() : delta.changes();
+        List<ShipDTO> sunkShips = delta.sunkShips() == null ? List.of() : delta.sunkShips();
+        BinaryWriter writer = header(TAG_GRID_DELTA, 8 + changes.size() * 3 + sunkShips.size() * 4);
+        writer.writeByte((delta.shotOutcome() ? FLAG_SHOT_OUTCOME : 0) | (delta.reset() ? FLAG_RESET : 0));
+        writer.writeVarInt(delta.sequence());
+        writer.writeVarInt(changes.size());
+        for (CellChangeDTO change : changes) {
+            writer.writeVarInt(change.row());
+            writer.writeVarInt(change.col());
+            writer.writeByte(change.state().ordinal());
+        }
+        writer.writeVarInt(sunkShips.size());
+        for (ShipDTO ship : sunkShips) {
+            encodeShip(writer, ship);
+        }
+        return writer.toByteArray();
+    }
+
+    private static void encodeShip(BinaryWriter writer, ShipDTO ship) {
+        writer.writeByte(ship.type() == null ? NULL_ORDINAL : ship.type().ordinal());
+        writer.writeByte(ship.orientation() == null ? NULL_ORDINAL : ship.orientation().ordinal());
+        LinkedHashSet<Coordinate> coordinates = ship.coordinates() == null ? new LinkedHashSet<>() : ship.coordinates();
+        Coordinate anchor = coordinates.isEmpty() ? null : coordinates.iterator().next();
+        boolean matchesFrame = anchor != null && ship.type() != null && ship.orientation() != null
+                && anchor.row() >= 0 && anchor.col() >= 0
+                && ship.type().getShipCoordinates(anchor, ship.orientation()).equals(coordinates);
+        if (matchesFrame) {
+            writer.writeByte(SHIP_FRAME);
+            writer.writeVarInt(anchor.row());
+            writer.writeVarInt(anchor.col());
+            return;
+        }
+        writer.writeByte(SHIP_EXPLICIT);
+        writer.writeVarInt(coordinates.size());
+        for (Coordinate coordinate : coordinates) {
+            writer.writeVarInt(coordinate.row());
+            writer.writeVarInt(coordinate.col());
+        }
+    }
+
+    private static GridUpdateDTO decodeGridUpdate(BinaryReader reader) {
+        boolean shotOutcome = reader.readUnsignedByte() != 0;
+        int cells = reader.readVarInt();
+        if (cells > reader.remaining() * 4L) {
+            throw new IllegalArgumentException("Truncated binary frame");
+        }
+        String grid = GridCodec.fromPacked(reader.readBytes((cells + 3) >>> 2), cells);
+        int shipCount = reader.readVarInt();
+        List<ShipDTO> fleet = new ArrayList<>(Math.min(shipCount, reader.remaining()));
+        for (int i = 0; i < shipCount; i++) {
+            fleet.add(decodeShip(reader));
+        }
+        return new GridUpdateDTO(shotOutcome, grid, fleet);
+    }
+
+    private static GridDeltaDTO decodeGridDelta(BinaryReader reader) {
+        int flags = reader.readUnsignedByte();
+        int sequence = reader.readVarInt();
+        int changeCount = reader.readVarInt();
+        List<CellChangeDTO> changes = new ArrayList<>(Math.min(changeCount, reader.remaining()));
+        for (int i = 0; i < changeCount; i++) {
+            changes.add(new CellChangeDTO(reader.readVarInt(), reader.readVarInt(), ordinal(CELL_STATES, reader.readUnsignedByte())));
+        }
+        int shipCount = reader.readVarInt();
+        List<ShipDTO> sunkShips = new ArrayList<>(Math.min(shipCount, reader.remaining()));
+        for (int i = 0; i < shipCount; i++) {
+            sunkShips.add(decodeShip(reader));
+        }
+        return new GridDeltaDTO(sequence, (flags & FLAG_RESET) != 0, (flags & FLAG_SHOT_OUTCOME) != 0, changes, sunkShips);
+    }
+
+    private static ShipDTO decodeShip(BinaryReader reader) {
+        int typeOrdinal = reader.readUnsignedByte();
+        int orientationOrdinal = reader.readUnsignedByte();
+        ShipType type = typeOrdinal == NULL_ORDINAL ? null : ordinal(SHIP_TYPES, typeOrdinal);
+        Orientation orientation = orientationOrdinal == NULL_ORDINAL ? null : ordinal(ORIENTATIONS, orientationOrdinal);
+        int shape = reader.readUnsignedByte();
+        if (shape == SHIP_FRAME) {
+            if (type == null || orientation == null) {
+                throw new IllegalArgumentException("Frame encoded ship without type or orientation");
+            }
+            Coordinate anchor = new Coordinate(reader.readVarInt(), reader.readVarInt());
+            return new ShipDTO(type, type.getShipCoordinates(anchor, orientation), orientation);
+        }
+        if (shape != SHIP_EXPLICIT) {
+            throw new IllegalArgumentException("Unknown ship encoding: " + shape);
+        }
+        int size = reader.readVarInt();
+        LinkedHashSet<Coordinate> coordinates = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            coordinates.add(new Coordinate(reader.readVarInt(), reader.readVarInt()));
+        }
+        return new ShipDTO(type, coordinates, orientation);
+    }
+
+    private static <E> E ordinal(E[] values, int ordinal) {
+        if (ordinal >= values.length) {
+            throw new IllegalArgumentException("Invalid ordinal " + ordinal + " for " + values.getClass().getComponentType().getSimpleName());
+        }
+        return values[ordinal];
+    }
+}
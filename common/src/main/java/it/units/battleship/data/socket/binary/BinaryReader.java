@@ -0,0 +1,72 @@
+package it.units.battleship.data.socket.binary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Sequential reader over a binary frame, counterpart of {@link BinaryWriter}.
+ * Every read is bounds checked and fails with an {@link IllegalArgumentException} on truncated frames.
+ */
+class BinaryReader {
+    private final byte[] data;
+    private final int limit;
+    private int position;
+
+    BinaryReader(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid frame bounds");
+        }
+        this.data = data;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    int readUnsignedByte() {
+        require(1);
+        return data[position++] & 0xFF;
+    }
+
+    int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readUnsignedByte();
+            // the fifth byte carries only the top 4 bits of an int
+            if (shift == 28 && (b & 0x70) != 0) {
+                throw new IllegalArgumentException("Malformed varint");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    byte[] readBytes(int length) {
+        require(length);
+        byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+        position += length;
+        return bytes;
+    }
+
+    String readNullableString() {
+        int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        require(length - 1);
+        String value = new String(data, position, length - 1, StandardCharsets.UTF_8);
+        position += length - 1;
+        return value;
+    }
+
+    int remaining() {
+        return limit - position;
+    }
+
+    private void require(int bytes) {
+        if (bytes < 0 || position + bytes > limit) {
+            throw new IllegalArgumentException("Truncated binary frame");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package it.units.battleship.data.socket.payloads;
+
+import it.units.battleship.CellState;
+
+/**
+ * Data Transfer Object for a single cell of a grid delta.
+ *
+ * @param row   The row of the changed cell.
+ * @param col   The column of the changed cell.
+ * @param state The new state of the cell.
+ */
+public record CellChangeDTO(
+        int row,
+        int col,
+        CellState state
+) {}
@@ -0,0 +1,12 @@
+package it.units.battleship.data.socket.payloads;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object carrying the whole fleet of a player to the server at the end of setup.
+ *
+ * @param fleet The ships of the player, in their final position.
+ */
+public record FleetSubmitDTO(
+        List<ShipDTO> fleet
+) {}
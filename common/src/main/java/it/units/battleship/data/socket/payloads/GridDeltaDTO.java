@@ -0,0 +1,22 @@
+package it.units.battleship.data.socket.payloads;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for incremental grid updates.
+ * Instead of the whole board, it carries only the cells changed since the previous update and the ships sunk since then.
+ *
+ * @param sequence    Sequence number of the update, incremented by one at each update sent.
+ *                    A receiver that sees a gap requests a resync with {@link GridResyncRequestDTO}.
+ * @param reset       True if the receiver must clear its grid before applying the changes (full resync).
+ * @param shotOutcome True if the shot was a hit, false otherwise.
+ * @param changes     The cells changed since the previous update.
+ * @param sunkShips   The ships sunk since the previous update.
+ */
+public record GridDeltaDTO(
+        int sequence,
+        boolean reset,
+        boolean shotOutcome,
+        List<CellChangeDTO> changes,
+        List<ShipDTO> sunkShips
+) {}
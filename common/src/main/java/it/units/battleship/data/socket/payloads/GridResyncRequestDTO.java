@@ -0,0 +1,10 @@
+package it.units.battleship.data.socket.payloads;
+
+/**
+ * Data Transfer Object sent when a gap is detected in the {@link GridDeltaDTO} sequence.
+ *
+ * @param lastSequence The sequence number of the last update applied by the receiver.
+ */
+public record GridResyncRequestDTO(
+        int lastSequence
+) {}
@@ -33,6 +33,10 @@ public class CommandLineService {
         options.addOption("p", "port", true, "Webserver port number");
         options.addOption("v", "version", false, "Show version");
         options.addOption("d", "debug", false, "Enable debug mode");
+        options.addOption(null, "turbo", false, "Play single-player games without the delays before the AI moves");
+        options.addOption(null, "opponent", true, "AI of single-player games: simple (default) or density");
+        options.addOption(null, "virtual-threads", false, "Run the HTTP handlers and WebSocket callbacks of the server on virtual threads");
+        options.addOption(null, "outbound-queue-limit", true, "Frames queued for a WebSocket client before it is disconnected as a slow consumer");
     }
 
     /**
@@ -62,6 +66,33 @@ public class CommandLineService {
         return cmd.hasOption("d");
     }
 
+    /**
+     * Checks if turbo mode is enabled.
+     *
+     * @return true if single-player games should run on virtual time, false otherwise
+     */
+    public boolean isTurboEnabled() {
+        return cmd.hasOption("turbo");
+    }
+
+    /**
+     * Gets the name of the AI playing single-player games.
+     *
+     * @return the name given on the command line, or {@code simple} if not specified
+     */
+    public String getOpponent() {
+        return cmd.getOptionValue("opponent", "simple");
+    }
+
+    /**
+     * Checks if the server should run its handlers on virtual threads.
+     *
+     * @return true if the virtual-thread execution mode is enabled, false for the platform thread pool
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return cmd.hasOption("virtual-threads");
+    }
+
     /**
      * Gets the server port number.
      *
@@ -79,6 +110,24 @@ public class CommandLineService {
         }
     }
 
+    /**
+     * Gets the maximum number of frames queued for a WebSocket client.
+     *
+     * @return the outbound queue limit, or {@link Defaults#OUTBOUND_QUEUE_LIMIT} if not specified or invalid
+     */
+    public int getOutboundQueueLimit() {
+        if (cmd.hasOption("outbound-queue-limit")) {
+            try {
+                int limit = Integer.parseInt(cmd.getOptionValue("outbound-queue-limit"));
+                return limit > 0 ? limit : Defaults.OUTBOUND_QUEUE_LIMIT;
+            } catch (NumberFormatException e) {
+                return Defaults.OUTBOUND_QUEUE_LIMIT;
+            }
+        } else {
+            return Defaults.OUTBOUND_QUEUE_LIMIT;
+        }
+    }
+
     /**
      * Prints the help message.
      *
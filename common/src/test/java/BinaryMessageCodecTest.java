@@ -0,0 +1,115 @@
+import com.google.gson.Gson;
+import it.units.battleship.*;
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.binary.BinaryMessageCodec;
+import it.units.battleship.data.socket.payloads.CellChangeDTO;
+import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.GridUpdateDTO;
+import it.units.battleship.data.socket.payloads.ShipDTO;
+import it.units.battleship.data.socket.payloads.ShotRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryMessageCodecTest {
+
+    @Test
+    public void testShotRequestRoundTrip() {
+        ShotRequestDTO shot = new ShotRequestDTO(new Coordinate(3, 200));
+        byte[] frame = BinaryMessageCodec.encode(GameMessageType.SHOT_REQUEST, shot);
+        WebSocketMessage<Object> decoded = BinaryMessageCodec.decode(frame);
+        assertEquals(GameMessageType.SHOT_REQUEST.getType(), decoded.getType());
+        assertEquals(shot, decoded.getData());
+        assertEquals(GameMessageType.SHOT_REQUEST, BinaryMessageCodec.peekType(frame, 0, frame.length));
+    }
+
+    @Test
+    public void testGridUpdateRoundTrip() {
+        List<ShipDTO> fleet = new ArrayList<>();
+        for (ShipType type : ShipType.values()) {
+            for (Orientation orientation : Orientation.values()) {
+                fleet.add(new ShipDTO(type, type.getShipCoordinates(new Coordinate(5, 5), orientation), orientation));
+            }
+        }
+        // coordinates that do not follow the ship frame are sent explicitly
+        fleet.add(new ShipDTO(ShipType.DESTROYER, new LinkedHashSet<>(List.of(new Coordinate(0, 1), new Coordinate(0, 0))), Orientation.HORIZONTAL_RIGHT));
+        StringBuilder grid = new StringBuilder();
+        Random random = new Random(42);
+        for (int i = 0; i < 101; i++) {
+            grid.append(CellState.values()[random.nextInt(CellState.values().length)].representation);
+        }
+        GridUpdateDTO update = new GridUpdateDTO(true, grid.toString(), fleet);
+
+        GridUpdateDTO decoded = (GridUpdateDTO) BinaryMessageCodec.decode(BinaryMessageCodec.encode(GameMessageType.GRID_UPDATE, update)).getData();
+        assertEquals(update.shotOutcome(), decoded.shotOutcome());
+        assertEquals(update.fleet(), decoded.fleet());
+        // boards larger than the default one come back in the compact packed form
+        assertEquals(GridCodec.Format.PACKED, GridCodec.detect(decoded.gridSerialized()));
+        assertArrayEquals(GridMapper.deserialize(update.gridSerialized(), 1, 101), GridMapper.deserialize(decoded.gridSerialized(), 1, 101));
+
+        GridUpdateDTO small = new GridUpdateDTO(false, grid.substring(0, Defaults.GRID_ROWS * Defaults.GRID_COLS), List.of());
+        assertEquals(small, BinaryMessageCodec.decode(BinaryMessageCodec.encode(GameMessageType.GRID_UPDATE, small)).getData());
+    }
+
+    @Test
+    public void testGridDeltaRoundTrip() {
+        ShipType type = ShipType.FRIGATE;
+        List<ShipDTO> sunk = List.of(new ShipDTO(type, type.getShipCoordinates(new Coordinate(4, 4), Orientation.VERTICAL_DOWN), Orientation.VERTICAL_DOWN));
+        List<CellChangeDTO> changes = List.of(new CellChangeDTO(4, 4, CellState.SUNK), new CellChangeDTO(130, 2, CellState.MISS));
+        GridDeltaDTO delta = new GridDeltaDTO(300, false, true, changes, sunk);
+        assertEquals(delta, BinaryMessageCodec.decode(BinaryMessageCodec.encode(GameMessageType.GRID_DELTA, delta)).getData());
+
+        GridDeltaDTO reset = new GridDeltaDTO(1, true, false, List.of(), List.of());
+        assertEquals(reset, BinaryMessageCodec.decode(BinaryMessageCodec.encode(GameMessageType.GRID_DELTA, reset)).getData());
+    }
+
+    @Test
+    public void testTurnChangeRoundTrip() {
+        GameStatusDTO status = new GameStatusDTO(GameState.GAME_OVER, "Vittoria è tua");
+        assertEquals(status, BinaryMessageCodec.decode(BinaryMessageCodec.encode(GameMessageType.TURN_CHANGE, status)).getData());
+        GameStatusDTO empty = new GameStatusDTO(null, null);
+        assertEquals(empty, BinaryMessageCodec.decode(BinaryMessageCodec.encode(GameMessageType.TURN_CHANGE, empty)).getData());
+    }
+
+    @Test
+    public void testGridUpdateIsMuchSmallerThanJson() {
+        ShipType type = ShipType.CARRIER;
+        List<ShipDTO> fleet = List.of(new ShipDTO(type, type.getShipCoordinates(new Coordinate(2, 2), Orientation.VERTICAL_DOWN), Orientation.VERTICAL_DOWN));
+        String grid = "0".repeat(Defaults.GRID_ROWS * Defaults.GRID_COLS - 8) + "KKKKKKKM";
+        GridUpdateDTO update = new GridUpdateDTO(true, grid, fleet);
+
+        int jsonSize = new Gson().toJson(new WebSocketMessage<>(GameMessageType.GRID_UPDATE.getType(), update)).getBytes(StandardCharsets.UTF_8).length;
+        int binarySize = BinaryMessageCodec.encode(GameMessageType.GRID_UPDATE, update).length;
+        assertTrue(binarySize * 10 <= jsonSize, "binary " + binarySize + " bytes, json " + jsonSize + " bytes");
+    }
+
+    @Test
+    public void testMalformedFrames() {
+        byte[] frame = BinaryMessageCodec.encode(GameMessageType.SHOT_REQUEST, new ShotRequestDTO(new Coordinate(1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(Arrays.copyOf(frame, frame.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(new byte[]{(byte) (BinaryMessageCodec.VERSION + 1), 1, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(new byte[]{BinaryMessageCodec.VERSION, 99}));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.encode(GameMessageType.ERROR, "error"));
+        assertFalse(BinaryMessageCodec.isBinaryFrame("{}".getBytes(StandardCharsets.UTF_8), 0, 2));
+    }
+
+    @Test
+    public void testOverflowingVarIntIsMalformed() {
+        byte[] frame = BinaryMessageCodec.encode(GameMessageType.SHOT_REQUEST, new ShotRequestDTO(new Coordinate(1, 1)));
+        byte[] overflowing = {frame[0], frame[1], (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F, 0};
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(overflowing));
+        byte[] largest = {frame[0], frame[1], (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0};
+        assertEquals(new ShotRequestDTO(new Coordinate(Integer.MAX_VALUE, 0)), BinaryMessageCodec.decode(largest).getData());
+    }
+
+    @Test
+    public void testNegotiation() {
+        assertEquals(0, BinaryMessageCodec.negotiate(0));
+        assertEquals(BinaryMessageCodec.VERSION, BinaryMessageCodec.negotiate(BinaryMessageCodec.VERSION + 5));
+    }
+}
@@ -43,4 +43,23 @@ public class CommandLineTest {
         assertFalse(commandLineService.isVersionRequested());
         assertEquals(8080, commandLineService.getServerPort());
     }
+
+    @Test
+    public void testCommandLineOutboundQueueLimit() throws ParseException {
+        assertEquals(Defaults.OUTBOUND_QUEUE_LIMIT, new CommandLineService(new String[]{}).getOutboundQueueLimit());
+        assertEquals(64, new CommandLineService(new String[]{"--outbound-queue-limit", "64"}).getOutboundQueueLimit());
+        assertEquals(Defaults.OUTBOUND_QUEUE_LIMIT, new CommandLineService(new String[]{"--outbound-queue-limit", "0"}).getOutboundQueueLimit());
+    }
+
+    @Test
+    public void testCommandLineOpponent() throws ParseException {
+        assertEquals("simple", new CommandLineService(new String[]{}).getOpponent());
+        assertEquals("density", new CommandLineService(new String[]{"--opponent", "density"}).getOpponent());
+    }
+
+    @Test
+    public void testCommandLineVirtualThreads() throws ParseException {
+        assertFalse(new CommandLineService(new String[]{}).isVirtualThreadsEnabled());
+        assertTrue(new CommandLineService(new String[]{"--virtual-threads"}).isVirtualThreadsEnabled());
+    }
 }
@@ -0,0 +1,94 @@
+import it.units.battleship.CellState;
+import it.units.battleship.GridCodec;
+import it.units.battleship.GridMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridCodecTest {
+
+    private static CellState[][] randomGrid(int rows, int cols, double density, long seed) {
+        Random random = new Random(seed);
+        CellState[][] grid = new CellState[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                grid[r][c] = random.nextDouble() < density
+                        ? CellState.values()[1 + random.nextInt(CellState.values().length - 1)]
+                        : CellState.EMPTY;
+            }
+        }
+        return grid;
+    }
+
+    @Test
+    public void testEveryFormatRoundTrips() {
+        int[][] sizes = {{10, 10}, {7, 13}, {2, 2}, {120, 90}};
+        for (int[] size : sizes) {
+            for (double density : new double[]{0, 0.05, 1}) {
+                CellState[][] grid = randomGrid(size[0], size[1], density, size[0] * 31L + size[1]);
+                for (GridCodec.Format format : GridCodec.Format.values()) {
+                    String encoded = GridCodec.encode(grid, format);
+                    assertEquals(format, GridCodec.detect(encoded));
+                    assertArrayEquals(grid, GridCodec.decode(encoded, size[0], size[1]), format + " " + size[0] + "x" + size[1] + " " + density);
+                    assertEquals(size[0] * size[1], GridCodec.cellCount(encoded));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPlainFormatIsUnchanged() {
+        CellState[][] grid = GridMapper.deserialize("0XKM", 2, 2);
+        assertEquals(CellState.HIT, grid[0][1]);
+        assertEquals(CellState.MISS, grid[1][1]);
+        assertEquals("0XKM", GridMapper.serialize(grid));
+        assertEquals(CellState.EMPTY, GridMapper.deserialize("0?", 1, 2)[0][1], "Unknown characters decode as empty cells.");
+        assertEquals(CellState.EMPTY, GridMapper.deserialize("X", 1, 2)[0][1], "Missing cells decode as empty cells.");
+    }
+
+    @Test
+    public void testRunLengthFormat() {
+        CellState[][] grid = GridMapper.deserialize("MM0000X000", 2, 5);
+        String encoded = GridCodec.encode(grid, GridCodec.Format.RUN_LENGTH);
+        assertEquals("R10:M2E4H", encoded);
+        assertArrayEquals(grid, GridMapper.deserialize(encoded, 2, 5));
+    }
+
+    @Test
+    public void testTransportPicksTheSmallestCompactFormForLargeBoards() {
+        CellState[][] small = randomGrid(10, 10, 0.3, 1);
+        assertEquals(GridMapper.serialize(small), GridCodec.encodeForTransport(small));
+
+        CellState[][] sparse = randomGrid(1000, 1000, 0.001, 2);
+        String encoded = GridCodec.encodeForTransport(sparse);
+        assertEquals(GridCodec.Format.RUN_LENGTH, GridCodec.detect(encoded));
+        assertTrue(encoded.length() < 1000 * 1000 / 20, "run-length size " + encoded.length());
+
+        CellState[][] dense = randomGrid(100, 100, 0.8, 3);
+        encoded = GridCodec.encodeForTransport(dense);
+        assertEquals(GridCodec.Format.PACKED, GridCodec.detect(encoded));
+        assertArrayEquals(dense, GridMapper.deserialize(encoded, 100, 100));
+    }
+
+    @Test
+    public void testRawPackedForm() {
+        CellState[][] grid = randomGrid(33, 33, 0.4, 4);
+        byte[] raw = GridCodec.toPacked(GridMapper.serialize(grid));
+        assertEquals((33 * 33 + 3) / 4, raw.length);
+        for (GridCodec.Format format : GridCodec.Format.values()) {
+            assertArrayEquals(raw, GridCodec.toPacked(GridCodec.encode(grid, format)), format.name());
+        }
+        assertArrayEquals(grid, GridMapper.deserialize(GridCodec.fromPacked(raw, 33 * 33), 33, 33));
+        assertThrows(IllegalArgumentException.class, () -> GridCodec.toPacked("0Q"));
+    }
+
+    @Test
+    public void testMalformedHeaders() {
+        assertThrows(IllegalArgumentException.class, () -> GridMapper.deserialize("P12", 3, 4));
+        assertThrows(IllegalArgumentException.class, () -> GridMapper.deserialize("R9:Z", 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> GridMapper.deserialize("P4:%%", 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> GridCodec.toPacked("R2000000000:"));
+    }
+}
@@ -1,6 +1,17 @@
 import it.units.battleship.Logger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 public class LoggerTest {
 
     @Test
@@ -32,4 +43,108 @@ public class LoggerTest {
             Logger.exception(e);
         }
     }
+
+    @Test
+    public void testParameterizedLogging() {
+        CapturingAppender appender = new CapturingAppender();
+        org.apache.logging.log4j.core.Logger logger = (org.apache.logging.log4j.core.Logger) LogManager.getLogger(Logger.ROOT_CATEGORY);
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            Logger.log("Player {} fired at {}", "Alice", "B4");
+            Logger.warn("Queue of {} frames: {}", 256, "{} is not a placeholder in an argument");
+            Logger.error("Lobby {} not found", "lobby");
+            Logger.log("Braces in a plain message are kept: {}");
+        } finally {
+            logger.removeAppender(appender);
+            appender.stop();
+        }
+        assertEquals(List.of(
+                "LOG Player Alice fired at B4",
+                "WARN Queue of 256 frames: {} is not a placeholder in an argument",
+                "ERROR Lobby lobby not found",
+                "LOG Braces in a plain message are kept: {}"), appender.lines);
+    }
+
+    /**
+     * Records the marker and the formatted message of every event, on the logging thread.
+     */
+    static final class CapturingAppender extends AbstractAppender {
+        final List<String> lines = new CopyOnWriteArrayList<>();
+
+        CapturingAppender() {
+            super("Capturing", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            lines.add(event.getMarker().getName() + " " + event.getMessage().getFormattedMessage());
+        }
+    }
+
+    @Test
+    public void testSupplierIsOnlyCalledWhenEnabled() {
+        AtomicInteger calls = new AtomicInteger();
+        Logger.setDebugEnabled(false);
+        Logger.debug(() -> "Disabled message " + calls.incrementAndGet());
+        assertEquals(0, calls.get());
+
+        Logger.setDebugEnabled(true);
+        Logger.debug(() -> "Enabled message " + calls.incrementAndGet());
+        assertEquals(1, calls.get());
+        Logger.setDebugEnabled(false);
+    }
+
+    @Test
+    public void testCategoryLevels() {
+        Logger.setDebugEnabled(false);
+        Logger.setLevel("test", Level.DEBUG);
+        assertTrue(Logger.category("test").isDebugEnabled());
+        assertFalse(Logger.isDebugEnabled());
+        Logger.category("test").debug("Category debug message {}", 1);
+
+        Logger.setLevel("test", Level.INFO);
+        assertFalse(Logger.category("test").isDebugEnabled());
+        assertSame(Logger.category("test"), Logger.category("test"));
+    }
+
+    @Test
+    public void testPayloadLogging() {
+        Logger.setDebugEnabled(true);
+        for (int i = 0; i < 100; i++) {
+            Logger.payload("test", "{\"type\":\"shot_request\",\"data\":" + i + "}");
+        }
+        Logger.payload("test", "x".repeat(Logger.MAX_PAYLOAD_LENGTH * 2));
+        Logger.setDebugEnabled(false);
+    }
+
+    @Test
+    public void testPayloadTruncation() {
+        String shortPayload = "x".repeat(Logger.MAX_PAYLOAD_LENGTH);
+        assertSame(shortPayload, Logger.truncatePayload(shortPayload));
+
+        String longPayload = "y".repeat(Logger.MAX_PAYLOAD_LENGTH * 2);
+        String truncated = Logger.truncatePayload(longPayload).toString();
+        assertEquals("y".repeat(Logger.MAX_PAYLOAD_LENGTH) + "... (" + longPayload.length() + " chars)", truncated);
+    }
+
+    @Test
+    public void testRateLimitSkipsAndResetsEverySecond() {
+        Logger.RateLimit limit = new Logger.RateLimit(3);
+        long second = 1_000_000_000L;
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limit.tryAcquire(5 * second + i));
+        }
+        assertFalse(limit.tryAcquire(5 * second + 10));
+        assertFalse(limit.tryAcquire(6 * second - 1));
+        assertEquals(2, limit.drainSkipped());
+        assertEquals(0, limit.drainSkipped());
+
+        // a new window gives the permits back, the skipped count only grows again once they run out
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limit.tryAcquire(6 * second + i));
+        }
+        assertFalse(limit.tryAcquire(6 * second + 10));
+        assertEquals(1, limit.drainSkipped());
+    }
 }
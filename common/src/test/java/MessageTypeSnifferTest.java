@@ -0,0 +1,36 @@
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.MessageTypeSniffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageTypeSnifferTest {
+
+    @Test
+    public void testKnownTypeReturnsSharedConstant() {
+        String message = "{\"type\":\"grid_update\",\"data\":{\"shotOutcome\":true,\"gridSerialized\":\"00XM\"}}";
+        assertSame(GameMessageType.GRID_UPDATE.getType(), MessageTypeSniffer.sniffType(message));
+        assertSame(MessageTypeSniffer.LOBBY_TYPE, MessageTypeSniffer.sniffType(" { \"type\" : \"lobby\" }"));
+    }
+
+    @Test
+    public void testTypeAfterPayload() {
+        String message = "{\"data\":{\"nested\":[1,{\"type\":\"fake\"}],\"text\":\"a\\\"}\"},\"n\":-1.5e3,\"b\":null,\n\"type\":\"shot_request\"}";
+        assertEquals(GameMessageType.SHOT_REQUEST.getType(), MessageTypeSniffer.sniffType(message));
+    }
+
+    @Test
+    public void testUnknownType() {
+        assertEquals("custom", MessageTypeSniffer.sniffType("{\"type\":\"custom\"}"));
+    }
+
+    @Test
+    public void testMissingOrInvalidType() {
+        assertNull(MessageTypeSniffer.sniffType(null));
+        assertNull(MessageTypeSniffer.sniffType(""));
+        assertNull(MessageTypeSniffer.sniffType("[1,2]"));
+        assertNull(MessageTypeSniffer.sniffType("{\"data\":{}}"));
+        assertNull(MessageTypeSniffer.sniffType("{\"type\":5}"));
+        assertNull(MessageTypeSniffer.sniffType("{\"type\":\"unterminated"));
+    }
+}
@@ -0,0 +1,70 @@
+import it.units.battleship.Coordinate;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShipTypeTest {
+
+    /**
+     * The rotation the offset tables replaced, computed on every call.
+     */
+    private static LinkedHashSet<Coordinate> rotateOnTheFly(ShipType type, Coordinate init, Orientation orientation) {
+        double theta = orientation.getAngle();
+        LinkedHashSet<Coordinate> coordinates = new LinkedHashSet<>();
+        for (Coordinate coordinate : type.getShipFrame()) {
+            int row = (int) Math.round(Math.cos(theta) * coordinate.row() - Math.sin(theta) * coordinate.col());
+            int col = (int) Math.round(Math.sin(theta) * coordinate.row() + Math.cos(theta) * coordinate.col());
+            coordinates.add(new Coordinate(init.row() + row, init.col() + col));
+        }
+        return coordinates;
+    }
+
+    @Test
+    public void testOffsetTablesMatchRotation() {
+        Coordinate init = new Coordinate(5, 7);
+        for (ShipType type : ShipType.values()) {
+            for (Orientation orientation : Orientation.values()) {
+                assertEquals(new ArrayList<>(rotateOnTheFly(type, init, orientation)), new ArrayList<>(type.getShipCoordinates(init, orientation)),
+                        type + " " + orientation);
+            }
+        }
+    }
+
+    @Test
+    public void testFillShipCells() {
+        int[] buffer = new int[16];
+        for (ShipType type : ShipType.values()) {
+            for (Orientation orientation : Orientation.values()) {
+                int size = type.fillShipCells(3, 4, orientation, buffer);
+                assertEquals(type.getSize(), size);
+                List<Coordinate> filled = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    filled.add(new Coordinate(buffer[2 * i], buffer[2 * i + 1]));
+                }
+                assertEquals(new ArrayList<>(type.getShipCoordinates(new Coordinate(3, 4), orientation)), filled);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> ShipType.CARRIER.fillShipCells(0, 0, Orientation.HORIZONTAL_RIGHT, new int[13]));
+    }
+
+    @Test
+    public void testFitsInGrid() {
+        for (ShipType type : ShipType.values()) {
+            for (Orientation orientation : Orientation.values()) {
+                for (int row = -8; row < 18; row++) {
+                    for (int col = -8; col < 18; col++) {
+                        boolean inside = type.getShipCoordinates(new Coordinate(row, col), orientation).stream()
+                                .allMatch(c -> c.row() >= 0 && c.row() < 10 && c.col() >= 0 && c.col() < 10);
+                        assertEquals(inside, type.fitsInGrid(row, col, orientation, 10, 10), type + " " + orientation + " at " + row + "," + col);
+                    }
+                }
+            }
+        }
+    }
+}
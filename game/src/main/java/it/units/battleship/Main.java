@@ -1,5 +1,6 @@
 package it.units.battleship;
 
+import it.units.battleship.simulation.OpponentType;
 import it.units.battleship.view.utils.ThemeSelector;
 import it.units.battleship.view.welcome.WelcomeUi;
 import it.units.battleship.service.CommandLineService;
@@ -21,7 +22,10 @@ public class Main {
                 System.out.println("Battleship Server Version: " + BuildConstants.VERSION);
             } else {
                 ThemeSelector.selectAutomaticTheme();
-                new WelcomeUi().show();
+                WelcomeUi welcomeUi = new WelcomeUi();
+                welcomeUi.setTurbo(cls.isTurboEnabled());
+                welcomeUi.setOpponent(OpponentType.fromName(cls.getOpponent()));
+                welcomeUi.show();
             }
         } catch (ParseException | IOException e) {
             e.printStackTrace();
@@ -8,6 +8,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static it.units.battleship.client.http.HttpClient.JSON;
 import static it.units.battleship.client.http.HttpClient.client;
@@ -16,6 +18,10 @@ public class JsonHttpClient<R, E> {
     final TypeToken<R> responseClass;
     final TypeToken<E> errorClass;
     final HashMap<String, String> headers = new HashMap<>();
+    /**
+     * Last response of each URL fetched with {@link #getSyncConditional(String)}, with its entity tag.
+     */
+    final Map<String, CachedResponse<R>> conditionalCache = new ConcurrentHashMap<>();
     GsonBuilder gsonBuilder = new GsonBuilder();
 
     /**
@@ -217,6 +223,42 @@ public class JsonHttpClient<R, E> {
         return parseSyncResponse(request);
     }
 
+    /**
+     * Executes a synchronous conditional HTTP GET request and returns the deserialized response.
+     * The entity tag of the previous response for the same URL is sent in {@code If-None-Match}: when the server
+     * answers 304 Not Modified, nothing is downloaded nor parsed and the previous result is returned again, as the
+     * same instance, so callers can skip any work on an unchanged result with an identity check.
+     *
+     * @param url the request URL
+     * @return the deserialized response, or the previous one if it did not change
+     * @throws JsonHttpException if an error occurs during the request or if the response is an error
+     */
+    public R getSyncConditional(String url) throws JsonHttpException {
+        CachedResponse<R> cached = conditionalCache.get(url);
+        Request.Builder builder = new Request.Builder()
+                .url(url)
+                .get()
+                .headers(Headers.of(headers));
+        if (cached != null) {
+            builder.header("If-None-Match", cached.etag());
+        }
+        try (Response response = client.newCall(builder.build()).execute()) {
+            if (response.code() == 304 && cached != null) {
+                return cached.value();
+            }
+            R result = readResponse(response);
+            String etag = response.header("ETag");
+            if (etag != null) {
+                conditionalCache.put(url, new CachedResponse<>(etag, result));
+            } else {
+                conditionalCache.remove(url);
+            }
+            return result;
+        } catch (Exception e) {
+            throw new JsonHttpException(e.getMessage(), null, null);
+        }
+    }
+
     /**
      * Executes a synchronous HTTP POST request with JSON data in the body and returns the deserialized response.
      *
@@ -294,21 +336,42 @@ public class JsonHttpClient<R, E> {
      */
     private R parseSyncResponse(Request request) throws JsonHttpException {
         try (Response response = client.newCall(request).execute()) {
-            if (response.body() == null) {
-                throw new JsonHttpException("Response body is null", null, response);
-            }
-            String responseString = response.body().string();
-            if (response.isSuccessful()) {
-                return getGson().fromJson(responseString, responseClass);
-            } else {
-                if (errorClass.equals(TypeToken.get(Void.class))) {
-                    throw new JsonHttpException("API Error", null, response);
-                }
-                E e = getGson().fromJson(responseString, errorClass);
-                throw new JsonHttpException("API Error", e, response);
-            }
+            return readResponse(response);
         } catch (Exception e) {
             throw new JsonHttpException(e.getMessage(), null, null);
         }
     }
+
+    /**
+     * Reads and deserializes the body of a response.
+     *
+     * @param response the response of a synchronous request
+     * @return the deserialized response
+     * @throws IOException       if the body cannot be read
+     * @throws JsonHttpException if the response is an error
+     */
+    private R readResponse(Response response) throws IOException, JsonHttpException {
+        if (response.body() == null) {
+            throw new JsonHttpException("Response body is null", null, response);
+        }
+        String responseString = response.body().string();
+        if (response.isSuccessful()) {
+            return getGson().fromJson(responseString, responseClass);
+        } else {
+            if (errorClass.equals(TypeToken.get(Void.class))) {
+                throw new JsonHttpException("API Error", null, response);
+            }
+            E e = getGson().fromJson(responseString, errorClass);
+            throw new JsonHttpException("API Error", e, response);
+        }
+    }
+
+    /**
+     * A response kept for conditional requests.
+     *
+     * @param etag  the entity tag sent by the server
+     * @param value the deserialized body
+     */
+    record CachedResponse<R>(String etag, R value) {
+    }
 }
@@ -11,6 +11,7 @@ import it.units.battleship.controller.turn.contracts.NetworkActions;
 import it.units.battleship.controller.turn.contracts.ViewActions;
 import it.units.battleship.model.FleetManager;
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.view.core.BattleshipView;
 import it.units.battleship.Coordinate;
@@ -63,7 +64,7 @@ public class GameController implements GameModeStrategy.GameModeCallback, GameIn
 
     @Override
     public void onShotReceived(Coordinate coordinate) {
-        Logger.log("GameController: Shot received at " + coordinate);
+        Logger.log("GameController: Shot received at {}", coordinate);
         turnManager.handleIncomingShot(coordinate);
     }
 
@@ -73,9 +74,15 @@ public class GameController implements GameModeStrategy.GameModeCallback, GameIn
         turnManager.handleOpponentGridUpdate(gridSerialized, fleet);
     }
 
+    @Override
+    public void onGridDeltaReceived(GridDelta delta) {
+        Logger.log("GameController: grid delta received ({} cells)", delta.changes().size());
+        turnManager.handleOpponentGridDelta(delta);
+    }
+
     @Override
     public void onGameStatusReceived(GameState state, String message) {
-        Logger.log("GameController: game status -> " + state + " | " + message);
+        Logger.log("GameController: game status -> {} | {}", state, message);
         turnManager.handleGameStatusReceived(state, message);
     }
 
@@ -1,5 +1,6 @@
 package it.units.battleship.controller.game.actions;
 
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
@@ -23,6 +24,12 @@ public interface NetworkActionsReceiver {
      */
     void processOpponentGridUpdate(String grid, List<Ship> revealedFleet);
 
+    /**
+     * Triggered when an incremental update of the opponent's grid has been processed.
+     * Receives only the changed cells and the newly sunk ships.
+     */
+    void processOpponentGridDelta(GridDelta delta);
+
     /**
      * Triggered when a game state change has been received
      */
@@ -28,4 +28,9 @@ public interface NetworkActionsSender {
      * the list of sunk ships, and the outcome of the last shot.
      */
     void sendGridUpdate(Grid grid, List<Ship> fleet, boolean shotOutcome);
-}
\ No newline at end of file
+
+    /**
+     * Submits the fleet to the server at the end of setup, only where the server resolves the shots.
+     */
+    void sendFleet(List<Ship> fleet);
+}
@@ -2,6 +2,7 @@ package it.units.battleship.controller.game.events;
 
 import it.units.battleship.data.socket.payloads.GameConfigDTO;
 import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
 import it.units.battleship.data.socket.payloads.GridUpdateDTO;
 import it.units.battleship.data.socket.payloads.ShotRequestDTO;
 
@@ -19,6 +20,13 @@ public interface CommunicationEvents {
      */
     void onOpponentGridUpdate(GridUpdateDTO gridUpdateDTO);
 
+    /**
+     * Triggered when an incremental update about the opponent's grid state is received.
+     *
+     * @param gridDeltaDTO the data transfer object containing the changed cells and the newly sunk ships
+     */
+    void onOpponentGridDelta(GridDeltaDTO gridDeltaDTO);
+
     /**
      * Triggered when a shot request is received from the opponent.
      *
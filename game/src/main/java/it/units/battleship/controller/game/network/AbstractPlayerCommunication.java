@@ -3,25 +3,59 @@ package it.units.battleship.controller.game.network;
 import it.units.battleship.controller.game.actions.NetworkActionsSender;
 import it.units.battleship.controller.game.events.CommunicationEvents;
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDeltaTracker;
 import it.units.battleship.model.Ship;
 import it.units.battleship.serializer.GameDataMapper;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
+import it.units.battleship.Logger;
 import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.payloads.FleetSubmitDTO;
 import it.units.battleship.data.socket.payloads.GameConfigDTO;
 import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.GridResyncRequestDTO;
 import it.units.battleship.data.socket.payloads.GridUpdateDTO;
 import it.units.battleship.data.socket.payloads.ShotRequestDTO;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Abstract class for player communication handling.
+ * <p>
+ * Grid updates are sent either as full boards ({@link GridUpdateDTO}) or, when {@link #deltaUpdates} is enabled,
+ * as incremental {@link GridDeltaDTO}s numbered with a sequence: a receiver that detects a gap drops the delta and
+ * asks for a resync, answered with a resetting delta that carries the whole board.
+ * <p>
+ * In a {@link #serverAuthoritative} lobby the server resolves the shots and sends the deltas itself.
  */
 public abstract class AbstractPlayerCommunication implements CommunicationEvents, NetworkActionsSender {
     final List<CommunicationEvents> communicationEventsListeners = new ArrayList<>();
+    private final GridDeltaTracker deltaTracker = new GridDeltaTracker();
+    /**
+     * Whether grid updates are sent as incremental deltas instead of full boards. Enabled by the server, on the
+     * network thread, once both players support deltas.
+     */
+    @Getter
+    @Setter
+    private volatile boolean deltaUpdates = false;
+    /**
+     * Whether the server resolves the shots: the fleet is submitted once at setup, and the grid updates and the game
+     * over that the server already sends to the opponent are not sent. Confirmed by the server after authentication,
+     * on the network thread.
+     */
+    @Getter
+    @Setter
+    private volatile boolean serverAuthoritative = false;
+    private int sentSequence = 0;
+    private int receivedSequence = 0;
+    private Grid lastSentGrid;
+    private List<Ship> lastSentFleet;
+    private boolean lastShotOutcome;
 
     /**
      * Adds a listener for communication events.
@@ -47,6 +81,40 @@ public abstract class AbstractPlayerCommunication implements CommunicationEvents
         }
     }
 
+    /**
+     * Forwards a grid delta to the listeners if it follows the last applied one.
+     * On a gap the delta is dropped and a full resync is requested from the opponent.
+     *
+     * @param gridDeltaDTO the received delta
+     */
+    public void onOpponentGridDelta(GridDeltaDTO gridDeltaDTO) {
+        synchronized (this) {
+            if (!gridDeltaDTO.reset() && gridDeltaDTO.sequence() != receivedSequence + 1) {
+                Logger.warn("Grid delta gap: expected {} but received {}, requesting resync", receivedSequence + 1, gridDeltaDTO.sequence());
+                sendMessage(GameMessageType.GRID_RESYNC, new GridResyncRequestDTO(receivedSequence));
+                return;
+            }
+            receivedSequence = gridDeltaDTO.sequence();
+        }
+        for (CommunicationEvents listener : communicationEventsListeners) {
+            listener.onOpponentGridDelta(gridDeltaDTO);
+        }
+    }
+
+    /**
+     * Answers a resync request with a resetting delta containing the whole grid last sent.
+     *
+     * @param request the resync request received from the opponent
+     */
+    public synchronized void onGridResyncRequested(GridResyncRequestDTO request) {
+        if (lastSentGrid == null) {
+            return;
+        }
+        Logger.log("Resync requested by opponent after sequence {}", request.lastSequence());
+        GridDeltaDTO snapshot = GameDataMapper.toGridDeltaDTO(++sentSequence, lastShotOutcome, deltaTracker.snapshot(lastSentGrid, lastSentFleet));
+        sendMessage(GameMessageType.GRID_DELTA, snapshot);
+    }
+
     public void onShotReceived(ShotRequestDTO shotRequestDTO) {
         for (CommunicationEvents listener : communicationEventsListeners) {
             listener.onShotReceived(shotRequestDTO);
@@ -63,6 +131,9 @@ public abstract class AbstractPlayerCommunication implements CommunicationEvents
 
     @Override
     public void sendGameStatus(@NonNull GameState gameState, String message) {
+        if (serverAuthoritative && gameState == GameState.GAME_OVER) {
+            return;
+        }
         GameStatusDTO gameStatusDTO = GameDataMapper.toGameStatusDTO(gameState, message);
         sendMessage(GameMessageType.TURN_CHANGE, gameStatusDTO);
     }
@@ -74,8 +145,26 @@ public abstract class AbstractPlayerCommunication implements CommunicationEvents
     }
 
     @Override
-    public void sendGridUpdate(Grid grid, List<Ship> fleet, boolean shotOutcome) {
+    public synchronized void sendGridUpdate(Grid grid, List<Ship> fleet, boolean shotOutcome) {
+        if (serverAuthoritative) {
+            return;
+        }
+        if (deltaUpdates) {
+            lastSentGrid = grid;
+            lastSentFleet = fleet;
+            lastShotOutcome = shotOutcome;
+            GridDeltaDTO gridDeltaDTO = GameDataMapper.toGridDeltaDTO(++sentSequence, shotOutcome, deltaTracker.next(grid, fleet));
+            sendMessage(GameMessageType.GRID_DELTA, gridDeltaDTO);
+            return;
+        }
         GridUpdateDTO gridUpdateDTO = GameDataMapper.toGridUpdateDTO(shotOutcome, grid, fleet);
         sendMessage(GameMessageType.GRID_UPDATE, gridUpdateDTO);
     }
+
+    @Override
+    public void sendFleet(List<Ship> fleet) {
+        if (serverAuthoritative) {
+            sendMessage(GameMessageType.FLEET_SUBMIT, new FleetSubmitDTO(GameDataMapper.toShipDTO(fleet)));
+        }
+    }
 }
@@ -9,8 +9,11 @@ import it.units.battleship.data.LobbyData;
 import it.units.battleship.data.socket.GameMessageType;
 import it.units.battleship.data.socket.WebSocketAuthenticationRequest;
 import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.binary.BinaryMessageCodec;
 import it.units.battleship.data.socket.payloads.GameConfigDTO;
 import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.GridResyncRequestDTO;
 import it.units.battleship.data.socket.payloads.GridUpdateDTO;
 import it.units.battleship.data.socket.payloads.ShotRequestDTO;
 import lombok.Getter;
@@ -20,6 +23,8 @@ import okio.ByteString;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
+
 @Slf4j
 public class NetworkClient extends AbstractPlayerCommunication {
 
@@ -31,6 +36,11 @@ public class NetworkClient extends AbstractPlayerCommunication {
     private boolean isConnected = false;
     @Getter
     private boolean isAuthenticated = false;
+    /**
+     * Binary protocol version confirmed by the server, 0 while the game messages are exchanged as JSON.
+     */
+    @Getter
+    private volatile int protocolVersion = 0;
 
     public NetworkClient(LobbyData data, String playerName) {
         this(java.net.URI.create(Defaults.WEBSOCKET_LOBBY_ENDPOINT), data, playerName);
@@ -43,42 +53,42 @@ public class NetworkClient extends AbstractPlayerCommunication {
         this.client = new OkHttpClient().newWebSocket(request, new WebSocketListener() {
             @Override
             public void onClosed(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
-                Logger.log("WebSocket closed: " + reason);
+                Logger.log("WebSocket closed: {}", reason);
                 isConnected = false;
             }
 
             @Override
             public void onClosing(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
-                Logger.log("WebSocket closing: " + reason);
+                Logger.log("WebSocket closing: {}", reason);
                 isConnected = false;
             }
 
             @Override
             public void onFailure(@NonNull WebSocket webSocket, @NonNull Throwable t, @Nullable Response response) {
-                Logger.error("WebSocket error: " + t.getMessage());
+                Logger.error("WebSocket error: {}", t.getMessage());
             }
 
             @Override
             public void onMessage(@NonNull WebSocket webSocket, @NonNull String text) {
-                Logger.log("Message received: " + text);
+                Logger.payload("NetworkClient <- server", text);
                 handleIncomingMessage(text);
             }
 
             @Override
             public void onMessage(@NonNull WebSocket webSocket, @NonNull ByteString bytes) {
-                Logger.warn("Received unexpected binary message: " + bytes.hex());
-                handleIncomingMessage(bytes.utf8());
+                handleIncomingBinaryMessage(bytes.toByteArray());
             }
 
             @Override
             public void onOpen(@NonNull WebSocket webSocket, @NonNull Response response) {
-                Logger.log("WebSocket connection opened: " + webSocket.request().url());
+                Logger.log("WebSocket connection opened: {}", webSocket.request().url());
                 isConnected = true;
                 beginAuthentication();
             }
         });
         this.playerName = playerName;
         this.lobbyData = data;
+        setServerAuthoritative(data != null && data.isServerAuthoritative());
     }
 
     void beginAuthentication() {
@@ -86,7 +96,7 @@ public class NetworkClient extends AbstractPlayerCommunication {
             Logger.log("Skipping authentication: No lobby data provided.");
             return;
         }
-        WebSocketAuthenticationRequest webSocketAuthenticationRequest = new WebSocketAuthenticationRequest(lobbyData.getLobbyID(), playerName);
+        WebSocketAuthenticationRequest webSocketAuthenticationRequest = new WebSocketAuthenticationRequest(lobbyData.getLobbyID(), playerName, BinaryMessageCodec.VERSION, true, true);
         WebSocketMessage<WebSocketAuthenticationRequest> authMessage = new WebSocketMessage<>("authenticate", webSocketAuthenticationRequest);
         String authMessageJson = gson.toJson(authMessage);
         client.send(authMessageJson);
@@ -95,6 +105,10 @@ public class NetworkClient extends AbstractPlayerCommunication {
     @Override
     public <T> void sendMessage(GameMessageType type, T payload) {
         if (client != null && isConnected()) {
+            if (protocolVersion > 0 && BinaryMessageCodec.supports(type)) {
+                client.send(ByteString.of(BinaryMessageCodec.encode(type, payload)));
+                return;
+            }
             WebSocketMessage<T> message = new WebSocketMessage<>(type.getType(), payload);
             String json = gson.toJson(message);
             client.send(json);
@@ -113,27 +127,76 @@ public class NetworkClient extends AbstractPlayerCommunication {
             if (typeString.equals("authenticate")) {
                 if (jsonObject.get("data").getAsBoolean()) {
                     isAuthenticated = true;
-                    Logger.log("Authentication successful for player: " + playerName);
+                    Logger.log("Authentication successful for player: {}", playerName);
                 } else {
-                    Logger.error("Authentication failed for player: " + playerName);
+                    Logger.error("Authentication failed for player: {}", playerName);
                     client.close(1000, "Authentication failed");
                 }
                 return;
             }
 
-            GameMessageType type = java.util.Arrays.stream(GameMessageType.values())
-                    .filter(t -> t.getType().equals(typeString))
-                    .findFirst()
-                    .orElse(null);
+            if (typeString.equals(GameMessageType.PROTOCOL.getType())) {
+                protocolVersion = BinaryMessageCodec.negotiate(jsonObject.get("data").getAsInt());
+                Logger.log("Using binary protocol version {}", protocolVersion);
+                return;
+            }
+
+            if (typeString.equals(GameMessageType.SERVER_AUTHORITATIVE.getType())) {
+                setServerAuthoritative(jsonObject.get("data").getAsBoolean());
+                Logger.log("Server-authoritative lobby: {}", isServerAuthoritative());
+                return;
+            }
+
+            if (typeString.equals(GameMessageType.DELTA_UPDATES.getType())) {
+                setDeltaUpdates(jsonObject.get("data").getAsBoolean());
+                Logger.log("Grid delta updates: {}", isDeltaUpdates());
+                return;
+            }
+
+            GameMessageType type = GameMessageType.fromType(typeString);
 
             if (type == null) {
-                Logger.warn("Received unknown message type: " + typeString);
+                Logger.warn("Received unknown message type: {}", typeString);
                 return;
             }
 
             dispatchMessage(type, json);
         } catch (Exception e) {
-            Logger.error("Failed to parse incoming JSON: " + e.getMessage());
+            Logger.error("Failed to parse incoming JSON: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Handles a binary frame. Frames that do not carry a binary protocol header are treated as UTF-8 JSON.
+     *
+     * @param frame the raw frame
+     */
+    void handleIncomingBinaryMessage(byte[] frame) {
+        if (!BinaryMessageCodec.isBinaryFrame(frame, 0, frame.length)) {
+            handleIncomingMessage(new String(frame, StandardCharsets.UTF_8));
+            return;
+        }
+        try {
+            WebSocketMessage<Object> message = BinaryMessageCodec.decode(frame);
+            dispatchPayload(GameMessageType.fromType(message.getType()), message.getData());
+        } catch (IllegalArgumentException e) {
+            Logger.error("Failed to decode incoming binary frame: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Notifies the listeners of a payload decoded from a binary frame.
+     *
+     * @param type the message type
+     * @param payload the decoded payload
+     */
+    void dispatchPayload(GameMessageType type, Object payload) {
+        switch (type) {
+            case GRID_UPDATE -> this.communicationEventsListeners.forEach(l -> l.onOpponentGridUpdate((GridUpdateDTO) payload));
+            case GRID_DELTA -> onOpponentGridDelta((GridDeltaDTO) payload);
+            case SHOT_REQUEST -> this.communicationEventsListeners.forEach(l -> l.onShotReceived((ShotRequestDTO) payload));
+            case TURN_CHANGE -> this.communicationEventsListeners.forEach(l -> l.onGameStatusReceived((GameStatusDTO) payload));
+            default -> Logger.log("Unhandled message type: {}", type);
         }
     }
 
@@ -148,6 +211,24 @@ public class NetworkClient extends AbstractPlayerCommunication {
 
                 this.communicationEventsListeners.forEach(l -> l.onOpponentGridUpdate(msg.getData()));
             }
+            case GRID_DELTA -> {
+                WebSocketMessage<GridDeltaDTO> msg = gson.fromJson(
+                        json,
+                        new TypeToken<WebSocketMessage<GridDeltaDTO>>() {
+                        }.getType()
+                );
+
+                onOpponentGridDelta(msg.getData());
+            }
+            case GRID_RESYNC -> {
+                WebSocketMessage<GridResyncRequestDTO> msg = gson.fromJson(
+                        json,
+                        new TypeToken<WebSocketMessage<GridResyncRequestDTO>>() {
+                        }.getType()
+                );
+
+                onGridResyncRequested(msg.getData());
+            }
             case SHOT_REQUEST -> {
                 WebSocketMessage<ShotRequestDTO> msg = gson.fromJson(
                         json,
@@ -166,7 +247,7 @@ public class NetworkClient extends AbstractPlayerCommunication {
 
                 this.communicationEventsListeners.forEach(l -> l.onGameStatusReceived(msg.getData()));
             }
-            default -> Logger.log("Unhandled message type: " + type);
+            default -> Logger.log("Unhandled message type: {}", type);
         }
     }
 }
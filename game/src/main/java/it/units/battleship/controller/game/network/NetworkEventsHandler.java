@@ -9,6 +9,7 @@ import it.units.battleship.GameState;
 import it.units.battleship.Logger;
 import it.units.battleship.data.socket.payloads.GameConfigDTO;
 import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
 import it.units.battleship.data.socket.payloads.GridUpdateDTO;
 import it.units.battleship.data.socket.payloads.ShotRequestDTO;
 
@@ -32,6 +33,12 @@ public class NetworkEventsHandler implements CommunicationEvents {
         networkActions.processOpponentGridUpdate(gridSerialized, fleet);
     }
 
+    @Override
+    public void onOpponentGridDelta(GridDeltaDTO gridDeltaDTO) {
+        Logger.log("Grid delta {}", gridDeltaDTO.sequence());
+        networkActions.processOpponentGridDelta(GameDataMapper.toGridDelta(gridDeltaDTO));
+    }
+
     @Override
     public void onShotReceived(ShotRequestDTO shotRequestDTO) {
         Logger.log("Shot received");
@@ -11,6 +11,10 @@ import it.units.battleship.data.LobbyData;
 import it.units.battleship.data.PingResponseData;
 import lombok.SneakyThrows;
 
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.function.Consumer;
 
 public class LobbyController {
@@ -40,13 +44,14 @@ public class LobbyController {
     }
 
     /**
-     * Retrieves the list of lobbies from the server.
+     * Retrieves the first page of open lobbies from the server.
+     * The request is conditional: if the page did not change since the previous call, the previous instance is returned.
      *
      * @return the LobbiesResponseData containing the list of lobbies, or null if an error occurs
      */
     public LobbiesResponseData getLobbies() {
         try {
-            return lobbiesController.getSync(Defaults.HTTP_LOBBY_ENDPOINT);
+            return lobbiesController.getSyncConditional(getLobbyPageUrl(null));
         } catch (JsonHttpException e) {
             Logger.error("Failed to get lobbies: " + e.getMessage());
             Logger.exception(e);
@@ -54,6 +59,46 @@ public class LobbyController {
         }
     }
 
+    /**
+     * Retrieves a page of open lobbies from the server.
+     *
+     * @param cursor the cursor returned with the previous page
+     * @return the LobbiesResponseData containing the page, or null if an error occurs
+     */
+    public LobbiesResponseData getLobbyPage(String cursor) {
+        try {
+            return lobbiesController.getSync(getLobbyPageUrl(cursor));
+        } catch (JsonHttpException e) {
+            Logger.error("Failed to get lobbies: " + e.getMessage());
+            Logger.exception(e);
+            return null;
+        }
+    }
+
+    /**
+     * Builds the URL of a page of open lobbies.
+     *
+     * @param cursor the cursor returned with the previous page, null for the first page
+     * @return the URL of the page
+     */
+    static String getLobbyPageUrl(String cursor) {
+        String url = Defaults.HTTP_LOBBY_ENDPOINT + "?limit=" + Defaults.LOBBY_PAGE_SIZE;
+        return cursor == null ? url : url + "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Subscribes to the lobby feed of the server, which pushes every change of the joinable lobbies.
+     *
+     * @param listener receives the joinable lobbies every time they change
+     * @param fallback fetches and renders the lobbies while the feed is unreachable
+     * @return the started subscription, to be closed when the lobbies are no longer shown
+     */
+    public LobbyFeedClient openLobbyFeed(Consumer<List<LobbyData>> listener, Runnable fallback) {
+        LobbyFeedClient feed = new LobbyFeedClient(URI.create(Defaults.WEBSOCKET_LOBBY_FEED_ENDPOINT), listener, fallback);
+        feed.start();
+        return feed;
+    }
+
     /**
      * Creates a new lobby on the server with the given name and player.
      *
@@ -63,7 +108,11 @@ public class LobbyController {
      */
     public LobbyData createLobby(String name, String player) {
         try {
-            LobbyCreateRequestData requestData = LobbyCreateRequestData.builder().name(name).player(player).build();
+            LobbyCreateRequestData requestData = LobbyCreateRequestData.builder()
+                    .name(name)
+                    .player(player)
+                    .serverAuthoritative(Defaults.SERVER_AUTHORITATIVE_LOBBIES)
+                    .build();
             return lobbyCreateController.postSync(Defaults.HTTP_LOBBY_ENDPOINT, requestData);
         } catch (JsonHttpException e) {
             Logger.error("Failed to create lobby: " + e.getMessage());
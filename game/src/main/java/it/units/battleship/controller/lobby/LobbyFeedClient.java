@@ -0,0 +1,134 @@
+package it.units.battleship.controller.lobby;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import it.units.battleship.Logger;
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.data.LobbyFeedEventData;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Subscribes to the lobby feed of the server and keeps a {@link LobbyListModel} up to date with the pushed events.
+ * The listener is called only when the list actually changed.
+ * <p>
+ * While the feed is unreachable (e.g. a server without the feed route) the client falls back to polling: the
+ * fallback runs every {@link #RECONNECT_DELAY_SECONDS} seconds, each time before trying to subscribe again.
+ */
+public class LobbyFeedClient {
+    static final long RECONNECT_DELAY_SECONDS = 5;
+
+    private final Gson gson = new Gson();
+    private final OkHttpClient httpClient = new OkHttpClient();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lobby-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LobbyListModel model = new LobbyListModel();
+    private final URI serverUri;
+    private final Consumer<List<LobbyData>> listener;
+    private final Runnable fallback;
+    private volatile WebSocket socket;
+    private volatile boolean closed = false;
+
+    /**
+     * @param serverUri the WebSocket endpoint of the lobby feed
+     * @param listener  receives the joinable lobbies every time they change
+     * @param fallback  fetches and renders the lobbies while the feed is unreachable
+     */
+    public LobbyFeedClient(URI serverUri, Consumer<List<LobbyData>> listener, Runnable fallback) {
+        this.serverUri = serverUri;
+        this.listener = listener;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Opens the subscription.
+     */
+    public void start() {
+        if (closed) {
+            return;
+        }
+        Request request = new Request.Builder()
+                .url(serverUri.toString())
+                .build();
+        socket = httpClient.newWebSocket(request, new WebSocketListener() {
+            @Override
+            public void onMessage(@NonNull WebSocket webSocket, @NonNull String text) {
+                handleMessage(text);
+            }
+
+            @Override
+            public void onClosed(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
+                Logger.log("Lobby feed closed: {}", reason);
+                handleDisconnect();
+            }
+
+            @Override
+            public void onFailure(@NonNull WebSocket webSocket, @NonNull Throwable t, @Nullable Response response) {
+                Logger.warn("Lobby feed unavailable, polling instead: {}", t.getMessage());
+                handleDisconnect();
+            }
+        });
+    }
+
+    /**
+     * Applies a message of the feed to the model.
+     *
+     * @param text the raw message
+     */
+    void handleMessage(String text) {
+        LobbyFeedEventData event;
+        try {
+            event = gson.fromJson(text, LobbyFeedEventData.class);
+        } catch (JsonParseException e) {
+            Logger.warn("Ignoring malformed lobby feed event: {}", e.getMessage());
+            return;
+        }
+        // a snapshot is always rendered: the list on screen may come from a poll the model knows nothing about
+        boolean changed = model.apply(event);
+        if (changed || (event != null && event.getEvent() == LobbyFeedEventData.Kind.SNAPSHOT)) {
+            listener.accept(model.getLobbies());
+        }
+    }
+
+    private void handleDisconnect() {
+        if (closed) {
+            return;
+        }
+        scheduler.execute(fallback);
+        scheduler.schedule(this::start, RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return the lobbies currently known from the feed
+     */
+    public List<LobbyData> getLobbies() {
+        return model.getLobbies();
+    }
+
+    /**
+     * Closes the subscription and stops polling.
+     */
+    public void close() {
+        closed = true;
+        scheduler.shutdownNow();
+        WebSocket current = socket;
+        if (current != null) {
+            current.close(1000, "Lobby selector closed");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package it.units.battleship.controller.lobby;
+
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.data.LobbyFeedEventData;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Local copy of the joinable lobbies, kept up to date by applying the events of the lobby feed.
+ * Lobbies are listed in the order they were first seen.
+ */
+public class LobbyListModel {
+    private final Map<String, LobbyData> lobbies = new LinkedHashMap<>();
+
+    /**
+     * Applies an event of the lobby feed.
+     *
+     * @param event the event received from the server
+     * @return true if the list changed
+     */
+    public synchronized boolean apply(LobbyFeedEventData event) {
+        if (event == null || event.getEvent() == null) {
+            return false;
+        }
+        return switch (event.getEvent()) {
+            case SNAPSHOT -> replaceAll(event.getLobbies());
+            case ADDED, UPDATED -> {
+                LobbyData lobby = event.getLobby();
+                if (lobby == null || lobby.getLobbyID() == null) {
+                    yield false;
+                }
+                LobbyData previous = lobbies.put(lobby.getLobbyID(), lobby);
+                yield previous == null || !sameContent(previous, lobby);
+            }
+            case REMOVED -> event.getLobby() != null && lobbies.remove(event.getLobby().getLobbyID()) != null;
+        };
+    }
+
+    /**
+     * Replaces the whole list, e.g. with the result of a poll.
+     *
+     * @param snapshot the joinable lobbies, null for none
+     * @return true if the list changed
+     */
+    public synchronized boolean replaceAll(List<? extends LobbyData> snapshot) {
+        Map<String, LobbyData> previous = new LinkedHashMap<>(lobbies);
+        lobbies.clear();
+        if (snapshot != null) {
+            for (LobbyData lobby : snapshot) {
+                lobbies.put(lobby.getLobbyID(), lobby);
+            }
+        }
+        if (previous.size() != lobbies.size()) {
+            return true;
+        }
+        for (LobbyData lobby : lobbies.values()) {
+            LobbyData old = previous.get(lobby.getLobbyID());
+            if (old == null || !sameContent(old, lobby)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the joinable lobbies, as an immutable copy
+     */
+    public synchronized List<LobbyData> getLobbies() {
+        return List.copyOf(lobbies.values());
+    }
+
+    private static boolean sameContent(LobbyData a, LobbyData b) {
+        return Objects.equals(a.getLobbyName(), b.getLobbyName())
+                && Objects.equals(a.getPlayerOne(), b.getPlayerOne())
+                && Objects.equals(a.getPlayerTwo(), b.getPlayerTwo())
+                && a.isServerAuthoritative() == b.isServerAuthoritative();
+    }
+}
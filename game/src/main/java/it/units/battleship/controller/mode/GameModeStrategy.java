@@ -2,6 +2,7 @@ package it.units.battleship.controller.mode;
 
 
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
@@ -36,6 +37,13 @@ public interface GameModeStrategy {
      */
     void sendGameOver(String message);
 
+    /**
+     * Hand the complete fleet over before notifying the setup completion.
+     * Only modes where someone else resolves the shots need it, so by default it does nothing.
+     */
+    default void submitFleet(List<Ship> fleet) {
+    }
+
     /**
      * Notify the opponent that the game setup is complete.
      */
@@ -60,6 +68,8 @@ public interface GameModeStrategy {
 
         void onGridUpdateReceived(String gridSerialized, List<Ship> fleet);
 
+        void onGridDeltaReceived(GridDelta delta);
+
         void onGameStatusReceived(GameState state, String message);
 
         void onConnectionError(String error);
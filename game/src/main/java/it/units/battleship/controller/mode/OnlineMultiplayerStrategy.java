@@ -5,6 +5,7 @@ import it.units.battleship.controller.game.network.AbstractPlayerCommunication;
 import it.units.battleship.controller.game.network.NetworkClient;
 import it.units.battleship.controller.game.network.NetworkEventsHandler;
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
@@ -49,6 +50,11 @@ public class OnlineMultiplayerStrategy implements GameModeStrategy {
         network.sendGameStatus(GameState.GAME_OVER, message);
     }
 
+    @Override
+    public void submitFleet(List<Ship> fleet) {
+        network.sendFleet(fleet);
+    }
+
     @Override
     public void notifySetupComplete() {
         network.sendGameStatus(GameState.WAITING_SETUP, MSG_READY_TO_PLAY);
@@ -81,6 +87,11 @@ public class OnlineMultiplayerStrategy implements GameModeStrategy {
             callback.onGridUpdateReceived(grid, revealedFleet);
         }
 
+        @Override
+        public void processOpponentGridDelta(GridDelta delta) {
+            callback.onGridDeltaReceived(delta);
+        }
+
         @Override
         public void processGameStatusUpdate(GameState newState, String message) {
             callback.onGameStatusReceived(newState, message);
@@ -1,17 +1,19 @@
 package it.units.battleship.controller.mode;
 
 import it.units.battleship.controller.mode.ai.AIOpponent;
-import it.units.battleship.controller.mode.ai.SimpleAIOpponent;
+import it.units.battleship.controller.mode.scheduler.GameScheduler;
+import it.units.battleship.controller.mode.scheduler.RealTimeScheduler;
 import it.units.battleship.model.FleetManager;
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDeltaTracker;
 import it.units.battleship.model.Ship;
+import it.units.battleship.simulation.OpponentType;
 import it.units.battleship.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.Random;
 
 import static it.units.battleship.Defaults.*;
 
@@ -21,15 +23,38 @@ import static it.units.battleship.Defaults.*;
  */
 public class SinglePlayerStrategy implements GameModeStrategy {
 
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private static final Duration DELAY = Duration.ofMillis(DELAY_MS);
+
+    private final GameScheduler scheduler;
     private final Map<ShipType, Integer> requiredFleetConfiguration;
+    private final OpponentType opponentType;
     private GameModeCallback callback;
     private AIOpponent aiOpponent;
     private Grid aiGrid;
     private FleetManager aiFleetManager;
+    private GridDeltaTracker aiGridTracker;
 
     public SinglePlayerStrategy(Map<ShipType, Integer> requiredFleetConfiguration) {
+        this(requiredFleetConfiguration, new RealTimeScheduler());
+    }
+
+    /**
+     * @param requiredFleetConfiguration the fleet of both players
+     * @param scheduler                  the scheduler running the AI turns and the delays between them
+     */
+    public SinglePlayerStrategy(Map<ShipType, Integer> requiredFleetConfiguration, GameScheduler scheduler) {
+        this(requiredFleetConfiguration, scheduler, OpponentType.SIMPLE);
+    }
+
+    /**
+     * @param requiredFleetConfiguration the fleet of both players
+     * @param scheduler                  the scheduler running the AI turns and the delays between them
+     * @param opponentType               the AI playing against the player
+     */
+    public SinglePlayerStrategy(Map<ShipType, Integer> requiredFleetConfiguration, GameScheduler scheduler, OpponentType opponentType) {
         this.requiredFleetConfiguration = requiredFleetConfiguration;
+        this.scheduler = scheduler;
+        this.opponentType = opponentType;
     }
 
     @Override
@@ -38,7 +63,8 @@ public class SinglePlayerStrategy implements GameModeStrategy {
 
         this.aiGrid = new Grid(GRID_ROWS, GRID_COLS);
         this.aiFleetManager = new FleetManager(aiGrid, requiredFleetConfiguration);
-        this.aiOpponent = new SimpleAIOpponent(aiGrid, aiFleetManager);
+        this.aiGridTracker = new GridDeltaTracker();
+        this.aiOpponent = opponentType.create(aiGrid, aiFleetManager, new Random());
 
         aiOpponent.placeShips();
 
@@ -47,8 +73,7 @@ public class SinglePlayerStrategy implements GameModeStrategy {
 
     @Override
     public void sendShot(Coordinate coordinate) {
-        executor.submit(() -> {
-            simulatedDelay(DELAY_MS);
+        scheduler.schedule(() -> {
             processPlayerShot(coordinate);
 
             if (aiFleetManager.isGameOver()) {
@@ -56,27 +81,17 @@ public class SinglePlayerStrategy implements GameModeStrategy {
                 return;
             }
 
-            simulatedDelay(DELAY_MS);
-            Coordinate aiShot = aiOpponent.calculateNextShot();
-            callback.onShotReceived(aiShot);
-        });
+            scheduler.schedule(() -> {
+                Coordinate aiShot = aiOpponent.calculateNextShot();
+                callback.onShotReceived(aiShot);
+            }, DELAY);
+        }, DELAY);
     }
 
     private void processPlayerShot(Coordinate coordinate){
-        boolean hit = aiFleetManager.handleIncomingShot(coordinate);
-
-        String gridSerialized = GridMapper.serialize(aiGrid.getGrid());
-        List<Ship> aiFleet = aiFleetManager.getFleet().stream().filter(Ship::isSunk).collect(Collectors.toUnmodifiableList());
-
-        callback.onGridUpdateReceived(gridSerialized, aiFleet);
-    }
+        aiFleetManager.handleIncomingShot(coordinate);
 
-    private void simulatedDelay(long millis){
-        try {
-            Thread.sleep(millis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        callback.onGridDeltaReceived(aiGridTracker.next(aiGrid, aiFleetManager.getFleet()));
     }
 
     @Override
@@ -97,7 +112,7 @@ public class SinglePlayerStrategy implements GameModeStrategy {
 
     @Override
     public void shutdown() {
-        executor.shutdown();
+        scheduler.shutdown();
     }
 
     @Override
@@ -0,0 +1,366 @@
+package it.units.battleship.controller.mode.ai;
+
+import it.units.battleship.CellState;
+import it.units.battleship.Coordinate;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.model.BitBoard;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.Grid;
+import it.units.battleship.model.Ship;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static it.units.battleship.Defaults.MIN_DISTANCE_THRESHOLD;
+
+/**
+ * AI opponent that shoots where the remaining ships are most likely to be.
+ * <p>
+ * Before every shot it builds a heat map of the opponent grid: each placement of a ship still afloat that is
+ * consistent with what is known (misses, sunk ships and the free zone around them) adds the number of such ships
+ * to every cell it covers. While a ship is hit but not sunk, only the placements through the hits count, weighted
+ * by the number of hits they cover, so the AI finishes the ship before searching again.
+ * <p>
+ * The placements are counted exactly when that is cheap, which is always the case on the standard board and while
+ * finishing a ship. On larger boards the search heat map is estimated instead, by sampling random placements on
+ * every core of a {@link ForkJoinPool} until the time budget of the move runs out.
+ */
+public class DensityAIOpponent implements AIOpponent {
+
+    /**
+     * Time a move may take when the heat map has to be sampled.
+     */
+    public static final Duration DEFAULT_MOVE_BUDGET = Duration.ofMillis(200);
+    /**
+     * Number of cell checks above which the search heat map is sampled instead of counted.
+     */
+    static final long EXACT_WORK_LIMIT = 4_000_000;
+    /**
+     * Weight multiplier of each hit covered by a placement while finishing a ship.
+     */
+    static final long HIT_WEIGHT = 16;
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+    private static final ShipType[] TYPES = ShipType.values();
+    /**
+     * Size of the longest ship type, which bounds the cells of any placement.
+     */
+    private static final int MAX_SHIP_SIZE = Arrays.stream(TYPES).mapToInt(ShipType::getSize).max().orElse(0);
+    /**
+     * Samples drawn between two checks of the deadline.
+     */
+    private static final int SAMPLE_BATCH = 1024;
+
+    private final SimpleAIOpponent placement;
+    private final Map<ShipType, Integer> opponentFleetConfiguration;
+    private final int rows;
+    private final int cols;
+    private final Duration moveBudget;
+    private final ForkJoinPool pool;
+    private final Random random;
+
+    private final BitBoard shots;
+    private final BitBoard misses;
+    private final BitBoard hits;
+    private final BitBoard sunk;
+    private final int[] remaining = new int[TYPES.length];
+    private int[] hitCells = new int[0];
+
+    public DensityAIOpponent(Grid grid, FleetManager fleetManager) {
+        this(grid, fleetManager, DEFAULT_MOVE_BUDGET, ForkJoinPool.commonPool(), new Random());
+    }
+
+    /**
+     * @param grid         the grid of the AI, the opponent grid has the same size
+     * @param fleetManager the fleet of the AI, the opponent fleet follows the same configuration
+     * @param moveBudget   the time a move may take when the heat map has to be sampled
+     * @param pool         the pool sampling the heat map
+     * @param random       the source of randomness for ship placement, ties and sampling
+     */
+    public DensityAIOpponent(Grid grid, FleetManager fleetManager, Duration moveBudget, ForkJoinPool pool, Random random) {
+        this.placement = new SimpleAIOpponent(grid, fleetManager, random);
+        this.opponentFleetConfiguration = fleetManager.getRequiredFleetConfiguration();
+        this.rows = grid.getRow();
+        this.cols = grid.getCol();
+        this.moveBudget = moveBudget;
+        this.pool = pool;
+        this.random = random;
+        this.shots = new BitBoard(rows, cols);
+        this.misses = new BitBoard(rows, cols);
+        this.hits = new BitBoard(rows, cols);
+        this.sunk = new BitBoard(rows, cols);
+        opponentFleetConfiguration.forEach((type, count) -> remaining[type.ordinal()] = count);
+    }
+
+    @Override
+    public void placeShips() {
+        placement.placeShips();
+    }
+
+    @Override
+    public Coordinate calculateNextShot() {
+        long deadline = System.nanoTime() + moveBudget.toNanos();
+        long[] heat = heatMap(deadline);
+
+        int best = -1;
+        long bestHeat = 0;
+        int ties = 0;
+        for (int cell = 0; cell < heat.length; cell++) {
+            if (heat[cell] == 0 || shots.get(cell / cols, cell % cols)) {
+                continue;
+            }
+            if (heat[cell] > bestHeat) {
+                best = cell;
+                bestHeat = heat[cell];
+                ties = 1;
+            } else if (heat[cell] == bestHeat && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        if (best < 0) {
+            best = randomUnshotCell();
+        }
+        shots.set(best / cols, best % cols);
+        return new Coordinate(best / cols, best % cols);
+    }
+
+    @Override
+    public void processLastShotResult(Grid grid, List<Ship> fleet, boolean shotOutcome) {
+        misses.clear();
+        hits.clear();
+        sunk.clear();
+        int hitCount = 0;
+        int[] found = new int[16];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                CellState state = grid.getState(r, c);
+                if (state == CellState.EMPTY) {
+                    continue;
+                }
+                shots.set(r, c);
+                switch (state) {
+                    case MISS -> misses.set(r, c);
+                    case SUNK -> sunk.set(r, c);
+                    case HIT -> {
+                        hits.set(r, c);
+                        if (hitCount == found.length) {
+                            found = Arrays.copyOf(found, hitCount * 2);
+                        }
+                        found[hitCount++] = r * cols + c;
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        hitCells = Arrays.copyOf(found, hitCount);
+
+        opponentFleetConfiguration.forEach((type, count) -> remaining[type.ordinal()] = count);
+        for (Ship ship : fleet) {
+            if (ship.isSunk() && remaining[ship.getShipType().ordinal()] > 0) {
+                remaining[ship.getShipType().ordinal()]--;
+            }
+        }
+    }
+
+    /**
+     * Builds the heat map of the opponent grid, in row-major order.
+     *
+     * @param deadline the {@link System#nanoTime()} by which a sampled heat map must be ready
+     * @return the weight of every cell, zero for the cells no remaining ship can occupy
+     */
+    long[] heatMap(long deadline) {
+        BitBoard blocked = sunk.dilate(MIN_DISTANCE_THRESHOLD);
+        blocked.or(misses);
+        if (hitCells.length > 0) {
+            return targetHeatMap(blocked);
+        }
+        if (searchWork() <= EXACT_WORK_LIMIT) {
+            return searchHeatMap(blocked);
+        }
+        return pool.invoke(new SampleTask(blocked, pool.getParallelism(), deadline, new SplittableRandom(random.nextLong())));
+    }
+
+    /**
+     * @return the number of cell checks needed to count every placement of the remaining ships
+     */
+    long searchWork() {
+        long shipCells = 0;
+        for (ShipType type : TYPES) {
+            if (remaining[type.ordinal()] > 0) {
+                shipCells += type.getSize();
+            }
+        }
+        return (long) rows * cols * ORIENTATIONS.length * shipCells;
+    }
+
+    /**
+     * Counts every placement of the remaining ships.
+     */
+    private long[] searchHeatMap(BitBoard blocked) {
+        long[] heat = new long[rows * cols];
+        int[] cells = new int[2 * MAX_SHIP_SIZE];
+        for (ShipType type : TYPES) {
+            int count = remaining[type.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            for (Orientation orientation : ORIENTATIONS) {
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        if (isFree(type, orientation, r, c, blocked, cells)) {
+                            addPlacement(heat, cells, type.getSize(), count);
+                        }
+                    }
+                }
+            }
+        }
+        return heat;
+    }
+
+    /**
+     * Counts the placements of the remaining ships that cover at least one unsunk hit.
+     * Each placement is reached from every hit it covers, it is only counted from the first one in frame order.
+     */
+    private long[] targetHeatMap(BitBoard blocked) {
+        long[] heat = new long[rows * cols];
+        int[] cells = new int[2 * MAX_SHIP_SIZE];
+        for (int hit : hitCells) {
+            int hitRow = hit / cols;
+            int hitCol = hit % cols;
+            for (ShipType type : TYPES) {
+                int count = remaining[type.ordinal()];
+                if (count == 0) {
+                    continue;
+                }
+                for (Orientation orientation : ORIENTATIONS) {
+                    for (int k = 0; k < type.getSize(); k++) {
+                        int r = hitRow - type.getRowOffset(orientation, k);
+                        int c = hitCol - type.getColOffset(orientation, k);
+                        if (!isFree(type, orientation, r, c, blocked, cells) || coversHitBefore(cells, k)) {
+                            continue;
+                        }
+                        long weight = count;
+                        for (int i = 0; i < type.getSize(); i++) {
+                            if (hits.get(cells[2 * i], cells[2 * i + 1])) {
+                                weight *= HIT_WEIGHT;
+                            }
+                        }
+                        addPlacement(heat, cells, type.getSize(), weight);
+                    }
+                }
+            }
+        }
+        return heat;
+    }
+
+    private boolean coversHitBefore(int[] cells, int k) {
+        for (int i = 0; i < k; i++) {
+            if (hits.get(cells[2 * i], cells[2 * i + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the placement lies on the grid and clear of blocked cells, filling its cells into the buffer.
+     */
+    private boolean isFree(ShipType type, Orientation orientation, int r, int c, BitBoard blocked, int[] cells) {
+        if (!type.fitsInGrid(r, c, orientation, rows, cols)) {
+            return false;
+        }
+        int size = type.fillShipCells(r, c, orientation, cells);
+        for (int i = 0; i < size; i++) {
+            if (blocked.get(cells[2 * i], cells[2 * i + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addPlacement(long[] heat, int[] cells, int size, long weight) {
+        for (int i = 0; i < size; i++) {
+            heat[cells[2 * i] * cols + cells[2 * i + 1]] += weight;
+        }
+    }
+
+    private int randomUnshotCell() {
+        int unshot = rows * cols - shots.cardinality();
+        if (unshot == 0) {
+            throw new IllegalStateException("Every cell has already been shot");
+        }
+        int target = random.nextInt(unshot);
+        for (int cell = 0; ; cell++) {
+            if (!shots.get(cell / cols, cell % cols) && target-- == 0) {
+                return cell;
+            }
+        }
+    }
+
+    /**
+     * Estimates the search heat map by drawing random placements until the deadline, split over {@code parts}
+     * tasks. A ship type is drawn with probability proportional to the number of such ships still afloat, so the
+     * expected heat of each cell is proportional to its exact count.
+     */
+    private class SampleTask extends RecursiveTask<long[]> {
+        private final BitBoard blocked;
+        private final int parts;
+        private final long deadline;
+        private final SplittableRandom random;
+
+        SampleTask(BitBoard blocked, int parts, long deadline, SplittableRandom random) {
+            this.blocked = blocked;
+            this.parts = parts;
+            this.deadline = deadline;
+            this.random = random;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (parts > 1) {
+                SampleTask left = new SampleTask(blocked, parts / 2, deadline, random.split());
+                SampleTask right = new SampleTask(blocked, parts - parts / 2, deadline, random.split());
+                left.fork();
+                long[] heat = right.compute();
+                long[] other = left.join();
+                for (int i = 0; i < heat.length; i++) {
+                    heat[i] += other[i];
+                }
+                return heat;
+            }
+            return sample();
+        }
+
+        private long[] sample() {
+            int[] types = new int[Arrays.stream(remaining).sum()];
+            int next = 0;
+            for (ShipType type : TYPES) {
+                for (int i = 0; i < remaining[type.ordinal()]; i++) {
+                    types[next++] = type.ordinal();
+                }
+            }
+            long[] heat = new long[rows * cols];
+            if (types.length == 0) {
+                return heat;
+            }
+            int[] cells = new int[2 * MAX_SHIP_SIZE];
+            do {
+                for (int i = 0; i < SAMPLE_BATCH; i++) {
+                    ShipType type = TYPES[types[random.nextInt(types.length)]];
+                    Orientation orientation = ORIENTATIONS[random.nextInt(ORIENTATIONS.length)];
+                    if (isFree(type, orientation, random.nextInt(rows), random.nextInt(cols), blocked, cells)) {
+                        addPlacement(heat, cells, type.getSize(), 1);
+                    }
+                }
+            } while (System.nanoTime() < deadline);
+            return heat;
+        }
+    }
+}
@@ -1,16 +1,13 @@
 package it.units.battleship.controller.mode.ai;
 
 import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.FleetPlacementGenerator;
 import it.units.battleship.model.Grid;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
-import it.units.battleship.Orientation;
-import it.units.battleship.ShipType;
 
 import java.util.*;
 
-import static it.units.battleship.Defaults.MAX_ATTEMPTS;
-
 /**
  * Implementation of an AI opponent.
  * Search randomly for a ship, then it focuses on sunk the found ship
@@ -19,45 +16,33 @@ public class SimpleAIOpponent implements AIOpponent {
 
     private final Grid grid;
     private final FleetManager fleetManager;
-    private final Random random = new Random();
+    private final Random random;
 
     private final Set<Coordinate> shotsFired = new HashSet<>();
 
     private List<Ship> opponentFleet = new ArrayList<>();
 
     public SimpleAIOpponent(Grid grid, FleetManager fleetManager) {
+        this(grid, fleetManager, new Random());
+    }
+
+    /**
+     * @param grid         the grid of the AI, the opponent grid has the same size
+     * @param fleetManager the fleet of the AI
+     * @param random       the source of randomness for ship placement and shots
+     */
+    public SimpleAIOpponent(Grid grid, FleetManager fleetManager, Random random) {
         this.grid = grid;
         this.fleetManager = fleetManager;
+        this.random = random;
     }
 
     @Override
     public void placeShips() {
-        Map<ShipType, Integer> required = fleetManager.getRequiredFleetConfiguration();
-
-        for (Map.Entry<ShipType, Integer> entry : required.entrySet()) {
-            ShipType type = entry.getKey();
-            int count = entry.getValue();
-
-            for (int i = 0; i < count; i++) {
-                boolean placed = false;
-                int attempts = 0;
-
-                while (!placed && attempts < MAX_ATTEMPTS) {
-                    int row = random.nextInt(grid.getRow());
-                    int col = random.nextInt(grid.getCol());
-                    Orientation orientation = random.nextBoolean()
-                            ? Orientation.HORIZONTAL_RIGHT
-                            : Orientation.VERTICAL_UP;
-
-                    try {
-                        Coordinate start = new Coordinate(row, col);
-                        Ship ship = Ship.createShip(start, orientation, type, grid);
-                        placed = fleetManager.addShip(ship);
-                    } catch (IllegalArgumentException e) {
-                        // Not valid position, retry
-                    }
-                    attempts++;
-                }
+        FleetPlacementGenerator generator = new FleetPlacementGenerator(grid.getRow(), grid.getCol(), fleetManager.getRequiredFleetConfiguration());
+        for (Ship ship : generator.generateFleet(random)) {
+            if (!fleetManager.addShip(ship)) {
+                throw new IllegalStateException("Generated " + ship.getShipType() + " rejected at " + ship.getCoordinates());
             }
         }
     }
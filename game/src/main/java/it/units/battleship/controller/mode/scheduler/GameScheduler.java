@@ -0,0 +1,53 @@
+package it.units.battleship.controller.mode.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Clock and scheduler used by the game modes for every delay and timeout, instead of sleeping on a thread.
+ * <p>
+ * Tasks run one at a time, in order of due time, so a game mode can rely on its tasks never overlapping.
+ * {@link RealTimeScheduler} follows the wall clock, {@link VirtualTimeScheduler} advances its own clock instantly.
+ */
+public interface GameScheduler {
+
+    /**
+     * Runs a task once the delay has elapsed on this scheduler's clock.
+     *
+     * @param task  the task to run
+     * @param delay the delay, zero or negative to run the task as soon as possible
+     * @return a handle to cancel the task before it runs
+     */
+    ScheduledTask schedule(Runnable task, Duration delay);
+
+    /**
+     * Runs a task as soon as possible, after the tasks already due.
+     *
+     * @param task the task to run
+     */
+    default void execute(Runnable task) {
+        schedule(task, Duration.ZERO);
+    }
+
+    /**
+     * @return the current time of this scheduler's clock in nanoseconds, only meaningful as a difference
+     */
+    long nanoTime();
+
+    /**
+     * Stops the scheduler, the tasks not run yet are discarded.
+     */
+    void shutdown();
+
+    /**
+     * Handle of a scheduled task.
+     */
+    interface ScheduledTask {
+
+        /**
+         * Prevents the task from running, if it has not started yet.
+         *
+         * @return true if the task will not run because of this call
+         */
+        boolean cancel();
+    }
+}
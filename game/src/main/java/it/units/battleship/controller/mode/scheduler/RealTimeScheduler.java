@@ -0,0 +1,34 @@
+package it.units.battleship.controller.mode.scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameScheduler} following the wall clock. The tasks run on a single thread that is idle, not sleeping,
+ * while waiting for the next due task.
+ */
+public class RealTimeScheduler implements GameScheduler {
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+
+    public RealTimeScheduler() {
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, Duration delay) {
+        ScheduledFuture<?> future = executor.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+        return () -> future.cancel(false);
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
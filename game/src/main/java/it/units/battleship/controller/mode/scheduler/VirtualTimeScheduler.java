@@ -0,0 +1,154 @@
+package it.units.battleship.controller.mode.scheduler;
+
+import java.time.Duration;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * {@link GameScheduler} with its own clock, which only moves when the scheduler is driven, jumping straight to the
+ * due time of the next task.
+ * <p>
+ * Created with {@link #VirtualTimeScheduler()} nothing runs until the owner calls {@link #advanceBy(Duration)} or
+ * {@link #runUntilIdle()}, which suits tests and simulations that must control every step. The driving methods
+ * run the tasks on the calling thread and must not be called by two threads at once.
+ * Created with {@link #turbo()} the scheduler drives itself on a background thread, so the game plays as in real
+ * time without any of the waits.
+ */
+public class VirtualTimeScheduler implements GameScheduler {
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final ExecutorService driver;
+    private long now;
+    private long sequence;
+    private boolean shutdown;
+
+    private static final class Entry implements Comparable<Entry>, ScheduledTask {
+        private final VirtualTimeScheduler owner;
+        private final long dueTime;
+        private final long sequence;
+        private final Runnable task;
+
+        private Entry(VirtualTimeScheduler owner, long dueTime, long sequence, Runnable task) {
+            this.owner = owner;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public boolean cancel() {
+            synchronized (owner) {
+                return owner.queue.remove(this);
+            }
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(dueTime, other.dueTime);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Creates a scheduler driven by its owner.
+     */
+    public VirtualTimeScheduler() {
+        this(null);
+    }
+
+    private VirtualTimeScheduler(ExecutorService driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Creates a scheduler that runs every task as soon as it is scheduled, advancing its clock to the due time.
+     *
+     * @return the new scheduler
+     */
+    public static VirtualTimeScheduler turbo() {
+        return new VirtualTimeScheduler(Executors.newSingleThreadExecutor());
+    }
+
+    @Override
+    public ScheduledTask schedule(Runnable task, Duration delay) {
+        Entry entry;
+        synchronized (this) {
+            if (shutdown) {
+                throw new IllegalStateException("Scheduler is shut down");
+            }
+            entry = new Entry(this, now + Math.max(0, delay.toNanos()), sequence++, task);
+            queue.add(entry);
+        }
+        if (driver != null) {
+            driver.execute(this::runUntilIdle);
+        }
+        return entry;
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        return now;
+    }
+
+    /**
+     * Moves the clock forward, running in order the tasks that become due, including the ones they schedule.
+     *
+     * @param duration how much to move the clock
+     * @return the number of tasks run
+     */
+    public int advanceBy(Duration duration) {
+        long target;
+        synchronized (this) {
+            target = now + duration.toNanos();
+        }
+        int run = runDue(target);
+        synchronized (this) {
+            now = Math.max(now, target);
+        }
+        return run;
+    }
+
+    /**
+     * Runs in order every task scheduled, including the ones they schedule, moving the clock to each due time.
+     *
+     * @return the number of tasks run
+     */
+    public int runUntilIdle() {
+        return runDue(Long.MAX_VALUE);
+    }
+
+    /**
+     * @return the number of tasks waiting to run
+     */
+    public synchronized int getPendingTasks() {
+        return queue.size();
+    }
+
+    private int runDue(long limit) {
+        int run = 0;
+        while (true) {
+            Entry next;
+            synchronized (this) {
+                next = queue.peek();
+                if (shutdown || next == null || next.dueTime > limit) {
+                    return run;
+                }
+                queue.poll();
+                now = Math.max(now, next.dueTime);
+            }
+            next.task.run();
+            run++;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            queue.clear();
+        }
+        if (driver != null) {
+            driver.shutdownNow();
+        }
+    }
+}
@@ -7,6 +7,7 @@ import it.units.battleship.controller.turn.contracts.ViewActions;
 import it.units.battleship.controller.turn.states.*;
 import it.units.battleship.model.FleetManager;
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.*;
 import lombok.Getter;
@@ -44,7 +45,7 @@ public class TurnManager implements StateTransitions {
      * Transitions to the given state.
      */
     public void transitionTo(@NonNull TurnState newState) {
-        Logger.log("TurnManager: " + currentState.getStateName() + " -> " + newState.getStateName());
+        Logger.log("TurnManager: {} -> {}", currentState.getStateName(), newState.getStateName());
         currentState.onExit();
         currentState = newState;
         currentState.onEnter();
@@ -108,6 +109,10 @@ public class TurnManager implements StateTransitions {
         currentState.handleOpponentGridUpdate(grid, fleet);
     }
 
+    public void handleOpponentGridDelta(GridDelta delta) {
+        currentState.handleOpponentGridDelta(delta);
+    }
+
     public void handleGameStatusReceived(GameState state, String message) {
         currentState.handleGameStatusReceived(state, message);
     }
@@ -1,5 +1,6 @@
 package it.units.battleship.controller.turn;
 
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
@@ -51,6 +52,11 @@ public interface TurnState {
      */
     void handleOpponentGridUpdate(String grid, List<Ship> fleet);
 
+    /**
+     * Handle an incremental update for the opponent's grid.
+     */
+    void handleOpponentGridDelta(GridDelta delta);
+
     /**
      * Handle game status updates from server (e.g., game start signal).
      */
@@ -5,6 +5,7 @@ import it.units.battleship.Orientation;
 import it.units.battleship.ShipType;
 import it.units.battleship.controller.turn.contracts.SetupInputProvider;
 import it.units.battleship.controller.turn.contracts.ViewActions;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.view.core.BattleshipView;
 import lombok.NonNull;
@@ -61,6 +62,11 @@ public class GameViewMediator implements ViewActions, SetupInputProvider {
         view.updateOpponentGrid(grid, fleet);
     }
 
+    @Override
+    public void applyOpponentGridDelta(GridDelta delta) {
+        view.applyOpponentGridDelta(delta);
+    }
+
     @Override
     public void playerErrorSound() {
         view.playerErrorSound();
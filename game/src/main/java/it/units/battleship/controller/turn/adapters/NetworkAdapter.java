@@ -27,6 +27,11 @@ public class NetworkAdapter implements NetworkActions {
         gameMode.sendGameOver(message);
     }
 
+    @Override
+    public void submitFleet(List<Ship> fleet) {
+        gameMode.submitFleet(fleet);
+    }
+
     @Override
     public void notifySetupComplete() {
         gameMode.notifySetupComplete();
@@ -14,6 +14,8 @@ public interface NetworkActions {
     void fireShot(Coordinate coordinate);
     /** notify the opponent that the game is over */
     void sendGameOver(String message);
+    /** hand the complete fleet to whoever resolves the shots */
+    void submitFleet(List<Ship> fleet);
     /** say to opponent we are redy with ships */
     void notifySetupComplete();
     /** sync the current grid and fleet state */
@@ -3,6 +3,7 @@ package it.units.battleship.controller.turn.contracts;
 import it.units.battleship.Coordinate;
 import it.units.battleship.Orientation;
 import it.units.battleship.ShipType;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 
 import java.util.LinkedHashSet;
@@ -29,6 +30,8 @@ public interface ViewActions {
     void transitionToGamePhase();
     /** update the enemy grid view */
     void updateOpponentGrid(String grid, List<Ship> fleet);
+    /** apply only the changed cells and newly sunk ships to the enemy grid view */
+    void applyOpponentGridDelta(GridDelta delta);
     /** play a bad sound when error */
     void playerErrorSound();
     /** show ship ghost before place it */
@@ -7,6 +7,7 @@ import it.units.battleship.controller.turn.contracts.StateTransitions;
 import it.units.battleship.controller.turn.contracts.ViewActions;
 import it.units.battleship.model.FleetManager;
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
@@ -37,7 +38,7 @@ public abstract class BaseGameState implements TurnState {
 
     @Override
     public void onEnter() {
-        Logger.debug("Entering state: " + getStateName());
+        Logger.debug("Entering state: {}", getStateName());
         view.refreshPlayerGrid(
                 fleetManager.getSerializedGridState(),
                 fleetManager.getFleet()
@@ -50,7 +51,7 @@ public abstract class BaseGameState implements TurnState {
 
     @Override
     public void onExit() {
-        Logger.debug("Exiting state: " + getStateName());
+        Logger.debug("Exiting state: {}", getStateName());
     }
 
     @Override
@@ -79,6 +80,12 @@ public abstract class BaseGameState implements TurnState {
         view.updateOpponentGrid(grid, fleet);
     }
 
+    @Override
+    public void handleOpponentGridDelta(GridDelta delta) {
+        opponentGrid.applyDelta(delta);
+        view.applyOpponentGridDelta(delta);
+    }
+
     @Override
     public void handleGameStatusReceived( GameState state, String message) {
         if(state == GameState.GAME_OVER){
@@ -6,6 +6,7 @@ import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
 import it.units.battleship.controller.turn.GameContext;
 import it.units.battleship.controller.turn.contracts.SetupInputProvider;
+import it.units.battleship.model.Grid;
 import it.units.battleship.model.Ship;
 
 import java.util.LinkedHashSet;
@@ -51,6 +52,7 @@ public class SetupState extends BaseGameState {
 
                 if (fleetManager.isFleetComplete()) {
                     stateTransitions.transitionToWaitingSetup();
+                    network.submitFleet(fleetManager.getFleet());
                     network.notifySetupComplete();
                 }
             } else {
@@ -70,13 +72,14 @@ public class SetupState extends BaseGameState {
 
         if (shipType == null) return;
 
-        try {
-            Ship ship = Ship.createShip(coordinate, orientation, shipType, fleetManager.getGrid());
-            boolean valid = fleetManager.canPlaceShip(ship);
-            view.showPlacementPreview(ship.getCoordinates(), valid, ship);
-        } catch (IllegalArgumentException ex) {
+        Grid grid = fleetManager.getGrid();
+        if (!shipType.fitsInGrid(coordinate.row(), coordinate.col(), orientation, grid.getRow(), grid.getCol())) {
             showInvalidPlacement(coordinate, orientation, shipType);
+            return;
         }
+        boolean valid = fleetManager.canPlaceShip(shipType, orientation, coordinate.row(), coordinate.col());
+        Ship ship = Ship.createShip(coordinate, orientation, shipType, grid);
+        view.showPlacementPreview(ship.getCoordinates(), valid, ship);
     }
 
     private void showInvalidPlacement(Coordinate coordinate, Orientation orientation, ShipType shipType){
@@ -0,0 +1,246 @@
+package it.units.battleship.model;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A set of cells of a rectangular board stored as bits of {@code long} words.
+ * <p>
+ * Each row starts on a fresh word, so horizontal neighbours are a shift away and vertical neighbours are the
+ * same word index in the adjacent row. Set operations between boards of the same size work word by word.
+ */
+public class BitBoard {
+    @Getter
+    private final int rows;
+    @Getter
+    private final int cols;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private final long[] words;
+
+    public BitBoard(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Columns and rows value must be strictly positive");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + Long.SIZE - 1) >>> 6;
+        int tail = cols & (Long.SIZE - 1);
+        this.lastWordMask = tail == 0 ? -1L : (1L << tail) - 1;
+        this.words = new long[rows * wordsPerRow];
+    }
+
+    private BitBoard(BitBoard other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.wordsPerRow = other.wordsPerRow;
+        this.lastWordMask = other.lastWordMask;
+        this.words = other.words.clone();
+    }
+
+    /**
+     * Checks whether a cell lies on the board.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return true if the cell is within the board bounds
+     */
+    public boolean contains(int row, int col) {
+        return row >= 0 && row < rows && col >= 0 && col < cols;
+    }
+
+    /**
+     * Tells whether the cell is in the set. Cells outside the board are never in the set.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @return true if the cell is set
+     */
+    public boolean get(int row, int col) {
+        if (!contains(row, col)) {
+            return false;
+        }
+        return (words[row * wordsPerRow + (col >>> 6)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Adds the cell to the set.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @throws IndexOutOfBoundsException if the cell is outside the board
+     */
+    public void set(int row, int col) {
+        checkBounds(row, col);
+        words[row * wordsPerRow + (col >>> 6)] |= 1L << col;
+    }
+
+    /**
+     * Removes the cell from the set.
+     *
+     * @param row the row of the cell
+     * @param col the column of the cell
+     * @throws IndexOutOfBoundsException if the cell is outside the board
+     */
+    public void clear(int row, int col) {
+        checkBounds(row, col);
+        words[row * wordsPerRow + (col >>> 6)] &= ~(1L << col);
+    }
+
+    /**
+     * Removes every cell from the set.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * @return true if no cell is set
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of cells in the set
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether the two sets share at least one cell.
+     *
+     * @param other a board of the same size
+     * @return true if the intersection is not empty
+     */
+    public boolean intersects(@NonNull BitBoard other) {
+        checkSameSize(other);
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds every cell of the other set to this one.
+     *
+     * @param other a board of the same size
+     */
+    public void or(@NonNull BitBoard other) {
+        checkSameSize(other);
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    /**
+     * @return an independent copy of this board
+     */
+    public BitBoard copy() {
+        return new BitBoard(this);
+    }
+
+    /**
+     * Grows the set by {@code radius} cells in every direction, diagonals included (Chebyshev distance),
+     * clipping at the board edges.
+     *
+     * @param radius the number of cells to grow by, zero returns a plain copy
+     * @return a new board holding the dilated set
+     */
+    public BitBoard dilate(int radius) {
+        if (radius < 0) {
+            throw new IllegalArgumentException("Radius must not be negative");
+        }
+        BitBoard horizontal = copy();
+        long[] row = new long[wordsPerRow];
+        for (int step = 0; step < radius; step++) {
+            for (int r = 0; r < rows; r++) {
+                int base = r * wordsPerRow;
+                System.arraycopy(horizontal.words, base, row, 0, wordsPerRow);
+                for (int w = 0; w < wordsPerRow; w++) {
+                    long towardsHigher = (row[w] << 1) | (w > 0 ? row[w - 1] >>> 63 : 0);
+                    long towardsLower = (row[w] >>> 1) | (w + 1 < wordsPerRow ? row[w + 1] << 63 : 0);
+                    horizontal.words[base + w] = row[w] | towardsHigher | towardsLower;
+                }
+                horizontal.words[base + wordsPerRow - 1] &= lastWordMask;
+            }
+        }
+        if (radius == 0) {
+            return horizontal;
+        }
+        BitBoard dilated = new BitBoard(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            int from = Math.max(0, r - radius);
+            int to = Math.min(rows - 1, r + radius);
+            for (int source = from; source <= to; source++) {
+                for (int w = 0; w < wordsPerRow; w++) {
+                    dilated.words[r * wordsPerRow + w] |= horizontal.words[source * wordsPerRow + w];
+                }
+            }
+        }
+        return dilated;
+    }
+
+    /**
+     * Replaces the content of this board with the content of another one of the same size.
+     *
+     * @param other a board of the same size
+     */
+    void copyFrom(BitBoard other) {
+        checkSameSize(other);
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    /**
+     * @return the number of words of a row
+     */
+    int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * Reads 64 consecutive cells of a row at once: bit {@code j} of the result is the cell at column
+     * {@code fromCol + j}. Columns outside the board read as not set.
+     *
+     * @param row     a row of the board
+     * @param fromCol the column of bit 0, may be negative or beyond the last column
+     * @return the cells as a word
+     */
+    long window(int row, int fromCol) {
+        int base = row * wordsPerRow;
+        int word = Math.floorDiv(fromCol, Long.SIZE);
+        int shift = Math.floorMod(fromCol, Long.SIZE);
+        long low = word >= 0 && word < wordsPerRow ? words[base + word] : 0;
+        if (shift == 0) {
+            return low;
+        }
+        long high = word + 1 >= 0 && word + 1 < wordsPerRow ? words[base + word + 1] : 0;
+        return (low >>> shift) | (high << (Long.SIZE - shift));
+    }
+
+    private void checkBounds(int row, int col) {
+        if (!contains(row, col)) {
+            throw new IndexOutOfBoundsException("Coordinates must respect board dimension");
+        }
+    }
+
+    private void checkSameSize(BitBoard other) {
+        if (other.rows != rows || other.cols != cols) {
+            throw new IllegalArgumentException("Boards must have the same dimension");
+        }
+    }
+}
@@ -3,15 +3,17 @@ package it.units.battleship.model;
 import it.units.battleship.CellState;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GridMapper;
+import it.units.battleship.Orientation;
 import it.units.battleship.ShipType;
 import lombok.Getter;
 import lombok.NonNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import static it.units.battleship.Defaults.MIN_DISTANCE_THRESHOLD;
 
@@ -19,6 +21,13 @@ import static it.units.battleship.Defaults.MIN_DISTANCE_THRESHOLD;
  * The FleetManager class is responsible for managing a fleet of ships within a specified grid.
  * It handles the addition of ships to the fleet based on their type, orientation, and starting coordinates,
  * ensuring that the ships are placed according to game rules and do not overlap or come too close to each other.
+ * <p>
+ * Placement is validated against two {@link BitBoard}s kept in sync with the fleet: the cells occupied by ships and
+ * the forbidden zone, which is the occupied set dilated by {@code MIN_DISTANCE_THRESHOLD}. Checking a candidate ship
+ * costs one bit test per ship cell, independently of the number of ships already placed.
+ * <p>
+ * A dense {@code rows * cols} index maps every cell to the ship occupying it, so shots and lookups resolve in
+ * constant time, and running per-type and sunk counters answer the fleet-wide queries without scanning the fleet.
  */
 public class FleetManager {
 
@@ -34,10 +43,23 @@ public class FleetManager {
     private final List<Ship> fleet = new ArrayList<>();
     @Getter
     private final Map<ShipType, Integer> requiredFleetConfiguration;
+    private final BitBoard occupied;
+    private final BitBoard forbidden;
+    /**
+     * Position in {@link #fleet} plus one of the ship occupying each cell, in row-major order; 0 for water.
+     */
+    private final int[] shipIds;
+    private final int[] placedCounts = new int[ShipType.values().length];
+    private final int requiredTotal;
+    private int sunkCount;
 
     public FleetManager(@NonNull Grid grid, @NonNull Map<ShipType, Integer> requiredFleetConfiguration) {
         this.grid = grid;
         this.requiredFleetConfiguration = requiredFleetConfiguration;
+        this.occupied = new BitBoard(grid.getRow(), grid.getCol());
+        this.forbidden = new BitBoard(grid.getRow(), grid.getCol());
+        this.shipIds = new int[grid.getRow() * grid.getCol()];
+        this.requiredTotal = requiredFleetConfiguration.values().stream().mapToInt(Integer::intValue).sum();
     }
 
     /**
@@ -48,17 +70,8 @@ public class FleetManager {
      * @return true if the current fleet matches the required fleet configuration exactly; false otherwise
      */
     public boolean isFleetComplete() {
-        Map<ShipType, Long> currentFleetCounts = fleet.stream().collect(Collectors.groupingBy(Ship::getShipType, Collectors.counting()));
-
-        for (Map.Entry<ShipType, Integer> entry : requiredFleetConfiguration.entrySet()) {
-            ShipType shipType = entry.getKey();
-            int count = entry.getValue();
-            Long currentCount = currentFleetCounts.getOrDefault(shipType, 0L);
-            if (currentCount != count) {
-                return false;
-            }
-        }
-        return fleet.size() == requiredFleetConfiguration.values().stream().mapToInt(Integer::intValue).sum();
+        // addShip never exceeds the configured count of a type, so reaching the total means every type is complete
+        return fleet.size() == requiredTotal;
     }
 
     /**
@@ -84,9 +97,63 @@ public class FleetManager {
             return false;
         }
         fleet.add(ship);
+        trackShip(ship, fleet.size());
+        BitBoard shipCells = new BitBoard(grid.getRow(), grid.getCol());
+        for (Coordinate coordinate : ship.getCoordinates()) {
+            if (shipCells.contains(coordinate.row(), coordinate.col())) {
+                shipCells.set(coordinate.row(), coordinate.col());
+            }
+        }
+        occupied.or(shipCells);
+        forbidden.or(shipCells.dilate(MIN_DISTANCE_THRESHOLD));
         return true;
     }
 
+    /**
+     * Records the ship in the cell index and in the counters, and listens for it to sink.
+     *
+     * @param ship the ship just added to the fleet
+     * @param id   its position in the fleet plus one
+     */
+    private void trackShip(@NonNull Ship ship, int id) {
+        for (Coordinate coordinate : ship.getCoordinates()) {
+            if (occupied.contains(coordinate.row(), coordinate.col())) {
+                shipIds[coordinate.row() * grid.getCol() + coordinate.col()] = id;
+            }
+        }
+        placedCounts[ship.getShipType().ordinal()]++;
+        if (ship.isSunk()) {
+            sunkCount++;
+        }
+        ship.setSunkListener(() -> sunkCount++);
+    }
+
+    /**
+     * Detaches a removed ship and rebuilds the index, the counters and the masks from the remaining fleet.
+     * Ids are positions in the fleet, so they shift on removal, and the dilated zones of neighbouring ships
+     * may overlap, so a full rebuild is simpler than an update; removals only happen during setup.
+     *
+     * @param removed the ship just removed from the fleet
+     */
+    private void onShipRemoved(@NonNull Ship removed) {
+        removed.setSunkListener(null);
+        Arrays.fill(shipIds, 0);
+        Arrays.fill(placedCounts, 0);
+        sunkCount = 0;
+        occupied.clear();
+        for (int i = 0; i < fleet.size(); i++) {
+            Ship ship = fleet.get(i);
+            trackShip(ship, i + 1);
+            for (Coordinate coordinate : ship.getCoordinates()) {
+                if (occupied.contains(coordinate.row(), coordinate.col())) {
+                    occupied.set(coordinate.row(), coordinate.col());
+                }
+            }
+        }
+        forbidden.clear();
+        forbidden.or(occupied.dilate(MIN_DISTANCE_THRESHOLD));
+    }
+
     /**
      * Determines whether a ship of the given type can be added to the fleet based on the
      * allowed configuration.
@@ -109,42 +176,23 @@ public class FleetManager {
      * @return the count of ships of the specified type in the fleet
      */
     private int countShipsOfType(@NonNull ShipType shipType) {
-        return (int) fleet.stream().filter(ship -> ship.getShipType() == shipType).count();
+        return placedCounts[shipType.ordinal()];
     }
 
     /**
      * Determines if the placement of a new ship on the grid is valid by checking
-     * against all already existing ships in the fleet. A placement is considered
-     * valid if the new ship does not overlap or come too close to any other ship.
+     * its cells against the forbidden zone of the ships already in the fleet. A placement is considered
+     * valid if the new ship does not overlap or come too close to any other ship,
+     * which means at least {@code MIN_DISTANCE_THRESHOLD} empty cells between ships, diagonals included.
      *
      * @param ship the ship whose placement is being validated; must be non-null
      * @return true if the placement is valid and the ship can be placed without
      * conflict; false otherwise
      */
     private boolean isPlacementValid(@NonNull Ship ship) {
-        if (fleet.isEmpty()) {
-            return true;
-        } else {
-            for (Ship existingShip : fleet) {
-                if (!areShipOverlapping(existingShip, ship)) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
-    private boolean areShipOverlapping(@NonNull Ship existingShip, @NonNull Ship ship) {
-        for (Coordinate coordinate : existingShip.getCoordinates()) {
-            for (Coordinate existingCoordinate : ship.getCoordinates()) {
-                int dx = Math.abs(coordinate.row() - existingCoordinate.row());
-                int dy = Math.abs(coordinate.col() - existingCoordinate.col());
-
-                // Invalid if ships overlap or touch (also diagonally).
-                // Requiring at least 1 empty cell between ships means max(dx, dy) must be >= 2.
-                if (Math.max(dx, dy) <= MIN_DISTANCE_THRESHOLD) {
-                    return false;
-                }
+        for (Coordinate coordinate : ship.getCoordinates()) {
+            if (forbidden.get(coordinate.row(), coordinate.col())) {
+                return false;
             }
         }
         return true;
@@ -157,7 +205,12 @@ public class FleetManager {
      * @return true if the ship was successfully removed from the fleet, false if the ship was not found
      */
     public boolean removeShipByReference(@NonNull Ship ship) {
-        return fleet.remove(ship);
+        int index = fleet.indexOf(ship);
+        if (index < 0) {
+            return false;
+        }
+        onShipRemoved(fleet.remove(index));
+        return true;
     }
 
     /**
@@ -167,7 +220,13 @@ public class FleetManager {
      * @return true if a ship occupying the specified coordinate was successfully removed, false otherwise
      */
     public boolean removeShipByCoordinate(@NonNull Coordinate coordinate) {
-        return fleet.removeIf(ship -> ship.getCoordinates().contains(coordinate));
+        Ship ship = getShipByCoordinate(coordinate);
+        if (ship == null) {
+            return false;
+        }
+        fleet.remove(ship);
+        onShipRemoved(ship);
+        return true;
     }
 
     /**
@@ -187,7 +246,11 @@ public class FleetManager {
      * @return the ship located at the given coordinate, or null if no ship is found or the coordinate is invalid
      */
     public Ship getShipByCoordinate(@NonNull Coordinate coordinate) {
-        return fleet.stream().filter(ship -> ship.getCoordinates().contains(coordinate)).findFirst().orElse(null);
+        if (!occupied.contains(coordinate.row(), coordinate.col())) {
+            return null;
+        }
+        int id = shipIds[coordinate.row() * grid.getCol() + coordinate.col()];
+        return id == 0 ? null : fleet.get(id - 1);
     }
 
     /**
@@ -220,13 +283,40 @@ public class FleetManager {
         return canAddShipType(ship) && isPlacementValid(ship);
     }
 
+    /**
+     * Allocation-free variant of {@link #canPlaceShip(Ship)} for placements that have not been turned into a
+     * {@link Ship} yet, such as hover previews and AI placement attempts. A placement that exceeds the grid
+     * is reported as invalid instead of throwing.
+     *
+     * @param type        the type of the ship to place; must be non-null
+     * @param orientation the orientation of the ship; must be non-null
+     * @param row         the row of the initial coordinate
+     * @param col         the column of the initial coordinate
+     * @return true if a ship with this placement could be added to the fleet
+     */
+    public boolean canPlaceShip(@NonNull ShipType type, @NonNull Orientation orientation, int row, int col) {
+        if (!type.fitsInGrid(row, col, orientation, grid.getRow(), grid.getCol())) {
+            return false;
+        }
+        Integer maxAllowed = requiredFleetConfiguration.get(type);
+        if (maxAllowed == null || countShipsOfType(type) >= maxAllowed) {
+            return false;
+        }
+        for (int cell = 0; cell < type.getSize(); cell++) {
+            if (forbidden.get(row + type.getRowOffset(orientation, cell), col + type.getColOffset(orientation, cell))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Checks whether the game is over by determining if all ships in the fleet have been sunk.
      *
      * @return true if all ships in the fleet are sunk, indicating the game is over; false otherwise
      */
     public boolean isGameOver() {
-        return fleet.stream().allMatch(Ship::isSunk);
+        return sunkCount == fleet.size();
     }
 
     /**
@@ -236,11 +326,13 @@ public class FleetManager {
      * already present in the fleet.
      */
     public Map<ShipType, Integer> getPlacedCounts() {
-        return fleet.stream()
-                .collect(Collectors.groupingBy(
-                        Ship::getShipType,
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-                ));
+        Map<ShipType, Integer> counts = new EnumMap<>(ShipType.class);
+        for (ShipType type : ShipType.values()) {
+            if (placedCounts[type.ordinal()] > 0) {
+                counts.put(type, placedCounts[type.ordinal()]);
+            }
+        }
+        return counts;
     }
 
     /**
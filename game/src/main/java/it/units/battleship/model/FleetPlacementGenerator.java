@@ -0,0 +1,477 @@
+package it.units.battleship.model;
+
+import it.units.battleship.Coordinate;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+import static it.units.battleship.Defaults.MIN_DISTANCE_THRESHOLD;
+
+/**
+ * Generates random fleets that respect the placement rules of {@link FleetManager}: every ship inside the grid
+ * and at least {@link it.units.battleship.Defaults#MIN_DISTANCE_THRESHOLD} cells away from the others.
+ * <p>
+ * Ships are placed largest first. On boards up to 64 columns wide each row of unavailable cells is a single word,
+ * and every ship and its distance zone are precomputed as one column mask per row: a ship samples anchors uniformly
+ * among those inside the grid and keeps the first one whose masks do not intersect the unavailable rows, a handful of
+ * word operations per try. On the standard board a fleet rarely needs more than a few tries per ship.
+ * <p>
+ * When a ship runs out of tries, or the board is wider, the generator falls back to an exhaustive search: for each
+ * ship the valid anchors of every orientation are computed as bitmasks, 64 columns at a time, from the cells that
+ * are still free, and one of them is chosen uniformly. When a ship has no valid anchor left the search backtracks to
+ * the previous ship and tries another of its anchors, so a fleet is always found when one exists.
+ * No {@link Ship} is built and no exception is thrown while searching.
+ * <p>
+ * An instance keeps its scratch buffers between calls and must not be shared between threads.
+ */
+public class FleetPlacementGenerator {
+    /**
+     * Anchors tried in a single generation before giving up on a fleet that fits only in very few ways.
+     */
+    static final int MAX_ATTEMPTS = 1_000_000;
+    /**
+     * Anchors sampled for a single ship before falling back to the exhaustive search.
+     */
+    static final int SAMPLES_PER_SHIP = 64;
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    /**
+     * The ships to place, in placement order.
+     */
+    private final ShipType[] ships;
+    /**
+     * Per type and orientation: the columns where an anchor keeps the ship inside the grid, one word per row word.
+     */
+    private final long[][][] columnMasks;
+    /**
+     * Per type and orientation: the first and last row where an anchor keeps the ship inside the grid.
+     */
+    private final int[][][] rowRanges;
+    /**
+     * Per type: every anchor of every orientation that keeps the ship inside the grid, as
+     * {@code (row * 64 + col) * 4 + orientation}. Only used on boards up to 64 columns wide.
+     */
+    private final int[][] sampledAnchors;
+    /**
+     * Per type and orientation: the leftmost column offset of the ship, where its masks start.
+     */
+    private final int[][] minColOffsets;
+    /**
+     * Per type and orientation: the row offsets of the ship and, in {@link #footprintMasks}, the columns it covers
+     * in each of them, starting from {@link #minColOffsets}. Only used on boards up to 64 columns wide.
+     */
+    private final int[][][] footprintRows;
+    private final long[][][] footprintMasks;
+    /**
+     * Per type and orientation: the row offsets of the cells a placed ship makes unavailable and, in
+     * {@link #zoneMasks}, their columns, starting from the leftmost column offset minus the distance.
+     */
+    private final int[][][] zoneRows;
+    private final long[][][] zoneMasks;
+    /**
+     * Per type and orientation: interleaved {@code row, col} offsets of the cells a placed ship makes unavailable,
+     * the ship itself and the distance zone around it.
+     */
+    private final int[][][] halos;
+    /**
+     * Per depth: the cells unavailable before placing the ship at that depth.
+     */
+    private final BitBoard[] forbidden;
+    /**
+     * Per depth: the anchors not tried yet, indexed by {@link #anchorWord(int, int, int)}.
+     */
+    private final long[][] anchors;
+    private final int[] candidates;
+    /**
+     * Free cells of each row, used instead of {@link BitBoard#window(int, int)} when a row fits in a single word.
+     */
+    private final long[] freeRows;
+    /**
+     * Unavailable cells of each row while sampling, when a row fits in a single word.
+     */
+    private final long[] unavailableRows;
+
+    /**
+     * @param rows               the number of rows of the grid
+     * @param cols               the number of columns of the grid
+     * @param fleetConfiguration the number of ships of each type
+     */
+    public FleetPlacementGenerator(int rows, int cols, @NonNull Map<ShipType, Integer> fleetConfiguration) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Columns and rows value must be strictly positive");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + Long.SIZE - 1) >>> 6;
+        List<ShipType> order = new ArrayList<>();
+        fleetConfiguration.forEach((type, count) -> {
+            for (int i = 0; i < count; i++) {
+                order.add(type);
+            }
+        });
+        order.sort(Comparator.comparingInt(ShipType::getSize).reversed().thenComparing(Comparator.naturalOrder()));
+        this.ships = order.toArray(new ShipType[0]);
+
+        ShipType[] types = ShipType.values();
+        this.columnMasks = new long[types.length][ORIENTATIONS.length][];
+        this.rowRanges = new int[types.length][ORIENTATIONS.length][];
+        this.sampledAnchors = new int[types.length][];
+        this.minColOffsets = new int[types.length][ORIENTATIONS.length];
+        this.footprintRows = new int[types.length][ORIENTATIONS.length][];
+        this.footprintMasks = new long[types.length][ORIENTATIONS.length][];
+        this.zoneRows = new int[types.length][ORIENTATIONS.length][];
+        this.zoneMasks = new long[types.length][ORIENTATIONS.length][];
+        this.halos = new int[types.length][ORIENTATIONS.length][];
+        for (ShipType type : types) {
+            for (Orientation orientation : ORIENTATIONS) {
+                precompute(type, orientation);
+            }
+            if (wordsPerRow == 1) {
+                sampledAnchors[type.ordinal()] = listAnchors(type);
+            }
+        }
+
+        this.forbidden = new BitBoard[ships.length];
+        this.anchors = new long[ships.length][ORIENTATIONS.length * rows * wordsPerRow];
+        this.candidates = new int[ships.length];
+        this.freeRows = new long[rows];
+        this.unavailableRows = new long[rows];
+        for (int i = 0; i < ships.length; i++) {
+            forbidden[i] = new BitBoard(rows, cols);
+        }
+    }
+
+    private void precompute(ShipType type, Orientation orientation) {
+        int minRow = Integer.MAX_VALUE, maxRow = Integer.MIN_VALUE, minCol = Integer.MAX_VALUE, maxCol = Integer.MIN_VALUE;
+        for (int i = 0; i < type.getSize(); i++) {
+            minRow = Math.min(minRow, type.getRowOffset(orientation, i));
+            maxRow = Math.max(maxRow, type.getRowOffset(orientation, i));
+            minCol = Math.min(minCol, type.getColOffset(orientation, i));
+            maxCol = Math.max(maxCol, type.getColOffset(orientation, i));
+        }
+        int t = type.ordinal();
+        int o = orientation.ordinal();
+        rowRanges[t][o] = new int[]{Math.max(0, -minRow), rows - 1 - maxRow};
+        minColOffsets[t][o] = minCol;
+
+        long[] masks = new long[wordsPerRow];
+        int firstCol = Math.max(0, -minCol);
+        int lastCol = cols - 1 - maxCol;
+        for (int col = firstCol; col <= lastCol; col++) {
+            masks[col >>> 6] |= 1L << col;
+        }
+        columnMasks[t][o] = masks;
+
+        int distance = MIN_DISTANCE_THRESHOLD;
+        int height = maxRow - minRow + 1 + 2 * distance;
+        int width = maxCol - minCol + 1 + 2 * distance;
+        boolean[] zone = new boolean[height * width];
+        int cells = 0;
+        for (int i = 0; i < type.getSize(); i++) {
+            int row = type.getRowOffset(orientation, i) - minRow + distance;
+            int col = type.getColOffset(orientation, i) - minCol + distance;
+            for (int r = row - distance; r <= row + distance; r++) {
+                for (int c = col - distance; c <= col + distance; c++) {
+                    if (!zone[r * width + c]) {
+                        zone[r * width + c] = true;
+                        cells++;
+                    }
+                }
+            }
+        }
+        int[] halo = new int[2 * cells];
+        int next = 0;
+        for (int i = 0; i < zone.length; i++) {
+            if (zone[i]) {
+                halo[next++] = i / width + minRow - distance;
+                halo[next++] = i % width + minCol - distance;
+            }
+        }
+        halos[t][o] = halo;
+
+        if (wordsPerRow == 1) {
+            footprintRows[t][o] = new int[maxRow - minRow + 1];
+            footprintMasks[t][o] = new long[maxRow - minRow + 1];
+            for (int i = 0; i < footprintRows[t][o].length; i++) {
+                footprintRows[t][o][i] = minRow + i;
+            }
+            for (int i = 0; i < type.getSize(); i++) {
+                footprintMasks[t][o][type.getRowOffset(orientation, i) - minRow] |= 1L << (type.getColOffset(orientation, i) - minCol);
+            }
+            zoneRows[t][o] = new int[height];
+            zoneMasks[t][o] = new long[height];
+            for (int r = 0; r < height; r++) {
+                zoneRows[t][o][r] = minRow - distance + r;
+                for (int c = 0; c < width; c++) {
+                    if (zone[r * width + c]) {
+                        zoneMasks[t][o][r] |= 1L << c;
+                    }
+                }
+            }
+        }
+    }
+
+    private int[] listAnchors(ShipType type) {
+        int count = 0;
+        for (Orientation orientation : ORIENTATIONS) {
+            int[] range = rowRanges[type.ordinal()][orientation.ordinal()];
+            count += Math.max(0, range[1] - range[0] + 1) * Long.bitCount(columnMasks[type.ordinal()][orientation.ordinal()][0]);
+        }
+        int[] anchors = new int[count];
+        int next = 0;
+        for (Orientation orientation : ORIENTATIONS) {
+            int o = orientation.ordinal();
+            int[] range = rowRanges[type.ordinal()][o];
+            for (int row = range[0]; row <= range[1]; row++) {
+                for (long free = columnMasks[type.ordinal()][o][0]; free != 0; free &= free - 1) {
+                    anchors[next++] = (row * Long.SIZE + Long.numberOfTrailingZeros(free)) << 2 | o;
+                }
+            }
+        }
+        return anchors;
+    }
+
+    /**
+     * @return the number of ships of a fleet
+     */
+    public int getShipCount() {
+        return ships.length;
+    }
+
+    /**
+     * Returns the type of a ship of the fleet, in the order {@link #generate(RandomGenerator, int[])} places them.
+     *
+     * @param index the position of the ship, between 0 and {@link #getShipCount()} - 1
+     * @return the type of the ship
+     */
+    public ShipType getShipType(int index) {
+        return ships[index];
+    }
+
+    /**
+     * Generates a random fleet into a caller-supplied buffer, without allocating.
+     * Ship {@code i}, of type {@link #getShipType(int)}, is stored as its initial row at {@code placements[3 * i]},
+     * its initial column at {@code placements[3 * i + 1]} and its orientation ordinal at {@code placements[3 * i + 2]}.
+     *
+     * @param random     the source of randomness
+     * @param placements the destination, at least {@code 3 * getShipCount()} long
+     * @throws IllegalArgumentException if the buffer is too short
+     * @throws IllegalStateException    if the fleet does not fit on the grid
+     */
+    public void generate(@NonNull RandomGenerator random, int[] placements) {
+        if (placements.length < 3 * ships.length) {
+            throw new IllegalArgumentException("Buffer must hold at least " + 3 * ships.length + " values");
+        }
+        if (ships.length == 0) {
+            return;
+        }
+        if (wordsPerRow == 1 && sample(random, placements)) {
+            return;
+        }
+        search(random, placements);
+    }
+
+    /**
+     * Places every ship at the first sampled anchor that fits, up to {@link #SAMPLES_PER_SHIP} tries per ship.
+     *
+     * @return whether the whole fleet was placed
+     */
+    private boolean sample(RandomGenerator random, int[] placements) {
+        Arrays.fill(unavailableRows, 0L);
+        for (int depth = 0; depth < ships.length; depth++) {
+            int t = ships[depth].ordinal();
+            int[] anchors = sampledAnchors[t];
+            if (anchors.length == 0) {
+                return false;
+            }
+            boolean placed = false;
+            for (int tries = 0; tries < SAMPLES_PER_SHIP && !placed; tries++) {
+                int anchor = anchors[random.nextInt(anchors.length)];
+                int o = anchor & 3;
+                int row = anchor >>> 8;
+                int col = anchor >>> 2 & (Long.SIZE - 1);
+                if (fits(t, o, row, col)) {
+                    markUnavailable(t, o, row, col);
+                    placements[3 * depth] = row;
+                    placements[3 * depth + 1] = col;
+                    placements[3 * depth + 2] = o;
+                    placed = true;
+                }
+            }
+            if (!placed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean fits(int t, int o, int row, int col) {
+        int[] offsets = footprintRows[t][o];
+        long[] masks = footprintMasks[t][o];
+        int shift = col + minColOffsets[t][o];
+        for (int i = 0; i < offsets.length; i++) {
+            if ((unavailableRows[row + offsets[i]] & masks[i] << shift) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void markUnavailable(int t, int o, int row, int col) {
+        int[] offsets = zoneRows[t][o];
+        long[] masks = zoneMasks[t][o];
+        // the zone may start one distance left of the grid; bits past the last column are never read
+        int shift = col + minColOffsets[t][o] - MIN_DISTANCE_THRESHOLD;
+        for (int i = 0; i < offsets.length; i++) {
+            int r = row + offsets[i];
+            if (r >= 0 && r < rows) {
+                unavailableRows[r] |= shift >= 0 ? masks[i] << shift : masks[i] >>> -shift;
+            }
+        }
+    }
+
+    /**
+     * Places the fleet by exhaustive search with backtracking.
+     *
+     * @throws IllegalStateException if the fleet does not fit on the grid
+     */
+    private void search(RandomGenerator random, int[] placements) {
+        forbidden[0].clear();
+        computeAnchors(0);
+        int depth = 0;
+        int attempts = 0;
+        while (depth < ships.length) {
+            if (candidates[depth] == 0) {
+                if (depth == 0) {
+                    throw new IllegalStateException("The fleet does not fit on a " + rows + "x" + cols + " grid");
+                }
+                depth--;
+                continue;
+            }
+            if (++attempts > MAX_ATTEMPTS) {
+                throw new IllegalStateException("No fleet found on a " + rows + "x" + cols + " grid after " + MAX_ATTEMPTS + " attempts");
+            }
+            int index = takeRandomAnchor(depth, random);
+            int orientation = index / (rows * wordsPerRow * Long.SIZE);
+            int row = index / (wordsPerRow * Long.SIZE) % rows;
+            int col = index % (wordsPerRow * Long.SIZE);
+            placements[3 * depth] = row;
+            placements[3 * depth + 1] = col;
+            placements[3 * depth + 2] = orientation;
+            if (depth + 1 < ships.length) {
+                forbidden[depth + 1].copyFrom(forbidden[depth]);
+                markPlaced(forbidden[depth + 1], ships[depth], orientation, row, col);
+                computeAnchors(depth + 1);
+            }
+            depth++;
+        }
+    }
+
+    /**
+     * Generates a random fleet as ships, ready to be added to a {@link FleetManager} with the same configuration.
+     *
+     * @param random the source of randomness
+     * @return the ships of the fleet
+     * @throws IllegalStateException if the fleet does not fit on the grid
+     */
+    public List<Ship> generateFleet(@NonNull RandomGenerator random) {
+        int[] placements = new int[3 * ships.length];
+        generate(random, placements);
+        List<Ship> fleet = new ArrayList<>(ships.length);
+        for (int i = 0; i < ships.length; i++) {
+            Orientation orientation = ORIENTATIONS[placements[3 * i + 2]];
+            Coordinate anchor = new Coordinate(placements[3 * i], placements[3 * i + 1]);
+            fleet.add(Ship.restoreShip(ships[i].getShipCoordinates(anchor, orientation), ships[i], orientation));
+        }
+        return fleet;
+    }
+
+    private int anchorWord(int orientation, int row, int word) {
+        return (orientation * rows + row) * wordsPerRow + word;
+    }
+
+    /**
+     * Computes the anchors of every orientation of the ship at the given depth that keep the ship inside the grid
+     * and clear of the forbidden cells.
+     */
+    private void computeAnchors(int depth) {
+        long[] words = anchors[depth];
+        Arrays.fill(words, 0L);
+        ShipType type = ships[depth];
+        BitBoard taken = forbidden[depth];
+        if (wordsPerRow == 1) {
+            for (int row = 0; row < rows; row++) {
+                freeRows[row] = ~taken.window(row, 0);
+            }
+        }
+        int total = 0;
+        for (Orientation orientation : ORIENTATIONS) {
+            int o = orientation.ordinal();
+            int[] range = rowRanges[type.ordinal()][o];
+            long[] masks = columnMasks[type.ordinal()][o];
+            for (int row = range[0]; row <= range[1]; row++) {
+                for (int word = 0; word < wordsPerRow; word++) {
+                    long free = masks[word];
+                    for (int i = 0; i < type.getSize() && free != 0; i++) {
+                        int r = row + type.getRowOffset(orientation, i);
+                        int c = word * Long.SIZE + type.getColOffset(orientation, i);
+                        if (wordsPerRow == 1) {
+                            // the column masks keep every shifted-in bit out of the result
+                            free &= c >= 0 ? freeRows[r] >>> c : freeRows[r] << -c;
+                        } else {
+                            free &= ~taken.window(r, c);
+                        }
+                    }
+                    words[anchorWord(o, row, word)] = free;
+                    total += Long.bitCount(free);
+                }
+            }
+        }
+        candidates[depth] = total;
+    }
+
+    /**
+     * Picks one of the anchors not tried yet uniformly and removes it from the candidates.
+     *
+     * @return the anchor as {@code (orientation * rows + row) * wordsPerRow * 64 + col}
+     */
+    private int takeRandomAnchor(int depth, RandomGenerator random) {
+        long[] words = anchors[depth];
+        int target = random.nextInt(candidates[depth]);
+        for (int i = 0; ; i++) {
+            int count = Long.bitCount(words[i]);
+            if (target < count) {
+                long word = words[i];
+                for (int skip = 0; skip < target; skip++) {
+                    word &= word - 1;
+                }
+                int bit = Long.numberOfTrailingZeros(word);
+                words[i] &= ~(1L << bit);
+                candidates[depth]--;
+                return i * Long.SIZE + bit;
+            }
+            target -= count;
+        }
+    }
+
+    private void markPlaced(BitBoard board, ShipType type, int orientation, int row, int col) {
+        int[] halo = halos[type.ordinal()][orientation];
+        for (int i = 0; i < halo.length; i += 2) {
+            int r = row + halo[i];
+            int c = col + halo[i + 1];
+            if (board.contains(r, c)) {
+                board.set(r, c);
+            }
+        }
+    }
+}
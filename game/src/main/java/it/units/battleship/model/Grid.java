@@ -6,26 +6,32 @@ import it.units.battleship.GridMapper;
 import lombok.Getter;
 import lombok.NonNull;
 
+import java.util.Arrays;
+
 /**
  * Represents a grid for the Battleship game, containing cells that can be in different states (EMPTY, HIT, or MISS).
  * The grid is initialized with a specific number of rows and columns, and a navy (list of ships) is placed on it.
  * Each cell's state can be individually accessed and modified through coordinate-based operations.
  * <p>
- * The grid tracks the state of all ships and can determine if the game has been won by checking if all ships have been hit.
+ * Cell states are packed at 2 bits per cell into {@code long} words, 32 cells per word in row-major order,
+ * so even large boards stay compact. {@link #getGrid()} materializes a {@code CellState[][]} copy on demand.
  *
  * @see CellState for possible cell states
  * @see Coordinate for coordinate system
  */
 
 public class Grid {
+    static final int BITS_PER_CELL = 2;
+    static final int CELLS_PER_WORD = Long.SIZE / BITS_PER_CELL;
+    private static final long CELL_MASK = (1L << BITS_PER_CELL) - 1;
+    private static final CellState[] CELL_STATES = CellState.values();
 
     @Getter
     private final int row;
     @Getter
     private final int col;
 
-    @Getter
-    private CellState[][] grid;
+    private final long[] cells;
 
     public Grid(int row, int col) {
         if (row <= 1 || col <= 1) {
@@ -33,10 +39,7 @@ public class Grid {
         }
         this.row = row;
         this.col = col;
-
-        this.grid = new CellState[row][col];
-
-        this.initializeGrid();
+        this.cells = new long[(int) (((long) row * col + CELLS_PER_WORD - 1) / CELLS_PER_WORD)];
     }
 
     public Grid(CellState[][] grid) {
@@ -45,18 +48,47 @@ public class Grid {
         }
         this.row = grid.length;
         this.col = grid[0].length;
-        this.grid = grid;
+        this.cells = new long[(int) (((long) row * col + CELLS_PER_WORD - 1) / CELLS_PER_WORD)];
+        load(grid);
     }
 
     /**
      * Initializes the grid by setting each cell to the default state of CellStates.EMPTY.
      */
     private void initializeGrid() {
+        Arrays.fill(cells, 0L);
+    }
+
+    private void load(CellState[][] grid) {
+        initializeGrid();
+        for (int i = 0; i < row; i++) {
+            for (int j = 0; j < col; j++) {
+                set(i, j, grid[i][j]);
+            }
+        }
+    }
+
+    private void set(int r, int c, CellState state) {
+        int index = r * col + c;
+        int shift = (index % CELLS_PER_WORD) * BITS_PER_CELL;
+        int word = index / CELLS_PER_WORD;
+        cells[word] = (cells[word] & ~(CELL_MASK << shift)) | ((long) state.ordinal() << shift);
+    }
+
+    /**
+     * Returns a copy of the grid as a matrix of cell states.
+     * Changing the returned matrix does not affect the grid.
+     *
+     * @return a new {@code row x col} matrix holding the state of every cell
+     */
+    public CellState[][] getGrid() {
+        CellState[][] grid = new CellState[row][col];
         for (int i = 0; i < row; i++) {
             for (int j = 0; j < col; j++) {
-                grid[i][j] = CellState.EMPTY;
+                grid[i][j] = getState(i, j);
             }
         }
+        return grid;
     }
 
     /**
@@ -71,7 +103,7 @@ public class Grid {
             throw new IndexOutOfBoundsException("Coordinates must respect grid dimension");
         }
 
-        grid[coordinate.row()][coordinate.col()] = newState;
+        set(coordinate.row(), coordinate.col(), newState);
     }
 
     /**
@@ -82,19 +114,54 @@ public class Grid {
      * @throws IndexOutOfBoundsException if the specified coordinate is outside the grid's dimensions
      */
     public CellState getState(@NonNull Coordinate coordinate) {
-        if (coordinate.row() < 0 || coordinate.row() >= row || coordinate.col() < 0 || coordinate.col() >= col) {
+        return getState(coordinate.row(), coordinate.col());
+    }
+
+    /**
+     * Retrieves the state of the cell at the given position without allocating a {@link Coordinate}.
+     *
+     * @param r the row of the cell
+     * @param c the column of the cell
+     * @return the state of the cell
+     * @throws IndexOutOfBoundsException if the position is outside the grid's dimensions
+     */
+    public CellState getState(int r, int c) {
+        if (r < 0 || r >= row || c < 0 || c >= col) {
             throw new IndexOutOfBoundsException("Coordinates must respect grid dimension");
         }
+        int index = r * col + c;
+        return CELL_STATES[(int) ((cells[index / CELLS_PER_WORD] >>> ((index % CELLS_PER_WORD) * BITS_PER_CELL)) & CELL_MASK)];
+    }
 
-        return grid[coordinate.row()][coordinate.col()];
+    /**
+     * Gives same-package readers access to the packed words, 32 cells per word in row-major order.
+     * The array is live and must not be modified.
+     */
+    long[] packedCells() {
+        return cells;
     }
 
     /**
      * Updates the entire grid state from a serialized string representation.
-     * This method replaces the current internal grid matrix with a new one
-     * deserialized by the GridMapper.
+     * The string is deserialized by the GridMapper and packed into the grid.
      */
     public void updateGridState(String stringSerialized) {
-        this.grid = GridMapper.deserialize(stringSerialized, row, col);
+        load(GridMapper.deserialize(stringSerialized, row, col));
+    }
+
+    /**
+     * Applies an incremental update to the grid, touching only the changed cells.
+     * A resetting delta clears the grid first.
+     *
+     * @param delta the changes to apply
+     * @throws IndexOutOfBoundsException if a changed cell is outside the grid's dimensions
+     */
+    public void applyDelta(@NonNull GridDelta delta) {
+        if (delta.reset()) {
+            initializeGrid();
+        }
+        for (GridDelta.CellChange change : delta.changes()) {
+            changeState(change.coordinate(), change.state());
+        }
     }
 }
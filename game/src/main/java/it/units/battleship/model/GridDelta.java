@@ -0,0 +1,25 @@
+package it.units.battleship.model;
+
+import it.units.battleship.CellState;
+import it.units.battleship.Coordinate;
+
+import java.util.List;
+
+/**
+ * Incremental change of a {@link Grid}: the cells changed since the previous update and the ships sunk since then.
+ *
+ * @param reset     true if the grid must be cleared before applying the changes (full resync)
+ * @param changes   the changed cells
+ * @param sunkShips the newly sunk ships
+ */
+public record GridDelta(boolean reset, List<CellChange> changes, List<Ship> sunkShips) {
+
+    /**
+     * A single changed cell.
+     *
+     * @param coordinate the coordinate of the cell
+     * @param state      the new state of the cell
+     */
+    public record CellChange(Coordinate coordinate, CellState state) {
+    }
+}
@@ -0,0 +1,82 @@
+package it.units.battleship.model;
+
+import it.units.battleship.Coordinate;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps track of the grid state last sent to the opponent and computes the {@link GridDelta} of the next update.
+ * <p>
+ * Only the cells that differ from the last sent state and the ships sunk since the last update end up in the delta,
+ * so a turn costs a handful of cells instead of the whole board.
+ */
+public class GridDeltaTracker {
+    private long[] lastSent;
+    private int lastRows;
+    private int lastCols;
+    private final Set<Ship> reportedSunk = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Computes the changes since the previous call and records the current state as sent.
+     * The packed cell words are compared first, so only words that changed are unpacked.
+     *
+     * @param grid  the current grid
+     * @param fleet the fleet placed on the grid, sunk ships not reported yet are included in the delta
+     * @return the delta to send
+     */
+    public GridDelta next(@NonNull Grid grid, @NonNull List<Ship> fleet) {
+        long[] current = grid.packedCells();
+        boolean reset = lastSent == null || lastRows != grid.getRow() || lastCols != grid.getCol();
+        if (reset) {
+            lastSent = new long[current.length];
+            lastRows = grid.getRow();
+            lastCols = grid.getCol();
+        }
+        List<GridDelta.CellChange> changes = new ArrayList<>();
+        int cellCount = lastRows * lastCols;
+        for (int w = 0; w < current.length; w++) {
+            long changed = current[w] ^ lastSent[w];
+            if (changed == 0) {
+                continue;
+            }
+            for (int slot = Long.numberOfTrailingZeros(changed) / Grid.BITS_PER_CELL; slot < Grid.CELLS_PER_WORD; slot++) {
+                int index = w * Grid.CELLS_PER_WORD + slot;
+                if (index >= cellCount) {
+                    break;
+                }
+                if (((changed >>> (slot * Grid.BITS_PER_CELL)) & ((1L << Grid.BITS_PER_CELL) - 1)) != 0) {
+                    int r = index / lastCols;
+                    int c = index % lastCols;
+                    changes.add(new GridDelta.CellChange(new Coordinate(r, c), grid.getState(r, c)));
+                }
+            }
+            lastSent[w] = current[w];
+        }
+        List<Ship> sunkShips = new ArrayList<>();
+        for (Ship ship : fleet) {
+            if (ship.isSunk() && reportedSunk.add(ship)) {
+                sunkShips.add(ship);
+            }
+        }
+        return new GridDelta(reset, changes, sunkShips);
+    }
+
+    /**
+     * Builds a full update that replaces whatever state the receiver has, used to recover from a gap.
+     *
+     * @param grid  the current grid
+     * @param fleet the fleet placed on the grid
+     * @return a resetting delta containing every non-empty cell and every sunk ship
+     */
+    public GridDelta snapshot(@NonNull Grid grid, @NonNull List<Ship> fleet) {
+        lastSent = null;
+        reportedSunk.clear();
+        GridDelta delta = next(grid, fleet);
+        return new GridDelta(true, delta.changes(), delta.sunkShips());
+    }
+}
@@ -25,6 +25,10 @@ public class Ship {
     private final Set<Coordinate> hitCoordinates;
     @Getter
     private final Orientation orientation;
+    /**
+     * Notified once when a hit sinks the ship, used by the owning {@link FleetManager} to keep its counters current.
+     */
+    private Runnable sunkListener;
 
     private Ship(@NonNull LinkedHashSet<Coordinate> coordinates, @NonNull ShipType type, @NonNull Orientation orientation) {
         if (coordinates.size() != type.getSize()) {
@@ -51,14 +55,11 @@ public class Ship {
                                   @NonNull Orientation orientation,
                                   @NonNull ShipType type,
                                   @NonNull Grid grid) {
-        LinkedHashSet<Coordinate> shipCoordinates = type.getShipCoordinates(initCoordinate, orientation);
-
-        for (Coordinate coordinate : shipCoordinates) {
-            if (coordinate.row() < 0 || coordinate.row() >= grid.getRow() || coordinate.col() < 0 || coordinate.col() >= grid.getCol()) {
-                throw new IllegalArgumentException("The ship coordinates must respect the grid dimension");
-            }
+        if (!type.fitsInGrid(initCoordinate.row(), initCoordinate.col(), orientation, grid.getRow(), grid.getCol())) {
+            throw new IllegalArgumentException("The ship coordinates must respect the grid dimension");
         }
 
+        LinkedHashSet<Coordinate> shipCoordinates = type.getShipCoordinates(initCoordinate, orientation);
         return new Ship(shipCoordinates, type, orientation);
     }
 
@@ -77,7 +78,15 @@ public class Ship {
         if (hitCoordinates.contains(coordinate) || !coordinates.contains(coordinate)) {
             return false;
         }
-        return hitCoordinates.add(coordinate);
+        hitCoordinates.add(coordinate);
+        if (sunkListener != null && isSunk()) {
+            sunkListener.run();
+        }
+        return true;
+    }
+
+    void setSunkListener(Runnable sunkListener) {
+        this.sunkListener = sunkListener;
     }
 
     /**
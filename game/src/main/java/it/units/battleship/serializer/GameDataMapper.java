@@ -1,10 +1,11 @@
 package it.units.battleship.serializer;
 
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
-import it.units.battleship.GridMapper;
+import it.units.battleship.GridCodec;
 import it.units.battleship.ShipType;
 import it.units.battleship.data.socket.payloads.*;
 import lombok.NonNull;
@@ -70,7 +71,8 @@ public class GameDataMapper {
      * Creates a GridUpdateDTO from the current game state after processing a shot.
      *
      * @param shotOutcome True if the shot was a hit, false otherwise.
-     * @param grid        The grid to serialize.
+     * @param grid        The grid to serialize, in the plain format for default-sized boards and in the shorter
+     *                    compact {@link GridCodec} format for larger ones.
      * @param fleet       The complete fleet to extract sunk ships from.
      * @return A GridUpdateDTO ready for transmission.
      */
@@ -79,11 +81,40 @@ public class GameDataMapper {
                 .filter(Ship::isSunk)
                 .toList();
         List<ShipDTO> sunkShipsDTO = toShipDTO(sunkShips);
-        String gridSerialized = GridMapper.serialize(grid.getGrid());
+        String gridSerialized = GridCodec.encodeForTransport(grid.getGrid());
 
         return new GridUpdateDTO(shotOutcome, gridSerialized, sunkShipsDTO);
     }
 
+    /**
+     * Creates a GridDeltaDTO from a computed grid delta.
+     *
+     * @param sequence    The sequence number of the update.
+     * @param shotOutcome True if the shot was a hit, false otherwise.
+     * @param delta       The changes since the previous update.
+     * @return A GridDeltaDTO ready for transmission.
+     */
+    public static GridDeltaDTO toGridDeltaDTO(int sequence, boolean shotOutcome, @NonNull GridDelta delta) {
+        List<CellChangeDTO> changes = delta.changes().stream()
+                .map(change -> new CellChangeDTO(change.coordinate().row(), change.coordinate().col(), change.state()))
+                .toList();
+        return new GridDeltaDTO(sequence, delta.reset(), shotOutcome, changes, toShipDTO(delta.sunkShips()));
+    }
+
+    /**
+     * Converts a GridDeltaDTO received from the network into a grid delta.
+     *
+     * @param dto The GridDeltaDTO.
+     * @return The {@link GridDelta} with the changed cells and the newly sunk ships.
+     */
+    public static GridDelta toGridDelta(@NonNull GridDeltaDTO dto) {
+        List<GridDelta.CellChange> changes = dto.changes() == null ? List.of() : dto.changes().stream()
+                .map(change -> new GridDelta.CellChange(new Coordinate(change.row(), change.col()), change.state()))
+                .toList();
+        List<Ship> sunkShips = dto.sunkShips() == null ? List.of() : toShipList(dto.sunkShips());
+        return new GridDelta(dto.reset(), changes, sunkShips);
+    }
+
     public static GameConfigDTO toGameConfigDTO(int rows, int cols, @NonNull Map<ShipType, Integer> fleetConfiguration) {
         return new GameConfigDTO(rows, cols, fleetConfiguration);
     }
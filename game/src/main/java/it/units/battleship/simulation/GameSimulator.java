@@ -0,0 +1,95 @@
+package it.units.battleship.simulation;
+
+import it.units.battleship.Coordinate;
+import it.units.battleship.ShipType;
+import it.units.battleship.controller.mode.ai.AIOpponent;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.Grid;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete games between two {@link AIOpponent}s directly on {@link Grid}s and {@link FleetManager}s,
+ * without callbacks, threads or delays.
+ * <p>
+ * The players alternate one shot each, as in single-player mode, and every random choice comes from the seed
+ * of the game, so a game can be replayed exactly. An instance holds no state between games and can be shared
+ * between threads.
+ */
+public class GameSimulator {
+    @Getter
+    private final int rows;
+    @Getter
+    private final int cols;
+    private final Map<ShipType, Integer> fleetConfiguration;
+    private final OpponentType[] players;
+
+    /**
+     * The outcome of a game.
+     *
+     * @param winner      the index of the winner, 0 for the first player and 1 for the second
+     * @param winnerShots the shots the winner fired
+     * @param loserShots  the shots the loser fired
+     */
+    public record GameResult(int winner, int winnerShots, int loserShots) {
+    }
+
+    /**
+     * @param rows               the number of rows of both grids
+     * @param cols               the number of columns of both grids
+     * @param fleetConfiguration the fleet of both players
+     * @param first              the type of the first player
+     * @param second             the type of the second player
+     */
+    public GameSimulator(int rows, int cols, @NonNull Map<ShipType, Integer> fleetConfiguration,
+                         @NonNull OpponentType first, @NonNull OpponentType second) {
+        this.rows = rows;
+        this.cols = cols;
+        this.fleetConfiguration = fleetConfiguration;
+        this.players = new OpponentType[]{first, second};
+    }
+
+    /**
+     * Plays a game until a fleet is sunk.
+     *
+     * @param seed        the seed of both players
+     * @param firstStarts whether the first player fires the first shot
+     * @return the outcome of the game
+     * @throws IllegalStateException if a fleet cannot be placed or a player fires more shots than there are cells
+     */
+    public GameResult play(long seed, boolean firstStarts) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        Grid[] grids = new Grid[2];
+        FleetManager[] fleets = new FleetManager[2];
+        AIOpponent[] opponents = new AIOpponent[2];
+        for (int i = 0; i < 2; i++) {
+            grids[i] = new Grid(rows, cols);
+            fleets[i] = new FleetManager(grids[i], fleetConfiguration);
+            opponents[i] = players[i].create(grids[i], fleets[i], new Random(seeds.nextLong()));
+            opponents[i].placeShips();
+            if (!fleets[i].isFleetComplete()) {
+                throw new IllegalStateException(players[i] + " could not place its fleet");
+            }
+        }
+
+        int[] shots = new int[2];
+        int turn = firstStarts ? 0 : 1;
+        while (true) {
+            int target = 1 - turn;
+            if (++shots[turn] > rows * cols) {
+                throw new IllegalStateException(players[turn] + " fired more shots than there are cells");
+            }
+            Coordinate shot = opponents[turn].calculateNextShot();
+            boolean hit = fleets[target].handleIncomingShot(shot);
+            opponents[turn].processLastShotResult(grids[target], fleets[target].getFleet(), hit);
+            if (fleets[target].isGameOver()) {
+                return new GameResult(turn, shots[turn], shots[target]);
+            }
+            turn = target;
+        }
+    }
+}
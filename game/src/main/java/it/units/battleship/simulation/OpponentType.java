@@ -0,0 +1,50 @@
+package it.units.battleship.simulation;
+
+import it.units.battleship.controller.mode.ai.AIOpponent;
+import it.units.battleship.controller.mode.ai.DensityAIOpponent;
+import it.units.battleship.controller.mode.ai.SimpleAIOpponent;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.Grid;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The {@link AIOpponent} implementations that can play simulated and single-player games.
+ */
+public enum OpponentType {
+    SIMPLE {
+        @Override
+        public AIOpponent create(Grid grid, FleetManager fleetManager, Random random) {
+            return new SimpleAIOpponent(grid, fleetManager, random);
+        }
+    },
+    DENSITY {
+        @Override
+        public AIOpponent create(Grid grid, FleetManager fleetManager, Random random) {
+            return new DensityAIOpponent(grid, fleetManager, DensityAIOpponent.DEFAULT_MOVE_BUDGET, ForkJoinPool.commonPool(), random);
+        }
+    };
+
+    /**
+     * Creates an opponent that places its ships through the given fleet manager.
+     *
+     * @param grid         the grid of the opponent
+     * @param fleetManager the fleet of the opponent
+     * @param random       the only source of randomness of the opponent, so that games can be replayed
+     * @return the new opponent
+     */
+    public abstract AIOpponent create(Grid grid, FleetManager fleetManager, Random random);
+
+    /**
+     * Parses a type from its case-insensitive name, as given on the command line.
+     *
+     * @param name the name of the type, e.g. {@code simple}
+     * @return the matching type
+     * @throws IllegalArgumentException if no type has this name
+     */
+    public static OpponentType fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,152 @@
+package it.units.battleship.simulation;
+
+import it.units.battleship.Defaults;
+import org.apache.commons.cli.*;
+import org.apache.commons.cli.help.HelpFormatter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Headless runner that plays many AI-vs-AI games with {@link GameSimulator} on every core and prints the win
+ * rate and the shots needed to win of both players while the games run.
+ * <p>
+ * Game {@code i} is played with a seed derived from the master seed and {@code i}, and the players take turns
+ * firing first, so a run gives the same results whatever the number of threads.
+ * Run it with {@code ./gradlew :battleship-game:simulate -PsimulationArgs="--games 1000000 --first simple --second density"}.
+ */
+public class SimulationRunner {
+    /**
+     * Games a worker plays between two merges into the shared statistics.
+     */
+    static final int BATCH_SIZE = 256;
+
+    final Options options = new Options();
+    final CommandLine cmd;
+
+    public SimulationRunner(String[] args) throws ParseException {
+        options.addOption("h", "help", false, "Show help");
+        options.addOption("a", "first", true, "Type of the first player: simple or density (default simple)");
+        options.addOption("b", "second", true, "Type of the second player: simple or density (default density)");
+        options.addOption("g", "games", true, "Number of games to play (default 10000)");
+        options.addOption("t", "threads", true, "Number of worker threads (default: one per core)");
+        options.addOption("s", "seed", true, "Master seed of the games (default 42)");
+        options.addOption("r", "report", true, "Seconds between two progress reports (default 5)");
+        cmd = new DefaultParser().parse(options, args);
+    }
+
+    long longOption(String option, long defaultValue) {
+        return cmd.hasOption(option) ? Long.parseLong(cmd.getOptionValue(option)) : defaultValue;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimulationRunner runner;
+        try {
+            runner = new SimulationRunner(args);
+        } catch (ParseException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        if (runner.cmd.hasOption("h")) {
+            runner.printHelp();
+            return;
+        }
+        System.exit(runner.run() ? 0 : 1);
+    }
+
+    void printHelp() throws IOException {
+        HelpFormatter formatter = HelpFormatter.builder().get();
+        formatter.printHelp("simulate", "", options, "", true);
+    }
+
+    /**
+     * Plays the games and prints the progress and the final report.
+     *
+     * @return true if every game completed
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    boolean run() throws InterruptedException {
+        OpponentType first = OpponentType.fromName(cmd.getOptionValue("a", "simple"));
+        OpponentType second = OpponentType.fromName(cmd.getOptionValue("b", "density"));
+        long games = longOption("g", 10_000);
+        int threads = (int) longOption("t", Runtime.getRuntime().availableProcessors());
+        long seed = longOption("s", 42);
+        long reportNanos = TimeUnit.SECONDS.toNanos(longOption("r", 5));
+
+        GameSimulator simulator = new GameSimulator(Defaults.GRID_ROWS, Defaults.GRID_COLS, Defaults.FLEET_CONFIGURATION, first, second);
+        SimulationStats stats = new SimulationStats(Defaults.GRID_ROWS * Defaults.GRID_COLS);
+        AtomicLong nextGame = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        System.out.printf("Playing %d games of %s vs %s on %d threads, seed %d%n", games, first, second, threads, seed);
+
+        long start = System.nanoTime();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> playGames(simulator, games, seed, nextGame, stats, failure), "simulation-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                TimeUnit.NANOSECONDS.timedJoin(worker, reportNanos);
+                if (worker.isAlive()) {
+                    printProgress(first, second, stats, System.nanoTime() - start);
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println();
+        printProgress(first, second, stats, elapsed);
+        if (failure.get() != null) {
+            System.err.println("Simulation aborted: " + failure.get());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Claims batches of games until all of them are claimed or a game fails.
+     */
+    static void playGames(GameSimulator simulator, long games, long seed, AtomicLong nextGame,
+                          SimulationStats shared, AtomicReference<Throwable> failure) {
+        SimulationStats local = new SimulationStats(simulator.getRows() * simulator.getCols());
+        try {
+            long from;
+            while (failure.get() == null && (from = nextGame.getAndAdd(BATCH_SIZE)) < games) {
+                long to = Math.min(games, from + BATCH_SIZE);
+                for (long game = from; game < to; game++) {
+                    local.record(simulator.play(gameSeed(seed, game), game % 2 == 0));
+                }
+                shared.merge(local);
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Derives the seed of a game from the master seed, spreading consecutive games over the whole seed space.
+     */
+    static long gameSeed(long seed, long game) {
+        return seed + game * 0x9E3779B97F4A7C15L;
+    }
+
+    static void printProgress(OpponentType first, OpponentType second, SimulationStats stats, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long games = stats.getGames();
+        System.out.printf("%,d games in %.1f s (%,.0f games/s)%n", games, seconds, games / seconds);
+        printPlayer(first + " (first)", stats.summarize(0));
+        printPlayer(second + " (second)", stats.summarize(1));
+    }
+
+    static void printPlayer(String name, SimulationStats.PlayerSummary summary) {
+        System.out.printf("  %-18s win rate %6.2f%%  shots to win: mean %6.2f  p95 %3d%n",
+                name, summary.winRate() * 100, summary.meanShots(), summary.p95Shots());
+    }
+}
@@ -0,0 +1,95 @@
+package it.units.battleship.simulation;
+
+/**
+ * Counts the wins of the two players of a simulation and the histogram of the shots each needed to win.
+ * <p>
+ * Workers record their games into a private instance and periodically {@link #merge(SimulationStats)} it into
+ * the shared one, which is the only one read while the simulation runs. Merging and reading are synchronized,
+ * recording is not.
+ */
+public class SimulationStats {
+    private final long[] wins = new long[2];
+    /**
+     * Per player: the number of wins that took each number of shots.
+     */
+    private final long[][] shotsToWin;
+
+    /**
+     * @param maxShots the most shots a player can fire in a game, the number of cells of a grid
+     */
+    public SimulationStats(int maxShots) {
+        this.shotsToWin = new long[2][maxShots + 1];
+    }
+
+    /**
+     * A consistent view of the statistics of one player.
+     *
+     * @param wins      the games the player won
+     * @param winRate   the fraction of all games the player won
+     * @param meanShots the mean number of shots the player needed to win, 0 without wins
+     * @param p95Shots  the number of shots within which the player won 95% of its wins, 0 without wins
+     */
+    public record PlayerSummary(long wins, double winRate, double meanShots, int p95Shots) {
+    }
+
+    /**
+     * Records the outcome of a game.
+     *
+     * @param result the outcome
+     */
+    public void record(GameSimulator.GameResult result) {
+        wins[result.winner()]++;
+        shotsToWin[result.winner()][result.winnerShots()]++;
+    }
+
+    /**
+     * Adds the games of another instance to this one and resets the other instance.
+     *
+     * @param other the statistics to move into this instance
+     */
+    public synchronized void merge(SimulationStats other) {
+        for (int player = 0; player < 2; player++) {
+            wins[player] += other.wins[player];
+            other.wins[player] = 0;
+            for (int shots = 0; shots < shotsToWin[player].length; shots++) {
+                shotsToWin[player][shots] += other.shotsToWin[player][shots];
+                other.shotsToWin[player][shots] = 0;
+            }
+        }
+    }
+
+    /**
+     * @return the number of games recorded
+     */
+    public synchronized long getGames() {
+        return wins[0] + wins[1];
+    }
+
+    /**
+     * Summarizes the games of a player.
+     *
+     * @param player 0 for the first player, 1 for the second
+     * @return the summary of the player
+     */
+    public synchronized PlayerSummary summarize(int player) {
+        long games = wins[0] + wins[1];
+        long playerWins = wins[player];
+        if (playerWins == 0) {
+            return new PlayerSummary(0, 0, 0, 0);
+        }
+        long[] histogram = shotsToWin[player];
+        long total = 0;
+        for (int shots = 0; shots < histogram.length; shots++) {
+            total += shots * histogram[shots];
+        }
+        long rank = (long) Math.ceil(playerWins * 0.95);
+        int p95 = 0;
+        for (long seen = 0; p95 < histogram.length; p95++) {
+            seen += histogram[p95];
+            if (seen >= rank) {
+                break;
+            }
+        }
+        return new PlayerSummary(playerWins, playerWins / (double) games, total / (double) playerWins, p95);
+    }
+}
@@ -1,6 +1,7 @@
 package it.units.battleship.view.core;
 
 import it.units.battleship.controller.game.actions.GridInteractionObserver;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.view.utils.DimensionsUtils;
 import it.units.battleship.view.core.game.GamePanel;
@@ -124,6 +125,11 @@ public class BattleshipFrame extends JFrame implements BattleshipView {
         gamePanel.updateOpponentGrid(gridSerialized, fleet);
     }
 
+    @Override
+    public void applyOpponentGridDelta(GridDelta delta) {
+        gamePanel.applyOpponentGridDelta(delta);
+    }
+
     @Override
     public void setPlayerTurn(boolean isPlayerTurn) {
         gamePanel.setPlayerTurn(isPlayerTurn);
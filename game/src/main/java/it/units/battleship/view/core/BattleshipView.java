@@ -1,6 +1,7 @@
 package it.units.battleship.view.core;
 
 import it.units.battleship.controller.game.actions.GridInteractionObserver;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 import it.units.battleship.Orientation;
@@ -41,6 +42,8 @@ public interface BattleshipView {
     // ===== Game Phase Methods =====
     void updateOpponentGrid(String gridSerialized, List<Ship> fleet);
 
+    void applyOpponentGridDelta(GridDelta delta);
+
     void setPlayerTurn(boolean isPlayerTurn);
 
     void showShotPreview(Coordinate coordinate);
@@ -1,6 +1,7 @@
 package it.units.battleship.view.core.game;
 
 import it.units.battleship.controller.game.actions.GridInteractionObserver;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.view.grid.GridUI;
 import it.units.battleship.Coordinate;
@@ -113,6 +114,11 @@ public class GamePanel extends JPanel implements GameView {
         opponentGridUI.displayData(gridSerialized, fleetToRender);
     }
 
+    @Override
+    public void applyOpponentGridDelta(GridDelta delta) {
+        opponentGridUI.applyDelta(delta);
+    }
+
     @Override
     public void showSystemMessage(String message) {
         systemMessage.setText(message != null ? message : " ");
@@ -1,6 +1,7 @@
 package it.units.battleship.view.core.game;
 
 import it.units.battleship.controller.game.actions.GridInteractionObserver;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 
@@ -86,6 +87,14 @@ public interface GameView {
      */
     void updateOpponentGrid(String gridSerialized, List<Ship> fleetToRender);
 
+    /**
+     * Applies an incremental update to the opponent's grid view.
+     * Only the changed cells and the newly sunk ships are redrawn.
+     *
+     * @param delta the changed cells and the newly sunk ships
+     */
+    void applyOpponentGridDelta(GridDelta delta);
+
     void showSystemMessage(String message);
 
     /**
@@ -1,6 +1,7 @@
 package it.units.battleship.view.grid;
 
 import it.units.battleship.controller.game.actions.GridInteractionObserver;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.view.utils.TextureLoader;
 import it.units.battleship.CellState;
@@ -56,25 +57,39 @@ public class GridUI extends JPanel implements CellInteractionListener {
         }
     }
 
-    public Ship getShipOnCoordinate(List<Ship> ships, Coordinate coordinate) {
+    /**
+     * Maps every cell to the ship occupying it, in row-major order, so a redraw looks ships up in constant time
+     * instead of scanning the fleet for every cell.
+     *
+     * @param ships the ships to index, may be null
+     * @return a {@code rows * cols} array holding the ship of each cell or null for water
+     */
+    private Ship[] indexShips(List<Ship> ships) {
+        Ship[] index = new Ship[rows * cols];
+        if (ships == null) {
+            return index;
+        }
         for (Ship ship : ships) {
-            if (ship.getCoordinates().contains(coordinate)) {
-                return ship;
+            for (Coordinate c : ship.getCoordinates()) {
+                if (c.row() >= 0 && c.row() < rows && c.col() >= 0 && c.col() < cols) {
+                    index[c.row() * cols + c.col()] = ship;
+                }
             }
         }
-        return null;
+        return index;
     }
 
     public void displayData(@NonNull String gridSerialized, List<Ship> ships) {
         CellState[][] states = GridMapper.deserialize(gridSerialized, rows, cols);
+        Ship[] shipIndex = indexShips(ships);
 
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                Coordinate coordinate = new Coordinate(r, c);
-                Ship ship = getShipOnCoordinate(ships, coordinate);
+                Ship ship = shipIndex[r * cols + c];
                 if ((previousStates != null && states[r][c] == previousStates[r][c]) && ship == null) {
                     continue;
                 }
+                Coordinate coordinate = new Coordinate(r, c);
                 cells[r][c].removeTexture();
                 cells[r][c].updateState(states[r][c]);
                 if (ship != null) {
@@ -91,6 +106,51 @@ public class GridUI extends JPanel implements CellInteractionListener {
         repaint();
     }
 
+    /**
+     * Applies an incremental update: only the changed cells are redrawn and the newly sunk ships are overlaid,
+     * without deserializing or scanning the whole board.
+     *
+     * @param delta the changed cells and the newly sunk ships
+     */
+    public void applyDelta(@NonNull GridDelta delta) {
+        if (delta.reset() || previousStates == null) {
+            previousStates = new CellState[rows][cols];
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    previousStates[r][c] = CellState.EMPTY;
+                    if (delta.reset()) {
+                        cells[r][c].removeTexture();
+                        cells[r][c].updateState(CellState.EMPTY);
+                        cells[r][c].refresh();
+                    }
+                }
+            }
+        }
+        for (GridDelta.CellChange change : delta.changes()) {
+            Coordinate coordinate = change.coordinate();
+            if (coordinate.row() < 0 || coordinate.row() >= rows || coordinate.col() < 0 || coordinate.col() >= cols) continue;
+
+            CellPanel cell = cells[coordinate.row()][coordinate.col()];
+            cell.updateState(change.state());
+            cell.refresh();
+            previousStates[coordinate.row()][coordinate.col()] = change.state();
+        }
+        for (Ship ship : delta.sunkShips()) {
+            for (Coordinate c : ship.getCoordinates()) {
+                if (c.row() < 0 || c.row() >= rows || c.col() < 0 || c.col() >= cols) continue;
+
+                BufferedImage image = TextureLoader.getTextureForShip(ship, c);
+                if (image != null) {
+                    cells[c.row()][c.col()].removeTexture();
+                    cells[c.row()][c.col()].addTexture(image);
+                    cells[c.row()][c.col()].refresh();
+                }
+            }
+        }
+        revalidate();
+        repaint();
+    }
+
     public void clearPlacementPreview() {
         for (CellPanel[] row : cells) {
             for (CellPanel cell : row) {
@@ -142,7 +202,7 @@ public class GridUI extends JPanel implements CellInteractionListener {
 
     @Override
     public void onCellClicked(Coordinate coordinate) {
-        Logger.debug("GridUI::onCellClicked - Coordinate: " + coordinate);
+        Logger.debug("GridUI::onCellClicked - Coordinate: {}", coordinate);
         if (observer == null) return;
         observer.onGridClick(coordinate);
     }
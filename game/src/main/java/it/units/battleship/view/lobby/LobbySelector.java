@@ -1,10 +1,12 @@
 package it.units.battleship.view.lobby;
 
 import it.units.battleship.controller.lobby.LobbyController;
+import it.units.battleship.controller.lobby.LobbyFeedClient;
 import com.google.gson.Gson;
 import com.intellij.uiDesigner.core.GridConstraints;
 import com.intellij.uiDesigner.core.GridLayoutManager;
 import com.intellij.uiDesigner.core.Spacer;
+import it.units.battleship.Defaults;
 import it.units.battleship.Logger;
 import it.units.battleship.data.LobbiesResponseData;
 import it.units.battleship.data.LobbyData;
@@ -16,14 +18,29 @@ import javax.swing.text.StyleContext;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 public class LobbySelector {
     private final LobbyController controller;
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    /**
+     * Distance from the bottom of the list, in pixels, at which the next page is loaded.
+     */
+    private static final int LOAD_MORE_THRESHOLD = 100;
+    private LobbyFeedClient lobbyFeed;
+    private LobbiesResponseData lastFetched;
+    /**
+     * The lobbies known to the selector; only the first {@link #renderedCount} have a panel.
+     */
+    private List<LobbyData> lobbies = List.of();
+    private int renderedCount = 0;
+    /**
+     * Cursor of the next page to fetch from the server when the known lobbies are all rendered, null if none.
+     */
+    private String nextCursor;
+    private boolean loadingPage = false;
     private JFrame frame;
     private JPanel mainPanel;
     private JPanel lobbiesPanel;
@@ -54,6 +71,15 @@ public class LobbySelector {
                 JOptionPane.showMessageDialog(frame, "Failed to create lobby", "Error", JOptionPane.ERROR_MESSAGE);
             }
         });
+        JScrollPane scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, lobbiesPanel);
+        if (scrollPane != null) {
+            scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+                JScrollBar bar = scrollPane.getVerticalScrollBar();
+                if (bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - LOAD_MORE_THRESHOLD) {
+                    loadMoreLobbies();
+                }
+            });
+        }
     }
 
     public String promptForName() {
@@ -83,11 +109,13 @@ public class LobbySelector {
         frame.setSize(600, 400);
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
-        scheduler.scheduleAtFixedRate(this::fetchAndRenderLobbies, 0, 5, TimeUnit.SECONDS);
+        lobbyFeed = controller.openLobbyFeed(lobbies -> SwingUtilities.invokeLater(() -> renderLobbies(lobbies)), this::fetchAndRenderLobbies);
     }
 
     public void cleanup() {
-        scheduler.shutdownNow();
+        if (lobbyFeed != null) {
+            lobbyFeed.close();
+        }
     }
 
     JPanel getLobbySelectorPanel(LobbyData lobby) {
@@ -120,11 +148,63 @@ public class LobbySelector {
         return panel;
     }
 
-    void renderLobbies(java.util.List<? extends LobbyData> lobbies) {
+    /**
+     * Shows a complete list of lobbies, as pushed by the lobby feed.
+     *
+     * @param lobbies the lobbies to show
+     */
+    void renderLobbies(List<? extends LobbyData> lobbies) {
+        showLobbies(lobbies, null);
+    }
+
+    /**
+     * Shows a list of lobbies, rendering a page of panels at a time: the next one is added as the user scrolls down.
+     * The number of rendered panels is kept across updates, so an update does not collapse the list being browsed.
+     *
+     * @param lobbies the lobbies to show
+     * @param cursor  the cursor of the lobbies that follow on the server, null if the list is complete
+     */
+    void showLobbies(List<? extends LobbyData> lobbies, String cursor) {
+        this.lobbies = List.copyOf(lobbies);
+        this.nextCursor = cursor;
+        this.renderedCount = Math.min(this.lobbies.size(), Math.max(renderedCount, Defaults.LOBBY_PAGE_SIZE));
+        layoutLobbies();
+    }
+
+    /**
+     * Renders the next page of lobbies: the known ones without a panel first, then the next page from the server.
+     */
+    void loadMoreLobbies() {
+        if (renderedCount < lobbies.size()) {
+            renderedCount = Math.min(lobbies.size(), renderedCount + Defaults.LOBBY_PAGE_SIZE);
+            layoutLobbies();
+            return;
+        }
+        String cursor = nextCursor;
+        if (cursor == null || loadingPage) {
+            return;
+        }
+        loadingPage = true;
+        CompletableFuture.supplyAsync(() -> controller.getLobbyPage(cursor)).thenAccept(page -> SwingUtilities.invokeLater(() -> {
+            loadingPage = false;
+            // a newer listing replaced the one this page continues
+            if (page == null || !cursor.equals(nextCursor)) {
+                return;
+            }
+            List<LobbyData> extended = new ArrayList<>(lobbies);
+            extended.addAll(page.getResults());
+            lobbies = List.copyOf(extended);
+            nextCursor = page.getNextCursor();
+            renderedCount = lobbies.size();
+            layoutLobbies();
+        }));
+    }
+
+    private void layoutLobbies() {
         lobbiesPanel.removeAll();
-        lobbiesPanel.setLayout(new GridLayoutManager(lobbies.size() + 1, 1, new Insets(0, 0, 0, 0), -1, -1));
+        lobbiesPanel.setLayout(new GridLayoutManager(renderedCount + 1, 1, new Insets(0, 0, 0, 0), -1, -1));
         int i = 0;
-        for (LobbyData lobby : lobbies) {
+        for (LobbyData lobby : lobbies.subList(0, renderedCount)) {
             lobbiesPanel.add(getLobbySelectorPanel(lobby), new GridConstraints(i++, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_BOTH, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW, null, null, null, 0, false));
         }
         lobbiesPanel.add(new Spacer(), new GridConstraints(i++, 0, 1, 1, GridConstraints.ANCHOR_CENTER, GridConstraints.FILL_VERTICAL, 1, GridConstraints.SIZEPOLICY_WANT_GROW, null, null, null, 0, false));
@@ -138,7 +218,12 @@ public class LobbySelector {
             Logger.warn("Failed to fetch lobbies, response data is null");
             return;
         }
-        renderLobbies(lobbiesResponseData.getResults());
+        // the same instance means the server answered 304 Not Modified
+        if (lobbiesResponseData == lastFetched) {
+            return;
+        }
+        lastFetched = lobbiesResponseData;
+        showLobbies(lobbiesResponseData.getResults(), lobbiesResponseData.getNextCursor());
     }
 
     /**
@@ -5,8 +5,11 @@ import it.units.battleship.controller.lobby.LobbyController;
 import it.units.battleship.controller.mode.GameModeStrategy;
 import it.units.battleship.controller.mode.OnlineMultiplayerStrategy;
 import it.units.battleship.controller.mode.SinglePlayerStrategy;
+import it.units.battleship.controller.mode.scheduler.RealTimeScheduler;
+import it.units.battleship.controller.mode.scheduler.VirtualTimeScheduler;
 import it.units.battleship.model.FleetManager;
 import it.units.battleship.model.Grid;
+import it.units.battleship.simulation.OpponentType;
 import it.units.battleship.view.utils.DimensionsUtils;
 import it.units.battleship.view.utils.ImageLoader;
 import it.units.battleship.view.utils.ThemeSelector;
@@ -17,6 +20,7 @@ import com.intellij.uiDesigner.core.GridConstraints;
 import com.intellij.uiDesigner.core.GridLayoutManager;
 import com.intellij.uiDesigner.core.Spacer;
 import it.units.battleship.Logger;
+import lombok.Setter;
 
 import javax.swing.*;
 import java.awt.*;
@@ -32,6 +36,16 @@ public class WelcomeUi implements WelcomeUiActions {
     private JButton themeLight;
     private JButton themeDark;
     private JButton themeDarkLight;
+    /**
+     * Whether single-player games skip the delays before the AI moves.
+     */
+    @Setter
+    private boolean turbo;
+    /**
+     * The AI playing single-player games.
+     */
+    @Setter
+    private OpponentType opponent = OpponentType.SIMPLE;
 
     {
 // GUI initializer generated by IntelliJ IDEA GUI Designer
@@ -76,7 +90,8 @@ public class WelcomeUi implements WelcomeUiActions {
         FleetManager fleetManager = new FleetManager(playerGrid, FLEET_CONFIGURATION);
 
         // Use the new unified approach
-        GameModeStrategy singlePlayerMode = new SinglePlayerStrategy(FLEET_CONFIGURATION);
+        GameModeStrategy singlePlayerMode = new SinglePlayerStrategy(FLEET_CONFIGURATION,
+                turbo ? VirtualTimeScheduler.turbo() : new RealTimeScheduler(), opponent);
         BattleshipView view = new BattleshipFrame(GRID_ROWS, GRID_COLS);
 
         view.setReturnToMenuAction(() -> {
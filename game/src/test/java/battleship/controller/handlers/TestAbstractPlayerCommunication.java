@@ -5,14 +5,19 @@ import it.units.battleship.controller.game.events.CommunicationEvents;
 import it.units.battleship.GameState;
 import it.units.battleship.data.socket.GameMessageType;
 import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.GridResyncRequestDTO;
 import it.units.battleship.data.socket.payloads.GridUpdateDTO;
 import it.units.battleship.data.socket.payloads.ShotRequestDTO;
 import it.units.battleship.Coordinate;
+import it.units.battleship.model.Grid;
+import battleship.testutil.FakeNetworkClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class TestAbstractPlayerCommunication {
@@ -88,4 +93,51 @@ public class TestAbstractPlayerCommunication {
 
         verify(mockListener1).onGameStatusReceived(dto);
     }
+
+    @Test
+    void testGridDeltasInSequenceAreForwarded() {
+        communication.addCommunicationEventsListener(mockListener1);
+        GridDeltaDTO first = new GridDeltaDTO(1, true, false, List.of(), List.of());
+        GridDeltaDTO second = new GridDeltaDTO(2, false, true, List.of(), List.of());
+
+        communication.onOpponentGridDelta(first);
+        communication.onOpponentGridDelta(second);
+
+        verify(mockListener1).onOpponentGridDelta(first);
+        verify(mockListener1).onOpponentGridDelta(second);
+    }
+
+    @Test
+    void testGridDeltaGapRequestsResync() {
+        FakeNetworkClient network = new FakeNetworkClient();
+        network.addCommunicationEventsListener(mockListener1);
+        network.onOpponentGridDelta(new GridDeltaDTO(1, true, false, List.of(), List.of()));
+
+        GridDeltaDTO skipped = new GridDeltaDTO(3, false, false, List.of(), List.of());
+        network.onOpponentGridDelta(skipped);
+
+        verify(mockListener1, never()).onOpponentGridDelta(skipped);
+        assertEquals(GameMessageType.GRID_RESYNC, network.lastMessageType);
+        assertEquals(new GridResyncRequestDTO(1), network.lastMessagePayload);
+    }
+
+    @Test
+    void testDeltaUpdatesAndResync() {
+        FakeNetworkClient network = new FakeNetworkClient();
+        network.setDeltaUpdates(true);
+        Grid grid = new Grid(10, 10);
+        grid.changeState(new Coordinate(2, 3), it.units.battleship.CellState.MISS);
+
+        network.sendGridUpdate(grid, List.of(), false);
+        assertEquals(GameMessageType.GRID_DELTA, network.lastMessageType);
+        GridDeltaDTO first = (GridDeltaDTO) network.lastMessagePayload;
+        assertEquals(1, first.sequence());
+        assertEquals(1, first.changes().size());
+
+        network.onGridResyncRequested(new GridResyncRequestDTO(0));
+        GridDeltaDTO resync = (GridDeltaDTO) network.lastMessagePayload;
+        assertEquals(2, resync.sequence());
+        assertTrue(resync.reset());
+        assertEquals(first.changes(), resync.changes());
+    }
 }
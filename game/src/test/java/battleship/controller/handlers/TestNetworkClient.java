@@ -207,10 +207,12 @@ public class TestNetworkClient {
      */
     private static class MockCommunicationEventsListener implements CommunicationEvents {
         boolean gridUpdateReceived = false;
+        boolean gridDeltaReceived = false;
         boolean shotRequestReceived = false;
         boolean gameStatusReceived = false;
 
         GridUpdateDTO lastGridUpdate = null;
+        GridDeltaDTO lastGridDelta = null;
         ShotRequestDTO lastShotRequest = null;
         GameStatusDTO lastGameStatus = null;
 
@@ -220,6 +222,12 @@ public class TestNetworkClient {
             this.lastGridUpdate = gridUpdateDTO;
         }
 
+        @Override
+        public void onOpponentGridDelta(GridDeltaDTO gridDeltaDTO) {
+            this.gridDeltaReceived = true;
+            this.lastGridDelta = gridDeltaDTO;
+        }
+
         @Override
         public void onShotReceived(ShotRequestDTO shotRequestDTO) {
             this.shotRequestReceived = true;
@@ -0,0 +1,61 @@
+package battleship.controller.lobby;
+
+import it.units.battleship.controller.lobby.LobbyListModel;
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.data.LobbyFeedEventData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLobbyListModel {
+
+    static LobbyData lobby(String id, String playerOne) {
+        return LobbyData.builder().lobbyID(id).lobbyName("Lobby " + id).playerOne(playerOne).build();
+    }
+
+    static LobbyFeedEventData event(LobbyFeedEventData.Kind kind, LobbyData lobby) {
+        return LobbyFeedEventData.builder().event(kind).lobby(lobby).build();
+    }
+
+    @Test
+    void testSnapshotReplacesTheList() {
+        LobbyListModel model = new LobbyListModel();
+        model.apply(event(LobbyFeedEventData.Kind.ADDED, lobby("stale", "Zoe")));
+
+        LobbyFeedEventData snapshot = LobbyFeedEventData.builder()
+                .event(LobbyFeedEventData.Kind.SNAPSHOT)
+                .lobbies(List.of(lobby("a", "Alice"), lobby("b", "Bob")))
+                .build();
+
+        assertTrue(model.apply(snapshot));
+        assertEquals(List.of("a", "b"), model.getLobbies().stream().map(LobbyData::getLobbyID).toList());
+        assertFalse(model.apply(snapshot), "The same snapshot again changes nothing");
+    }
+
+    @Test
+    void testEventsAreAppliedInPlace() {
+        LobbyListModel model = new LobbyListModel();
+        assertTrue(model.apply(event(LobbyFeedEventData.Kind.ADDED, lobby("a", "Alice"))));
+        assertTrue(model.apply(event(LobbyFeedEventData.Kind.ADDED, lobby("b", null))));
+
+        assertTrue(model.apply(event(LobbyFeedEventData.Kind.UPDATED, lobby("b", "Bob"))));
+        assertFalse(model.apply(event(LobbyFeedEventData.Kind.UPDATED, lobby("b", "Bob"))));
+        assertEquals("Bob", model.getLobbies().get(1).getPlayerOne());
+
+        assertTrue(model.apply(event(LobbyFeedEventData.Kind.REMOVED, lobby("a", "Alice"))));
+        assertFalse(model.apply(event(LobbyFeedEventData.Kind.REMOVED, lobby("a", "Alice"))));
+        assertEquals(List.of("b"), model.getLobbies().stream().map(LobbyData::getLobbyID).toList());
+    }
+
+    @Test
+    void testMalformedEventsAreIgnored() {
+        LobbyListModel model = new LobbyListModel();
+        assertFalse(model.apply(null));
+        assertFalse(model.apply(new LobbyFeedEventData()));
+        assertFalse(model.apply(event(LobbyFeedEventData.Kind.ADDED, null)));
+        assertFalse(model.apply(event(LobbyFeedEventData.Kind.REMOVED, null)));
+        assertTrue(model.getLobbies().isEmpty());
+    }
+}
@@ -0,0 +1,103 @@
+package battleship.controller.mode;
+
+import it.units.battleship.Coordinate;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.controller.mode.ai.DensityAIOpponent;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.Grid;
+import it.units.battleship.model.Ship;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestDensityAIOpponent {
+
+    private static final Map<ShipType, Integer> FLEET = Map.of(
+            ShipType.CARRIER, 1,
+            ShipType.BATTLESHIP, 1,
+            ShipType.CRUISER, 1,
+            ShipType.FRIGATE, 1,
+            ShipType.DESTROYER, 1
+    );
+
+    private DensityAIOpponent newAI(int rows, int cols, long seed) {
+        Grid aiGrid = new Grid(rows, cols);
+        return new DensityAIOpponent(aiGrid, new FleetManager(aiGrid, FLEET), Duration.ofMillis(50), ForkJoinPool.commonPool(), new Random(seed));
+    }
+
+    private FleetManager newTargetFleet(int rows, int cols) {
+        Grid grid = new Grid(rows, cols);
+        FleetManager fleetManager = new FleetManager(grid, FLEET);
+        fleetManager.addShip(Ship.createShip(new Coordinate(1, 1), Orientation.HORIZONTAL_RIGHT, ShipType.CARRIER, grid));
+        fleetManager.addShip(Ship.createShip(new Coordinate(5, 0), Orientation.HORIZONTAL_RIGHT, ShipType.BATTLESHIP, grid));
+        fleetManager.addShip(Ship.createShip(new Coordinate(9, 5), Orientation.HORIZONTAL_RIGHT, ShipType.CRUISER, grid));
+        fleetManager.addShip(Ship.createShip(new Coordinate(4, 9), Orientation.VERTICAL_DOWN, ShipType.FRIGATE, grid));
+        fleetManager.addShip(Ship.createShip(new Coordinate(7, 2), Orientation.VERTICAL_DOWN, ShipType.DESTROYER, grid));
+        return fleetManager;
+    }
+
+    private int playGame(DensityAIOpponent ai, FleetManager target) {
+        Set<Coordinate> shots = new HashSet<>();
+        while (!target.isGameOver()) {
+            Coordinate shot = ai.calculateNextShot();
+            assertTrue(shots.add(shot), "The AI shot twice at " + shot);
+            boolean hit = target.handleIncomingShot(shot);
+            ai.processLastShotResult(target.getGrid(), target.getFleet(), hit);
+        }
+        return shots.size();
+    }
+
+    @Test
+    void testSinksTheWholeFleetWithoutRepeatingShots() {
+        int shots = playGame(newAI(10, 10, 1), newTargetFleet(10, 10));
+        assertTrue(shots < 100, "The AI needed " + shots + " shots");
+    }
+
+    @Test
+    void testBeatsRandomShootingOnAverage() {
+        int total = 0;
+        int games = 20;
+        for (int seed = 0; seed < games; seed++) {
+            total += playGame(newAI(10, 10, seed), newTargetFleet(10, 10));
+        }
+        // random shooting needs about 95 shots to sink 21 ship cells on a 10x10 board
+        assertTrue(total / games < 70, "Average shots: " + total / games);
+    }
+
+    @Test
+    void testShootsNextToAHitShip() {
+        DensityAIOpponent ai = newAI(10, 10, 3);
+        FleetManager target = newTargetFleet(10, 10);
+        Coordinate hit = new Coordinate(5, 2);
+        assertTrue(target.handleIncomingShot(hit));
+        ai.processLastShotResult(target.getGrid(), target.getFleet(), true);
+
+        Coordinate next = ai.calculateNextShot();
+
+        assertEquals(1, Math.abs(next.row() - hit.row()) + Math.abs(next.col() - hit.col()));
+    }
+
+    @Test
+    void testSamplesLargeBoardsWithinTheBudget() {
+        DensityAIOpponent ai = newAI(400, 400, 4);
+        FleetManager target = newTargetFleet(400, 400);
+
+        long start = System.nanoTime();
+        Coordinate shot = ai.calculateNextShot();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(shot.row() >= 0 && shot.row() < 400 && shot.col() >= 0 && shot.col() < 400);
+        assertTrue(elapsedMillis < 1000, "The move took " + elapsedMillis + " ms");
+        target.handleIncomingShot(shot);
+        ai.processLastShotResult(target.getGrid(), target.getFleet(), false);
+        assertNotEquals(shot, ai.calculateNextShot());
+    }
+}
@@ -0,0 +1,85 @@
+package battleship.controller.mode;
+
+import it.units.battleship.controller.mode.scheduler.GameScheduler;
+import it.units.battleship.controller.mode.scheduler.RealTimeScheduler;
+import it.units.battleship.controller.mode.scheduler.VirtualTimeScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestGameScheduler {
+
+    @Test
+    void testVirtualTimeRunsTasksInDueOrder() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        List<String> order = new ArrayList<>();
+        scheduler.schedule(() -> order.add("late"), Duration.ofSeconds(2));
+        scheduler.schedule(() -> order.add("first"), Duration.ofSeconds(1));
+        scheduler.schedule(() -> order.add("second"), Duration.ofSeconds(1));
+
+        assertTrue(order.isEmpty());
+        assertEquals(3, scheduler.runUntilIdle());
+        assertEquals(List.of("first", "second", "late"), order);
+        assertEquals(Duration.ofSeconds(2).toNanos(), scheduler.nanoTime());
+    }
+
+    @Test
+    void testVirtualTimeAdvanceRunsOnlyDueTasks() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        List<String> order = new ArrayList<>();
+        scheduler.schedule(() -> {
+            order.add("outer");
+            scheduler.schedule(() -> order.add("nested"), Duration.ofMillis(100));
+        }, Duration.ofMillis(100));
+        scheduler.schedule(() -> order.add("later"), Duration.ofSeconds(1));
+
+        assertEquals(2, scheduler.advanceBy(Duration.ofMillis(250)));
+        assertEquals(List.of("outer", "nested"), order);
+        assertEquals(Duration.ofMillis(250).toNanos(), scheduler.nanoTime());
+        assertEquals(1, scheduler.getPendingTasks());
+    }
+
+    @Test
+    void testVirtualTimeCancelledTaskDoesNotRun() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        List<String> order = new ArrayList<>();
+        GameScheduler.ScheduledTask task = scheduler.schedule(() -> order.add("cancelled"), Duration.ofMillis(10));
+
+        assertTrue(task.cancel());
+        assertFalse(task.cancel());
+        assertEquals(0, scheduler.runUntilIdle());
+        assertTrue(order.isEmpty());
+    }
+
+    @Test
+    void testTurboRunsTasksWithoutWaiting() throws InterruptedException {
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.turbo();
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        scheduler.schedule(() -> scheduler.schedule(done::countDown, Duration.ofHours(1)), Duration.ofHours(1));
+
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(Duration.ofHours(2).toNanos(), scheduler.nanoTime());
+        scheduler.shutdown();
+    }
+
+    @Test
+    void testRealTimeSchedulesWithoutBlockingCaller() throws InterruptedException {
+        RealTimeScheduler scheduler = new RealTimeScheduler();
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        scheduler.schedule(done::countDown, Duration.ofMillis(50));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        scheduler.shutdown();
+    }
+}
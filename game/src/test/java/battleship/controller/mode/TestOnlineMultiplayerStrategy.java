@@ -8,6 +8,7 @@ import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
 import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.payloads.FleetSubmitDTO;
 import it.units.battleship.data.socket.payloads.GameStatusDTO;
 import it.units.battleship.data.socket.payloads.GridUpdateDTO;
 import it.units.battleship.data.socket.payloads.ShotRequestDTO;
@@ -132,4 +133,28 @@ class TestOnlineMultiplayerStrategy {
         assertEquals(GameState.GAME_OVER, fakeCallback.lastGameStatusState);
         assertEquals("You lost!", fakeCallback.lastGameStatusMessage);
     }
+
+    @Test
+    void testFleetIsSubmittedOnlyToAuthoritativeServer() {
+        strategy.submitFleet(List.of());
+        assertEquals(0, fakeNetwork.messageCount);
+
+        fakeNetwork.setServerAuthoritative(true);
+        strategy.submitFleet(List.of());
+
+        assertEquals(GameMessageType.FLEET_SUBMIT, fakeNetwork.lastMessageType);
+        assertInstanceOf(FleetSubmitDTO.class, fakeNetwork.lastMessagePayload);
+    }
+
+    @Test
+    void testAuthoritativeServerSkipsGridUpdatesAndGameOver() {
+        fakeNetwork.setServerAuthoritative(true);
+
+        strategy.sendGridUpdate(new Grid(10, 10), List.of(), true);
+        strategy.sendGameOver("Game over!");
+        assertEquals(0, fakeNetwork.messageCount);
+
+        strategy.notifySetupComplete();
+        assertEquals(GameMessageType.TURN_CHANGE, fakeNetwork.lastMessageType);
+    }
 }
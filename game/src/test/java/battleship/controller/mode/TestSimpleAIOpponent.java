@@ -0,0 +1,32 @@
+package battleship.controller.mode;
+
+import it.units.battleship.Defaults;
+import it.units.battleship.controller.mode.ai.SimpleAIOpponent;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.Grid;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSimpleAIOpponent {
+
+    @Test
+    void testPlaceShipsCompletesTheFleet() {
+        Grid grid = new Grid(Defaults.GRID_ROWS, Defaults.GRID_COLS);
+        FleetManager fleetManager = new FleetManager(grid, Defaults.FLEET_CONFIGURATION);
+        new SimpleAIOpponent(grid, fleetManager, new Random(1)).placeShips();
+        assertTrue(fleetManager.isFleetComplete());
+    }
+
+    @Test
+    void testPlaceShipsFailsWhenAShipIsRejected() {
+        Grid grid = new Grid(Defaults.GRID_ROWS, Defaults.GRID_COLS);
+        FleetManager fleetManager = new FleetManager(grid, Defaults.FLEET_CONFIGURATION);
+        SimpleAIOpponent ai = new SimpleAIOpponent(grid, fleetManager, new Random(2));
+        ai.placeShips();
+        // the fleet is already complete, so the manager rejects every ship of a second fleet
+        assertThrowsExactly(IllegalStateException.class, ai::placeShips);
+    }
+}
@@ -2,6 +2,7 @@ package battleship.controller.mode;
 
 import battleship.testutil.FakeCallback;
 import it.units.battleship.controller.mode.SinglePlayerStrategy;
+import it.units.battleship.controller.mode.scheduler.VirtualTimeScheduler;
 import it.units.battleship.model.Grid;
 import it.units.battleship.model.Ship;
 import it.units.battleship.Coordinate;
@@ -11,9 +12,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
+import static it.units.battleship.Defaults.DELAY_MS;
 import static org.junit.jupiter.api.Assertions.*;
 
 class TestSinglePlayerStrategy {
@@ -48,7 +51,7 @@ class TestSinglePlayerStrategy {
     }
 
     @Test
-    void testSendShotCallsOnGridUpdateReceived() throws InterruptedException {
+    void testSendShotCallsOnGridDeltaReceived() throws InterruptedException {
         singlePlayerStrategy.initialize(fakeCallback);
         Coordinate coord = new Coordinate(0, 0);
 
@@ -56,11 +59,13 @@ class TestSinglePlayerStrategy {
 
         // Wait for the async execution to complete
         long deadline = System.currentTimeMillis() + 3000;
-        while (fakeCallback.lastGridUpdateSerialized == null && System.currentTimeMillis() < deadline) {
+        while (fakeCallback.lastGridDelta == null && System.currentTimeMillis() < deadline) {
             Thread.sleep(50);
         }
 
-        assertNotNull(fakeCallback.lastGridUpdateSerialized);
+        assertNotNull(fakeCallback.lastGridDelta);
+        assertEquals(1, fakeCallback.lastGridDelta.changes().size());
+        assertEquals(coord, fakeCallback.lastGridDelta.changes().getFirst().coordinate());
     }
 
     @Test
@@ -83,6 +88,60 @@ class TestSinglePlayerStrategy {
         emptyStrategy.shutdown();
     }
 
+    @Test
+    void testVirtualTimeRunsTurnAfterDelays() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        SinglePlayerStrategy strategy = new SinglePlayerStrategy(requiredFleetConfiguration, scheduler);
+        strategy.initialize(fakeCallback);
+        Coordinate coord = new Coordinate(0, 0);
+
+        strategy.sendShot(coord);
+        scheduler.advanceBy(Duration.ofMillis(DELAY_MS - 1));
+        assertNull(fakeCallback.lastGridDelta);
+
+        scheduler.advanceBy(Duration.ofMillis(1));
+        assertNotNull(fakeCallback.lastGridDelta);
+        assertEquals(coord, fakeCallback.lastGridDelta.changes().getFirst().coordinate());
+        assertNull(fakeCallback.lastShotReceived);
+
+        scheduler.advanceBy(Duration.ofMillis(DELAY_MS));
+        assertNotNull(fakeCallback.lastShotReceived);
+        assertEquals(0, scheduler.getPendingTasks());
+        strategy.shutdown();
+    }
+
+    @Test
+    void testVirtualTimeGameOverSkipsAiTurn() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        SinglePlayerStrategy strategy = new SinglePlayerStrategy(Map.of(), scheduler);
+        strategy.initialize(fakeCallback);
+
+        strategy.sendShot(new Coordinate(0, 0));
+
+        assertEquals(1, scheduler.runUntilIdle());
+        assertEquals(GameState.GAME_OVER, fakeCallback.lastGameStatusState);
+        assertNull(fakeCallback.lastShotReceived);
+        assertEquals(DELAY_MS * 1_000_000, scheduler.nanoTime());
+        strategy.shutdown();
+    }
+
+    @Test
+    void testInitializeStartsTheDeltasOfANewGrid() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        SinglePlayerStrategy strategy = new SinglePlayerStrategy(Map.of(), scheduler);
+        Coordinate coord = new Coordinate(0, 0);
+        for (int game = 0; game < 2; game++) {
+            strategy.initialize(fakeCallback);
+            strategy.sendShot(coord);
+            scheduler.runUntilIdle();
+
+            assertTrue(fakeCallback.lastGridDelta.reset());
+            assertEquals(1, fakeCallback.lastGridDelta.changes().size());
+            assertEquals(coord, fakeCallback.lastGridDelta.changes().getFirst().coordinate());
+        }
+        strategy.shutdown();
+    }
+
     @Test
     void testSendGridUpdateProcessesLastShotResult() {
         singlePlayerStrategy.initialize(fakeCallback);
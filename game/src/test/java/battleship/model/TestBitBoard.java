@@ -0,0 +1,60 @@
+package battleship.model;
+
+import it.units.battleship.model.BitBoard;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBitBoard {
+
+    @Test
+    void testSetGetAndClear() {
+        BitBoard board = new BitBoard(3, 70);
+        board.set(2, 69);
+        board.set(0, 0);
+        assertTrue(board.get(2, 69));
+        assertFalse(board.get(1, 69));
+        assertFalse(board.get(3, 0), "Cells outside the board are never set.");
+        assertEquals(2, board.cardinality());
+
+        board.clear(2, 69);
+        assertFalse(board.get(2, 69));
+        board.clear();
+        assertTrue(board.isEmpty());
+        assertThrowsExactly(IndexOutOfBoundsException.class, () -> board.set(0, 70));
+    }
+
+    @Test
+    void testDilateAcrossWordBoundaryAndEdges() {
+        BitBoard board = new BitBoard(4, 130);
+        board.set(1, 63);
+        board.set(3, 129);
+
+        BitBoard dilated = board.dilate(1);
+        for (int r = 0; r <= 2; r++) {
+            for (int c = 62; c <= 64; c++) {
+                assertTrue(dilated.get(r, c), "Expected (" + r + ", " + c + ") in the dilated set.");
+            }
+        }
+        assertFalse(dilated.get(1, 61));
+        assertFalse(dilated.get(1, 65));
+        assertFalse(dilated.get(3, 63));
+        assertTrue(dilated.get(2, 128));
+        assertEquals(9 + 4, dilated.cardinality(), "Dilation must be clipped at the board edges.");
+        assertEquals(2, board.cardinality(), "Dilation must not modify the source board.");
+    }
+
+    @Test
+    void testIntersectsAndOr() {
+        BitBoard a = new BitBoard(5, 5);
+        BitBoard b = new BitBoard(5, 5);
+        a.set(1, 1);
+        b.set(2, 2);
+        assertFalse(a.intersects(b));
+        assertTrue(a.dilate(1).intersects(b));
+
+        a.or(b);
+        assertTrue(a.get(2, 2));
+        assertThrowsExactly(IllegalArgumentException.class, () -> a.or(new BitBoard(5, 6)));
+    }
+}
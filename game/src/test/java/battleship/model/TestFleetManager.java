@@ -476,4 +476,83 @@ public class TestFleetManager {
         assertEquals(2, counts.get(ShipType.DESTROYER));
         assertEquals(1, counts.get(ShipType.CARRIER));
     }
+
+    @Test
+    void testRemovedShipFreesItsForbiddenZone() {
+        Ship ship1 = Ship.createShip(new Coordinate(4, 4), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid);
+        Ship ship2 = Ship.createShip(new Coordinate(4, 7), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid);
+        fleetManager.addShip(ship1);
+        fleetManager.addShip(ship2);
+        Ship candidate = Ship.createShip(new Coordinate(5, 6), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid);
+        assertFalse(fleetManager.canPlaceShip(candidate));
+
+        fleetManager.removeShipByReference(ship1);
+        assertFalse(fleetManager.canPlaceShip(candidate), "The zone around the remaining ship must still be forbidden.");
+
+        fleetManager.removeShipByCoordinate(new Coordinate(4, 8));
+        assertTrue(fleetManager.canPlaceShip(candidate));
+    }
+
+    @Test
+    void testPlacementOnLargeBoardAcrossWordBoundary() {
+        grid = new Grid(100, 130);
+        fleetManager = new FleetManager(grid, Map.of(ShipType.DESTROYER, 3));
+        assertTrue(fleetManager.addShip(Ship.createShip(new Coordinate(50, 62), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid)));
+
+        assertFalse(fleetManager.canPlaceShip(Ship.createShip(new Coordinate(51, 64), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid)));
+        assertTrue(fleetManager.canPlaceShip(Ship.createShip(new Coordinate(51, 65), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid)));
+        assertFalse(fleetManager.canPlaceShip(Ship.createShip(new Coordinate(49, 60), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid)));
+        assertTrue(fleetManager.addShip(Ship.createShip(new Coordinate(99, 128), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid)));
+        assertNull(fleetManager.getShipByCoordinate(new Coordinate(98, 127)));
+    }
+
+    @Test
+    void testCanPlaceShipWithoutShipInstance() {
+        fleetManager.addShip(Ship.createShip(new Coordinate(4, 4), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid));
+
+        for (Orientation orientation : Orientation.values()) {
+            for (int row = -2; row < 12; row++) {
+                for (int col = -2; col < 12; col++) {
+                    boolean expected;
+                    try {
+                        expected = fleetManager.canPlaceShip(Ship.createShip(new Coordinate(row, col), orientation, ShipType.CARRIER, grid));
+                    } catch (IllegalArgumentException e) {
+                        expected = false;
+                    }
+                    assertEquals(expected, fleetManager.canPlaceShip(ShipType.CARRIER, orientation, row, col), orientation + " at " + row + "," + col);
+                }
+            }
+        }
+        assertFalse(fleetManager.canPlaceShip(ShipType.BATTLESHIP, Orientation.HORIZONTAL_RIGHT, 0, 0), "Types outside the configuration cannot be placed.");
+    }
+
+    @Test
+    void testIndexAndCountersFollowAdditionsAndRemovals() {
+        Ship destroyer1 = Ship.createShip(new Coordinate(0, 0), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid);
+        Ship destroyer2 = Ship.createShip(new Coordinate(0, 5), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid);
+        Ship carrier = Ship.createShip(new Coordinate(5, 5), Orientation.VERTICAL_DOWN, ShipType.CARRIER, grid);
+        fleetManager.addShip(destroyer1);
+        fleetManager.addShip(destroyer2);
+        fleetManager.addShip(carrier);
+        assertTrue(fleetManager.isFleetComplete());
+
+        fleetManager.removeShipByReference(destroyer1);
+        assertFalse(fleetManager.isFleetComplete());
+        assertEquals(1, fleetManager.getPlacedCounts().get(ShipType.DESTROYER));
+        assertNull(fleetManager.getShipByCoordinate(new Coordinate(0, 0)));
+        assertSame(destroyer2, fleetManager.getShipByCoordinate(new Coordinate(0, 6)), "Ids must be remapped after a removal.");
+        carrier.getCoordinates().forEach(c -> assertSame(carrier, fleetManager.getShipByCoordinate(c)));
+
+        destroyer2.getCoordinates().forEach(fleetManager::handleIncomingShot);
+        assertFalse(fleetManager.isGameOver());
+        carrier.getCoordinates().forEach(fleetManager::handleIncomingShot);
+        assertTrue(fleetManager.isGameOver());
+
+        fleetManager.removeShipByReference(carrier);
+        assertTrue(fleetManager.addShip(destroyer1));
+        assertFalse(fleetManager.isGameOver());
+        fleetManager.removeShipByReference(destroyer1);
+        destroyer1.getCoordinates().forEach(destroyer1::addHit);
+        assertTrue(fleetManager.isGameOver(), "A removed ship must no longer update the counters.");
+    }
 }
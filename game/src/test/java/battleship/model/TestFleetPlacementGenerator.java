@@ -0,0 +1,102 @@
+package battleship.model;
+
+import it.units.battleship.Defaults;
+import it.units.battleship.ShipType;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.FleetPlacementGenerator;
+import it.units.battleship.model.Grid;
+import it.units.battleship.model.Ship;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFleetPlacementGenerator {
+
+    @Test
+    void testGeneratedFleetsAreAcceptedByFleetManager() {
+        FleetPlacementGenerator generator = new FleetPlacementGenerator(Defaults.GRID_ROWS, Defaults.GRID_COLS, Defaults.FLEET_CONFIGURATION);
+        Random random = new Random(1);
+        for (int i = 0; i < 500; i++) {
+            Grid grid = new Grid(Defaults.GRID_ROWS, Defaults.GRID_COLS);
+            FleetManager fleetManager = new FleetManager(grid, Defaults.FLEET_CONFIGURATION);
+            for (Ship ship : generator.generateFleet(random)) {
+                assertTrue(fleetManager.addShip(ship), "Rejected " + ship.getShipType() + " at " + ship.getCoordinates());
+            }
+            assertTrue(fleetManager.isFleetComplete());
+        }
+    }
+
+    @Test
+    void testPlacesLargestShipsFirst() {
+        FleetPlacementGenerator generator = new FleetPlacementGenerator(10, 10, Defaults.FLEET_CONFIGURATION);
+        assertEquals(7, generator.getShipCount());
+        assertEquals(ShipType.CARRIER, generator.getShipType(0));
+        assertEquals(ShipType.DESTROYER, generator.getShipType(6));
+    }
+
+    @Test
+    void testBacktracksWhenTheFirstChoiceLeavesNoRoom() {
+        // two destroyers fit on a 1x5 board only at both ends
+        FleetPlacementGenerator generator = new FleetPlacementGenerator(1, 5, Map.of(ShipType.DESTROYER, 2));
+        Random random = new Random(2);
+        for (int i = 0; i < 200; i++) {
+            List<Ship> fleet = generator.generateFleet(random);
+            Set<Integer> columns = new HashSet<>();
+            fleet.forEach(ship -> ship.getCoordinates().forEach(coordinate -> columns.add(coordinate.col())));
+            assertEquals(Set.of(0, 1, 3, 4), columns);
+        }
+    }
+
+    @Test
+    void testChoosesAnchorsAcrossTheWholeBoard() {
+        FleetPlacementGenerator generator = new FleetPlacementGenerator(3, 130, Map.of(ShipType.FRIGATE, 1));
+        Random random = new Random(3);
+        int[] placements = new int[3];
+        boolean farRight = false;
+        for (int i = 0; i < 2000 && !farRight; i++) {
+            generator.generate(random, placements);
+            farRight = placements[1] >= 64;
+        }
+        assertTrue(farRight, "No anchor was chosen beyond the first 64 columns");
+    }
+
+    @Test
+    void testFailsWhenTheFleetCannotFit() {
+        FleetPlacementGenerator generator = new FleetPlacementGenerator(3, 3, Map.of(ShipType.CARRIER, 1));
+        assertThrowsExactly(IllegalStateException.class, () -> generator.generateFleet(new Random(4)));
+        FleetPlacementGenerator crowded = new FleetPlacementGenerator(3, 3, Map.of(ShipType.DESTROYER, 3));
+        assertThrowsExactly(IllegalStateException.class, () -> crowded.generateFleet(new Random(4)));
+    }
+
+    @Test
+    void testRejectsShortBuffer() {
+        FleetPlacementGenerator generator = new FleetPlacementGenerator(10, 10, Defaults.FLEET_CONFIGURATION);
+        assertThrowsExactly(IllegalArgumentException.class, () -> generator.generate(new Random(5), new int[6]));
+    }
+
+    @Test
+    void testGenerateDoesNotAllocate() {
+        FleetPlacementGenerator generator = new FleetPlacementGenerator(Defaults.GRID_ROWS, Defaults.GRID_COLS, Defaults.FLEET_CONFIGURATION);
+        SplittableRandom random = new SplittableRandom(6);
+        int[] placements = new int[3 * generator.getShipCount()];
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        for (int i = 0; i < 10_000; i++) {
+            generator.generate(random, placements);
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            generator.generate(random, placements);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 1_024, "Generating allocated " + allocated + " bytes");
+    }
+}
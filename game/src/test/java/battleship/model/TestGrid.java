@@ -4,9 +4,12 @@ import it.units.battleship.CellState;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GridMapper;
 import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDelta;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class TestGrid {
@@ -119,4 +122,39 @@ public class TestGrid {
         String expectedSerialization = "0X00000000000000000000000";
         assertEquals(expectedSerialization, GridMapper.serialize(grid.getGrid()), "Serialization with a reverted cell state failed.");
     }
+
+    @Test
+    public void testApplyDelta() {
+        grid = new Grid(2, 2);
+        grid.changeState(new Coordinate(1, 1), CellState.MISS);
+
+        grid.applyDelta(new GridDelta(false, List.of(new GridDelta.CellChange(new Coordinate(0, 1), CellState.HIT)), List.of()));
+        assertEquals("0X0M", GridMapper.serialize(grid.getGrid()));
+
+        grid.applyDelta(new GridDelta(true, List.of(new GridDelta.CellChange(new Coordinate(1, 0), CellState.SUNK)), List.of()));
+        assertEquals("00K0", GridMapper.serialize(grid.getGrid()));
+    }
+
+    @Test
+    public void testGetGridReturnsACopy() {
+        grid.changeState(new Coordinate(1, 3), CellState.SUNK);
+        CellState[][] copy = grid.getGrid();
+        assertEquals(CellState.SUNK, copy[1][3]);
+
+        copy[0][0] = CellState.HIT;
+        assertEquals(CellState.EMPTY, grid.getState(0, 0));
+        assertEquals(GridMapper.serialize(copy), GridMapper.serialize(new Grid(copy).getGrid()));
+    }
+
+    @Test
+    public void testLargeGridPacking() {
+        Grid large = new Grid(1000, 1000);
+        large.changeState(new Coordinate(999, 999), CellState.MISS);
+        large.changeState(new Coordinate(0, 31), CellState.SUNK);
+        large.changeState(new Coordinate(0, 32), CellState.HIT);
+        assertEquals(CellState.MISS, large.getState(999, 999));
+        assertEquals(CellState.SUNK, large.getState(0, 31));
+        assertEquals(CellState.HIT, large.getState(0, 32));
+        assertEquals(CellState.EMPTY, large.getState(0, 30));
+    }
 }
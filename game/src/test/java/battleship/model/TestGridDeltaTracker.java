@@ -0,0 +1,91 @@
+package battleship.model;
+
+import it.units.battleship.CellState;
+import it.units.battleship.Coordinate;
+import it.units.battleship.GridMapper;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.model.FleetManager;
+import it.units.battleship.model.Grid;
+import it.units.battleship.model.GridDelta;
+import it.units.battleship.model.GridDeltaTracker;
+import it.units.battleship.model.Ship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGridDeltaTracker {
+    private Grid grid;
+    private FleetManager fleetManager;
+    private GridDeltaTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        grid = new Grid(10, 10);
+        fleetManager = new FleetManager(grid, Map.of(ShipType.DESTROYER, 1));
+        fleetManager.addShip(Ship.createShip(new Coordinate(0, 0), Orientation.HORIZONTAL_RIGHT, ShipType.DESTROYER, grid));
+        tracker = new GridDeltaTracker();
+    }
+
+    @Test
+    void testFirstDeltaResetsAndCarriesOnlyChangedCells() {
+        fleetManager.handleIncomingShot(new Coordinate(5, 5));
+
+        GridDelta delta = tracker.next(grid, fleetManager.getFleet());
+
+        assertTrue(delta.reset());
+        assertEquals(1, delta.changes().size());
+        assertEquals(new GridDelta.CellChange(new Coordinate(5, 5), CellState.MISS), delta.changes().getFirst());
+        assertTrue(delta.sunkShips().isEmpty());
+    }
+
+    @Test
+    void testFollowingDeltasOnlyContainNewChanges() {
+        fleetManager.handleIncomingShot(new Coordinate(5, 5));
+        tracker.next(grid, fleetManager.getFleet());
+
+        fleetManager.handleIncomingShot(new Coordinate(0, 0));
+        GridDelta second = tracker.next(grid, fleetManager.getFleet());
+        assertFalse(second.reset());
+        assertEquals(1, second.changes().size());
+        assertEquals(new Coordinate(0, 0), second.changes().getFirst().coordinate());
+
+        fleetManager.handleIncomingShot(new Coordinate(0, 1));
+        GridDelta third = tracker.next(grid, fleetManager.getFleet());
+        assertEquals(1, third.sunkShips().size());
+
+        GridDelta nothing = tracker.next(grid, fleetManager.getFleet());
+        assertTrue(nothing.changes().isEmpty());
+        assertTrue(nothing.sunkShips().isEmpty());
+    }
+
+    @Test
+    void testDeltasRebuildTheSameGrid() {
+        Grid receiver = new Grid(10, 10);
+        Coordinate[] shots = {new Coordinate(5, 5), new Coordinate(0, 0), new Coordinate(9, 9), new Coordinate(0, 1)};
+        for (Coordinate shot : shots) {
+            fleetManager.handleIncomingShot(shot);
+            receiver.applyDelta(tracker.next(grid, fleetManager.getFleet()));
+            assertEquals(GridMapper.serialize(grid.getGrid()), GridMapper.serialize(receiver.getGrid()));
+        }
+    }
+
+    @Test
+    void testSnapshotContainsTheWholeState() {
+        fleetManager.handleIncomingShot(new Coordinate(0, 0));
+        fleetManager.handleIncomingShot(new Coordinate(0, 1));
+        tracker.next(grid, fleetManager.getFleet());
+
+        GridDelta snapshot = tracker.snapshot(grid, fleetManager.getFleet());
+        assertTrue(snapshot.reset());
+        assertEquals(1, snapshot.sunkShips().size());
+
+        Grid receiver = new Grid(10, 10);
+        receiver.changeState(new Coordinate(3, 3), CellState.HIT);
+        receiver.applyDelta(snapshot);
+        assertEquals(GridMapper.serialize(grid.getGrid()), GridMapper.serialize(receiver.getGrid()));
+    }
+}
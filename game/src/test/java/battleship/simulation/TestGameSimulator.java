@@ -0,0 +1,81 @@
+package battleship.simulation;
+
+import it.units.battleship.Defaults;
+import it.units.battleship.ShipType;
+import it.units.battleship.simulation.GameSimulator;
+import it.units.battleship.simulation.OpponentType;
+import it.units.battleship.simulation.SimulationStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestGameSimulator {
+
+    private static final int CELLS = Defaults.GRID_ROWS * Defaults.GRID_COLS;
+
+    private GameSimulator newSimulator(OpponentType first, OpponentType second) {
+        return new GameSimulator(Defaults.GRID_ROWS, Defaults.GRID_COLS, Defaults.FLEET_CONFIGURATION, first, second);
+    }
+
+    private int fleetCells() {
+        int cells = 0;
+        for (Map.Entry<ShipType, Integer> entry : Defaults.FLEET_CONFIGURATION.entrySet()) {
+            cells += entry.getKey().getSize() * entry.getValue();
+        }
+        return cells;
+    }
+
+    @Test
+    void testGameEndsWithAFleetSunk() {
+        GameSimulator simulator = newSimulator(OpponentType.SIMPLE, OpponentType.DENSITY);
+        for (long seed = 0; seed < 20; seed++) {
+            GameSimulator.GameResult result = simulator.play(seed, seed % 2 == 0);
+            assertTrue(result.winnerShots() >= fleetCells());
+            assertTrue(result.winnerShots() <= CELLS);
+            int starter = seed % 2 == 0 ? 0 : 1;
+            // the players alternate, so the loser fired one shot less unless it started
+            int expectedLoserShots = result.winner() == starter ? result.winnerShots() - 1 : result.winnerShots();
+            assertEquals(expectedLoserShots, result.loserShots());
+        }
+    }
+
+    @Test
+    void testSameSeedReplaysTheSameGame() {
+        GameSimulator simulator = newSimulator(OpponentType.DENSITY, OpponentType.SIMPLE);
+        for (long seed = 0; seed < 10; seed++) {
+            assertEquals(simulator.play(seed, true), simulator.play(seed, true));
+        }
+    }
+
+    @Test
+    void testStatsMergeAndSummarize() {
+        SimulationStats local = new SimulationStats(CELLS);
+        for (int shots = 1; shots <= 20; shots++) {
+            local.record(new GameSimulator.GameResult(0, shots, shots - 1));
+        }
+        local.record(new GameSimulator.GameResult(1, 50, 50));
+        SimulationStats shared = new SimulationStats(CELLS);
+        shared.merge(local);
+
+        assertEquals(21, shared.getGames());
+        assertEquals(0, local.getGames());
+        SimulationStats.PlayerSummary first = shared.summarize(0);
+        assertEquals(20, first.wins());
+        assertEquals(20 / 21.0, first.winRate(), 1e-9);
+        assertEquals(10.5, first.meanShots(), 1e-9);
+        assertEquals(19, first.p95Shots());
+        assertEquals(50, shared.summarize(1).p95Shots());
+    }
+
+    @Test
+    void testPlayerWithoutWinsHasEmptySummary() {
+        SimulationStats stats = new SimulationStats(CELLS);
+        stats.record(new GameSimulator.GameResult(0, 30, 29));
+        SimulationStats.PlayerSummary second = stats.summarize(1);
+        assertEquals(0, second.wins());
+        assertEquals(0.0, second.meanShots());
+        assertEquals(0, second.p95Shots());
+    }
+}
@@ -3,6 +3,7 @@ package battleship.testutil;
 import it.units.battleship.Coordinate;
 import it.units.battleship.GameState;
 import it.units.battleship.controller.mode.GameModeStrategy;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 
 import java.util.List;
@@ -16,6 +17,7 @@ public class FakeCallback implements GameModeStrategy.GameModeCallback {
     public Coordinate lastShotReceived;
     public String lastGridUpdateSerialized;
     public List<Ship> lastGridUpdateFleet;
+    public GridDelta lastGridDelta;
     public GameState lastGameStatusState;
     public String lastGameStatusMessage;
     public String lastConnectionError;
@@ -29,6 +31,9 @@ public class FakeCallback implements GameModeStrategy.GameModeCallback {
         lastGridUpdateFleet = fleet;
     }
 
+    @Override
+    public void onGridDeltaReceived(GridDelta delta) { lastGridDelta = delta; }
+
     @Override
     public void onGameStatusReceived(GameState state, String message) {
         lastGameStatusState = state;
@@ -4,6 +4,7 @@ import it.units.battleship.Coordinate;
 import it.units.battleship.Orientation;
 import it.units.battleship.ShipType;
 import it.units.battleship.controller.game.actions.GridInteractionObserver;
+import it.units.battleship.model.GridDelta;
 import it.units.battleship.model.Ship;
 import it.units.battleship.view.core.BattleshipView;
 
@@ -32,6 +33,7 @@ public class FakeView implements BattleshipView {
     public List<Ship> lastPlayerFleet;
     public String lastOpponentGridSerialized;
     public List<Ship> lastOpponentFleet;
+    public GridDelta lastOpponentGridDelta;
     public Set<Coordinate> lastPlacementCoords;
     public Boolean lastPlacementValid;
     public Ship lastPreviewShip;
@@ -77,6 +79,8 @@ public class FakeView implements BattleshipView {
         lastOpponentFleet = fleet;
     }
     @Override
+    public void applyOpponentGridDelta(GridDelta delta) { lastOpponentGridDelta = delta; }
+    @Override
     public void setPlayerTurn(boolean isPlayerTurn) { playerTurn = isPlayerTurn; }
     @Override
     public void showShotPreview(Coordinate coordinate) { lastShotPreview = coordinate; }
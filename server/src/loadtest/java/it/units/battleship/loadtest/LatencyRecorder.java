@@ -0,0 +1,56 @@
+package it.units.battleship.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects latency samples from many threads and summarizes them as percentiles.
+ */
+public class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+
+    /**
+     * Records a sample.
+     *
+     * @param nanos the measured latency in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    /**
+     * @return the number of samples recorded so far
+     */
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * Summarizes the samples recorded so far.
+     *
+     * @return the percentiles of the samples, all zero if nothing was recorded
+     */
+    public synchronized Summary summarize() {
+        if (count == 0) {
+            return new Summary(0, 0, 0, 0, 0, 0);
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(count, percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                percentile(sorted, 99.9), sorted[count - 1]);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Percentiles of the recorded latencies, in nanoseconds.
+     */
+    public record Summary(int count, long p50, long p90, long p99, long p999, long max) {
+    }
+}
@@ -0,0 +1,254 @@
+package it.units.battleship.loadtest;
+
+import com.google.gson.Gson;
+import it.units.battleship.Defaults;
+import it.units.battleship.WebServerApp;
+import org.apache.commons.cli.*;
+import org.apache.commons.cli.help.HelpFormatter;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Load generator that plays complete games against an in-process {@link WebServerApp} started on a random port.
+ * <p>
+ * Every game is a pair of simulated players running on virtual threads. At the end the tool prints the latency
+ * percentiles of lobby creation, connection and message forwarding, the throughput and the errors.
+ * Run it with {@code ./gradlew :battleship-server:loadTest -PloadTestArgs="--games 1000 --concurrency 200"}.
+ * <p>
+ * With {@code --compare} the same load runs twice, against a server on the platform thread pool of Jetty and against
+ * one on virtual threads, optionally while {@code --hold} idle lobby feed connections stay open, and the two runs are
+ * printed side by side.
+ */
+public class LoadTest {
+    final Options options = new Options();
+    final CommandLine cmd;
+
+    public LoadTest(String[] args) throws ParseException {
+        options.addOption("h", "help", false, "Show help");
+        options.addOption("g", "games", true, "Number of games to play (default 200)");
+        options.addOption("c", "concurrency", true, "Maximum number of games played at the same time (default: all of them)");
+        options.addOption("t", "timeout", true, "Seconds a game may take before it is counted as failed (default 30)");
+        options.addOption("s", "seed", true, "Seed of the random fleets and shots (default 42)");
+        options.addOption("l", "server-logs", false, "Keep the info logs of the server, muted by default");
+        options.addOption(null, "virtual-threads", false, "Run the handlers of the server on virtual threads");
+        options.addOption(null, "compare", false, "Run the load on the platform thread pool, then on virtual threads, and compare");
+        options.addOption(null, "hold", true, "Idle lobby feed connections held open during the games (default 0)");
+        cmd = new DefaultParser().parse(options, args);
+    }
+
+    int intOption(String option, int defaultValue) {
+        return cmd.hasOption(option) ? Integer.parseInt(cmd.getOptionValue(option)) : defaultValue;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTest loadTest;
+        try {
+            loadTest = new LoadTest(args);
+        } catch (ParseException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        if (loadTest.cmd.hasOption("h")) {
+            loadTest.printHelp();
+            return;
+        }
+        boolean healthy = loadTest.run();
+        System.exit(healthy ? 0 : 1);
+    }
+
+    void printHelp() throws IOException {
+        HelpFormatter formatter = HelpFormatter.builder().get();
+        formatter.printHelp("loadTest", "", options, "", true);
+    }
+
+    /**
+     * Plays the games, once or once per execution mode, and prints the report.
+     *
+     * @return true if every game completed
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    boolean run() throws InterruptedException {
+        int games = intOption("g", 200);
+        int concurrency = intOption("c", games);
+        Duration timeout = Duration.ofSeconds(intOption("t", 30));
+        long seed = intOption("s", 42);
+        int hold = intOption("hold", 0);
+        if (!cmd.hasOption("l")) {
+            Configurator.setRootLevel(Level.WARN);
+        }
+
+        if (cmd.hasOption("compare")) {
+            RunResult platform = play(false, games, concurrency, timeout, seed, hold);
+            RunResult virtual = play(true, games, concurrency, timeout, seed, hold);
+            printComparison(platform, virtual);
+            return platform.healthy() && virtual.healthy();
+        }
+        RunResult result = play(cmd.hasOption("virtual-threads"), games, concurrency, timeout, seed, hold);
+        printReport(result.stats(), result.elapsedNanos());
+        return result.healthy();
+    }
+
+    /**
+     * Starts a server, holds the idle connections, plays the games and stops the server.
+     *
+     * @param virtualThreads whether the server runs its handlers on virtual threads
+     * @param games          the number of games to play
+     * @param concurrency    the maximum number of games played at the same time
+     * @param timeout        the time a game may take
+     * @param seed           the seed of the first game
+     * @param hold           the number of idle connections to hold during the games
+     * @return the measurements of the run
+     * @throws InterruptedException if interrupted while waiting for the games
+     */
+    RunResult play(boolean virtualThreads, int games, int concurrency, Duration timeout, long seed, int hold) throws InterruptedException {
+        WebServerApp server = new WebServerApp(0, virtualThreads);
+        server.run();
+        int port = server.getPort();
+        URI lobbiesUri = URI.create("http://localhost:" + port + Defaults.HTTP_LOBBY_PATH);
+        URI socketUri = URI.create("ws://localhost:" + port + Defaults.HTTP_LOBBY_PATH);
+        URI feedUri = URI.create("ws://localhost:" + port + Defaults.HTTP_LOBBY_FEED_PATH);
+        System.out.printf("Playing %d games, %d at a time, against the server on port %d (%s threads)%n",
+                games, concurrency, port, mode(virtualThreads));
+
+        LoadTestStats stats = new LoadTestStats();
+        Gson gson = new Gson();
+        Semaphore slots = new Semaphore(concurrency);
+        List<WebSocket> held = List.of();
+        long start;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(executor).build()) {
+            held = holdConnections(httpClient, feedUri, hold, timeout);
+            if (hold > 0) {
+                System.out.printf("Holding %d of %d idle connections%n", held.size(), hold);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < games; i++) {
+                SimulatedGame game = new SimulatedGame(i, lobbiesUri, socketUri, httpClient, gson, seed + i, timeout, stats);
+                slots.acquire();
+                executor.execute(() -> {
+                    try {
+                        game.play();
+                    } finally {
+                        slots.release();
+                    }
+                });
+            }
+            slots.acquire(concurrency);
+            long elapsed = System.nanoTime() - start;
+            held.forEach(socket -> socket.sendClose(WebSocket.NORMAL_CLOSURE, "Load test complete"));
+            return new RunResult(virtualThreads, stats, elapsed, held.size());
+        } finally {
+            server.close();
+        }
+    }
+
+    /**
+     * Opens idle connections to the lobby feed, all at once, and keeps the ones that opened within the timeout.
+     *
+     * @param httpClient the client opening the connections
+     * @param feedUri    the lobby feed endpoint
+     * @param count      the number of connections to open
+     * @param timeout    the time the connections have to open
+     * @return the open connections
+     * @throws InterruptedException if interrupted while waiting for the connections
+     */
+    static List<WebSocket> holdConnections(HttpClient httpClient, URI feedUri, int count, Duration timeout) throws InterruptedException {
+        List<CompletableFuture<WebSocket>> pending = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            pending.add(httpClient.newWebSocketBuilder().buildAsync(feedUri, new WebSocket.Listener() {
+            }));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<WebSocket> held = new ArrayList<>(count);
+        for (CompletableFuture<WebSocket> connection : pending) {
+            try {
+                held.add(connection.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (ExecutionException | TimeoutException e) {
+                connection.cancel(true);
+            }
+        }
+        return held;
+    }
+
+    static void printReport(LoadTestStats stats, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        LatencyRecorder.Summary forwarded = stats.getForwardLatency().summarize();
+        System.out.println();
+        System.out.printf("Games: %d completed, %d failed in %.2f s (%.1f games/s)%n",
+                stats.getCompletedGames().get(), stats.getFailedGames().get(), seconds, stats.getCompletedGames().get() / seconds);
+        System.out.printf("Forwarded messages: %d (%.0f msg/s)%n", forwarded.count(), forwarded.count() / seconds);
+        System.out.printf("Errors: %d%n", stats.getErrors().sum());
+        for (Map.Entry<String, ?> cause : stats.getFailureCauses().entrySet()) {
+            System.out.printf("  %s x%s%n", cause.getKey(), cause.getValue());
+        }
+        System.out.println();
+        System.out.printf("%-16s %8s %10s %10s %10s %10s %10s%n", "latency (ms)", "count", "p50", "p90", "p99", "p99.9", "max");
+        printLatency("lobby create", stats.getLobbyCreateLatency().summarize());
+        printLatency("connect + auth", stats.getConnectLatency().summarize());
+        printLatency("forward", forwarded);
+        printLatency("game", stats.getGameDuration().summarize());
+    }
+
+    static void printComparison(RunResult platform, RunResult virtual) {
+        System.out.println();
+        System.out.printf("%-24s %14s %14s%n", "execution mode", mode(platform.virtualThreads()), mode(virtual.virtualThreads()));
+        System.out.printf("%-24s %14d %14d%n", "connections held", platform.heldConnections(), virtual.heldConnections());
+        System.out.printf("%-24s %14d %14d%n", "failed games", platform.stats().getFailedGames().get(), virtual.stats().getFailedGames().get());
+        System.out.printf("%-24s %14.1f %14.1f%n", "games/s", platform.gamesPerSecond(), virtual.gamesPerSecond());
+        printComparedLatency("p99 lobby create (ms)", platform.stats().getLobbyCreateLatency(), virtual.stats().getLobbyCreateLatency());
+        printComparedLatency("p99 connect + auth (ms)", platform.stats().getConnectLatency(), virtual.stats().getConnectLatency());
+        printComparedLatency("p99 forward (ms)", platform.stats().getForwardLatency(), virtual.stats().getForwardLatency());
+    }
+
+    static void printComparedLatency(String name, LatencyRecorder platform, LatencyRecorder virtual) {
+        System.out.printf("%-24s %14.3f %14.3f%n", name, millis(platform.summarize().p99()), millis(virtual.summarize().p99()));
+    }
+
+    static String mode(boolean virtualThreads) {
+        return virtualThreads ? "virtual" : "platform";
+    }
+
+    static void printLatency(String name, LatencyRecorder.Summary summary) {
+        System.out.printf("%-16s %8d %10.3f %10.3f %10.3f %10.3f %10.3f%n", name, summary.count(),
+                millis(summary.p50()), millis(summary.p90()), millis(summary.p99()), millis(summary.p999()), millis(summary.max()));
+    }
+
+    static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Measurements of a run against one server.
+     *
+     * @param virtualThreads whether the server ran its handlers on virtual threads
+     * @param stats          the measurements of the games
+     * @param elapsedNanos   the duration of the games
+     * @param heldConnections the idle connections held open during the games
+     */
+    record RunResult(boolean virtualThreads, LoadTestStats stats, long elapsedNanos, int heldConnections) {
+        boolean healthy() {
+            return stats.getFailedGames().get() == 0;
+        }
+
+        double gamesPerSecond() {
+            return stats.getCompletedGames().get() / (elapsedNanos / 1e9);
+        }
+    }
+}
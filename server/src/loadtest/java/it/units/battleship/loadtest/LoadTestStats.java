@@ -0,0 +1,48 @@
+package it.units.battleship.loadtest;
+
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measurements shared by all the simulated games of a run.
+ */
+@Getter
+public class LoadTestStats {
+    /**
+     * Time taken by {@code POST /api/lobbies}.
+     */
+    final LatencyRecorder lobbyCreateLatency = new LatencyRecorder();
+    /**
+     * Time from opening the socket to the authentication response.
+     */
+    final LatencyRecorder connectLatency = new LatencyRecorder();
+    /**
+     * Time from a player sending a game message to its opponent receiving it.
+     */
+    final LatencyRecorder forwardLatency = new LatencyRecorder();
+    /**
+     * Duration of the games that completed, from lobby creation to game over.
+     */
+    final LatencyRecorder gameDuration = new LatencyRecorder();
+    final AtomicInteger completedGames = new AtomicInteger();
+    final AtomicInteger failedGames = new AtomicInteger();
+    final LongAdder errors = new LongAdder();
+    /**
+     * Number of failed games by cause, so that a run with many failures stays readable.
+     */
+    final Map<String, AtomicInteger> failureCauses = new ConcurrentHashMap<>();
+
+    /**
+     * Records a failed game.
+     *
+     * @param cause the first error the game ran into
+     */
+    void recordFailure(String cause) {
+        failedGames.incrementAndGet();
+        failureCauses.computeIfAbsent(cause, key -> new AtomicInteger()).incrementAndGet();
+    }
+}
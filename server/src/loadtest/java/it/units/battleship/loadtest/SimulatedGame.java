@@ -0,0 +1,137 @@
+package it.units.battleship.loadtest;
+
+import com.google.gson.Gson;
+import it.units.battleship.data.LobbyCreateRequestData;
+import it.units.battleship.data.LobbyData;
+import lombok.Getter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A complete game between two {@link SimulatedPlayer}s: lobby creation over HTTP, authentication and ready
+ * messages over the socket, then shots until one fleet is sunk.
+ */
+public class SimulatedGame {
+    final int id;
+    final URI lobbiesUri;
+    final URI socketUri;
+    final HttpClient httpClient;
+    final Gson gson;
+    final Random random;
+    final Duration timeout;
+    @Getter
+    final LoadTestStats stats;
+    final CompletableFuture<Void> outcome = new CompletableFuture<>();
+
+    public SimulatedGame(int id, URI lobbiesUri, URI socketUri, HttpClient httpClient, Gson gson, long seed, Duration timeout, LoadTestStats stats) {
+        this.id = id;
+        this.lobbiesUri = lobbiesUri;
+        this.socketUri = socketUri;
+        this.httpClient = httpClient;
+        this.gson = gson;
+        this.random = new Random(seed);
+        this.timeout = timeout;
+        this.stats = stats;
+    }
+
+    /**
+     * Plays the game to the end and records its measurements.
+     * Failures are recorded in the stats instead of being thrown, so one broken game does not stop the run.
+     */
+    public void play() {
+        long start = System.nanoTime();
+        SimulatedPlayer playerOne = new SimulatedPlayer("load-" + id + "-one", this, gson, random);
+        SimulatedPlayer playerTwo = new SimulatedPlayer("load-" + id + "-two", this, gson, random);
+        playerOne.opponent = playerTwo;
+        playerTwo.opponent = playerOne;
+        try {
+            String lobbyID = createLobby(playerOne.name);
+            connect(playerOne, lobbyID);
+            connect(playerTwo, lobbyID);
+            playerOne.ready();
+            playerTwo.ready();
+            outcome.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            stats.getGameDuration().record(System.nanoTime() - start);
+            stats.getCompletedGames().incrementAndGet();
+        } catch (TimeoutException e) {
+            fail("timed out");
+            stats.recordFailure("timed out");
+        } catch (ExecutionException e) {
+            stats.recordFailure(e.getCause().getMessage().replaceAll("load-\\d+-", ""));
+        } catch (Exception e) {
+            fail(e.toString());
+            stats.recordFailure(e.getClass().getSimpleName());
+        } finally {
+            close(playerOne);
+            close(playerTwo);
+        }
+    }
+
+    String createLobby(String playerName) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(lobbiesUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(new LobbyCreateRequestData("Load test " + id, playerName))))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        stats.getLobbyCreateLatency().record(System.nanoTime() - start);
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("lobby creation answered " + response.statusCode());
+        }
+        return gson.fromJson(response.body(), LobbyData.class).getLobbyID();
+    }
+
+    void connect(SimulatedPlayer player, String lobbyID) throws Exception {
+        long start = System.nanoTime();
+        WebSocket socket = httpClient.newWebSocketBuilder()
+                .connectTimeout(timeout)
+                .buildAsync(socketUri, player)
+                .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        player.attach(socket);
+        player.authenticate(lobbyID);
+        if (!player.authenticated.get(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("authentication refused");
+        }
+        stats.getConnectLatency().record(System.nanoTime() - start);
+    }
+
+    void close(SimulatedPlayer player) {
+        WebSocket socket;
+        synchronized (player) {
+            socket = player.socket;
+        }
+        if (socket != null) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "Load test complete");
+        }
+    }
+
+    /**
+     * Ends the game successfully.
+     */
+    void finish() {
+        outcome.complete(null);
+    }
+
+    /**
+     * Ends the game with an error. Only the first error of a game is kept, errors after the end of the game
+     * (such as the server closing the sockets) are ignored.
+     *
+     * @param cause a description of the error
+     */
+    void fail(String cause) {
+        if (outcome.completeExceptionally(new IllegalStateException(cause))) {
+            stats.getErrors().increment();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package it.units.battleship.loadtest;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import it.units.battleship.CellState;
+import it.units.battleship.Coordinate;
+import it.units.battleship.Defaults;
+import it.units.battleship.GameState;
+import it.units.battleship.GridMapper;
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.MessageTypeSniffer;
+import it.units.battleship.data.socket.WebSocketAuthenticationRequest;
+import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridUpdateDTO;
+import it.units.battleship.data.socket.payloads.ShotRequestDTO;
+
+import java.lang.reflect.Type;
+import java.net.http.WebSocket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * One side of a simulated game, speaking the JSON protocol of the game client.
+ * <p>
+ * The player answers every shot with a grid update, shoots back at a random cell it has not shot yet and declares
+ * the game over once all its ship cells are hit. Ship cells are drawn at random, the server never sees the fleet.
+ * <p>
+ * The send time of every message the server forwards is queued on the sender, the opponent takes it off the queue
+ * when the message arrives: one connection per player and the lobby mailbox keep each direction in order, so the
+ * difference is the forwarding latency of that message.
+ */
+public class SimulatedPlayer implements WebSocket.Listener {
+    static final Type AUTHENTICATION_RESPONSE_TYPE = new TypeToken<WebSocketMessage<Boolean>>() {
+    }.getType();
+    static final Type STATUS_MESSAGE_TYPE = new TypeToken<WebSocketMessage<GameStatusDTO>>() {
+    }.getType();
+    static final Type SHOT_MESSAGE_TYPE = new TypeToken<WebSocketMessage<ShotRequestDTO>>() {
+    }.getType();
+    static final Type ERROR_MESSAGE_TYPE = new TypeToken<WebSocketMessage<String>>() {
+    }.getType();
+
+    final String name;
+    final SimulatedGame game;
+    final Gson gson;
+    final CompletableFuture<Boolean> authenticated = new CompletableFuture<>();
+    /**
+     * Send times of the messages the server forwards to the opponent, oldest first.
+     */
+    final ConcurrentLinkedQueue<Long> inFlight = new ConcurrentLinkedQueue<>();
+    final StringBuilder partialMessage = new StringBuilder();
+    final CellState[][] board = new CellState[Defaults.GRID_ROWS][Defaults.GRID_COLS];
+    final boolean[] shipCells = new boolean[Defaults.GRID_ROWS * Defaults.GRID_COLS];
+    final int[] shots;
+    int shipCellsLeft;
+    int nextShot;
+
+    volatile SimulatedPlayer opponent;
+    WebSocket socket;
+    CompletableFuture<WebSocket> sendChain;
+
+    public SimulatedPlayer(String name, SimulatedGame game, Gson gson, Random random) {
+        this.name = name;
+        this.game = game;
+        this.gson = gson;
+        for (CellState[] row : board) {
+            Arrays.fill(row, CellState.EMPTY);
+        }
+        int fleetCells = Defaults.FLEET_CONFIGURATION.entrySet().stream()
+                .mapToInt(entry -> entry.getKey().getSize() * entry.getValue())
+                .sum();
+        int[] cells = shuffledCells(random);
+        for (int i = 0; i < fleetCells; i++) {
+            shipCells[cells[i]] = true;
+        }
+        shipCellsLeft = fleetCells;
+        shots = shuffledCells(random);
+    }
+
+    private static int[] shuffledCells(Random random) {
+        int[] cells = new int[Defaults.GRID_ROWS * Defaults.GRID_COLS];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = i;
+        }
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = cells[i];
+            cells[i] = cells[j];
+            cells[j] = swap;
+        }
+        return cells;
+    }
+
+    /**
+     * Sends the authentication request for the given lobby.
+     *
+     * @param lobbyID the lobby to join
+     */
+    void authenticate(String lobbyID) {
+        send(GameMessageType.AUTHENTICATE, new WebSocketAuthenticationRequest(lobbyID, name), false);
+    }
+
+    /**
+     * Tells the server the fleet is placed, the game starts when both players are ready.
+     */
+    void ready() {
+        send(GameMessageType.TURN_CHANGE, new GameStatusDTO(GameState.WAITING_SETUP, Defaults.MSG_READY_TO_PLAY), false);
+    }
+
+    /**
+     * Sends a message, after the ones already being sent: the JDK WebSocket accepts one outstanding send at a time.
+     *
+     * @param type      the type of the message
+     * @param payload   the payload of the message
+     * @param forwarded true if the server forwards the message to the opponent, so its latency is measured
+     */
+    synchronized void send(GameMessageType type, Object payload, boolean forwarded) {
+        String json = gson.toJson(new WebSocketMessage<>(type.getType(), payload));
+        if (forwarded) {
+            inFlight.add(System.nanoTime());
+        }
+        sendChain = sendChain.thenCompose(ws -> ws.sendText(json, true));
+        sendChain.exceptionally(e -> {
+            game.fail(name + " could not send " + type.getType() + ": " + e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Binds the player to its socket. Called both from {@link #onOpen} and once the connection future completes,
+     * whichever comes first.
+     *
+     * @param webSocket the open socket
+     */
+    synchronized void attach(WebSocket webSocket) {
+        if (socket == null) {
+            socket = webSocket;
+            sendChain = CompletableFuture.completedFuture(webSocket);
+        }
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        attach(webSocket);
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partialMessage.append(data);
+        if (last) {
+            String message = partialMessage.toString();
+            partialMessage.setLength(0);
+            try {
+                handleMessage(message);
+            } catch (RuntimeException e) {
+                game.fail(name + " could not handle " + message + ": " + e);
+            }
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    void handleMessage(String message) {
+        String type = MessageTypeSniffer.sniffType(message);
+        if (type == null) {
+            game.fail(name + " received a message without type");
+            return;
+        }
+        switch (type) {
+            case "authenticate" -> {
+                WebSocketMessage<Boolean> response = gson.fromJson(message, AUTHENTICATION_RESPONSE_TYPE);
+                authenticated.complete(Boolean.TRUE.equals(response.getData()));
+            }
+            case "error" -> {
+                WebSocketMessage<String> error = gson.fromJson(message, ERROR_MESSAGE_TYPE);
+                game.fail(name + " received an error: " + error.getData());
+            }
+            case "turn_change" -> {
+                WebSocketMessage<GameStatusDTO> statusMessage = gson.fromJson(message, STATUS_MESSAGE_TYPE);
+                GameStatusDTO status = statusMessage.getData();
+                if (status.state() == GameState.ACTIVE_TURN) {
+                    fire();
+                } else if (status.state() == GameState.GAME_OVER) {
+                    recordForwarded();
+                    game.finish();
+                }
+            }
+            case "shot_request" -> {
+                recordForwarded();
+                WebSocketMessage<ShotRequestDTO> shot = gson.fromJson(message, SHOT_MESSAGE_TYPE);
+                handleShot(shot.getData().coord());
+            }
+            case "grid_update" -> recordForwarded();
+            default -> {
+                // lobby and protocol messages do not affect the game
+            }
+        }
+    }
+
+    void handleShot(Coordinate coordinate) {
+        int cell = coordinate.row() * Defaults.GRID_COLS + coordinate.col();
+        boolean hit = shipCells[cell] && board[coordinate.row()][coordinate.col()] == CellState.EMPTY;
+        if (hit) {
+            shipCellsLeft--;
+        }
+        board[coordinate.row()][coordinate.col()] = shipCells[cell] ? CellState.HIT : CellState.MISS;
+        send(GameMessageType.GRID_UPDATE, new GridUpdateDTO(hit, GridMapper.serialize(board), List.of()), true);
+        if (shipCellsLeft == 0) {
+            send(GameMessageType.TURN_CHANGE, new GameStatusDTO(GameState.GAME_OVER, Defaults.MSG_VICTORY), true);
+        } else {
+            fire();
+        }
+    }
+
+    void fire() {
+        if (nextShot == shots.length) {
+            game.fail(name + " ran out of cells to shoot");
+            return;
+        }
+        int cell = shots[nextShot++];
+        send(GameMessageType.SHOT_REQUEST, new ShotRequestDTO(new Coordinate(cell / Defaults.GRID_COLS, cell % Defaults.GRID_COLS)), true);
+    }
+
+    void recordForwarded() {
+        Long sentAt = opponent.inFlight.poll();
+        if (sentAt == null) {
+            game.fail(name + " received a message its opponent did not send");
+            return;
+        }
+        game.getStats().getForwardLatency().record(System.nanoTime() - sentAt);
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        game.fail(name + " disconnected by the server: " + statusCode + " " + reason);
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        game.fail(name + " socket error: " + error);
+    }
+}
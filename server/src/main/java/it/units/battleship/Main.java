@@ -14,6 +14,7 @@ public class Main {
      * @param args Command line arguments for configuring the server. Supported options include:
      *             -h, --help: Display help information about the command line options.
      *             -v, --version: Display the version of the Battleship server.
+     *             --virtual-threads: Run the HTTP handlers and WebSocket callbacks on virtual threads.
      */
     public static void main(String[] args) {
         System.setProperty("programPath", PathManager.getProgramPath().resolve("logs").toAbsolutePath().normalize().toString());
@@ -25,10 +26,14 @@ public class Main {
             } else if (cls.isVersionRequested()) {
                 System.out.println("Battleship Server Version: " + BuildConstants.VERSION);
             } else {
-                WebServerApp webServerApp = new WebServerApp(cls.getServerPort());
-                Thread serverThread = new Thread(webServerApp);
-                serverThread.start();
+                WebServerApp webServerApp = new WebServerApp(cls.getServerPort(), cls.isVirtualThreadsEnabled());
+                webServerApp.setOutboundQueueLimit(cls.getOutboundQueueLimit());
+                webServerApp.run();
+                // the threads of Jetty may all be virtual, hence daemon: the main thread keeps the JVM alive
+                webServerApp.awaitTermination();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (ParseException | IOException e) {
             e.printStackTrace();
         }
@@ -8,10 +8,15 @@ import it.units.battleship.models.Lobby;
 import it.units.battleship.models.LobbySerializer;
 import it.units.battleship.routes.lobbies.LobbiesController;
 import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbyFeedController;
+import it.units.battleship.routes.metrics.MetricsController;
+import it.units.battleship.routes.metrics.MetricsService;
 import it.units.battleship.routes.ping.PingController;
 import lombok.Getter;
+import lombok.Setter;
 
 import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * WebServerApp class that initializes and starts a Javalin web server.
@@ -20,13 +25,26 @@ public class WebServerApp extends Thread {
     @Getter
     final Gson gson = new GsonBuilder()
             .registerTypeAdapter(Lobby.class, new LobbySerializer())
-            .setPrettyPrinting()
             .create();
     @Getter
     final Javalin app;
     final int port;
+    /**
+     * Whether Jetty runs the HTTP handlers and WebSocket callbacks on virtual threads instead of its platform pool.
+     */
+    @Getter
+    final boolean virtualThreads;
+    final CountDownLatch stopped = new CountDownLatch(1);
     @Getter
     final LobbiesService lobbiesService = new LobbiesService();
+    @Getter
+    final MetricsService metricsService = new MetricsService(lobbiesService);
+    /**
+     * Maximum number of frames waiting to be sent to a WebSocket client before it is disconnected as a slow consumer.
+     */
+    @Getter
+    @Setter
+    int outboundQueueLimit = Defaults.OUTBOUND_QUEUE_LIMIT;
 
     /**
      * Array of AbstractRoute instances representing the different routes of the web server.
@@ -34,22 +52,39 @@ public class WebServerApp extends Thread {
     final AbstractRoute<?>[] routes = new AbstractRoute<?>[]{
             new PingController(this),
             new LobbiesController(this),
+            new LobbyFeedController(this),
+            new MetricsController(this),
     };
 
     /**
-     * Constructor for WebServerApp.
+     * Constructor for WebServerApp, running the handlers on the platform thread pool of Jetty.
      *
      * @param port the port number on which the server will run
      */
     public WebServerApp(int port) {
+        this(port, false);
+    }
+
+    /**
+     * Constructor for WebServerApp.
+     * In the virtual-thread mode every request and WebSocket callback gets its own virtual thread, so a handler that
+     * blocks (e.g. on a slow send) parks cheaply instead of holding one of the few threads of the platform pool.
+     *
+     * @param port           the port number on which the server will run
+     * @param virtualThreads whether to run the handlers on virtual threads
+     */
+    public WebServerApp(int port, boolean virtualThreads) {
         this.port = port;
+        this.virtualThreads = virtualThreads;
         this.app = Javalin.create(config -> {
+            config.useVirtualThreads = virtualThreads;
             config.jetty.modifyWebSocketServletFactory(factory -> {
                 factory.setIdleTimeout(Duration.ofHours(1));
             });
             config.router.mount(router -> {
                 router.before(ctx -> {
-                    Logger.log(String.format("[%s] %s %s", ctx.method(), ctx.path(), ctx.ip()));
+                    metricsService.recordHttpRequest();
+                    Logger.log("[{}] {} {}", ctx.method(), ctx.path(), ctx.ip());
                 });
                 for (AbstractRoute<?> route : routes) {
                     router.get(route.getRoutePath(), route::handleGetRequest);
@@ -70,10 +105,31 @@ public class WebServerApp extends Thread {
         app.start(port);
     }
 
+    /**
+     * Returns the port the server listens on.
+     * When the server was created with port 0, this is the port picked by the system once the server has started.
+     *
+     * @return the port number of the running server
+     */
+    public int getPort() {
+        return app.port();
+    }
+
+    /**
+     * Waits until the server is stopped by {@link #close()}.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitTermination() throws InterruptedException {
+        stopped.await();
+    }
+
     /**
      * Stops the Javalin web server.
      */
     public void close() {
         app.stop();
+        lobbiesService.close();
+        stopped.countDown();
     }
 }
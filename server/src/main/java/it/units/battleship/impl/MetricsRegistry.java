@@ -0,0 +1,206 @@
+package it.units.battleship.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process registry of metrics, exposed in the Prometheus text format.
+ * <p>
+ * The instruments are created once, at registration, and then updated directly by the code they measure: a counter is
+ * a {@link LongAdder}, a latency is a {@link LatencyHistogram}, so recording never allocates nor goes through the
+ * registry. Gauges, and counters kept elsewhere, are read from a {@link LongSupplier} only when the metrics are
+ * scraped; the scrape hooks run first, to compute in one pass the values read by several gauges.
+ * <p>
+ * Each series is identified by its name and labels, given as alternating names and values.
+ */
+public class MetricsRegistry {
+    /**
+     * The quantiles exported for every latency histogram.
+     */
+    static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    final Map<String, Family> families = new LinkedHashMap<>();
+    final List<Runnable> scrapeHooks = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a counter updated by the caller.
+     *
+     * @param name   the metric name, by convention ending in {@code _total}
+     * @param help   the description of the metric
+     * @param labels the labels of the series, as alternating names and values
+     * @return the counter to increment
+     */
+    public LongAdder counter(String name, String help, String... labels) {
+        LongAdder counter = new LongAdder();
+        counter(name, help, counter::sum, labels);
+        return counter;
+    }
+
+    /**
+     * Registers a counter whose value is kept elsewhere and read at every scrape.
+     *
+     * @param name   the metric name, by convention ending in {@code _total}
+     * @param help   the description of the metric
+     * @param value  reads the current value, which never decreases
+     * @param labels the labels of the series, as alternating names and values
+     */
+    public void counter(String name, String help, LongSupplier value, String... labels) {
+        register(name, help, "counter", labels, value);
+    }
+
+    /**
+     * Registers a gauge read at every scrape.
+     *
+     * @param name   the metric name
+     * @param help   the description of the metric
+     * @param value  reads the current value
+     * @param labels the labels of the series, as alternating names and values
+     */
+    public void gauge(String name, String help, LongSupplier value, String... labels) {
+        register(name, help, "gauge", labels, value);
+    }
+
+    /**
+     * Registers a latency histogram, exported as a summary with the quantiles, the sum and the count in seconds.
+     *
+     * @param name   the metric name, by convention ending in {@code _seconds}
+     * @param help   the description of the metric
+     * @param labels the labels of the series, as alternating names and values
+     * @return the histogram to record to
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram(name, help, histogram, labels);
+        return histogram;
+    }
+
+    /**
+     * Registers a latency histogram recorded by another component.
+     *
+     * @param name      the metric name, by convention ending in {@code _seconds}
+     * @param help      the description of the metric
+     * @param histogram the histogram to export
+     * @param labels    the labels of the series, as alternating names and values
+     */
+    public void histogram(String name, String help, LatencyHistogram histogram, String... labels) {
+        register(name, help, "summary", labels, histogram);
+    }
+
+    /**
+     * Adds a task run at the beginning of every scrape, before any value is read.
+     *
+     * @param hook the task to run
+     */
+    public void beforeScrape(Runnable hook) {
+        scrapeHooks.add(hook);
+    }
+
+    synchronized void register(String name, String help, String type, String[] labels, Object source) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("The labels of " + name + " must be name and value pairs");
+        }
+        Family family = families.computeIfAbsent(name, key -> new Family(name, help, type));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException(name + " is already registered as a " + family.type);
+        }
+        String renderedLabels = renderLabels(labels);
+        for (Series series : family.series) {
+            if (series.labels.equals(renderedLabels)) {
+                throw new IllegalArgumentException(name + "{" + renderedLabels + "} is already registered");
+            }
+        }
+        family.series.add(new Series(renderedLabels, source));
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format, version 0.0.4.
+     *
+     * @return the metrics page
+     */
+    public synchronized String scrape() {
+        for (Runnable hook : scrapeHooks) {
+            hook.run();
+        }
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name).append(' ').append(escapeHelp(family.help)).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ').append(family.type).append('\n');
+            for (Series series : family.series) {
+                if (series.source instanceof LatencyHistogram histogram) {
+                    writeSummary(out, family.name, series.labels, histogram);
+                } else {
+                    writeSample(out, family.name, series.labels, Long.toString(((LongSupplier) series.source).getAsLong()));
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    static void writeSummary(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        String separator = labels.isEmpty() ? "" : ",";
+        for (double quantile : QUANTILES) {
+            writeSample(out, name, labels + separator + "quantile=\"" + quantile + "\"",
+                    seconds(histogram.valueAtQuantile(quantile)));
+        }
+        writeSample(out, name + "_sum", labels, seconds(histogram.getSum()));
+        writeSample(out, name + "_count", labels, Long.toString(histogram.getCount()));
+    }
+
+    static void writeSample(StringBuilder out, String name, String labels, String value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    static String renderLabels(String[] labels) {
+        StringBuilder rendered = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                rendered.append(',');
+            }
+            rendered.append(labels[i]).append("=\"").append(escapeLabelValue(labels[i + 1])).append('"');
+        }
+        return rendered.toString();
+    }
+
+    static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    /**
+     * The series sharing a metric name.
+     */
+    static final class Family {
+        final String name;
+        final String help;
+        final String type;
+        final List<Series> series = new ArrayList<>();
+
+        Family(String name, String help, String type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+    }
+
+    /**
+     * A series: its rendered labels and the {@link LongSupplier} or {@link LatencyHistogram} holding its value.
+     */
+    record Series(String labels, Object source) {
+    }
+}
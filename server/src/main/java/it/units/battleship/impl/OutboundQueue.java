@@ -0,0 +1,274 @@
+package it.units.battleship.impl;
+
+import it.units.battleship.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue of the frames waiting to be written to a WebSocket connection.
+ * <p>
+ * Offering a frame only enqueues it: the frames are written by a drain on the backing executor, one at a time and in
+ * offer order, so the thread that produced the message (e.g. the mailbox of a lobby) never waits for a slow peer.
+ * A frame can carry a coalescing key: a frame with the same key that is still waiting is superseded and dropped,
+ * only the latest one is sent, at the position of the latest offer.
+ * <p>
+ * A peer that lets more than {@link #getCapacity()} frames pile up is a slow consumer: its queue is discarded and the
+ * overflow handler (typically closing the connection) runs once, instead of buffering without bound.
+ */
+public class OutboundQueue {
+
+    /**
+     * Maximum number of frames written by a single drain before yielding the thread to other connections.
+     */
+    static final int BATCH_SIZE = 64;
+
+    final Consumer<String> textSink;
+    final Consumer<byte[]> binarySink;
+    final Runnable overflowHandler;
+    final int capacity;
+    final Executor executor;
+
+    final Deque<Frame> frames = new ArrayDeque<>();
+    final Map<String, Frame> pending = new HashMap<>();
+    boolean draining = false;
+    boolean closed = false;
+    int highWater = 0;
+
+    final LongAdder sent = new LongAdder();
+    final LongAdder coalesced = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+
+    /**
+     * Constructs a queue drained on the shared virtual-thread executor.
+     *
+     * @param textSink        writes a text frame to the peer
+     * @param binarySink      writes a binary frame to the peer
+     * @param overflowHandler called once when the peer falls more than {@code capacity} frames behind
+     * @param capacity        the maximum number of frames waiting to be written
+     */
+    public OutboundQueue(Consumer<String> textSink, Consumer<byte[]> binarySink, Runnable overflowHandler, int capacity) {
+        this(textSink, binarySink, overflowHandler, capacity, SerialExecutor.VIRTUAL_THREADS);
+    }
+
+    /**
+     * Constructs a queue drained on the given executor.
+     *
+     * @param textSink        writes a text frame to the peer
+     * @param binarySink      writes a binary frame to the peer
+     * @param overflowHandler called once when the peer falls more than {@code capacity} frames behind
+     * @param capacity        the maximum number of frames waiting to be written
+     * @param executor        the executor that runs the drains of this queue
+     */
+    public OutboundQueue(Consumer<String> textSink, Consumer<byte[]> binarySink, Runnable overflowHandler, int capacity, Executor executor) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive: " + capacity);
+        }
+        this.textSink = textSink;
+        this.binarySink = binarySink;
+        this.overflowHandler = overflowHandler;
+        this.capacity = capacity;
+        this.executor = executor;
+    }
+
+    /**
+     * Enqueues a text frame.
+     *
+     * @param text the frame to send
+     * @return false if the frame was dropped because the queue is closed or overflowed
+     */
+    public boolean offer(String text) {
+        return enqueue(text, null);
+    }
+
+    /**
+     * Enqueues a text frame that supersedes the waiting frame with the same key.
+     *
+     * @param text the frame to send
+     * @param key  the coalescing key, null to never coalesce the frame
+     * @return false if the frame was dropped because the queue is closed or overflowed
+     */
+    public boolean offer(String text, String key) {
+        return enqueue(text, key);
+    }
+
+    /**
+     * Enqueues a binary frame that supersedes the waiting frame with the same key.
+     *
+     * @param frame the frame to send
+     * @param key   the coalescing key, null to never coalesce the frame
+     * @return false if the frame was dropped because the queue is closed or overflowed
+     */
+    public boolean offerBinary(byte[] frame, String key) {
+        return enqueue(frame, key);
+    }
+
+    boolean enqueue(Object payload, String key) {
+        boolean schedule = false;
+        boolean overflow = false;
+        synchronized (this) {
+            if (closed) {
+                dropped.increment();
+                return false;
+            }
+            Frame frame = new Frame(payload, key);
+            if (key != null) {
+                Frame superseded = pending.put(key, frame);
+                if (superseded != null && frames.remove(superseded)) {
+                    coalesced.increment();
+                }
+            }
+            if (frames.size() >= capacity) {
+                dropped.add(frames.size() + 1);
+                discard();
+                overflow = true;
+            } else {
+                frames.addLast(frame);
+                highWater = Math.max(highWater, frames.size());
+                if (!draining) {
+                    draining = true;
+                    schedule = true;
+                }
+            }
+        }
+        if (overflow) {
+            Logger.warn("[OutboundQueue] Slow consumer, more than {} frames waiting: disconnecting", capacity);
+            executor.execute(overflowHandler);
+            return false;
+        }
+        if (schedule) {
+            executor.execute(this::drain);
+        }
+        return true;
+    }
+
+    void drain() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Frame frame;
+            synchronized (this) {
+                frame = frames.pollFirst();
+                if (frame == null) {
+                    draining = false;
+                    return;
+                }
+                if (frame.key != null) {
+                    pending.remove(frame.key, frame);
+                }
+            }
+            write(frame);
+        }
+        executor.execute(this::drain);
+    }
+
+    void write(Frame frame) {
+        try {
+            if (frame.payload instanceof String text) {
+                textSink.accept(text);
+            } else {
+                binarySink.accept((byte[]) frame.payload);
+            }
+            sent.increment();
+        } catch (RuntimeException e) {
+            Logger.warn("[OutboundQueue] Dropping the queue after a failed send: {}", e.getMessage());
+            dropped.increment();
+            close();
+        }
+    }
+
+    /**
+     * Closes the queue: the waiting frames are dropped and every further offer is rejected.
+     */
+    public synchronized void close() {
+        if (!closed) {
+            dropped.add(frames.size());
+            discard();
+        }
+    }
+
+    private void discard() {
+        closed = true;
+        frames.clear();
+        pending.clear();
+    }
+
+    /**
+     * Returns the maximum number of frames that can wait to be written.
+     *
+     * @return the capacity of the queue
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of frames waiting to be written.
+     *
+     * @return the current queue depth
+     */
+    public synchronized int getDepth() {
+        return frames.size();
+    }
+
+    /**
+     * Returns the largest number of frames that waited to be written at the same time.
+     *
+     * @return the maximum queue depth reached
+     */
+    public synchronized int getHighWater() {
+        return highWater;
+    }
+
+    /**
+     * Returns the number of frames written to the peer.
+     *
+     * @return the number of sent frames
+     */
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    /**
+     * Returns the number of frames superseded by a later frame with the same key before being written.
+     *
+     * @return the number of coalesced frames
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of frames never written because the queue overflowed, was closed or a send failed.
+     *
+     * @return the number of dropped frames
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Checks whether the queue was closed, by {@link #close()}, an overflow or a failed send.
+     *
+     * @return true if no more frames are accepted
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * A frame waiting to be written, either a String or a byte array.
+     */
+    static final class Frame {
+        final Object payload;
+        final String key;
+
+        Frame(Object payload, String key) {
+            this.payload = payload;
+            this.key = key;
+        }
+    }
+}
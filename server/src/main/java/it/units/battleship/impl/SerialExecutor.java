@@ -0,0 +1,97 @@
+package it.units.battleship.impl;
+
+import it.units.battleship.Logger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mailbox that runs the submitted tasks one at a time, in submission order, on top of a shared executor.
+ * <p>
+ * Submitting only enqueues the task, so the calling thread (e.g. a Jetty I/O thread) returns immediately.
+ * At most one drain is scheduled on the backing executor at any time, which makes every task of the same
+ * mailbox run sequentially without any lock, while different mailboxes run in parallel.
+ */
+public class SerialExecutor implements Executor {
+
+    /**
+     * Shared backing executor: one cheap virtual thread per drain, so a blocking send never pins a platform thread.
+     */
+    public static final Executor VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Maximum number of tasks run by a single drain before yielding the thread to other mailboxes.
+     */
+    static final int BATCH_SIZE = 64;
+
+    final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    final AtomicBoolean scheduled = new AtomicBoolean(false);
+    final Executor executor;
+
+    /**
+     * Constructs a mailbox backed by the shared virtual-thread executor.
+     */
+    public SerialExecutor() {
+        this(VIRTUAL_THREADS);
+    }
+
+    /**
+     * Constructs a mailbox backed by the given executor.
+     *
+     * @param executor the executor that runs the drains of this mailbox
+     */
+    public SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Enqueues a task; it will run after every task previously submitted to this mailbox.
+     *
+     * @param task the task to run
+     */
+    @Override
+    public void execute(Runnable task) {
+        tasks.offer(task);
+        schedule();
+    }
+
+    /**
+     * Returns the number of tasks waiting to be processed.
+     *
+     * @return the current queue length
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    void drain() {
+        try {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    Logger.exception(t);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // a task may have been enqueued after the last poll but before the flag was released
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
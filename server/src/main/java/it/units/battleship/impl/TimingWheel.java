@@ -0,0 +1,214 @@
+package it.units.battleship.impl;
+
+import it.units.battleship.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, where each timeout waits in the bucket of its deadline.
+ * <p>
+ * {@link #advance()} visits only the buckets of the ticks elapsed since the previous call, so its cost is proportional
+ * to the timeouts that expire (plus the few that hash to the same bucket with a later deadline), not to the number of
+ * pending timeouts. Scheduling and cancelling never touch the wheel: a new timeout is handed over through a concurrent
+ * queue and placed in its bucket by the next advance, a cancelled one is dropped when its bucket is visited.
+ * <p>
+ * The tasks run on the thread calling {@link #advance()}, so they must be short.
+ */
+public class TimingWheel {
+    final long tickMillis;
+    final ArrayDeque<Timeout>[] buckets;
+    final int mask;
+    final LongSupplier clock;
+    final long origin;
+    final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    final AtomicInteger pending = new AtomicInteger();
+    final LongAdder expired = new LongAdder();
+    /**
+     * The next tick to process, only touched by {@link #advance()}.
+     */
+    long nextTick = 0;
+
+    /**
+     * Constructs a timing wheel.
+     *
+     * @param tickMillis the duration of a tick, the resolution of the deadlines
+     * @param wheelSize  the number of buckets, rounded up to a power of two; a deadline further than
+     *                   {@code tickMillis * wheelSize} goes around the wheel more than once
+     * @param clock      the current time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, LongSupplier clock) {
+        if (tickMillis < 1 || wheelSize < 1) {
+            throw new IllegalArgumentException("The tick and the wheel size must be positive");
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ArrayDeque[size];
+        this.mask = size - 1;
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    /**
+     * Returns the current time of the wheel clock.
+     *
+     * @return the current time in milliseconds
+     */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Schedules a task; it runs on the first advance at or after its deadline, unless cancelled.
+     *
+     * @param delayMillis the delay from now
+     * @param task        the task to run
+     * @return the handle to cancel the task
+     */
+    public Timeout schedule(long delayMillis, Runnable task) {
+        Timeout timeout = new Timeout(task, now() + Math.max(0, delayMillis));
+        pending.incrementAndGet();
+        scheduled.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Runs the tasks whose deadline has passed.
+     *
+     * @return the number of tasks run
+     */
+    public synchronized int advance() {
+        long currentTick = (now() - origin) / tickMillis;
+        for (Timeout timeout; (timeout = scheduled.poll()) != null; ) {
+            place(timeout);
+        }
+        int fired = 0;
+        for (; nextTick <= currentTick; nextTick++) {
+            ArrayDeque<Timeout> bucket = buckets[(int) (nextTick & mask)];
+            if (bucket != null) {
+                fired += expire(bucket, nextTick);
+            }
+        }
+        return fired;
+    }
+
+    void place(Timeout timeout) {
+        if (timeout.isCancelled()) {
+            pending.decrementAndGet();
+            return;
+        }
+        // rounded up, so a task never runs before its deadline; a deadline already passed goes to the next tick to process
+        timeout.deadlineTick = Math.max(Math.ceilDiv(timeout.deadline - origin, tickMillis), nextTick);
+        int index = (int) (timeout.deadlineTick & mask);
+        if (buckets[index] == null) {
+            buckets[index] = new ArrayDeque<>();
+        }
+        buckets[index].add(timeout);
+    }
+
+    int expire(ArrayDeque<Timeout> bucket, long tick) {
+        int fired = 0;
+        for (Iterator<Timeout> iterator = bucket.iterator(); iterator.hasNext(); ) {
+            Timeout timeout = iterator.next();
+            if (timeout.isCancelled()) {
+                iterator.remove();
+                pending.decrementAndGet();
+            } else if (timeout.deadlineTick <= tick) {
+                iterator.remove();
+                pending.decrementAndGet();
+                if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                    expired.increment();
+                    fired++;
+                    try {
+                        timeout.task.run();
+                    } catch (Throwable t) {
+                        Logger.exception(t);
+                    }
+                }
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Returns the number of timeouts neither run nor dropped yet, cancelled ones included until their bucket is visited.
+     *
+     * @return the number of pending timeouts
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Returns the number of tasks run since the wheel was created.
+     *
+     * @return the number of expired timeouts
+     */
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * A scheduled task.
+     */
+    public static final class Timeout {
+        static final int PENDING = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        final Runnable task;
+        final long deadline;
+        final AtomicInteger state = new AtomicInteger(PENDING);
+        long deadlineTick;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it did not run yet.
+         *
+         * @return true if the task will not run
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED) || state.get() == CANCELLED;
+        }
+
+        /**
+         * Returns the deadline of the task.
+         *
+         * @return the deadline in milliseconds
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Checks whether the task was cancelled before running.
+         *
+         * @return true if the task was cancelled
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Checks whether the task ran.
+         *
+         * @return true if the deadline passed and the task ran
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+}
@@ -1,20 +1,41 @@
 package it.units.battleship.models;
 
 import it.units.battleship.data.LobbyData;
+import it.units.battleship.impl.SerialExecutor;
+import it.units.battleship.impl.TimingWheel;
 import it.units.battleship.routes.lobbies.LobbySocketClient;
 import lombok.Getter;
 import lombok.Setter;
 
 /**
  * Lobby class representing a game lobby with two players.
+ * Every message concerning the lobby is processed through its {@link #mailbox}, one at a time and in arrival order.
+ * A server-authoritative lobby also holds its {@link ServerGame}, otherwise the server only relays the game messages.
  */
 @Getter
 @Setter
 public class Lobby extends LobbyData {
+    private final transient SerialExecutor mailbox = new SerialExecutor();
     LobbySocketClient playerOneCtx;
     LobbySocketClient playerTwoCtx;
     private boolean playerOneReady = false;
     private boolean playerTwoReady = false;
+    /**
+     * The game engine of a {@link #isServerAuthoritative() server-authoritative} lobby, null for a relay lobby.
+     */
+    private transient ServerGame game;
+    /**
+     * Time of the last message of a player, in milliseconds since the epoch.
+     */
+    private transient volatile long lastActivityAt;
+    /**
+     * The pending expiry check of the lobby, only touched while the lobby is locked in the registry.
+     */
+    private transient TimingWheel.Timeout expiry;
+    /**
+     * Number of authenticated sessions holding the lobby, only touched while the lobby is locked in the registry.
+     */
+    private transient int sessions;
 
     /**
      * Checks if both players in the lobby are ready.
@@ -24,4 +45,20 @@ public class Lobby extends LobbyData {
     public boolean areBothReady() {
         return playerOneReady && playerTwoReady;
     }
+
+    /**
+     * Copies the public fields of the lobby, without the connections and the game state.
+     *
+     * @return the lobby data as sent to the clients
+     */
+    public LobbyData toLobbyData() {
+        return LobbyData.builder()
+                .lobbyID(getLobbyID())
+                .lobbyName(getLobbyName())
+                .playerOne(getPlayerOne())
+                .playerTwo(getPlayerTwo())
+                .serverAuthoritative(isServerAuthoritative())
+                .createdAt(getCreatedAt())
+                .build();
+    }
 }
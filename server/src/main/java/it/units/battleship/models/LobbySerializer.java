@@ -1,6 +1,5 @@
 package it.units.battleship.models;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
@@ -14,21 +13,15 @@ import java.lang.reflect.Type;
 public class LobbySerializer implements JsonSerializer<Lobby> {
 
     /**
-     * Serializes a Lobby object into JSON format. It creates a LobbyData object from the Lobby instance and then converts it to a JSON element using Gson.
+     * Serializes a Lobby object into JSON format. It creates a LobbyData object from the Lobby instance (see {@link Lobby#toLobbyData()}) and then converts it to a JSON element using Gson.
      *
      * @param lobby                    the Lobby object to serialize
      * @param type                     the type of the object being serialized
-     * @param jsonSerializationContext the context for serialization, not used in this implementation
+     * @param jsonSerializationContext the context for serialization, used to serialize the LobbyData without creating a new Gson
      * @return a JsonElement representing the serialized Lobby object
      */
     @Override
     public JsonElement serialize(Lobby lobby, Type type, JsonSerializationContext jsonSerializationContext) {
-        LobbyData lobbyData = LobbyData.builder()
-                .lobbyID(lobby.getLobbyID())
-                .lobbyName(lobby.getLobbyName())
-                .playerOne(lobby.getPlayerOne())
-                .playerTwo(lobby.getPlayerTwo())
-                .build();
-        return new Gson().toJsonTree(lobbyData).getAsJsonObject();
+        return jsonSerializationContext.serialize(lobby.toLobbyData(), LobbyData.class);
     }
 }
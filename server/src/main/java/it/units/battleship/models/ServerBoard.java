@@ -0,0 +1,182 @@
+package it.units.battleship.models;
+
+import it.units.battleship.CellState;
+import it.units.battleship.Coordinate;
+import it.units.battleship.ShipType;
+import it.units.battleship.data.socket.payloads.CellChangeDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.ShipDTO;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static it.units.battleship.Defaults.MIN_DISTANCE_THRESHOLD;
+
+/**
+ * The fleet of one player as held by the server game engine, and the cells the opponent has uncovered so far.
+ * <p>
+ * The fleet is validated once, when it is submitted, against the same rules the clients apply during setup.
+ * Every shot then produces the {@link GridDeltaDTO} the shooter applies to its view of this board, numbered
+ * with the sequence the client expects.
+ */
+public class ServerBoard {
+    @Getter
+    private final int rows;
+    @Getter
+    private final int cols;
+    private final List<ShipDTO> ships;
+    /**
+     * Per cell: the position of the ship covering it plus one, 0 for water.
+     */
+    private final int[] shipAt;
+    private final int[] hitsLeft;
+    /**
+     * Per cell: what the opponent knows about it.
+     */
+    private final CellState[] revealed;
+    private int afloat;
+    private int sequence;
+
+    /**
+     * Validates a fleet and builds the board holding it.
+     *
+     * @param rows               the number of rows of the grid
+     * @param cols               the number of columns of the grid
+     * @param fleetConfiguration the number of ships of each type the fleet must contain
+     * @param fleet              the submitted ships
+     * @throws IllegalArgumentException if the fleet breaks any placement rule
+     */
+    public ServerBoard(int rows, int cols, Map<ShipType, Integer> fleetConfiguration, List<ShipDTO> fleet) {
+        if (fleet == null) {
+            throw new IllegalArgumentException("Fleet is missing");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.ships = List.copyOf(fleet);
+        this.shipAt = new int[rows * cols];
+        this.hitsLeft = new int[ships.size()];
+        this.revealed = new CellState[rows * cols];
+        Arrays.fill(revealed, CellState.EMPTY);
+
+        Map<ShipType, Integer> counts = new EnumMap<>(ShipType.class);
+        for (int i = 0; i < ships.size(); i++) {
+            ShipDTO ship = ships.get(i);
+            if (ship == null || ship.type() == null || ship.orientation() == null || ship.coordinates() == null || ship.coordinates().isEmpty()) {
+                throw new IllegalArgumentException("Ship " + i + " is incomplete");
+            }
+            Coordinate anchor = ship.coordinates().iterator().next();
+            if (!ship.type().fitsInGrid(anchor.row(), anchor.col(), ship.orientation(), rows, cols)) {
+                throw new IllegalArgumentException("Ship " + i + " is outside the grid");
+            }
+            LinkedHashSet<Coordinate> expected = ship.type().getShipCoordinates(anchor, ship.orientation());
+            if (!expected.equals(new LinkedHashSet<>(ship.coordinates()))) {
+                throw new IllegalArgumentException("Ship " + i + " does not match the shape of a " + ship.type().getName());
+            }
+            for (Coordinate coordinate : expected) {
+                int cell = coordinate.row() * cols + coordinate.col();
+                if (shipAt[cell] != 0) {
+                    throw new IllegalArgumentException("Ship " + i + " overlaps another ship");
+                }
+                shipAt[cell] = i + 1;
+            }
+            hitsLeft[i] = ship.type().getSize();
+            counts.merge(ship.type(), 1, Integer::sum);
+        }
+        for (ShipType type : ShipType.values()) {
+            int required = fleetConfiguration.getOrDefault(type, 0);
+            if (counts.getOrDefault(type, 0) != required) {
+                throw new IllegalArgumentException("Fleet must contain " + required + " ships of type " + type.getName());
+            }
+        }
+        checkDistances();
+        this.afloat = ships.size();
+    }
+
+    /**
+     * Checks that at least {@code MIN_DISTANCE_THRESHOLD} empty cells separate the ships, diagonals included.
+     */
+    private void checkDistances() {
+        for (int cell = 0; cell < shipAt.length; cell++) {
+            if (shipAt[cell] == 0) {
+                continue;
+            }
+            int row = cell / cols;
+            int col = cell % cols;
+            for (int r = Math.max(0, row - MIN_DISTANCE_THRESHOLD); r <= Math.min(rows - 1, row + MIN_DISTANCE_THRESHOLD); r++) {
+                for (int c = Math.max(0, col - MIN_DISTANCE_THRESHOLD); c <= Math.min(cols - 1, col + MIN_DISTANCE_THRESHOLD); c++) {
+                    int other = shipAt[r * cols + c];
+                    if (other != 0 && other != shipAt[cell]) {
+                        throw new IllegalArgumentException("Ship " + (shipAt[cell] - 1) + " is too close to ship " + (other - 1));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves a shot on this board.
+     *
+     * @param row the row of the shot
+     * @param col the column of the shot
+     * @return the delta the shooter applies to its view of this board
+     * @throws IllegalArgumentException if the cell is outside the grid or was already shot
+     */
+    public GridDeltaDTO fire(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IllegalArgumentException("Shot outside the grid");
+        }
+        int cell = row * cols + col;
+        if (revealed[cell] != CellState.EMPTY) {
+            throw new IllegalArgumentException("Cell already shot");
+        }
+        int ship = shipAt[cell] - 1;
+        if (ship < 0) {
+            revealed[cell] = CellState.MISS;
+            return new GridDeltaDTO(++sequence, false, false, List.of(new CellChangeDTO(row, col, CellState.MISS)), List.of());
+        }
+        if (--hitsLeft[ship] > 0) {
+            revealed[cell] = CellState.HIT;
+            return new GridDeltaDTO(++sequence, false, true, List.of(new CellChangeDTO(row, col, CellState.HIT)), List.of());
+        }
+        afloat--;
+        List<CellChangeDTO> changes = new ArrayList<>();
+        for (Coordinate coordinate : ships.get(ship).coordinates()) {
+            revealed[coordinate.row() * cols + coordinate.col()] = CellState.SUNK;
+            changes.add(new CellChangeDTO(coordinate.row(), coordinate.col(), CellState.SUNK));
+        }
+        return new GridDeltaDTO(++sequence, false, true, changes, List.of(ships.get(ship)));
+    }
+
+    /**
+     * Builds a resetting delta with everything the opponent has uncovered, to answer a resync request.
+     *
+     * @return the delta replacing the opponent's view of this board
+     */
+    public GridDeltaDTO snapshot() {
+        List<CellChangeDTO> changes = new ArrayList<>();
+        for (int cell = 0; cell < revealed.length; cell++) {
+            if (revealed[cell] != CellState.EMPTY) {
+                changes.add(new CellChangeDTO(cell / cols, cell % cols, revealed[cell]));
+            }
+        }
+        List<ShipDTO> sunk = new ArrayList<>();
+        for (int i = 0; i < ships.size(); i++) {
+            if (hitsLeft[i] == 0) {
+                sunk.add(ships.get(i));
+            }
+        }
+        return new GridDeltaDTO(++sequence, true, false, changes, sunk);
+    }
+
+    /**
+     * @return true if every ship of the fleet is sunk
+     */
+    public boolean isDefeated() {
+        return afloat == 0;
+    }
+}
@@ -0,0 +1,135 @@
+package it.units.battleship.models;
+
+import it.units.battleship.ShipType;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.ShipDTO;
+import it.units.battleship.routes.lobbies.LobbiesService.PlayerType;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Game engine of a server-authoritative lobby: it holds the fleets of both players, submitted once at setup,
+ * and resolves every shot itself, so the shooter gets the outcome without a round trip to the opponent.
+ * <p>
+ * The engine is not thread-safe: it is only touched from the mailbox of its {@link Lobby}.
+ */
+public class ServerGame {
+    private final int rows;
+    private final int cols;
+    private final Map<ShipType, Integer> fleetConfiguration;
+    private final ServerBoard[] boards = new ServerBoard[2];
+    /**
+     * The player allowed to shoot, null before the game starts and after it ends.
+     */
+    @Getter
+    private PlayerType turn;
+    @Getter
+    private PlayerType winner;
+
+    /**
+     * The outcome of a shot.
+     *
+     * @param delta    the delta the shooter applies to its view of the opponent board
+     * @param gameOver true if the shot sank the last ship of the opponent
+     */
+    public record ShotResult(GridDeltaDTO delta, boolean gameOver) {
+    }
+
+    public ServerGame(int rows, int cols, Map<ShipType, Integer> fleetConfiguration) {
+        this.rows = rows;
+        this.cols = cols;
+        this.fleetConfiguration = fleetConfiguration;
+    }
+
+    private static int index(PlayerType player) {
+        return switch (player) {
+            case PLAYER_ONE -> 0;
+            case PLAYER_TWO -> 1;
+            default -> throw new IllegalArgumentException("Not a player of the lobby");
+        };
+    }
+
+    private static PlayerType opponent(PlayerType player) {
+        return player == PlayerType.PLAYER_ONE ? PlayerType.PLAYER_TWO : PlayerType.PLAYER_ONE;
+    }
+
+    /**
+     * Validates and stores the fleet of a player, replacing a fleet submitted before.
+     *
+     * @param player the player submitting the fleet
+     * @param fleet  the ships of the player
+     * @throws IllegalStateException    if the game has already started
+     * @throws IllegalArgumentException if the fleet breaks a placement rule
+     */
+    public void submitFleet(PlayerType player, List<ShipDTO> fleet) {
+        if (isStarted()) {
+            throw new IllegalStateException("The game has already started");
+        }
+        boards[index(player)] = new ServerBoard(rows, cols, fleetConfiguration, fleet);
+    }
+
+    /**
+     * @param player the player to check
+     * @return true if the player has submitted a valid fleet
+     */
+    public boolean hasFleet(PlayerType player) {
+        return boards[index(player)] != null;
+    }
+
+    /**
+     * Starts the game, player one shoots first.
+     *
+     * @throws IllegalStateException if a player has not submitted a fleet
+     */
+    public void start() {
+        if (boards[0] == null || boards[1] == null) {
+            throw new IllegalStateException("Both fleets are required to start");
+        }
+        turn = PlayerType.PLAYER_ONE;
+    }
+
+    /**
+     * @return true once the game has started, even if it is over
+     */
+    public boolean isStarted() {
+        return turn != null || winner != null;
+    }
+
+    /**
+     * Resolves a shot and passes the turn to the opponent, or ends the game if the last ship sank.
+     *
+     * @param shooter the player shooting
+     * @param row     the row of the shot
+     * @param col     the column of the shot
+     * @return the outcome of the shot
+     * @throws IllegalStateException    if it is not the turn of the shooter
+     * @throws IllegalArgumentException if the cell is outside the grid or was already shot
+     */
+    public ShotResult fire(PlayerType shooter, int row, int col) {
+        if (turn != shooter) {
+            throw new IllegalStateException("It is not your turn");
+        }
+        ServerBoard target = boards[index(opponent(shooter))];
+        GridDeltaDTO delta = target.fire(row, col);
+        if (target.isDefeated()) {
+            winner = shooter;
+            turn = null;
+            return new ShotResult(delta, true);
+        }
+        turn = opponent(shooter);
+        return new ShotResult(delta, false);
+    }
+
+    /**
+     * Builds the resetting delta of the opponent board of a player, to answer its resync request.
+     *
+     * @param player the player asking for the resync
+     * @return the delta, or null if the opponent has not submitted a fleet
+     */
+    public GridDeltaDTO snapshotOfOpponent(PlayerType player) {
+        ServerBoard board = boards[index(opponent(player))];
+        return board == null ? null : board.snapshot();
+    }
+}
@@ -1,21 +1,25 @@
 package it.units.battleship.routes.lobbies;
 
+import io.javalin.http.ContentType;
 import io.javalin.http.Context;
+import io.javalin.http.Header;
 import io.javalin.websocket.WsConfig;
-import io.javalin.websocket.WsContext;
 import it.units.battleship.Defaults;
 import it.units.battleship.WebServerApp;
 import it.units.battleship.data.LobbiesResponseData;
 import it.units.battleship.data.LobbyCreateRequestData;
 import it.units.battleship.data.LobbyData;
 import it.units.battleship.impl.AbstractRoute;
+import it.units.battleship.models.Lobby;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 
 public class LobbiesController extends AbstractRoute<LobbiesService> {
-
-    HashMap<WsContext, LobbySocketClient> websocketClients = new HashMap<>();
+    /**
+     * The query parameters of a paginated listing, any other parameter is ignored.
+     */
+    static final List<String> PAGE_PARAMETERS = List.of("limit", "cursor", "name", "open", "since");
 
     public LobbiesController(WebServerApp app) {
         super(app);
@@ -31,13 +35,68 @@ public class LobbiesController extends AbstractRoute<LobbiesService> {
         return Defaults.HTTP_LOBBY_PATH;
     }
 
+    /**
+     * Lists the lobbies.
+     * Without query parameters every available lobby is returned, from the cached snapshot, or 304 Not Modified if the
+     * client already holds it. With any of the {@link #PAGE_PARAMETERS} the listing is paginated, see {@link LobbyQuery}.
+     *
+     * @param ctx the Javalin context
+     */
     @Override
     public void handleGetRequest(Context ctx) {
+        if (PAGE_PARAMETERS.stream().anyMatch(ctx.queryParamMap()::containsKey)) {
+            handlePageRequest(ctx);
+            return;
+        }
+        LobbiesSnapshot snapshot = getService().getSnapshot();
+        ctx.header(Header.ETAG, snapshot.etag());
+        if (snapshot.matches(ctx.header(Header.IF_NONE_MATCH))) {
+            ctx.status(304);
+            return;
+        }
+        ctx.status(200).contentType(ContentType.APPLICATION_JSON).result(snapshot.body());
+    }
+
+    /**
+     * Serves a page of the lobby listing. Only open lobbies are listed unless {@code open=false}.
+     * Like the full listing, the page is tagged with the version of the registry, so a client polling the same page
+     * gets 304 Not Modified until a lobby changes.
+     *
+     * @param ctx the Javalin context
+     */
+    void handlePageRequest(Context ctx) {
+        LobbiesService.LobbyPage page;
+        String etag;
+        try {
+            LobbyQuery query = new LobbyQuery(
+                    ctx.queryParam("name"),
+                    !"false".equalsIgnoreCase(ctx.queryParam("open")),
+                    parseLong(ctx.queryParam("since"), 0),
+                    (int) parseLong(ctx.queryParam("limit"), Defaults.LOBBY_PAGE_SIZE),
+                    ctx.queryParam("cursor"));
+            // read before the registry: a change made while the page is built moves the version and the tag
+            etag = getService().getEtag(getService().getVersion());
+            if (LobbiesSnapshot.matches(ctx.header(Header.IF_NONE_MATCH), etag)) {
+                ctx.header(Header.ETAG, etag);
+                ctx.status(304);
+                return;
+            }
+            page = getService().findLobbies(query);
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).result(e.getMessage());
+            return;
+        }
+        ctx.header(Header.ETAG, etag);
         LobbiesResponseData data = LobbiesResponseData.builder()
-                .count(getService().getAllLobbies().size())
-                .results(getService().getAvailableLobbies())
+                .count(page.lobbies().size())
+                .results(page.lobbies().stream().map(Lobby::toLobbyData).toList())
+                .nextCursor(page.nextCursor())
                 .build();
-        ctx.status(200).result(getApp().getGson().toJson(data, LobbiesResponseData.class));
+        ctx.status(200).contentType(ContentType.APPLICATION_JSON).result(getApp().getGson().toJson(data, LobbiesResponseData.class));
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value);
     }
 
     @Override
@@ -47,44 +106,49 @@ public class LobbiesController extends AbstractRoute<LobbiesService> {
                 .lobbyID(UUID.randomUUID().toString())
                 .lobbyName(requestData.getName())
                 .playerOne(requestData.getPlayer())
+                .serverAuthoritative(requestData.isServerAuthoritative())
+                .createdAt(System.currentTimeMillis())
                 .build();
         getService().addLobby(newLobby);
         ctx.status(201).result(getApp().getGson().toJson(newLobby, LobbyData.class));
     }
 
+    /**
+     * Handles the game connections. Each connection is registered with the {@link LobbiesService}, which owns the
+     * lifecycle of the sessions and of the lobbies they hold.
+     *
+     * @param config the WebSocket configuration
+     */
     @Override
     public void handleWebsocketRequest(WsConfig config) {
         config.onConnect(ctx -> {
             LobbySocketClient client = new LobbySocketClient(getApp(), ctx);
-            websocketClients.put(ctx, client);
+            getService().openSession(ctx, client);
             client.onConnect(ctx);
         });
         config.onClose(ctx -> {
-            LobbySocketClient client = websocketClients.get(ctx);
+            LobbySocketClient client = getService().closeSession(ctx);
             if (client != null) {
                 client.onClose(ctx);
             }
-            websocketClients.remove(ctx);
         });
         config.onBinaryMessage(ctx -> {
-            LobbySocketClient client = websocketClients.get(ctx);
+            LobbySocketClient client = getService().getSession(ctx);
             if (client != null) {
                 client.onBinaryMessage(ctx);
             }
         });
         config.onError(ctx -> {
-            LobbySocketClient client = websocketClients.get(ctx);
+            LobbySocketClient client = getService().closeSession(ctx);
             if (client != null) {
                 client.onError(ctx);
             }
-            websocketClients.remove(ctx);
         });
         config.onMessage(ctx -> {
-            LobbySocketClient client = websocketClients.get(ctx);
+            LobbySocketClient client = getService().getSession(ctx);
             if (client != null) {
                 client.onMessage(ctx);
             }
         });
-
     }
 }
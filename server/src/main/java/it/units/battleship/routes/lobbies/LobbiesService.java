@@ -1,23 +1,112 @@
 package it.units.battleship.routes.lobbies;
 
+import com.google.gson.Gson;
+import it.units.battleship.Defaults;
+import it.units.battleship.Logger;
+import it.units.battleship.data.LobbiesResponseData;
 import it.units.battleship.data.LobbyData;
+import it.units.battleship.impl.LatencyHistogram;
+import it.units.battleship.impl.TimingWheel;
 import it.units.battleship.models.Lobby;
+import it.units.battleship.models.ServerGame;
+import lombok.Getter;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * LobbyService class that manages game lobbies.
+ * <p>
+ * The registry is backed by a {@link ConcurrentHashMap}: reads and iteration never take a global lock,
+ * while every mutation of a single lobby (slot assignment, disconnection, removal) runs inside
+ * {@code compute*} so it is atomic with respect to the other threads touching the same lobby.
+ * Every change is also reported to the {@link LobbyFeed} from inside the same {@code compute*}, so the feed sees the
+ * changes of a lobby in the order they happened.
+ * <p>
+ * Each change bumps a version counter once the change is stored. {@link #getSnapshot()} serializes the list only when
+ * the version moved since the previous snapshot, so the reads of an idle registry cost a volatile read.
+ * <p>
+ * Two sorted secondary indexes, by creation time and by name, back the paginated listing of {@link #findLobbies(LobbyQuery)}.
+ * They are updated inside the same {@code compute*} as the registry, so a lobby is indexed exactly while it is registered.
+ * <p>
+ * Expired lobbies are removed by a {@link TimingWheel} reaper instead of a periodic scan: each lobby has a single
+ * pending expiry check, first at the end of its creation TTL, then at the end of its idle TTL, so the reaper only
+ * touches the lobbies whose deadline passed.
+ * <p>
+ * The service is also the single owner of the lifecycle of the WebSocket sessions: it maps each connection to its
+ * {@link LobbySocketClient} and counts the authenticated sessions holding each lobby. When the last session of a lobby
+ * closes, the lobby leaves the registry, the indexes and the reaper, and its player slots are cleared, so nothing
+ * keeps a finished game, its clients or their connections reachable.
  */
 public class LobbiesService implements Runnable {
-    final HashMap<String, Lobby> lobbies = new HashMap<>();
+    /**
+     * Resolution of the expiry deadlines.
+     */
+    static final long REAPER_TICK_MS = 1_000;
+    /**
+     * One bucket per second of the idle TTL, so most deadlines expire on the first turn of the wheel.
+     */
+    static final int REAPER_WHEEL_SIZE = 2_048;
+
+    final ConcurrentHashMap<String, Lobby> lobbies = new ConcurrentHashMap<>();
+    final ConcurrentSkipListMap<CreationKey, Lobby> lobbiesByCreation = new ConcurrentSkipListMap<>();
+    /**
+     * Keyed by {@link LobbyQuery#nameKey(String, String)}, so a name prefix is a contiguous range.
+     */
+    final ConcurrentSkipListMap<String, Lobby> lobbiesByName = new ConcurrentSkipListMap<>();
 
     final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    @Getter
+    final TimingWheel reaper;
+    /**
+     * Duration of the scheduled advances of the reaper.
+     */
+    @Getter
+    final LatencyHistogram sweepTime = new LatencyHistogram();
+    /**
+     * The open game connections, keyed by their WebSocket context.
+     */
+    final Map<Object, LobbySocketClient> sessions = new ConcurrentHashMap<>();
+
+    @Getter
+    final LobbyFeed feed = new LobbyFeed();
+
+    final Gson gson = new Gson();
+    final AtomicLong version = new AtomicLong();
+    /**
+     * Distinguishes the entity tags of two runs of the server, whose versions both start from 0.
+     */
+    final String etagPrefix = Long.toHexString(System.currentTimeMillis());
+    final Object snapshotLock = new Object();
+    volatile LobbiesSnapshot snapshot;
 
+    /**
+     * Constructs a service whose reaper advances every {@link #REAPER_TICK_MS} on the wall clock.
+     */
     public LobbiesService() {
-        scheduler.scheduleAtFixedRate(this, 0, 5, java.util.concurrent.TimeUnit.SECONDS);
+        this(new TimingWheel(REAPER_TICK_MS, REAPER_WHEEL_SIZE, System::currentTimeMillis));
+        scheduler.scheduleAtFixedRate(this, REAPER_TICK_MS, REAPER_TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs a service on the given reaper, which is advanced by the caller.
+     *
+     * @param reaper the timing wheel running the expiry checks
+     */
+    public LobbiesService(TimingWheel reaper) {
+        this.reaper = reaper;
     }
 
     /**
@@ -38,6 +127,189 @@ public class LobbiesService implements Runnable {
         return lobbies.values().stream().filter(lobby -> lobby.getPlayerTwoCtx() == null).toList();
     }
 
+    /**
+     * Returns the response of {@code GET /api/lobbies}: the number of lobbies and the available ones, already
+     * serialized. The snapshot is rebuilt only if the registry changed since the previous call.
+     *
+     * @return the current snapshot
+     */
+    public LobbiesSnapshot getSnapshot() {
+        LobbiesSnapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        synchronized (snapshotLock) {
+            current = snapshot;
+            // read before the registry: a change made while building bumps the version again and forces a rebuild
+            long currentVersion = version.get();
+            if (current != null && current.version() == currentVersion) {
+                return current;
+            }
+            int count = 0;
+            List<LobbyData> available = new ArrayList<>();
+            for (Lobby lobby : lobbies.values()) {
+                count++;
+                if (lobby.getPlayerTwoCtx() == null) {
+                    available.add(lobby.toLobbyData());
+                }
+            }
+            LobbiesResponseData data = LobbiesResponseData.builder()
+                    .count(count)
+                    .results(available)
+                    .build();
+            byte[] body = gson.toJson(data, LobbiesResponseData.class).getBytes(StandardCharsets.UTF_8);
+            current = new LobbiesSnapshot(currentVersion, getEtag(currentVersion), body);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    /**
+     * Returns a page of lobbies matching a query, walking the index that matches its order from the cursor on.
+     * Only the lobbies of the page, and the ones skipped by the filters, are visited.
+     *
+     * @param query the page request
+     * @return the lobbies of the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another kind of listing
+     */
+    public LobbyPage findLobbies(LobbyQuery query) {
+        if (query.byName()) {
+            String from = query.decodeCursor(LobbyQuery.BY_NAME);
+            NavigableMap<String, Lobby> range = lobbiesByName.subMap(query.namePrefix(), true, query.namePrefix() + Character.MAX_VALUE, false);
+            return collectPage(from == null ? range : range.tailMap(from, false), query, LobbyQuery.BY_NAME, key -> key);
+        }
+        String from = query.decodeCursor(LobbyQuery.BY_CREATION);
+        NavigableMap<CreationKey, Lobby> range = from == null
+                ? lobbiesByCreation.tailMap(new CreationKey(query.createdSince(), ""), true)
+                : lobbiesByCreation.tailMap(CreationKey.parse(from), false);
+        return collectPage(range, query, LobbyQuery.BY_CREATION, CreationKey::toString);
+    }
+
+    private <K> LobbyPage collectPage(NavigableMap<K, Lobby> range, LobbyQuery query, String kind, Function<K, String> cursorKey) {
+        List<Lobby> page = new ArrayList<>(query.limit());
+        K last = null;
+        boolean hasMore = false;
+        for (Map.Entry<K, Lobby> entry : range.entrySet()) {
+            Lobby lobby = entry.getValue();
+            if ((query.openOnly() && lobby.getPlayerTwoCtx() != null) || lobby.getCreatedAt() < query.createdSince()) {
+                continue;
+            }
+            if (page.size() == query.limit()) {
+                hasMore = true;
+                break;
+            }
+            page.add(lobby);
+            last = entry.getKey();
+        }
+        return new LobbyPage(page, hasMore ? LobbyQuery.encodeCursor(kind, cursorKey.apply(last)) : null);
+    }
+
+    /**
+     * Adds a registered lobby to the secondary indexes and schedules its creation deadline, from inside the
+     * {@code compute*} that registers it.
+     *
+     * @param lobby the lobby
+     */
+    void index(Lobby lobby) {
+        if (lobby.getCreatedAt() == 0) {
+            lobby.setCreatedAt(System.currentTimeMillis());
+        }
+        lobbiesByCreation.put(CreationKey.of(lobby), lobby);
+        lobbiesByName.put(LobbyQuery.nameKey(lobby.getLobbyName(), lobby.getLobbyID()), lobby);
+        lobby.setLastActivityAt(reaper.now());
+        lobby.setExpiry(reaper.schedule(Defaults.LOBBY_CREATION_TTL_MS, () -> expire(lobby)));
+    }
+
+    /**
+     * Removes a lobby from the secondary indexes and cancels its expiry, from inside the {@code compute*} that removes it.
+     *
+     * @param lobby the lobby
+     */
+    void unindex(Lobby lobby) {
+        lobbiesByCreation.remove(CreationKey.of(lobby), lobby);
+        lobbiesByName.remove(LobbyQuery.nameKey(lobby.getLobbyName(), lobby.getLobbyID()), lobby);
+        if (lobby.getExpiry() != null) {
+            lobby.getExpiry().cancel();
+        }
+    }
+
+    /**
+     * Records a message of a player, which postpones the idle expiry of the lobby.
+     *
+     * @param lobby the lobby of the player
+     */
+    public void recordActivity(Lobby lobby) {
+        lobby.setLastActivityAt(reaper.now());
+    }
+
+    /**
+     * Expiry check of a lobby, run by the reaper. A lobby without any connected player is removed, which covers both
+     * a lobby nobody joined within its creation TTL and one whose players vanished without releasing it; a lobby
+     * without messages for {@link Defaults#LOBBY_IDLE_TTL_MS} is removed and its players disconnected.
+     * Otherwise the next check is scheduled at the end of the idle TTL counted from the last message.
+     *
+     * @param lobby the lobby whose deadline passed
+     */
+    void expire(Lobby lobby) {
+        long now = reaper.now();
+        boolean[] removed = {false};
+        List<LobbySocketClient> idlePlayers = new ArrayList<>(2);
+        lobbies.computeIfPresent(lobby.getLobbyID(), (id, current) -> {
+            if (current != lobby) {
+                return current;
+            }
+            if (!isAbandoned(current)) {
+                long idleFor = now - current.getLastActivityAt();
+                if (idleFor < Defaults.LOBBY_IDLE_TTL_MS) {
+                    current.setExpiry(reaper.schedule(Defaults.LOBBY_IDLE_TTL_MS - idleFor, () -> expire(current)));
+                    return current;
+                }
+                if (current.getPlayerOneCtx() != null) {
+                    idlePlayers.add(current.getPlayerOneCtx());
+                }
+                if (current.getPlayerTwoCtx() != null) {
+                    idlePlayers.add(current.getPlayerTwoCtx());
+                }
+            }
+            removed[0] = true;
+            return release(current);
+        });
+        if (removed[0]) {
+            markChanged();
+        }
+        if (!idlePlayers.isEmpty()) {
+            Logger.log("[LobbiesService] Lobby {} expired after {} idle minutes", lobby.getLobbyID(), Defaults.LOBBY_IDLE_TTL_MS / 60_000);
+            idlePlayers.forEach(player -> player.disconnect("Lobby expired"));
+        }
+    }
+
+    /**
+     * Returns the version of the registry, incremented after every change.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns the entity tag of every listing built from a version of the registry.
+     * The tag of a page is the same as the snapshot's: the responses are told apart by their URL.
+     *
+     * @param version the version read before the lobbies were
+     * @return the entity tag, quoted as sent in the {@code ETag} header
+     */
+    public String getEtag(long version) {
+        return "\"" + etagPrefix + "-" + version + "\"";
+    }
+
+    /**
+     * Records a change of the registry; must be called once the change is stored.
+     */
+    void markChanged() {
+        version.incrementAndGet();
+    }
+
     /**
      * Returns a lobby by its ID.
      *
@@ -54,7 +326,34 @@ public class LobbiesService implements Runnable {
      * @param lobby the lobby to add
      */
     public void addLobby(Lobby lobby) {
-        lobbies.put(lobby.getLobbyID(), lobby);
+        lobbies.compute(lobby.getLobbyID(), (id, existing) -> {
+            if (existing != null) {
+                unindex(existing);
+                feed.lobbyRemoved(existing);
+            }
+            index(lobby);
+            feed.lobbyAdded(lobby);
+            return lobby;
+        });
+        markChanged();
+    }
+
+    /**
+     * Adds a lobby only if no lobby with the same ID is registered yet.
+     *
+     * @param lobby the lobby to add
+     * @return the lobby registered under the ID after the call, either the given one or the pre-existing one
+     */
+    public Lobby addLobbyIfAbsent(Lobby lobby) {
+        Lobby registered = lobbies.computeIfAbsent(lobby.getLobbyID(), id -> {
+            index(lobby);
+            feed.lobbyAdded(lobby);
+            return lobby;
+        });
+        if (registered == lobby) {
+            markChanged();
+        }
+        return registered;
     }
 
     /**
@@ -67,7 +366,12 @@ public class LobbiesService implements Runnable {
         lobby.setLobbyID(lobbyData.getLobbyID());
         lobby.setLobbyName(lobbyData.getLobbyName());
         lobby.setPlayerOne(lobbyData.getPlayerOne());
-        lobbies.put(lobby.getLobbyID(), lobby);
+        lobby.setCreatedAt(lobbyData.getCreatedAt());
+        if (lobbyData.isServerAuthoritative()) {
+            lobby.setServerAuthoritative(true);
+            lobby.setGame(new ServerGame(Defaults.GRID_ROWS, Defaults.GRID_COLS, Defaults.FLEET_CONFIGURATION));
+        }
+        addLobby(lobby);
     }
 
     /**
@@ -76,27 +380,36 @@ public class LobbiesService implements Runnable {
      * @param lobbyID the ID of the lobby to remove
      */
     public void removeLobby(String lobbyID) {
-        lobbies.remove(lobbyID);
+        lobbies.computeIfPresent(lobbyID, (id, lobby) -> release(lobby));
+        markChanged();
     }
 
     /**
-     * Periodically checks for disconnected lobbies and removes them from the lobby list.
+     * Advances the reaper, running the expiry checks whose deadline passed.
+     * Every removal is re-checked atomically against the current state of the lobby, so it never races a connect.
      */
     @Override
     public void run() {
-        for (String lobbyID : lobbies.keySet()) {
-            if (!LobbySocketClient.connectedLobbies.containsKey(lobbyID)) {
-                if (lobbies.get(lobbyID).getPlayerOneCtx() == null && lobbies.get(lobbyID).getPlayerTwoCtx() == null) {
-                    lobbies.remove(lobbyID);
-                } else if (!(lobbies.get(lobbyID).getPlayerOneCtx().isConnected() || lobbies.get(lobbyID).getPlayerTwoCtx().isConnected())) {
-                    lobbies.remove(lobbyID);
-                }
-            }
-        }
+        long start = System.nanoTime();
+        reaper.advance();
+        sweepTime.recordSince(start);
+    }
+
+    /**
+     * Checks whether no player of the lobby is still connected.
+     *
+     * @param lobby the lobby to check
+     * @return true if both slots are empty or hold disconnected clients
+     */
+    boolean isAbandoned(Lobby lobby) {
+        LobbySocketClient playerOne = lobby.getPlayerOneCtx();
+        LobbySocketClient playerTwo = lobby.getPlayerTwoCtx();
+        return (playerOne == null || !playerOne.isConnected()) && (playerTwo == null || !playerTwo.isConnected());
     }
 
     /**
      * Connects a player to a lobby.
+     * The first free slot is claimed atomically, so two clients racing for the same lobby can never end up in the same slot.
      *
      * @param lobbyID    the ID of the lobby
      * @param player     the WebSocket configuration of the player
@@ -104,22 +417,47 @@ public class LobbiesService implements Runnable {
      * @return the type of player connected (PLAYER_ONE, PLAYER_TWO, or INVALID)
      */
     public PlayerType connectPlayer(String lobbyID, LobbySocketClient player, String playerName) {
-        Lobby lobby = lobbies.get(lobbyID);
-        if (lobby != null) {
+        return connectPlayer(lobbyID, player, playerName, true);
+    }
+
+    /**
+     * Connects a player to a lobby.
+     * A server-authoritative lobby joined by a client that only knows the relay protocol falls back to relaying,
+     * in the same atomic step, before the game can start.
+     *
+     * @param lobbyID                     the ID of the lobby
+     * @param player                      the WebSocket configuration of the player
+     * @param playerName                  the name of the player
+     * @param supportsServerAuthoritative whether the client can play a server-authoritative lobby
+     * @return the type of player connected (PLAYER_ONE, PLAYER_TWO, or INVALID)
+     */
+    public PlayerType connectPlayer(String lobbyID, LobbySocketClient player, String playerName, boolean supportsServerAuthoritative) {
+        PlayerType[] assigned = {PlayerType.INVALID};
+        lobbies.computeIfPresent(lobbyID, (id, lobby) -> {
             if (lobby.getPlayerOneCtx() == null) {
                 lobby.setPlayerOneCtx(player);
                 lobby.setPlayerOne(playerName);
-                return PlayerType.PLAYER_ONE;
+                assigned[0] = PlayerType.PLAYER_ONE;
             } else if (lobby.getPlayerTwoCtx() == null) {
                 lobby.setPlayerTwoCtx(player);
                 lobby.setPlayerTwo(playerName);
-                return PlayerType.PLAYER_TWO;
-            } else {
-                return PlayerType.INVALID;
+                assigned[0] = PlayerType.PLAYER_TWO;
             }
-        } else {
-            return PlayerType.INVALID;
+            if (assigned[0] != PlayerType.INVALID) {
+                if (lobby.isServerAuthoritative() && !supportsServerAuthoritative) {
+                    lobby.setServerAuthoritative(false);
+                    lobby.setGame(null);
+                }
+                lobby.setSessions(lobby.getSessions() + 1);
+                lobby.setLastActivityAt(reaper.now());
+                feed.lobbyUpdated(lobby);
+            }
+            return lobby;
+        });
+        if (assigned[0] != PlayerType.INVALID) {
+            markChanged();
         }
+        return assigned[0];
     }
 
     /**
@@ -129,11 +467,13 @@ public class LobbiesService implements Runnable {
      * @param playerOne the WebSocket configuration of player one
      */
     public void connectPlayerOne(String lobbyID, LobbySocketClient playerOne, String playerOneName) {
-        Lobby lobby = lobbies.get(lobbyID);
-        if (lobby != null) {
+        lobbies.computeIfPresent(lobbyID, (id, lobby) -> {
             lobby.setPlayerOneCtx(playerOne);
             lobby.setPlayerOne(playerOneName);
-        }
+            feed.lobbyUpdated(lobby);
+            return lobby;
+        });
+        markChanged();
     }
 
     /**
@@ -143,11 +483,13 @@ public class LobbiesService implements Runnable {
      * @param playerTwo the WebSocket configuration of player two
      */
     public void connectPlayerTwo(String lobbyID, LobbySocketClient playerTwo, String playerTwoName) {
-        Lobby lobby = lobbies.get(lobbyID);
-        if (lobby != null) {
+        lobbies.computeIfPresent(lobbyID, (id, lobby) -> {
             lobby.setPlayerTwoCtx(playerTwo);
             lobby.setPlayerTwo(playerTwoName);
-        }
+            feed.lobbyUpdated(lobby);
+            return lobby;
+        });
+        markChanged();
     }
 
     /**
@@ -156,14 +498,12 @@ public class LobbiesService implements Runnable {
      * @param lobbyID the ID of the lobby
      */
     public void disconnectPlayerOne(String lobbyID) {
-        Lobby lobby = lobbies.get(lobbyID);
-        if (lobby != null) {
+        lobbies.computeIfPresent(lobbyID, (id, lobby) -> {
             lobby.setPlayerOne(null);
             lobby.setPlayerOneCtx(null);
-            if (lobby.getPlayerTwoCtx() == null) {
-                lobbies.remove(lobbyID);
-            }
-        }
+            return publishDisconnect(lobby, lobby.getPlayerTwoCtx() == null);
+        });
+        markChanged();
     }
 
     /**
@@ -172,13 +512,243 @@ public class LobbiesService implements Runnable {
      * @param lobbyID the ID of the lobby
      */
     public void disconnectPlayerTwo(String lobbyID) {
-        Lobby lobby = lobbies.get(lobbyID);
-        if (lobby != null) {
+        lobbies.computeIfPresent(lobbyID, (id, lobby) -> {
             lobby.setPlayerTwo(null);
             lobby.setPlayerTwoCtx(null);
-            if (lobby.getPlayerOneCtx() == null) {
-                lobbies.remove(lobbyID);
+            return publishDisconnect(lobby, lobby.getPlayerOneCtx() == null);
+        });
+        markChanged();
+    }
+
+    /**
+     * Reports a disconnection to the feed, from inside the {@code compute*} of the lobby.
+     *
+     * @param lobby  the lobby a player left
+     * @param remove whether the lobby is removed because it is now empty
+     * @return the value to store back in the registry
+     */
+    Lobby publishDisconnect(Lobby lobby, boolean remove) {
+        if (remove) {
+            return release(lobby);
+        }
+        feed.lobbyUpdated(lobby);
+        return lobby;
+    }
+
+    /**
+     * Releases the session of a player, atomically with respect to concurrent connects.
+     *
+     * @param lobbyID    the ID of the lobby
+     * @param playerType the slot held by the leaving player
+     */
+    public void releasePlayer(String lobbyID, PlayerType playerType) {
+        Lobby lobby = lobbies.get(lobbyID);
+        if (lobby != null) {
+            releasePlayer(lobby, playerType);
+        }
+    }
+
+    /**
+     * Releases the session of a player. The game is over once a player leaves, so the slot is not reopened to new
+     * players; the lobby is released when its last session is, see {@link #release(Lobby)}.
+     *
+     * @param lobby      the lobby held by the session, ignored if another lobby replaced it under the same ID
+     * @param playerType the slot held by the leaving player
+     */
+    public void releasePlayer(Lobby lobby, PlayerType playerType) {
+        boolean[] released = {false};
+        lobbies.computeIfPresent(lobby.getLobbyID(), (id, current) -> {
+            if (current != lobby) {
+                return current;
+            }
+            if (playerType == PlayerType.PLAYER_ONE) {
+                current.setPlayerOneReady(false);
+            } else if (playerType == PlayerType.PLAYER_TWO) {
+                current.setPlayerTwoReady(false);
+            }
+            current.setSessions(current.getSessions() - 1);
+            if (current.getSessions() > 0) {
+                return current;
+            }
+            released[0] = true;
+            return release(current);
+        });
+        if (released[0]) {
+            markChanged();
+        }
+    }
+
+    /**
+     * Drops every reference the server holds to a lobby, from inside the {@code compute*} that removes it.
+     *
+     * @param lobby the lobby to release
+     * @return null, the value to store back in the registry
+     */
+    Lobby release(Lobby lobby) {
+        unindex(lobby);
+        feed.lobbyRemoved(lobby);
+        lobby.setPlayerOneCtx(null);
+        lobby.setPlayerTwoCtx(null);
+        lobby.setGame(null);
+        return null;
+    }
+
+    /**
+     * Registers a new game connection.
+     *
+     * @param key    the WebSocket context of the connection
+     * @param client the client handling the connection
+     */
+    public void openSession(Object key, LobbySocketClient client) {
+        sessions.put(key, client);
+    }
+
+    /**
+     * Returns the client of a game connection.
+     *
+     * @param key the WebSocket context of the connection
+     * @return the client, or null if the connection is not open
+     */
+    public LobbySocketClient getSession(Object key) {
+        return sessions.get(key);
+    }
+
+    /**
+     * Unregisters a game connection; the client releases its lobby slot once it handled the closure.
+     *
+     * @param key the WebSocket context of the connection
+     * @return the client of the connection, or null if it was not open
+     */
+    public LobbySocketClient closeSession(Object key) {
+        return sessions.remove(key);
+    }
+
+    /**
+     * Counts the objects the service keeps alive, to check that finished games are released.
+     *
+     * @return the current gauges
+     */
+    public LiveObjects getLiveObjects() {
+        return new LiveObjects(lobbies.size(), sessions.size(), lobbiesByCreation.size(), lobbiesByName.size(),
+                reaper.getPendingCount(), feed.getSubscriberCount());
+    }
+
+    /**
+     * Counts the registered lobbies by state, in a single pass over the registry.
+     *
+     * @return the number of lobbies in each state, every state included
+     */
+    public Map<LobbyState, Integer> countLobbiesByState() {
+        Map<LobbyState, Integer> counts = new EnumMap<>(LobbyState.class);
+        for (LobbyState state : LobbyState.values()) {
+            counts.put(state, 0);
+        }
+        for (Lobby lobby : lobbies.values()) {
+            counts.merge(LobbyState.of(lobby), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Stops the reaper of the lobbies.
+     */
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Key of the creation-time index: lobbies created in the same millisecond are ordered by ID.
+     *
+     * @param createdAt the creation time of the lobby
+     * @param lobbyID   the ID of the lobby
+     */
+    record CreationKey(long createdAt, String lobbyID) implements Comparable<CreationKey> {
+        static final Comparator<CreationKey> ORDER = Comparator.comparingLong(CreationKey::createdAt).thenComparing(CreationKey::lobbyID);
+
+        static CreationKey of(Lobby lobby) {
+            return new CreationKey(lobby.getCreatedAt(), lobby.getLobbyID());
+        }
+
+        /**
+         * Parses a key written by {@link #toString()}.
+         *
+         * @param key the key as found in a cursor
+         * @return the parsed key
+         * @throws IllegalArgumentException if the key is malformed
+         */
+        static CreationKey parse(String key) {
+            int separator = key.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new CreationKey(Long.parseLong(key.substring(0, separator)), key.substring(separator + 1));
+        }
+
+        @Override
+        public int compareTo(CreationKey other) {
+            return ORDER.compare(this, other);
+        }
+
+        @Override
+        public String toString() {
+            return createdAt + ":" + lobbyID;
+        }
+    }
+
+    /**
+     * A page of the lobby listing.
+     *
+     * @param lobbies    the lobbies of the page, in listing order
+     * @param nextCursor the cursor of the next page, null on the last page
+     */
+    public record LobbyPage(List<Lobby> lobbies, String nextCursor) {
+    }
+
+    /**
+     * Gauges of the objects kept alive by the service.
+     *
+     * @param lobbies         the registered lobbies
+     * @param sessions        the open game connections
+     * @param creationIndex   the entries of the creation-time index
+     * @param nameIndex       the entries of the name index
+     * @param pendingExpiries the expiry checks waiting in the reaper
+     * @param feedSubscribers the clients subscribed to the lobby feed
+     */
+    public record LiveObjects(int lobbies, int sessions, int creationIndex, int nameIndex, int pendingExpiries,
+                              int feedSubscribers) {
+    }
+
+    /**
+     * The stage a lobby is in, as read without locking it.
+     */
+    public enum LobbyState {
+        /**
+         * A slot is still free.
+         */
+        WAITING,
+        /**
+         * Both players joined, at least one is not ready yet.
+         */
+        SETUP,
+        /**
+         * Both players are ready.
+         */
+        PLAYING,
+        /**
+         * A player left, the lobby waits for its last session to be released.
+         */
+        CLOSING;
+
+        static LobbyState of(Lobby lobby) {
+            LobbySocketClient playerOne = lobby.getPlayerOneCtx();
+            LobbySocketClient playerTwo = lobby.getPlayerTwoCtx();
+            if ((playerOne != null && !playerOne.isConnected()) || (playerTwo != null && !playerTwo.isConnected())) {
+                return CLOSING;
+            }
+            if (playerOne == null || playerTwo == null) {
+                return WAITING;
             }
+            return lobby.areBothReady() ? PLAYING : SETUP;
         }
     }
 
@@ -0,0 +1,45 @@
+package it.units.battleship.routes.lobbies;
+
+/**
+ * An immutable, pre-encoded response of {@code GET /api/lobbies}, see {@link LobbiesService#getSnapshot()}.
+ *
+ * @param version the version of the registry the snapshot was built from
+ * @param etag    the entity tag of the body, quoted as sent in the {@code ETag} header
+ * @param body    the UTF-8 JSON body, must not be modified
+ */
+public record LobbiesSnapshot(long version, String etag, byte[] body) {
+
+    /**
+     * Checks whether the client already holds this snapshot.
+     *
+     * @param ifNoneMatch the {@code If-None-Match} header of the request, may be null
+     * @return true if one of the listed tags, or {@code *}, matches the snapshot
+     */
+    public boolean matches(String ifNoneMatch) {
+        return matches(ifNoneMatch, etag);
+    }
+
+    /**
+     * Checks whether the client already holds the response with the given entity tag.
+     *
+     * @param ifNoneMatch the {@code If-None-Match} header of the request, may be null
+     * @param etag        the entity tag of the response, quoted
+     * @return true if one of the listed tags, or {@code *}, matches the entity tag
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            // weak comparison, as required for If-None-Match
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,192 @@
+package it.units.battleship.routes.lobbies;
+
+import com.google.gson.Gson;
+import it.units.battleship.Logger;
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.data.LobbyFeedEventData;
+import it.units.battleship.impl.SerialExecutor;
+import it.units.battleship.models.Lobby;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Pushes the changes of the joinable lobbies to the clients subscribed to the lobby feed.
+ * <p>
+ * The changes are reported by {@link LobbiesService} from inside the atomic update of the lobby, so the events of a
+ * lobby are queued in the order the lobby changed. Each event is serialized once and the same frame is sent to every
+ * subscriber, from a {@link SerialExecutor} so no registry update ever waits for a slow client.
+ * <p>
+ * The snapshot sent to a new subscriber is not read from the registry, whose update may still be in progress when the
+ * event is already queued, but from an index of the joinable lobbies that the mailbox applies every event to: the
+ * snapshot holds exactly the events queued before it, and the subscriber receives every event queued after it.
+ * <p>
+ * Every event carries the whole state of its lobby, so an event supersedes the previous ones of the same lobby: the
+ * lobby ID is given to the sink as coalescing key, see {@link it.units.battleship.impl.OutboundQueue}.
+ */
+public class LobbyFeed {
+    final Gson gson = new Gson();
+    final Map<Object, Subscriber> subscribers = new ConcurrentHashMap<>();
+    final Executor mailbox;
+    /**
+     * The joinable lobbies as of the last event run by the mailbox, in the order they were added; only touched from
+     * the mailbox.
+     */
+    final Map<String, LobbyData> joinable = new LinkedHashMap<>();
+
+    /**
+     * Constructs a feed delivering its events on a dedicated mailbox.
+     */
+    public LobbyFeed() {
+        this(new SerialExecutor());
+    }
+
+    /**
+     * Constructs a feed delivering its events on the given executor, which must run the tasks in submission order.
+     *
+     * @param mailbox the executor that serializes and sends the events
+     */
+    public LobbyFeed(Executor mailbox) {
+        this.mailbox = mailbox;
+    }
+
+    /**
+     * Subscribes a client: it receives a snapshot of the joinable lobbies, then every change after it.
+     * The snapshot is taken on the mailbox, from the index the events queued before it were applied to, so no change
+     * can fall between the two; the events queued before the snapshot are not sent to it, the snapshot includes them.
+     *
+     * @param key  the identity of the subscriber, used to unsubscribe
+     * @param sink sends a text frame to the subscriber
+     */
+    public void subscribe(Object key, Consumer<String> sink) {
+        subscribeCoalescing(key, (frame, coalescingKey) -> sink.accept(frame));
+    }
+
+    /**
+     * Subscribes a client whose sink can coalesce the events, see {@link #subscribe(Object, Consumer)}.
+     *
+     * @param key  the identity of the subscriber, used to unsubscribe
+     * @param sink sends a text frame to the subscriber, along with the coalescing key of the frame (null if none)
+     */
+    public void subscribeCoalescing(Object key, BiConsumer<String, String> sink) {
+        Subscriber subscriber = new Subscriber(sink);
+        subscribers.put(key, subscriber);
+        mailbox.execute(() -> {
+            List<LobbyData> lobbies = List.copyOf(joinable.values());
+            LobbyFeedEventData snapshot = LobbyFeedEventData.builder()
+                    .event(LobbyFeedEventData.Kind.SNAPSHOT)
+                    .lobbies(lobbies)
+                    .build();
+            subscriber.ready = deliver(key, subscriber, gson.toJson(snapshot), null);
+        });
+    }
+
+    /**
+     * Unsubscribes a client, no more events are sent to it.
+     *
+     * @param key the identity given to {@link #subscribe(Object, Consumer)}
+     */
+    public void unsubscribe(Object key) {
+        subscribers.remove(key);
+    }
+
+    /**
+     * Returns the number of subscribed clients.
+     *
+     * @return the number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Reports a new lobby. Lobbies that are already full are not announced.
+     *
+     * @param lobby the new lobby
+     */
+    public void lobbyAdded(Lobby lobby) {
+        if (isJoinable(lobby)) {
+            publish(LobbyFeedEventData.Kind.ADDED, lobby);
+        }
+    }
+
+    /**
+     * Reports a change of a lobby; a lobby that became full is reported as removed.
+     *
+     * @param lobby the changed lobby
+     */
+    public void lobbyUpdated(Lobby lobby) {
+        publish(isJoinable(lobby) ? LobbyFeedEventData.Kind.UPDATED : LobbyFeedEventData.Kind.REMOVED, lobby);
+    }
+
+    /**
+     * Reports the removal of a lobby.
+     *
+     * @param lobby the removed lobby
+     */
+    public void lobbyRemoved(Lobby lobby) {
+        publish(LobbyFeedEventData.Kind.REMOVED, lobby);
+    }
+
+    /**
+     * Checks whether a lobby is listed by the feed, the same rule as {@link LobbiesService#getAvailableLobbies()}.
+     *
+     * @param lobby the lobby to check
+     * @return true if a second player can still join the lobby
+     */
+    static boolean isJoinable(Lobby lobby) {
+        return lobby.getPlayerTwoCtx() == null;
+    }
+
+    void publish(LobbyFeedEventData.Kind kind, Lobby lobby) {
+        // copied now: the lobby keeps changing after the event is queued
+        LobbyData data = lobby.toLobbyData();
+        mailbox.execute(() -> {
+            if (kind == LobbyFeedEventData.Kind.REMOVED) {
+                joinable.remove(data.getLobbyID());
+            } else {
+                joinable.put(data.getLobbyID(), data);
+            }
+            if (subscribers.isEmpty()) {
+                return;
+            }
+            String frame = gson.toJson(LobbyFeedEventData.builder().event(kind).lobby(data).build());
+            subscribers.forEach((key, subscriber) -> {
+                if (subscriber.ready) {
+                    deliver(key, subscriber, frame, data.getLobbyID());
+                }
+            });
+        });
+    }
+
+    boolean deliver(Object key, Subscriber subscriber, String frame, String coalescingKey) {
+        try {
+            subscriber.sink.accept(frame, coalescingKey);
+            return true;
+        } catch (RuntimeException e) {
+            Logger.warn("[LobbyFeed] Dropping subscriber after a failed send: {}", e.getMessage());
+            subscribers.remove(key, subscriber);
+            return false;
+        }
+    }
+
+    /**
+     * A subscribed client. Its fields are only touched from the mailbox, one task at a time.
+     */
+    static final class Subscriber {
+        final BiConsumer<String, String> sink;
+        /**
+         * Whether the snapshot was sent, the events queued before it are skipped.
+         */
+        boolean ready = false;
+
+        Subscriber(BiConsumer<String, String> sink) {
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package it.units.battleship.routes.lobbies;
+
+import io.javalin.websocket.WsConfig;
+import io.javalin.websocket.WsContext;
+import it.units.battleship.Defaults;
+import it.units.battleship.Logger;
+import it.units.battleship.WebServerApp;
+import it.units.battleship.impl.AbstractRoute;
+import it.units.battleship.impl.OutboundQueue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LobbyFeedController class that serves the lobby feed: a WebSocket pushing the changes of the joinable lobbies,
+ * so the clients do not have to poll {@link LobbiesController}.
+ */
+public class LobbyFeedController extends AbstractRoute<LobbiesService> {
+    final Map<WsContext, OutboundQueue> outboundQueues = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for LobbyFeedController.
+     *
+     * @param app the WebServerApp instance
+     */
+    public LobbyFeedController(WebServerApp app) {
+        super(app);
+    }
+
+    @Override
+    public LobbiesService getService() {
+        return getApp().getLobbiesService();
+    }
+
+    @Override
+    public String getRoutePath() {
+        return Defaults.HTTP_LOBBY_FEED_PATH;
+    }
+
+    /**
+     * Subscribes every connection to the feed; messages sent by the clients are ignored.
+     * The events reach each subscriber through its own {@link OutboundQueue}, where a newer event of a lobby
+     * supersedes the waiting ones: a slow subscriber is disconnected instead of delaying the others.
+     *
+     * @param config the WebSocket configuration
+     */
+    @Override
+    public void handleWebsocketRequest(WsConfig config) {
+        config.onConnect(ctx -> {
+            Logger.log("[LobbyFeed] Subscriber connected: {}", ctx.sessionId());
+            OutboundQueue outbound = LobbySocketClient.newOutboundQueue(ctx, getApp().getOutboundQueueLimit(), getApp().getMetricsService());
+            outboundQueues.put(ctx, outbound);
+            getService().getFeed().subscribeCoalescing(ctx, (frame, coalescingKey) -> {
+                if (!outbound.offer(frame, coalescingKey)) {
+                    throw new IllegalStateException("Outbound queue closed");
+                }
+            });
+        });
+        config.onClose(ctx -> unsubscribe(ctx));
+        config.onError(ctx -> unsubscribe(ctx));
+    }
+
+    void unsubscribe(WsContext ctx) {
+        getService().getFeed().unsubscribe(ctx);
+        OutboundQueue outbound = outboundQueues.remove(ctx);
+        if (outbound != null) {
+            outbound.close();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package it.units.battleship.routes.lobbies;
+
+import it.units.battleship.Defaults;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * A page request of the lobby listing, see {@link LobbiesService#findLobbies(LobbyQuery)}.
+ * <p>
+ * Without a name prefix the lobbies are listed oldest first, walking the creation-time index from
+ * {@code createdSince}; with a prefix they are listed by name, walking the range of the name index that starts with it.
+ * The cursor is opaque to the clients: it holds the index key of the last lobby of the previous page.
+ *
+ * @param namePrefix   only the lobbies whose name starts with it, case-insensitive; null or empty for every name
+ * @param openOnly     only the lobbies a second player can still join
+ * @param createdSince only the lobbies created at or after this time, in milliseconds since the epoch
+ * @param limit        the maximum number of lobbies of the page
+ * @param cursor       the cursor returned with the previous page, null for the first page
+ */
+public record LobbyQuery(String namePrefix, boolean openOnly, long createdSince, int limit, String cursor) {
+    static final String BY_CREATION = "c";
+    static final String BY_NAME = "n";
+
+    public LobbyQuery {
+        if (limit <= 0 || limit > Defaults.MAX_LOBBY_PAGE_SIZE) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + Defaults.MAX_LOBBY_PAGE_SIZE);
+        }
+        namePrefix = namePrefix == null || namePrefix.isEmpty() ? null : namePrefix.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return true if the lobbies are listed through the name index
+     */
+    boolean byName() {
+        return namePrefix != null;
+    }
+
+    /**
+     * Builds the key of a lobby in the name index; lobbies with the same name are ordered by ID.
+     *
+     * @param lobbyName the name of the lobby, may be null
+     * @param lobbyID   the ID of the lobby
+     * @return the index key
+     */
+    static String nameKey(String lobbyName, String lobbyID) {
+        return (lobbyName == null ? "" : lobbyName.toLowerCase(Locale.ROOT)) + '\u0000' + lobbyID;
+    }
+
+    /**
+     * Encodes the index key of the last lobby of a page.
+     *
+     * @param kind {@link #BY_CREATION} or {@link #BY_NAME}
+     * @param key  the index key
+     * @return the opaque cursor
+     */
+    static String encodeCursor(String kind, String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((kind + "|" + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes the cursor of this query.
+     *
+     * @param kind the kind of index the cursor must belong to
+     * @return the index key, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another kind of listing
+     */
+    String decodeCursor(String kind) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        if (!decoded.startsWith(kind + "|")) {
+            throw new IllegalArgumentException("The cursor does not belong to this listing");
+        }
+        return decoded.substring(kind.length() + 1);
+    }
+}
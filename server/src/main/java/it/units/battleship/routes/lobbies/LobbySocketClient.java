@@ -1,47 +1,181 @@
 package it.units.battleship.routes.lobbies;
 
-import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import io.javalin.websocket.*;
+import it.units.battleship.Defaults;
 import it.units.battleship.GameState;
 import it.units.battleship.Logger;
 import it.units.battleship.WebServerApp;
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.data.socket.MessageTypeSniffer;
 import it.units.battleship.data.socket.WebSocketAuthenticationRequest;
 import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.binary.BinaryMessageCodec;
+import it.units.battleship.data.socket.payloads.FleetSubmitDTO;
 import it.units.battleship.data.socket.payloads.GameStatusDTO;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.GridUpdateDTO;
+import it.units.battleship.data.socket.payloads.ShotRequestDTO;
+import it.units.battleship.impl.OutboundQueue;
+import it.units.battleship.impl.TimingWheel;
 import it.units.battleship.impl.WebSocketConnection;
 import it.units.battleship.models.Lobby;
+import it.units.battleship.models.ServerGame;
+import it.units.battleship.routes.metrics.MetricsService;
 
-import java.util.HashMap;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class LobbySocketClient implements WebSocketConnection {
-    static HashMap<String, Lobby> connectedLobbies = new HashMap<>();
+    static final Type AUTHENTICATION_MESSAGE_TYPE = new TypeToken<WebSocketMessage<WebSocketAuthenticationRequest>>() {
+    }.getType();
+    static final Type STATUS_MESSAGE_TYPE = new TypeToken<WebSocketMessage<GameStatusDTO>>() {
+    }.getType();
+    static final Type SHOT_MESSAGE_TYPE = new TypeToken<WebSocketMessage<ShotRequestDTO>>() {
+    }.getType();
+    static final Type GRID_UPDATE_MESSAGE_TYPE = new TypeToken<WebSocketMessage<GridUpdateDTO>>() {
+    }.getType();
+    static final Type GRID_DELTA_MESSAGE_TYPE = new TypeToken<WebSocketMessage<GridDeltaDTO>>() {
+    }.getType();
+    static final Type FLEET_SUBMIT_MESSAGE_TYPE = new TypeToken<WebSocketMessage<FleetSubmitDTO>>() {
+    }.getType();
+    /**
+     * Close code sent when the server drops a client: a slow consumer, an expired lobby or a missing authentication.
+     */
+    static final int POLICY_VIOLATION_CLOSE_CODE = 1008;
     final WebServerApp app;
     final WsContext ctx;
+    /**
+     * Frames waiting to be written to the client, null without a connection.
+     */
+    final OutboundQueue outbound;
+    /**
+     * Disconnects the client if it does not authenticate in time, null without a server.
+     */
+    final TimingWheel.Timeout authenticationDeadline;
     final AtomicBoolean isAuthenticated = new AtomicBoolean(false);
     final AtomicBoolean isConnected = new AtomicBoolean(true);
 
-    Lobby lobby;
-    LobbiesService.PlayerType playerType;
+    volatile Lobby lobby;
+    volatile LobbiesService.PlayerType playerType;
+    /**
+     * Binary protocol version negotiated during authentication, 0 if the client only speaks JSON.
+     */
+    volatile int protocolVersion = 0;
+    /**
+     * Whether the client advertised support for server-authoritative lobbies during authentication.
+     */
+    volatile boolean supportsServerAuthoritative = false;
+    /**
+     * Whether the client advertised support for grid deltas during authentication.
+     */
+    volatile boolean supportsDeltaUpdates = false;
+    /**
+     * {@link System#nanoTime()} at the arrival of the message being processed, only touched by the thread processing it.
+     */
+    long receivedAt;
 
     public LobbySocketClient(WebServerApp app, WsContext ctx) {
-        Logger.log("[LobbySocketClient] New WebSocket connection initialized: " + ctx.sessionId());
         this.app = app;
         this.ctx = ctx;
+        this.outbound = ctx == null ? null : newOutboundQueue(ctx, app.getOutboundQueueLimit(), app.getMetricsService());
+        this.authenticationDeadline = app == null ? null
+                : app.getLobbiesService().getReaper().schedule(Defaults.CONNECTION_AUTH_GRACE_MS, this::expireAuthentication);
+    }
+
+    /**
+     * Disconnects the client if it is still not authenticated, run by the reaper at the end of the grace period.
+     */
+    void expireAuthentication() {
+        if (!isAuthenticated.get() && isConnected()) {
+            Logger.log("[LobbySocketClient] Disconnecting a client that did not authenticate in time");
+            app.getMetricsService().recordAuthenticationFailure(MetricsService.AuthenticationFailure.TIMEOUT);
+            disconnect("Authentication timeout");
+        }
+    }
+
+    /**
+     * Closes the connection from the server side; the closure is then handled like any other.
+     *
+     * @param reason the reason sent to the client
+     */
+    public void disconnect(String reason) {
+        if (ctx != null) {
+            ctx.closeSession(POLICY_VIOLATION_CLOSE_CODE, reason);
+        }
+    }
+
+    /**
+     * Creates the outbound queue of a WebSocket connection; a client that falls behind is disconnected.
+     *
+     * @param ctx      the WebSocket context of the connection
+     * @param capacity the maximum number of frames waiting to be written
+     * @param metrics  the metrics counting the bytes written and the slow consumers
+     * @return the outbound queue writing to the connection
+     */
+    static OutboundQueue newOutboundQueue(WsContext ctx, int capacity, MetricsService metrics) {
+        return new OutboundQueue(
+                text -> {
+                    ctx.send(text);
+                    metrics.recordBytesSent(MetricsService.utf8Length(text));
+                },
+                frame -> {
+                    ctx.send(ByteBuffer.wrap(frame));
+                    metrics.recordBytesSent(frame.length);
+                },
+                () -> {
+                    metrics.recordSlowConsumer();
+                    ctx.closeSession(POLICY_VIOLATION_CLOSE_CODE, "Slow consumer");
+                },
+                capacity
+        );
+    }
+
+    /**
+     * Returns the outbound queue of the client, which exposes its depth, coalesced and dropped frames.
+     *
+     * @return the outbound queue, null without a connection
+     */
+    public OutboundQueue getOutbound() {
+        return outbound;
+    }
+
+    /**
+     * Returns the coalescing key of a message type: a lobby snapshot or a full grid update supersedes the previous
+     * one still waiting to be sent, only the latest state matters.
+     *
+     * @param messageType the type of the message
+     * @return the coalescing key, null if every message of the type must be delivered
+     */
+    static String coalescingKey(String messageType) {
+        if (MessageTypeSniffer.LOBBY_TYPE.equals(messageType) || GameMessageType.GRID_UPDATE.getType().equals(messageType)) {
+            return messageType;
+        }
+        return null;
     }
 
     public boolean isConnected() {
         return isConnected.get();
     }
 
+    /**
+     * Checks whether the game messages for this client have to be sent as binary frames.
+     *
+     * @return true if the client negotiated the binary protocol
+     */
+    public boolean usesBinaryProtocol() {
+        return protocolVersion > 0;
+    }
+
     /**
      * Sends the current lobby data to the client.
      * This method is called whenever there is a change in the lobby state (e.g., a player joins, a player is ready) to keep the client updated with the latest lobby information.
      */
     void updateLobbyData() {
         if (lobby != null && isAuthenticated.get()) {
-            ctx.send(app.getGson().toJson(new WebSocketMessage<Lobby>("lobby", lobby)));
+            send(app.getGson().toJson(new WebSocketMessage<Lobby>("lobby", lobby)), MessageTypeSniffer.LOBBY_TYPE);
         }
     }
 
@@ -52,17 +186,63 @@ public class LobbySocketClient implements WebSocketConnection {
      */
     @Override
     public void onConnect(WsConnectContext ctx) {
-        Logger.log("[LobbySocketClient] WebSocket connection established: " + ctx.sessionId());
+        Logger.log("[LobbySocketClient] WebSocket connection established: {}", ctx.sessionId());
     }
 
     /**
-     * Sends a message to the client through the WebSocket context.
+     * Queues a message for the client, see {@link OutboundQueue}.
      *
      * @param message the message to send to the client
      */
     public void send(String message) {
-        if (ctx != null) {
-            ctx.send(message);
+        send(message, null);
+    }
+
+    /**
+     * Queues a message for the client, superseding the waiting message with the same coalescing key.
+     *
+     * @param message       the message to send to the client
+     * @param coalescingKey the coalescing key, null if the message must be delivered
+     */
+    public void send(String message, String coalescingKey) {
+        if (outbound != null) {
+            outbound.offer(message, coalescingKey);
+        }
+    }
+
+    /**
+     * Queues a binary frame for the client, see {@link OutboundQueue}.
+     *
+     * @param frame the binary frame to send to the client
+     */
+    public void sendBinary(byte[] frame) {
+        sendBinary(frame, null);
+    }
+
+    /**
+     * Queues a binary frame for the client, superseding the waiting frame with the same coalescing key.
+     *
+     * @param frame         the binary frame to send to the client
+     * @param coalescingKey the coalescing key, null if the frame must be delivered
+     */
+    public void sendBinary(byte[] frame, String coalescingKey) {
+        if (outbound != null) {
+            outbound.offerBinary(frame, coalescingKey);
+        }
+    }
+
+    /**
+     * Sends a game message to the client, as a binary frame if the client negotiated the binary protocol and the
+     * type has a binary encoding, as JSON otherwise.
+     *
+     * @param type    the message type
+     * @param payload the payload matching the message type
+     */
+    public void sendGameMessage(GameMessageType type, Object payload) {
+        if (usesBinaryProtocol() && BinaryMessageCodec.supports(type)) {
+            sendBinary(BinaryMessageCodec.encode(type, payload), coalescingKey(type.getType()));
+        } else {
+            send(app.getGson().toJson(new WebSocketMessage<>(type.getType(), payload)), coalescingKey(type.getType()));
         }
     }
 
@@ -74,7 +254,8 @@ public class LobbySocketClient implements WebSocketConnection {
      */
     void authenticate(WebSocketMessage<WebSocketAuthenticationRequest> authMessage) throws AssertionError {
         if (isAuthenticated.get() || authMessage.getData() == null) {
-            ctx.send(app.getGson().toJson(new WebSocketMessage<Boolean>("authenticate", false)));
+            app.getMetricsService().recordAuthenticationFailure(MetricsService.AuthenticationFailure.INVALID_REQUEST);
+            send(app.getGson().toJson(new WebSocketMessage<Boolean>("authenticate", false)));
             return;
         }
         Lobby lobby = app.getLobbiesService().getLobbyByID(authMessage.getData().getId());
@@ -84,137 +265,413 @@ public class LobbySocketClient implements WebSocketConnection {
                 lobby = new Lobby();
                 lobby.setLobbyID("local-lobby");
                 lobby.setLobbyName("Local Testing Lobby");
-                app.getLobbiesService().addLobby(lobby);
+                lobby = app.getLobbiesService().addLobbyIfAbsent(lobby);
             } else {
-                ctx.send(app.getGson().toJson(new WebSocketMessage<Boolean>("authenticate", false)));
-                ctx.send(app.getGson().toJson(new WebSocketMessage<String>("error", "Lobby not found")));
+                app.getMetricsService().recordAuthenticationFailure(MetricsService.AuthenticationFailure.LOBBY_NOT_FOUND);
+                send(app.getGson().toJson(new WebSocketMessage<Boolean>("authenticate", false)));
+                send(app.getGson().toJson(new WebSocketMessage<String>("error", "Lobby not found")));
                 return;
             }
         }
         this.lobby = lobby;
-        LobbiesService.PlayerType type = app.getLobbiesService().connectPlayer(lobby.getLobbyID(), this, authMessage.getData().getName());
+        this.supportsServerAuthoritative = authMessage.getData().isServerAuthoritative();
+        this.supportsDeltaUpdates = authMessage.getData().isDeltaUpdates();
+        LobbiesService.PlayerType type = app.getLobbiesService().connectPlayer(lobby.getLobbyID(), this,
+                authMessage.getData().getName(), supportsServerAuthoritative);
         if (type == LobbiesService.PlayerType.INVALID) {
-            ctx.send(app.getGson().toJson(new WebSocketMessage<Boolean>("authenticate", false)));
-            ctx.send(app.getGson().toJson(new WebSocketMessage<String>("error", "Lobby is full")));
+            app.getMetricsService().recordAuthenticationFailure(MetricsService.AuthenticationFailure.LOBBY_FULL);
+            send(app.getGson().toJson(new WebSocketMessage<Boolean>("authenticate", false)));
+            send(app.getGson().toJson(new WebSocketMessage<String>("error", "Lobby is full")));
             return;
         }
         this.playerType = type;
         this.isAuthenticated.set(true);
-        connectedLobbies.put(lobby.getLobbyID(), lobby);
-        ctx.send(app.getGson().toJson(new WebSocketMessage<Boolean>("authenticate", true)));
+        if (authenticationDeadline != null) {
+            authenticationDeadline.cancel();
+        }
+        send(app.getGson().toJson(new WebSocketMessage<Boolean>("authenticate", true)));
+        int version = BinaryMessageCodec.negotiate(authMessage.getData().getBinaryVersion());
+        if (version > 0) {
+            this.protocolVersion = version;
+            send(app.getGson().toJson(new WebSocketMessage<Integer>(GameMessageType.PROTOCOL.getType(), version)));
+        }
+        sendServerAuthoritative();
+        LobbySocketClient opponent = getOpponent();
+        if (opponent != null) {
+            if (!supportsServerAuthoritative) {
+                // the lobby fell back to relaying for this client, the opponent may have been told otherwise
+                opponent.sendServerAuthoritative();
+            }
+            if (supportsDeltaUpdates && opponent.supportsDeltaUpdates) {
+                // both players are in: if they authenticated together both may send this, which is harmless
+                send(app.getGson().toJson(new WebSocketMessage<Boolean>(GameMessageType.DELTA_UPDATES.getType(), true)));
+                opponent.send(app.getGson().toJson(new WebSocketMessage<Boolean>(GameMessageType.DELTA_UPDATES.getType(), true)));
+            }
+        }
         updateLobbyData();
     }
 
+    /**
+     * Tells the client whether the server resolves the shots of its lobby, if the client advertised support for it.
+     */
+    void sendServerAuthoritative() {
+        Lobby current = lobby;
+        if (supportsServerAuthoritative && current != null) {
+            send(app.getGson().toJson(new WebSocketMessage<Boolean>(GameMessageType.SERVER_AUTHORITATIVE.getType(),
+                    current.isServerAuthoritative())));
+        }
+    }
+
+    /**
+     * Returns the other player of the lobby.
+     *
+     * @return the opponent client, or null if the client is not authenticated or the opponent has not joined yet
+     */
+    LobbySocketClient getOpponent() {
+        Lobby current = lobby;
+        if (current == null || !isAuthenticated.get()) {
+            return null;
+        }
+        if (playerType == LobbiesService.PlayerType.PLAYER_ONE) {
+            return current.getPlayerTwoCtx();
+        } else if (playerType == LobbiesService.PlayerType.PLAYER_TWO) {
+            return current.getPlayerOneCtx();
+        }
+        return null;
+    }
+
     /**
      * Forwards a message to the opponent player in the lobby.
      * It checks if the client is authenticated and if the lobby is valid, then sends the message to the other player's WebSocket context.
+     * The message is forwarded as is, unless it is a game message and the opponent negotiated the binary protocol:
+     * only in that case it is parsed and re-encoded.
      *
-     * @param message the message to forward to the opponent
+     * @param message     the message to forward to the opponent
+     * @param messageType the type of the message
      */
-    void forwardMessage(String message) {
-        if (lobby != null && isAuthenticated.get()) {
-            if (playerType.equals(LobbiesService.PlayerType.PLAYER_ONE) && lobby.getPlayerTwoCtx() != null) {
-                lobby.getPlayerTwoCtx().send(message);
-            } else if (playerType.equals(LobbiesService.PlayerType.PLAYER_TWO) && lobby.getPlayerOneCtx() != null) {
-                lobby.getPlayerOneCtx().send(message);
+    void forwardMessage(String message, String messageType) {
+        LobbySocketClient opponent = getOpponent();
+        if (opponent == null) {
+            return;
+        }
+        GameMessageType gameType = GameMessageType.fromType(messageType);
+        if (opponent.usesBinaryProtocol() && gameType != null && BinaryMessageCodec.supports(gameType)) {
+            Type payloadType = switch (gameType) {
+                case SHOT_REQUEST -> SHOT_MESSAGE_TYPE;
+                case GRID_UPDATE -> GRID_UPDATE_MESSAGE_TYPE;
+                case GRID_DELTA -> GRID_DELTA_MESSAGE_TYPE;
+                default -> STATUS_MESSAGE_TYPE;
+            };
+            WebSocketMessage<?> parsed = app.getGson().fromJson(message, payloadType);
+            if (parsed != null && parsed.getData() != null) {
+                opponent.sendBinary(BinaryMessageCodec.encode(gameType, parsed.getData()), coalescingKey(messageType));
+                app.getMetricsService().recordForward(gameType, receivedAt);
+                return;
             }
         }
+        opponent.send(message, coalescingKey(messageType));
+        app.getMetricsService().recordForward(gameType, receivedAt);
+    }
+
+    /**
+     * Forwards a binary frame to the opponent player in the lobby, converting it to JSON if the opponent does not
+     * speak the binary protocol.
+     *
+     * @param frame the binary frame to forward to the opponent
+     */
+    void forwardBinary(byte[] frame) {
+        LobbySocketClient opponent = getOpponent();
+        if (opponent == null) {
+            return;
+        }
+        GameMessageType type = BinaryMessageCodec.peekType(frame, 0, frame.length);
+        String key = coalescingKey(type.getType());
+        if (opponent.usesBinaryProtocol()) {
+            opponent.sendBinary(frame, key);
+        } else {
+            opponent.send(app.getGson().toJson(BinaryMessageCodec.decode(frame)), key);
+        }
+        app.getMetricsService().recordForward(type, receivedAt);
     }
 
     /**
      * Handles incoming text messages.
-     * It first checks if the message is a valid JSON with a "type" field.
-     * If the client is not authenticated, it only processes "authenticate" messages.
-     * If the client is authenticated, it processes messages based on their type (e.g., "lobby", "turn_change") and forwards them to the opponent if necessary.
+     * Messages of an authenticated client are handed to the lobby mailbox, so the Jetty thread goes straight back
+     * to reading and the messages of both players of a lobby are processed sequentially, in arrival order.
+     * Authentication happens before the client belongs to any lobby, so it is processed inline.
      *
      * @param ctx the WebSocket message context
      */
     @Override
     public void onMessage(WsMessageContext ctx) {
+        long arrival = System.nanoTime();
         String message = ctx.message();
-        Logger.log("[SERVER DEBUG] Raw message received: " + message);
+        app.getMetricsService().recordBytesReceived(MetricsService.utf8Length(message));
+        Lobby current = lobby;
+        if (current != null && isAuthenticated.get()) {
+            current.getMailbox().execute(() -> handleMessage(message, arrival));
+        } else {
+            handleMessage(message, arrival);
+        }
+    }
+
+    /**
+     * Processes a text message.
+     * Only the "type" field is read from the raw frame (see {@link MessageTypeSniffer}): in a relay lobby the server
+     * acts on "authenticate", "lobby", "turn_change" and "fleet_submit" only, so those are the only messages that get
+     * fully parsed, and every other message (shots and grid updates, the bulk of the traffic) is forwarded to the
+     * opponent untouched. In a server-authoritative lobby shots are resolved by the {@link ServerGame} instead.
+     * If the client is not authenticated, it only processes "authenticate" messages.
+     *
+     * @param message the raw message
+     * @param arrival the {@link System#nanoTime()} reading taken when the message arrived
+     */
+    void handleMessage(String message, long arrival) {
+        receivedAt = arrival;
+        Logger.payload("LobbySocketClient <- client", message);
 
-        JsonObject fromJson = app.getGson().fromJson(message, JsonObject.class);
-        if (fromJson == null || !fromJson.has("type")) {
-            Logger.log("[SERVER DEBUG] Message has no type: " + message);
+        String messageType = MessageTypeSniffer.sniffType(message);
+        if (isAuthenticated.get()) {
+            app.getLobbiesService().recordActivity(lobby);
+        }
+        if (messageType == null) {
+            Logger.payload("LobbySocketClient <- client, ignored", "message without a type");
             return;
         }
 
-        String messageType = fromJson.get("type").getAsString();
-
         if (!isAuthenticated.get()) {
-            if (messageType.equals("authenticate")) {
-                authenticate(app.getGson().fromJson(ctx.message(), new TypeToken<WebSocketMessage<WebSocketAuthenticationRequest>>() {
-                }.getType()));
+            if (messageType.equals(GameMessageType.AUTHENTICATE.getType())) {
+                authenticate(app.getGson().fromJson(message, AUTHENTICATION_MESSAGE_TYPE));
             } else {
-                Logger.log("[SERVER DEBUG] Ignoring message from unauthenticated client (Type: " + messageType + ")");
+                Logger.payload("LobbySocketClient <- unauthenticated client, ignored", messageType);
             }
         } else {
             switch (messageType) {
-                case "lobby" -> updateLobbyData();
-                case "turn_change" -> {
-                    WebSocketMessage<GameStatusDTO> statusMsg = app.getGson().fromJson(
-                            ctx.message(),
-                            new TypeToken<WebSocketMessage<GameStatusDTO>>() {
-                            }.getType()
-                    );
-
-                    GameStatusDTO data = statusMsg.getData();
-
-                    if (data != null && data.state() == GameState.WAITING_SETUP) {
-                        if (playerType == LobbiesService.PlayerType.PLAYER_ONE) {
-                            lobby.setPlayerOneReady(true);
-                            Logger.log("Player One is ready");
-                        } else if (playerType == LobbiesService.PlayerType.PLAYER_TWO) {
-                            lobby.setPlayerTwoReady(true);
-                            Logger.log("Player Two is ready");
-                        }
-
-                        if (lobby.areBothReady()) {
-                            Logger.log("Both players ready! Starting game...");
-
-                            GameStatusDTO activeTurn = new GameStatusDTO(GameState.ACTIVE_TURN, null);
-                            WebSocketMessage<GameStatusDTO> msgPlayerOne = new WebSocketMessage<>("turn_change", activeTurn);
-                            String responsePlayerOne = app.getGson().toJson(msgPlayerOne);
-
-                            GameStatusDTO waitingTurn = new GameStatusDTO(GameState.WAITING_FOR_OPPONENT, null);
-                            WebSocketMessage<GameStatusDTO> msgPlayerTwo = new WebSocketMessage<>("turn_change", waitingTurn);
-                            String responsePlayerTwo = app.getGson().toJson(msgPlayerTwo);
-
-                            lobby.getPlayerOneCtx().send(responsePlayerOne);
-                            lobby.getPlayerTwoCtx().send(responsePlayerTwo);
-                        }
+                case MessageTypeSniffer.LOBBY_TYPE -> updateLobbyData();
+                case "turn_change" -> handleTurnChange(message);
+                case "fleet_submit" -> handleFleetSubmit(message);
+                case "shot_request" -> {
+                    if (lobby.isServerAuthoritative()) {
+                        WebSocketMessage<ShotRequestDTO> shot = app.getGson().fromJson(message, SHOT_MESSAGE_TYPE);
+                        resolveShot(shot.getData());
+                    } else {
+                        forwardMessage(message, messageType);
+                    }
+                }
+                case "grid_update", "grid_delta", "grid_resync" -> {
+                    if (lobby.isServerAuthoritative()) {
+                        handleAuthoritativeGridMessage(messageType);
                     } else {
-                        forwardMessage(message);
+                        forwardMessage(message, messageType);
                     }
                 }
-                default -> forwardMessage(message);
+                default -> forwardMessage(message, messageType);
+            }
+        }
+    }
+
+    /**
+     * Handles a "turn_change" message: a player entering WAITING_SETUP is marked as ready and the game starts
+     * once both players are ready, any other status is forwarded to the opponent.
+     *
+     * @param message the raw "turn_change" message
+     */
+    void handleTurnChange(String message) {
+        WebSocketMessage<GameStatusDTO> statusMsg = app.getGson().fromJson(message, STATUS_MESSAGE_TYPE);
+        handleTurnChange(statusMsg.getData(), () -> forwardMessage(message, GameMessageType.TURN_CHANGE.getType()));
+    }
+
+    /**
+     * Applies a turn change coming from either protocol.
+     *
+     * @param data    the decoded game status
+     * @param forward forwards the original message to the opponent, in the protocol it was received in
+     */
+    void handleTurnChange(GameStatusDTO data, Runnable forward) {
+        ServerGame game = lobby.getGame();
+        if (data != null && data.state() == GameState.WAITING_SETUP) {
+            if (game != null && !game.hasFleet(playerType)) {
+                sendError("Submit the fleet before declaring ready");
+                return;
+            }
+            if (playerType == LobbiesService.PlayerType.PLAYER_ONE) {
+                lobby.setPlayerOneReady(true);
+                Logger.log("Player One is ready");
+            } else if (playerType == LobbiesService.PlayerType.PLAYER_TWO) {
+                lobby.setPlayerTwoReady(true);
+                Logger.log("Player Two is ready");
+            }
+
+            if (lobby.areBothReady()) {
+                Logger.log("Both players ready! Starting game...");
+                if (game != null) {
+                    game.start();
+                }
+
+                GameStatusDTO activeTurn = new GameStatusDTO(GameState.ACTIVE_TURN, null);
+                WebSocketMessage<GameStatusDTO> msgPlayerOne = new WebSocketMessage<>("turn_change", activeTurn);
+                String responsePlayerOne = app.getGson().toJson(msgPlayerOne);
+
+                GameStatusDTO waitingTurn = new GameStatusDTO(GameState.WAITING_FOR_OPPONENT, null);
+                WebSocketMessage<GameStatusDTO> msgPlayerTwo = new WebSocketMessage<>("turn_change", waitingTurn);
+                String responsePlayerTwo = app.getGson().toJson(msgPlayerTwo);
+
+                lobby.getPlayerOneCtx().send(responsePlayerOne);
+                lobby.getPlayerTwoCtx().send(responsePlayerTwo);
+            }
+        } else if (game != null && data != null && data.state() == GameState.GAME_OVER) {
+            Logger.debug("[LobbySocketClient] Dropping game over from the loser, already announced by the server");
+        } else {
+            forward.run();
+        }
+    }
+
+    /**
+     * Handles a "fleet_submit" message. The fleet is validated and kept by the game engine of a server-authoritative
+     * lobby; in a relay lobby it is dropped, a fleet is never forwarded to the opponent.
+     *
+     * @param message the raw "fleet_submit" message
+     */
+    void handleFleetSubmit(String message) {
+        ServerGame game = lobby.getGame();
+        if (game == null) {
+            Logger.log("[SERVER DEBUG] Ignoring fleet submitted to relay lobby {}", lobby.getLobbyID());
+            return;
+        }
+        WebSocketMessage<FleetSubmitDTO> fleetMessage = app.getGson().fromJson(message, FLEET_SUBMIT_MESSAGE_TYPE);
+        try {
+            game.submitFleet(playerType, fleetMessage.getData() == null ? null : fleetMessage.getData().fleet());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            sendError("Fleet rejected: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves a shot with the game engine and sends the outcome and the turn change in one step: the shooter
+     * gets the delta of the opponent grid, the opponent gets the shot, which hands it the turn.
+     * An invalid shot is answered with an error and changes nothing.
+     *
+     * @param shot the shot of this client
+     */
+    void resolveShot(ShotRequestDTO shot) {
+        if (shot == null || shot.coord() == null) {
+            sendError("Shot without coordinate");
+            return;
+        }
+        ServerGame.ShotResult result;
+        try {
+            result = lobby.getGame().fire(playerType, shot.coord().row(), shot.coord().col());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            sendError("Shot rejected: " + e.getMessage());
+            return;
+        }
+        sendGameMessage(GameMessageType.GRID_DELTA, result.delta());
+        LobbySocketClient opponent = getOpponent();
+        if (opponent != null) {
+            opponent.sendGameMessage(GameMessageType.SHOT_REQUEST, shot);
+        }
+        if (result.gameOver()) {
+            sendGameMessage(GameMessageType.TURN_CHANGE, new GameStatusDTO(GameState.GAME_OVER, Defaults.MSG_VICTORY));
+        }
+    }
+
+    /**
+     * Handles the grid messages of a server-authoritative lobby. The grid updates a client sends after resolving
+     * a shot locally are dropped, the server already sent its own; a resync request is answered from the engine.
+     *
+     * @param messageType the type of the grid message
+     */
+    void handleAuthoritativeGridMessage(String messageType) {
+        if (GameMessageType.GRID_RESYNC.getType().equals(messageType)) {
+            GridDeltaDTO snapshot = lobby.getGame().snapshotOfOpponent(playerType);
+            if (snapshot != null) {
+                sendGameMessage(GameMessageType.GRID_DELTA, snapshot);
             }
         }
     }
 
+    /**
+     * Sends an error message to the client.
+     *
+     * @param error the description of the error
+     */
+    void sendError(String error) {
+        send(app.getGson().toJson(new WebSocketMessage<String>(GameMessageType.ERROR.getType(), error)));
+    }
+
     /**
      * Handles incoming binary messages.
+     * Binary frames are only accepted from authenticated clients and, like text messages, they are processed
+     * through the lobby mailbox.
      *
      * @param ctx the WebSocket binary message context
      */
     @Override
     public void onBinaryMessage(WsBinaryMessageContext ctx) {
+        long arrival = System.nanoTime();
+        app.getMetricsService().recordBytesReceived(ctx.length());
+        Lobby current = lobby;
+        if (current == null || !isAuthenticated.get()) {
+            Logger.payload("LobbySocketClient <- unauthenticated client, ignored", "binary frame");
+            return;
+        }
+        byte[] frame = Arrays.copyOfRange(ctx.data(), ctx.offset(), ctx.offset() + ctx.length());
+        current.getMailbox().execute(() -> handleBinaryMessage(frame, arrival));
+    }
+
+    /**
+     * Processes a binary frame: turn changes are decoded because the server tracks the ready state of the players,
+     * every other game message is forwarded without decoding its payload, unless the server resolves the shots.
+     *
+     * @param frame   the raw binary frame
+     * @param arrival the {@link System#nanoTime()} reading taken when the frame arrived
+     */
+    void handleBinaryMessage(byte[] frame, long arrival) {
+        receivedAt = arrival;
+        app.getLobbiesService().recordActivity(lobby);
+        try {
+            GameMessageType type = BinaryMessageCodec.peekType(frame, 0, frame.length);
+            if (type == GameMessageType.TURN_CHANGE) {
+                GameStatusDTO data = (GameStatusDTO) BinaryMessageCodec.decode(frame).getData();
+                handleTurnChange(data, () -> forwardBinary(frame));
+            } else if (!lobby.isServerAuthoritative()) {
+                forwardBinary(frame);
+            } else if (type == GameMessageType.SHOT_REQUEST) {
+                resolveShot((ShotRequestDTO) BinaryMessageCodec.decode(frame).getData());
+            } else {
+                handleAuthoritativeGridMessage(type.getType());
+            }
+        } catch (IllegalArgumentException e) {
+            Logger.payload("LobbySocketClient <- client, malformed binary frame", String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * Marks the client as disconnected and releases its lobby slot after the messages already queued for the lobby.
+     */
+    void releaseThroughMailbox() {
+        isConnected.set(false);
+        if (authenticationDeadline != null) {
+            authenticationDeadline.cancel();
+        }
+        if (outbound != null) {
+            outbound.close();
+            Logger.debug(() -> "[LobbySocketClient] Outbound queue closed: sent " + outbound.getSentCount()
+                    + ", coalesced " + outbound.getCoalescedCount() + ", dropped " + outbound.getDroppedCount()
+                    + ", max depth " + outbound.getHighWater() + "/" + outbound.getCapacity());
+        }
+        Lobby current = lobby;
+        if (current != null) {
+            current.getMailbox().execute(this::disposeLobby);
+        } else {
+            disposeLobby();
+        }
     }
 
     void disposeLobby() {
         isConnected.set(false);
         if (lobby != null && isAuthenticated.get()) {
-            if (playerType.equals(LobbiesService.PlayerType.PLAYER_ONE)) {
-                lobby.setPlayerOneCtx(null);
-                lobby.setPlayerOneReady(false);
-                lobby.setPlayerOne(null);
-            } else if (playerType.equals(LobbiesService.PlayerType.PLAYER_TWO)) {
-                lobby.setPlayerTwoCtx(null);
-                lobby.setPlayerTwoReady(false);
-                lobby.setPlayerTwo(null);
-            }
-            app.getLobbiesService().removeLobby(lobby.getLobbyID());
+            app.getLobbiesService().releasePlayer(lobby, playerType);
         }
     }
 
@@ -225,8 +682,8 @@ public class LobbySocketClient implements WebSocketConnection {
      */
     @Override
     public void onClose(WsCloseContext ctx) {
-        Logger.log("[LobbySocketClient] WebSocket connection closed: " + ctx.sessionId() + " (Reason: " + ctx.reason() + ")");
-        disposeLobby();
+        Logger.log("[LobbySocketClient] WebSocket connection closed: {} (Reason: {})", ctx.sessionId(), ctx.reason());
+        releaseThroughMailbox();
     }
 
     /**
@@ -236,7 +693,7 @@ public class LobbySocketClient implements WebSocketConnection {
      */
     @Override
     public void onError(WsErrorContext ctx) {
-        Logger.error("[LobbySocketClient] WebSocket error: " + ctx.error().getMessage());
-            disposeLobby();
+        Logger.error("[LobbySocketClient] WebSocket error: {}", ctx.error().getMessage());
+        releaseThroughMailbox();
     }
 }
@@ -0,0 +1,55 @@
+package it.units.battleship.routes.metrics;
+
+import io.javalin.http.Context;
+import it.units.battleship.Defaults;
+import it.units.battleship.WebServerApp;
+import it.units.battleship.impl.AbstractRoute;
+
+/**
+ * MetricsController class that serves the metrics of the server to a Prometheus scraper.
+ */
+public class MetricsController extends AbstractRoute<MetricsService> {
+    /**
+     * Content type of the Prometheus text exposition format.
+     */
+    static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Constructor for MetricsController.
+     *
+     * @param app the WebServerApp instance
+     */
+    public MetricsController(WebServerApp app) {
+        super(app);
+    }
+
+    /**
+     * Returns the MetricsService associated with the route.
+     *
+     * @return the MetricsService
+     */
+    @Override
+    public MetricsService getService() {
+        return getApp().getMetricsService();
+    }
+
+    /**
+     * Returns the route path.
+     *
+     * @return the route path as a String
+     */
+    @Override
+    public String getRoutePath() {
+        return Defaults.HTTP_METRICS_PATH;
+    }
+
+    /**
+     * Handles GET requests.
+     *
+     * @param ctx the Javalin context
+     */
+    @Override
+    public void handleGetRequest(Context ctx) {
+        ctx.status(200).contentType(PROMETHEUS_CONTENT_TYPE).result(getService().scrape());
+    }
+}
@@ -0,0 +1,199 @@
+package it.units.battleship.routes.metrics;
+
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.impl.LatencyHistogram;
+import it.units.battleship.impl.MetricsRegistry;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service class holding the metrics of the server.
+ * <p>
+ * The instruments updated on the hot path (messages, bytes, latencies) are created up front, one per label value, so
+ * recording is an array lookup and an increment. The state of the lobbies and of the reaper is read from the
+ * {@link LobbiesService} only when the metrics are scraped.
+ */
+public class MetricsService {
+    @Getter
+    final MetricsRegistry registry = new MetricsRegistry();
+    final LongAdder httpRequests = registry.counter("battleship_http_requests_total",
+            "HTTP requests received, WebSocket upgrades included");
+    final LongAdder bytesReceived = registry.counter("battleship_websocket_received_bytes_total",
+            "Payload bytes of the WebSocket frames received from the clients");
+    final LongAdder bytesSent = registry.counter("battleship_websocket_sent_bytes_total",
+            "Payload bytes of the WebSocket frames written to the clients");
+    final LongAdder slowConsumers = registry.counter("battleship_websocket_slow_consumers_total",
+            "WebSocket clients disconnected because their outbound queue overflowed");
+    /**
+     * Indexed by the ordinal of the message type, the last one counts the messages of unknown type.
+     */
+    final LongAdder[] forwarded = new LongAdder[GameMessageType.values().length + 1];
+    @Getter
+    final LatencyHistogram forwardLatency = registry.histogram("battleship_forward_latency_seconds",
+            "Time from the arrival of a game message to its hand-off to the opponent's outbound queue");
+    final LongAdder[] authenticationFailures = new LongAdder[AuthenticationFailure.values().length];
+
+    /**
+     * Last values read from the lobbies service, refreshed at the beginning of every scrape.
+     */
+    LobbiesService.LiveObjects liveObjects;
+    Map<LobbiesService.LobbyState, Integer> lobbyStates;
+
+    /**
+     * Constructs the metrics of a server.
+     *
+     * @param lobbiesService the service whose lobbies, sessions and reaper are measured
+     */
+    public MetricsService(LobbiesService lobbiesService) {
+        for (GameMessageType type : GameMessageType.values()) {
+            forwarded[type.ordinal()] = registry.counter("battleship_messages_forwarded_total",
+                    "Game messages forwarded to the opponent, by type", "type", type.getType());
+        }
+        forwarded[forwarded.length - 1] = registry.counter("battleship_messages_forwarded_total",
+                "Game messages forwarded to the opponent, by type", "type", "other");
+        for (AuthenticationFailure reason : AuthenticationFailure.values()) {
+            authenticationFailures[reason.ordinal()] = registry.counter("battleship_authentication_failures_total",
+                    "WebSocket authentications refused or timed out, by reason", "reason", reason.name().toLowerCase(Locale.ROOT));
+        }
+
+        registry.beforeScrape(() -> {
+            liveObjects = lobbiesService.getLiveObjects();
+            lobbyStates = lobbiesService.countLobbiesByState();
+        });
+        registry.gauge("battleship_websocket_connections", "Open WebSocket connections, by endpoint",
+                () -> liveObjects.sessions(), "endpoint", "game");
+        registry.gauge("battleship_websocket_connections", "Open WebSocket connections, by endpoint",
+                () -> liveObjects.feedSubscribers(), "endpoint", "feed");
+        for (LobbiesService.LobbyState state : LobbiesService.LobbyState.values()) {
+            registry.gauge("battleship_lobbies", "Registered lobbies, by state",
+                    () -> lobbyStates.get(state), "state", state.name().toLowerCase(Locale.ROOT));
+        }
+        registry.gauge("battleship_reaper_pending_timeouts", "Expiry checks waiting in the reaper",
+                () -> liveObjects.pendingExpiries());
+        registry.counter("battleship_reaper_expired_total", "Expiry checks run by the reaper",
+                () -> lobbiesService.getReaper().getExpiredCount());
+        registry.histogram("battleship_reaper_sweep_seconds", "Duration of the scheduled advances of the reaper",
+                lobbiesService.getSweepTime());
+    }
+
+    /**
+     * Counts an HTTP request.
+     */
+    public void recordHttpRequest() {
+        httpRequests.increment();
+    }
+
+    /**
+     * Counts a game message forwarded to the opponent and the time it took since it arrived.
+     *
+     * @param type       the type of the message, null if unknown
+     * @param receivedAt the {@link System#nanoTime()} reading taken when the message arrived
+     */
+    public void recordForward(GameMessageType type, long receivedAt) {
+        forwarded[type == null ? forwarded.length - 1 : type.ordinal()].increment();
+        forwardLatency.recordSince(receivedAt);
+    }
+
+    /**
+     * Counts a refused or timed out authentication.
+     *
+     * @param reason the reason of the failure
+     */
+    public void recordAuthenticationFailure(AuthenticationFailure reason) {
+        authenticationFailures[reason.ordinal()].increment();
+    }
+
+    /**
+     * Counts the bytes of a frame received from a client.
+     *
+     * @param bytes the payload length of the frame
+     */
+    public void recordBytesReceived(long bytes) {
+        bytesReceived.add(bytes);
+    }
+
+    /**
+     * Counts the bytes of a frame written to a client.
+     *
+     * @param bytes the payload length of the frame
+     */
+    public void recordBytesSent(long bytes) {
+        bytesSent.add(bytes);
+    }
+
+    /**
+     * Counts a client disconnected as a slow consumer.
+     */
+    public void recordSlowConsumer() {
+        slowConsumers.increment();
+    }
+
+    /**
+     * Returns the number of game messages of a type forwarded so far.
+     *
+     * @param type the type of the messages, null for the unknown types
+     * @return the number of forwarded messages
+     */
+    public long getForwardedCount(GameMessageType type) {
+        return forwarded[type == null ? forwarded.length - 1 : type.ordinal()].sum();
+    }
+
+    /**
+     * Writes the metrics in the Prometheus text format.
+     *
+     * @return the metrics page
+     */
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    /**
+     * Computes the length of a string encoded in UTF-8, without encoding it.
+     *
+     * @param text the string
+     * @return the number of bytes of the UTF-8 encoding
+     */
+    public static long utf8Length(CharSequence text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                // a surrogate pair is 4 bytes, 2 for each half
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Why a WebSocket client was not authenticated.
+     */
+    public enum AuthenticationFailure {
+        /**
+         * The client was already authenticated or sent no credentials.
+         */
+        INVALID_REQUEST,
+        /**
+         * The requested lobby does not exist.
+         */
+        LOBBY_NOT_FOUND,
+        /**
+         * Both slots of the requested lobby are taken.
+         */
+        LOBBY_FULL,
+        /**
+         * The client did not authenticate within the grace period.
+         */
+        TIMEOUT
+    }
+}
@@ -1,11 +1,13 @@
 import okhttp3.WebSocket;
 import okhttp3.WebSocketListener;
+import okio.ByteString;
 import org.jspecify.annotations.NonNull;
 
 import java.util.concurrent.*;
 
 public abstract class AbstractWebsocket extends WebSocketListener {
     private final BlockingQueue<String> messageQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<byte[]> binaryQueue = new LinkedBlockingQueue<>();
 
     @Override
     public void onMessage(@NonNull WebSocket webSocket, @NonNull String text) {
@@ -13,6 +15,12 @@ public abstract class AbstractWebsocket extends WebSocketListener {
         messageQueue.offer(text);
     }
 
+    @Override
+    public void onMessage(@NonNull WebSocket webSocket, @NonNull ByteString bytes) {
+        System.out.println("Received binary message: " + bytes.hex());
+        binaryQueue.offer(bytes.toByteArray());
+    }
+
     public String waitForMessage() throws InterruptedException {
         String message = messageQueue.poll(5, TimeUnit.SECONDS);
         if (message == null){
@@ -21,5 +29,13 @@ public abstract class AbstractWebsocket extends WebSocketListener {
         return message;
     }
 
+    public byte[] waitForBinaryMessage() throws InterruptedException {
+        byte[] message = binaryQueue.poll(5, TimeUnit.SECONDS);
+        if (message == null){
+            throw new RuntimeException("Timeout waiting for WebSocket binary message");
+        }
+        return message;
+    }
+
 
 }
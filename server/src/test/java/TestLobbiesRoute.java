@@ -5,12 +5,17 @@ import it.units.battleship.data.LobbiesResponseData;
 import it.units.battleship.data.LobbyCreateRequestData;
 import it.units.battleship.data.LobbyData;
 import it.units.battleship.data.socket.WebSocketAuthenticationRequest;
+import it.units.battleship.Coordinate;
+import it.units.battleship.data.socket.GameMessageType;
 import it.units.battleship.data.socket.WebSocketMessage;
+import it.units.battleship.data.socket.binary.BinaryMessageCodec;
+import it.units.battleship.data.socket.payloads.ShotRequestDTO;
 import lombok.SneakyThrows;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.WebSocket;
+import okio.ByteString;
 import org.jspecify.annotations.NonNull;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,6 +71,74 @@ public class TestLobbiesRoute {
         }
     }
 
+    @Test
+    @SneakyThrows
+    public void testLobbiesRouteConditionalGet() {
+        OkHttpClient client = new OkHttpClient();
+        Request request = new Request.Builder()
+                .url("http://localhost:7000/api/lobbies")
+                .get()
+                .build();
+        String etag;
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+            etag = response.header("ETag");
+            assertNotNull(etag);
+        }
+        Request conditional = request.newBuilder().header("If-None-Match", etag).build();
+        try (Response response = client.newCall(conditional).execute()) {
+            assertEquals(304, response.code());
+        }
+        getLobby();
+        try (Response response = client.newCall(conditional).execute()) {
+            assertEquals(200, response.code());
+            assertNotEquals(etag, response.header("ETag"));
+            LobbiesResponseData lobbiesResponseData = gson.fromJson(response.body().string(), LobbiesResponseData.class);
+            assertEquals(1, lobbiesResponseData.getResults().size());
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testLobbyPageConditionalGet() {
+        OkHttpClient client = new OkHttpClient();
+        Request request = new Request.Builder()
+                .url("http://localhost:7000/api/lobbies?limit=20")
+                .get()
+                .build();
+        String etag;
+        try (Response response = client.newCall(request).execute()) {
+            assertEquals(200, response.code());
+            etag = response.header("ETag");
+            assertNotNull(etag);
+        }
+        Request conditional = request.newBuilder().header("If-None-Match", etag).build();
+        try (Response response = client.newCall(conditional).execute()) {
+            assertEquals(304, response.code());
+        }
+        getLobby();
+        try (Response response = client.newCall(conditional).execute()) {
+            assertEquals(200, response.code());
+            assertNotEquals(etag, response.header("ETag"));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testUnrelatedQueryParametersGetTheFullListing() {
+        OkHttpClient client = new OkHttpClient();
+        getLobby();
+        String fullListing;
+        try (Response response = client.newCall(new Request.Builder().url("http://localhost:7000/api/lobbies").get().build()).execute()) {
+            assertEquals(200, response.code());
+            fullListing = response.body().string();
+        }
+        try (Response response = client.newCall(new Request.Builder().url("http://localhost:7000/api/lobbies?client=swing").get().build()).execute()) {
+            assertEquals(200, response.code());
+            assertEquals(fullListing, response.body().string());
+        }
+    }
+
     String getLobby() {
         Request request = new Request.Builder()
                 .url("http://localhost:7000/api/lobbies")
@@ -278,4 +351,93 @@ public class TestLobbiesRoute {
         webSocket1.close(1000, "Test complete");
         webSocket2.close(1000, "Test complete");
     }
+
+    @Test
+    @SneakyThrows
+    public void testBinaryProtocolWithJsonOpponent() {
+        String lobbyID = getLobby();
+        Request request = new Request.Builder()
+                .url("ws://localhost:7000/api/lobbies")
+                .build();
+        AbstractWebsocket binarySocket = new AbstractWebsocket() {
+        };
+        WebSocket binaryWebSocket = new OkHttpClient().newWebSocket(request, binarySocket);
+        Thread.sleep(500);
+        binaryWebSocket.send(gson.toJson(new WebSocketMessage<>("authenticate", new WebSocketAuthenticationRequest(lobbyID, "Player1", BinaryMessageCodec.VERSION))));
+        WebSocketMessage<Boolean> responseMessage1 = gson.fromJson(binarySocket.waitForMessage(), new TypeToken<WebSocketMessage<Boolean>>() {
+        }.getType());
+        assertTrue(responseMessage1.getData());
+        WebSocketMessage<Integer> protocolMessage = gson.fromJson(binarySocket.waitForMessage(), new TypeToken<WebSocketMessage<Integer>>() {
+        }.getType());
+        assertEquals(GameMessageType.PROTOCOL.getType(), protocolMessage.getType());
+        assertEquals(BinaryMessageCodec.VERSION, protocolMessage.getData());
+        binarySocket.waitForMessage(); // consume lobby update message
+
+        AbstractWebsocket jsonSocket = new AbstractWebsocket() {
+        };
+        WebSocket jsonWebSocket = new OkHttpClient().newWebSocket(request, jsonSocket);
+        Thread.sleep(500);
+        jsonWebSocket.send(gson.toJson(new WebSocketMessage<>("authenticate", new WebSocketAuthenticationRequest(lobbyID, "Player2"))));
+        WebSocketMessage<Boolean> responseMessage2 = gson.fromJson(jsonSocket.waitForMessage(), new TypeToken<WebSocketMessage<Boolean>>() {
+        }.getType());
+        assertTrue(responseMessage2.getData());
+        jsonSocket.waitForMessage(); // consume lobby update message
+
+        // binary -> JSON
+        ShotRequestDTO shot = new ShotRequestDTO(new Coordinate(4, 7));
+        binaryWebSocket.send(ByteString.of(BinaryMessageCodec.encode(GameMessageType.SHOT_REQUEST, shot)));
+        WebSocketMessage<ShotRequestDTO> receivedShot = gson.fromJson(jsonSocket.waitForMessage(), new TypeToken<WebSocketMessage<ShotRequestDTO>>() {
+        }.getType());
+        assertEquals(GameMessageType.SHOT_REQUEST.getType(), receivedShot.getType());
+        assertEquals(shot, receivedShot.getData());
+
+        // JSON -> binary
+        ShotRequestDTO answer = new ShotRequestDTO(new Coordinate(1, 2));
+        jsonWebSocket.send(gson.toJson(new WebSocketMessage<>(GameMessageType.SHOT_REQUEST.getType(), answer)));
+        WebSocketMessage<Object> receivedAnswer = BinaryMessageCodec.decode(binarySocket.waitForBinaryMessage());
+        assertEquals(GameMessageType.SHOT_REQUEST.getType(), receivedAnswer.getType());
+        assertEquals(answer, receivedAnswer.getData());
+
+        binaryWebSocket.close(1000, "Test complete");
+        jsonWebSocket.close(1000, "Test complete");
+    }
+
+    @Test
+    @SneakyThrows
+    public void testDeltaUpdatesAreEnabledOnceBothPlayersSupportThem() {
+        String lobbyID = getLobby();
+        Request request = new Request.Builder()
+                .url("ws://localhost:7000/api/lobbies")
+                .build();
+        AbstractWebsocket socket1 = new AbstractWebsocket() {
+        };
+        WebSocket webSocket1 = new OkHttpClient().newWebSocket(request, socket1);
+        Thread.sleep(500);
+        webSocket1.send(gson.toJson(new WebSocketMessage<>("authenticate",
+                WebSocketAuthenticationRequest.builder().id(lobbyID).name("Player1").deltaUpdates(true).build())));
+        WebSocketMessage<Boolean> responseMessage1 = gson.fromJson(socket1.waitForMessage(), new TypeToken<WebSocketMessage<Boolean>>() {
+        }.getType());
+        assertTrue(responseMessage1.getData());
+        socket1.waitForMessage(); // consume lobby update message, no opponent yet so no delta_updates
+
+        AbstractWebsocket socket2 = new AbstractWebsocket() {
+        };
+        WebSocket webSocket2 = new OkHttpClient().newWebSocket(request, socket2);
+        Thread.sleep(500);
+        webSocket2.send(gson.toJson(new WebSocketMessage<>("authenticate",
+                WebSocketAuthenticationRequest.builder().id(lobbyID).name("Player2").deltaUpdates(true).build())));
+        WebSocketMessage<Boolean> responseMessage2 = gson.fromJson(socket2.waitForMessage(), new TypeToken<WebSocketMessage<Boolean>>() {
+        }.getType());
+        assertTrue(responseMessage2.getData());
+
+        for (AbstractWebsocket socket : new AbstractWebsocket[]{socket1, socket2}) {
+            WebSocketMessage<Boolean> deltaMessage = gson.fromJson(socket.waitForMessage(), new TypeToken<WebSocketMessage<Boolean>>() {
+            }.getType());
+            assertEquals(GameMessageType.DELTA_UPDATES.getType(), deltaMessage.getType());
+            assertTrue(deltaMessage.getData());
+        }
+
+        webSocket1.close(1000, "Test complete");
+        webSocket2.close(1000, "Test complete");
+    }
 }
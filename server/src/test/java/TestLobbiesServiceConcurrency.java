@@ -0,0 +1,124 @@
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.models.Lobby;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-threaded stress test for the lobby registry.
+ * Many threads create lobbies and connect players into them while a scanner keeps iterating the registry,
+ * the same access pattern produced by Jetty workers and the cleanup scheduler. The throughput of the same workload
+ * is measured by {@code LobbyRegistryBenchmark} in the benchmarks module.
+ */
+public class TestLobbiesServiceConcurrency {
+    static final int THREADS = 16;
+    static final int LOBBIES_PER_THREAD = 2_000;
+
+    LobbiesService service;
+
+    @BeforeEach
+    public void setup() {
+        service = new LobbiesService();
+        // the periodic cleanup would evict the freshly created, still empty lobbies: the test drives its own scanner
+        service.close();
+    }
+
+    @Test
+    @SneakyThrows
+    public void testEverySlotIsAssignedExactlyOnce() {
+        String lobbyID = "contended-lobby";
+        service.addLobby(LobbyData.builder().lobbyID(lobbyID).lobbyName("Contended").build());
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LobbiesService.PlayerType>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            String name = "Player" + i;
+            results.add(pool.submit(() -> {
+                start.await();
+                return service.connectPlayer(lobbyID, new LobbySocketClient(null, null), name);
+            }));
+        }
+        start.countDown();
+        int playerOne = 0;
+        int playerTwo = 0;
+        for (Future<LobbiesService.PlayerType> result : results) {
+            switch (result.get()) {
+                case PLAYER_ONE -> playerOne++;
+                case PLAYER_TWO -> playerTwo++;
+                case INVALID -> {
+                }
+            }
+        }
+        pool.shutdown();
+        assertEquals(1, playerOne);
+        assertEquals(1, playerTwo);
+        Lobby lobby = service.getLobbyByID(lobbyID);
+        assertNotNull(lobby.getPlayerOneCtx());
+        assertNotNull(lobby.getPlayerTwoCtx());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testConcurrentConnectsAreNeverLost() {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger scans = new AtomicInteger();
+        Thread scanner = new Thread(() -> {
+            while (running.get()) {
+                service.getAvailableLobbies();
+                scans.incrementAndGet();
+            }
+        });
+        scanner.start();
+        Map<String, LobbySocketClient[]> clients = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < LOBBIES_PER_THREAD; i++) {
+                    String lobbyID = "lobby-" + thread + "-" + i;
+                    LobbySocketClient first = new LobbySocketClient(null, null);
+                    LobbySocketClient second = new LobbySocketClient(null, null);
+                    clients.put(lobbyID, new LobbySocketClient[]{first, second});
+                    service.addLobby(LobbyData.builder().lobbyID(lobbyID).lobbyName(lobbyID).build());
+                    assertEquals(LobbiesService.PlayerType.PLAYER_ONE, service.connectPlayer(lobbyID, first, "A"));
+                    assertEquals(LobbiesService.PlayerType.PLAYER_TWO, service.connectPlayer(lobbyID, second, "B"));
+                    assertEquals(LobbiesService.PlayerType.INVALID, service.connectPlayer(lobbyID, new LobbySocketClient(null, null), "C"));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        running.set(false);
+        scanner.join();
+        pool.shutdown();
+
+        assertTrue(scans.get() > 0);
+        assertEquals(THREADS * LOBBIES_PER_THREAD, service.getAllLobbies().size());
+        assertTrue(service.getAvailableLobbies().isEmpty());
+        for (Lobby lobby : service.getAllLobbies()) {
+            LobbySocketClient[] expected = clients.get(lobby.getLobbyID());
+            assertSame(expected[0], lobby.getPlayerOneCtx(), "Wrong player one in " + lobby.getLobbyID());
+            assertSame(expected[1], lobby.getPlayerTwoCtx(), "Wrong player two in " + lobby.getLobbyID());
+            assertEquals("A", lobby.getPlayerOne());
+            assertEquals("B", lobby.getPlayerTwo());
+            assertEquals(2, lobby.getSessions());
+        }
+    }
+}
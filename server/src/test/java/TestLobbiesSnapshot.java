@@ -0,0 +1,74 @@
+import com.google.gson.Gson;
+import it.units.battleship.data.LobbiesResponseData;
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbiesSnapshot;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLobbiesSnapshot {
+    LobbiesService service;
+
+    @BeforeEach
+    public void setup() {
+        service = new LobbiesService();
+        // the periodic cleanup would evict the lobbies without connected players
+        service.close();
+    }
+
+    LobbiesResponseData decode(LobbiesSnapshot snapshot) {
+        return new Gson().fromJson(new String(snapshot.body(), StandardCharsets.UTF_8), LobbiesResponseData.class);
+    }
+
+    @Test
+    public void testSnapshotIsReusedUntilTheRegistryChanges() {
+        service.addLobby(LobbyData.builder().lobbyID("a").lobbyName("A").playerOne("Alice").build());
+        LobbiesSnapshot first = service.getSnapshot();
+        assertSame(first, service.getSnapshot());
+
+        service.addLobby(LobbyData.builder().lobbyID("b").lobbyName("B").playerOne("Bob").build());
+        LobbiesSnapshot second = service.getSnapshot();
+        assertNotSame(first, second);
+        assertNotEquals(first.etag(), second.etag());
+        assertEquals(2, decode(second).getResults().size());
+    }
+
+    @Test
+    public void testSnapshotCountsEveryLobbyAndListsTheAvailableOnes() {
+        service.addLobby(LobbyData.builder().lobbyID("open").lobbyName("Open").playerOne("Alice").build());
+        service.addLobby(LobbyData.builder().lobbyID("full").lobbyName("Full").build());
+        service.connectPlayer("full", new LobbySocketClient(null, null), "Bob");
+        service.connectPlayer("full", new LobbySocketClient(null, null), "Carol");
+
+        LobbiesResponseData data = decode(service.getSnapshot());
+        assertEquals(2, data.getCount());
+        assertEquals(1, data.getResults().size());
+        assertEquals("open", data.getResults().getFirst().getLobbyID());
+        assertFalse(new String(service.getSnapshot().body(), StandardCharsets.UTF_8).contains("\n"), "The body is not pretty printed");
+    }
+
+    @Test
+    public void testFailedConnectDoesNotInvalidateTheSnapshot() {
+        service.addLobby(LobbyData.builder().lobbyID("a").lobbyName("A").build());
+        LobbiesSnapshot snapshot = service.getSnapshot();
+        long version = service.getVersion();
+        assertEquals(LobbiesService.PlayerType.INVALID, service.connectPlayer("missing", new LobbySocketClient(null, null), "Bob"));
+        assertEquals(version, service.getVersion());
+        assertSame(snapshot, service.getSnapshot());
+    }
+
+    @Test
+    public void testIfNoneMatch() {
+        LobbiesSnapshot snapshot = service.getSnapshot();
+        assertTrue(snapshot.matches(snapshot.etag()));
+        assertTrue(snapshot.matches("\"other\", W/" + snapshot.etag()));
+        assertTrue(snapshot.matches("*"));
+        assertFalse(snapshot.matches(null));
+        assertFalse(snapshot.matches("\"other\""));
+    }
+}
@@ -0,0 +1,131 @@
+import com.google.gson.Gson;
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.data.LobbyFeedEventData;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbyFeed;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLobbyFeed {
+    final Gson gson = new Gson();
+    final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+    LobbiesService service;
+
+    @BeforeEach
+    public void setup() {
+        service = new LobbiesService();
+        // the periodic cleanup would evict the lobbies without connected players
+        service.close();
+    }
+
+    @AfterEach
+    public void teardown() {
+        service.getFeed().unsubscribe(this);
+    }
+
+    @SneakyThrows
+    LobbyFeedEventData nextEvent() {
+        String frame = frames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(frame, "Timeout waiting for a feed event");
+        return gson.fromJson(frame, LobbyFeedEventData.class);
+    }
+
+    @Test
+    public void testSubscriberReceivesSnapshotOfJoinableLobbies() {
+        service.addLobby(LobbyData.builder().lobbyID("open").lobbyName("Open").playerOne("Alice").build());
+        service.addLobby(LobbyData.builder().lobbyID("full").lobbyName("Full").build());
+        service.connectPlayer("full", new LobbySocketClient(null, null), "Bob");
+        service.connectPlayer("full", new LobbySocketClient(null, null), "Carol");
+
+        service.getFeed().subscribe(this, frames::add);
+
+        LobbyFeedEventData snapshot = nextEvent();
+        assertEquals(LobbyFeedEventData.Kind.SNAPSHOT, snapshot.getEvent());
+        List<LobbyData> lobbies = snapshot.getLobbies();
+        assertEquals(1, lobbies.size());
+        assertEquals("open", lobbies.getFirst().getLobbyID());
+        assertEquals("Alice", lobbies.getFirst().getPlayerOne());
+    }
+
+    @Test
+    public void testLobbyLifecycleIsPushed() {
+        service.getFeed().subscribe(this, frames::add);
+        assertEquals(LobbyFeedEventData.Kind.SNAPSHOT, nextEvent().getEvent());
+
+        service.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("Lobby").playerOne("Alice").build());
+        LobbyFeedEventData added = nextEvent();
+        assertEquals(LobbyFeedEventData.Kind.ADDED, added.getEvent());
+        assertEquals("Lobby", added.getLobby().getLobbyName());
+
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Alice");
+        assertEquals(LobbyFeedEventData.Kind.UPDATED, nextEvent().getEvent());
+
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Bob");
+        LobbyFeedEventData full = nextEvent();
+        assertEquals(LobbyFeedEventData.Kind.REMOVED, full.getEvent());
+        assertEquals("Bob", full.getLobby().getPlayerTwo());
+
+        service.disconnectPlayerTwo("lobby");
+        assertEquals(LobbyFeedEventData.Kind.UPDATED, nextEvent().getEvent());
+
+        service.removeLobby("lobby");
+        LobbyFeedEventData removed = nextEvent();
+        assertEquals(LobbyFeedEventData.Kind.REMOVED, removed.getEvent());
+        assertEquals("lobby", removed.getLobby().getLobbyID());
+        assertTrue(frames.isEmpty());
+    }
+
+    @Test
+    public void testFailingSubscriberIsDropped() {
+        LobbyFeed feed = new LobbyFeed(Runnable::run);
+        feed.subscribe("healthy", frames::add);
+        feed.subscribe("broken", frame -> {
+            if (frame.contains("added")) {
+                throw new IllegalStateException("closed");
+            }
+        });
+        assertEquals(2, feed.getSubscriberCount());
+
+        LobbiesService lobbies = new LobbiesService();
+        lobbies.close();
+        lobbies.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("Lobby").build());
+        feed.lobbyAdded(lobbies.getLobbyByID("lobby"));
+
+        assertEquals(1, feed.getSubscriberCount());
+        assertEquals(LobbyFeedEventData.Kind.SNAPSHOT, nextEvent().getEvent());
+        assertEquals(LobbyFeedEventData.Kind.ADDED, nextEvent().getEvent());
+    }
+
+    @Test
+    public void testSnapshotIncludesEventsQueuedBeforeIt() {
+        List<Runnable> tasks = new ArrayList<>();
+        LobbyFeed feed = new LobbyFeed(tasks::add);
+        LobbiesService lobbies = new LobbiesService();
+        lobbies.close();
+        lobbies.addLobby(LobbyData.builder().lobbyID("kept").lobbyName("Kept").build());
+        lobbies.addLobby(LobbyData.builder().lobbyID("gone").lobbyName("Gone").build());
+
+        // the events are queued from inside the registry update, possibly before the registry stores the change
+        feed.lobbyAdded(lobbies.getLobbyByID("kept"));
+        feed.lobbyAdded(lobbies.getLobbyByID("gone"));
+        feed.lobbyRemoved(lobbies.getLobbyByID("gone"));
+        feed.subscribe(this, frames::add);
+        tasks.forEach(Runnable::run);
+
+        LobbyFeedEventData snapshot = nextEvent();
+        assertEquals(LobbyFeedEventData.Kind.SNAPSHOT, snapshot.getEvent());
+        assertEquals(List.of("kept"), snapshot.getLobbies().stream().map(LobbyData::getLobbyID).toList());
+        assertTrue(frames.isEmpty());
+    }
+}
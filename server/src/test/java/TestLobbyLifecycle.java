@@ -0,0 +1,131 @@
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.impl.TimingWheel;
+import it.units.battleship.models.Lobby;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLobbyLifecycle {
+    static final int GAMES = 100_000;
+    static final int WARMUP_GAMES = 10_000;
+    /**
+     * Allowed growth of the used heap between the end of the warmup and the end of the soak.
+     */
+    static final long MAX_HEAP_GROWTH = 16L * 1024 * 1024;
+
+    AtomicLong clock;
+    TimingWheel reaper;
+    LobbiesService service;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong(0);
+        reaper = new TimingWheel(1_000, 64, clock::get);
+        service = new LobbiesService(reaper);
+    }
+
+    @Test
+    public void testLobbyIsReleasedWithItsLastSession() {
+        service.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("Lobby").build());
+        Lobby lobby = service.getLobbyByID("lobby");
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Alice");
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Bob");
+        assertEquals(2, lobby.getSessions());
+
+        service.releasePlayer(lobby, LobbiesService.PlayerType.PLAYER_ONE);
+        // the game is over, but the opponent still holds the lobby: it stays registered and cannot be joined
+        assertSame(lobby, service.getLobbyByID("lobby"));
+        assertTrue(service.getAvailableLobbies().isEmpty());
+
+        service.releasePlayer(lobby, LobbiesService.PlayerType.PLAYER_TWO);
+        assertNull(service.getLobbyByID("lobby"));
+        assertNull(lobby.getPlayerOneCtx());
+        assertNull(lobby.getPlayerTwoCtx());
+        reaper.advance();
+        assertEquals(new LobbiesService.LiveObjects(0, 0, 0, 0, 0, 0), service.getLiveObjects());
+    }
+
+    @Test
+    public void testRelayOnlyClientTurnsTheLobbyIntoARelay() {
+        service.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("Lobby").serverAuthoritative(true).build());
+        Lobby lobby = service.getLobbyByID("lobby");
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Alice", true);
+        assertTrue(lobby.isServerAuthoritative());
+        assertNotNull(lobby.getGame());
+
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Bob", false);
+        assertFalse(lobby.isServerAuthoritative());
+        assertNull(lobby.getGame());
+        assertFalse(service.getLobbyByID("lobby").toLobbyData().isServerAuthoritative());
+    }
+
+    @Test
+    public void testStaleReleaseDoesNotTouchANewLobby() {
+        service.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("Old").build());
+        Lobby old = service.getLobbyByID("lobby");
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Alice");
+        service.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("New").build());
+
+        service.releasePlayer(old, LobbiesService.PlayerType.PLAYER_ONE);
+        assertEquals("New", service.getLobbyByID("lobby").getLobbyName());
+    }
+
+    /**
+     * Plays 100k games in a row through the whole session lifecycle and checks that nothing of a finished game
+     * stays reachable: the gauges drop back to zero and the heap does not grow after the warmup.
+     */
+    @Test
+    @SneakyThrows
+    public void testHeapStaysFlatOverSequentialGames() {
+        long heapAfterWarmup = 0;
+        for (int game = 0; game < GAMES; game++) {
+            playGame(game);
+            if (game % 1_000 == 0) {
+                clock.addAndGet(1_000);
+                reaper.advance();
+            }
+            if (game == WARMUP_GAMES) {
+                heapAfterWarmup = usedHeap();
+            }
+        }
+        reaper.advance();
+        assertEquals(new LobbiesService.LiveObjects(0, 0, 0, 0, 0, 0), service.getLiveObjects());
+        long growth = usedHeap() - heapAfterWarmup;
+        assertTrue(growth < MAX_HEAP_GROWTH, "Heap grew by " + growth / 1024 + " KiB over " + GAMES + " games");
+    }
+
+    void playGame(int game) {
+        String lobbyID = "game-" + game;
+        service.addLobby(LobbyData.builder().lobbyID(lobbyID).lobbyName(lobbyID).build());
+        Object connectionOne = new Object();
+        Object connectionTwo = new Object();
+        LobbySocketClient playerOne = new LobbySocketClient(null, null);
+        LobbySocketClient playerTwo = new LobbySocketClient(null, null);
+        service.openSession(connectionOne, playerOne);
+        service.openSession(connectionTwo, playerTwo);
+        assertEquals(LobbiesService.PlayerType.PLAYER_ONE, service.connectPlayer(lobbyID, playerOne, "A"));
+        assertEquals(LobbiesService.PlayerType.PLAYER_TWO, service.connectPlayer(lobbyID, playerTwo, "B"));
+        Lobby lobby = service.getLobbyByID(lobbyID);
+
+        assertSame(playerOne, service.closeSession(connectionOne));
+        service.releasePlayer(lobby, LobbiesService.PlayerType.PLAYER_ONE);
+        assertSame(playerTwo, service.closeSession(connectionTwo));
+        service.releasePlayer(lobby, LobbiesService.PlayerType.PLAYER_TWO);
+    }
+
+    @SneakyThrows
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,120 @@
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.models.Lobby;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbyQuery;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLobbyListing {
+    LobbiesService service;
+
+    @BeforeEach
+    public void setup() {
+        service = new LobbiesService();
+        // the periodic cleanup would evict the lobbies without connected players
+        service.close();
+    }
+
+    void addLobby(String id, String name, long createdAt) {
+        service.addLobby(LobbyData.builder().lobbyID(id).lobbyName(name).playerOne("Alice").createdAt(createdAt).build());
+    }
+
+    List<String> ids(LobbiesService.LobbyPage page) {
+        return page.lobbies().stream().map(Lobby::getLobbyID).toList();
+    }
+
+    List<String> walk(String name, boolean openOnly, long since, int limit) {
+        List<String> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            LobbiesService.LobbyPage page = service.findLobbies(new LobbyQuery(name, openOnly, since, limit, cursor));
+            assertTrue(page.lobbies().size() <= limit);
+            all.addAll(ids(page));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return all;
+    }
+
+    @Test
+    public void testPagesFollowCreationOrder() {
+        for (int i = 0; i < 45; i++) {
+            // created in reverse ID order, so the listing cannot be following the IDs
+            addLobby(String.format("lobby-%02d", 44 - i), "Lobby", 1_000 + i);
+        }
+        LobbiesService.LobbyPage first = service.findLobbies(new LobbyQuery(null, true, 0, 20, null));
+        assertEquals(20, first.lobbies().size());
+        assertNotNull(first.nextCursor());
+        assertEquals("lobby-44", first.lobbies().getFirst().getLobbyID());
+
+        List<String> all = walk(null, true, 0, 20);
+        assertEquals(45, all.size());
+        assertEquals(45, all.stream().distinct().count());
+        assertEquals("lobby-00", all.getLast());
+    }
+
+    @Test
+    public void testLastPageHasNoCursor() {
+        addLobby("a", "A", 1);
+        addLobby("b", "B", 2);
+        LobbiesService.LobbyPage page = service.findLobbies(new LobbyQuery(null, true, 0, 2, null));
+        assertEquals(List.of("a", "b"), ids(page));
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    public void testNamePrefixSearchIsCaseInsensitive() {
+        addLobby("1", "Alpha", 1);
+        addLobby("2", "alphabet", 2);
+        addLobby("3", "Beta", 3);
+        addLobby("4", "ALP", 4);
+        addLobby("5", "Al", 5);
+
+        assertEquals(List.of("4", "1", "2"), walk("alp", true, 0, 1));
+        assertEquals(List.of("3"), walk("BETA", true, 0, 10));
+        assertEquals(List.of(), walk("gamma", true, 0, 10));
+    }
+
+    @Test
+    public void testOpenAndCreatedSinceFilters() {
+        addLobby("old", "Old", 100);
+        addLobby("full", "Full", 200);
+        addLobby("new", "New", 300);
+        service.connectPlayer("full", new LobbySocketClient(null, null), "Alice");
+        service.connectPlayer("full", new LobbySocketClient(null, null), "Bob");
+
+        assertEquals(List.of("old", "new"), walk(null, true, 0, 10));
+        assertEquals(List.of("old", "full", "new"), walk(null, false, 0, 10));
+        assertEquals(List.of("full", "new"), walk(null, false, 200, 10));
+        assertEquals(List.of("new"), walk("n", true, 200, 10));
+    }
+
+    @Test
+    public void testRemovedLobbiesLeaveTheIndexes() {
+        addLobby("a", "Same", 1);
+        addLobby("b", "Same", 2);
+        service.removeLobby("a");
+        service.releasePlayer("b", LobbiesService.PlayerType.PLAYER_ONE);
+
+        assertEquals(List.of(), walk(null, false, 0, 10));
+        assertEquals(List.of(), walk("same", false, 0, 10));
+    }
+
+    @Test
+    public void testInvalidQueriesAreRejected() {
+        addLobby("a", "A", 1);
+        addLobby("b", "B", 2);
+        String creationCursor = service.findLobbies(new LobbyQuery(null, true, 0, 1, null)).nextCursor();
+        assertNotNull(creationCursor);
+
+        assertThrows(IllegalArgumentException.class, () -> service.findLobbies(new LobbyQuery("a", true, 0, 1, creationCursor)));
+        assertThrows(IllegalArgumentException.class, () -> service.findLobbies(new LobbyQuery(null, true, 0, 1, "not a cursor!")));
+        assertThrows(IllegalArgumentException.class, () -> new LobbyQuery(null, true, 0, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> new LobbyQuery(null, true, 0, 1_000, null));
+    }
+}
@@ -0,0 +1,97 @@
+import it.units.battleship.impl.SerialExecutor;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLobbyMailbox {
+    static final int LOBBIES = 100;
+    static final int MESSAGES_PER_PLAYER = 200;
+
+    @Test
+    @SneakyThrows
+    public void testMessagesAreProcessedInOrder() {
+        SerialExecutor mailbox = new SerialExecutor();
+        List<Integer> processed = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            int message = i;
+            mailbox.execute(() -> {
+                // no synchronization: the mailbox guarantees that tasks never overlap
+                processed.add(message);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < processed.size(); i++) {
+            assertEquals(i, processed.get(i));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testFailingTaskDoesNotStallMailbox() {
+        SerialExecutor mailbox = new SerialExecutor();
+        CountDownLatch done = new CountDownLatch(1);
+        mailbox.execute(() -> {
+            throw new IllegalStateException("Broken message");
+        });
+        mailbox.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Two producer threads per lobby (one for each player socket) push messages into the lobby mailboxes.
+     * Each mailbox checks that the messages of a player arrive in order and that no two tasks of the same lobby overlap.
+     * The throughput is measured by LobbyMailboxBenchmark.
+     */
+    @Test
+    @SneakyThrows
+    public void testConcurrentLobbiesKeepPlayerOrder() {
+        SerialExecutor[] mailboxes = new SerialExecutor[LOBBIES];
+        int[][] lastSeen = new int[LOBBIES][2];
+        AtomicInteger[] running = new AtomicInteger[LOBBIES];
+        for (int i = 0; i < LOBBIES; i++) {
+            mailboxes[i] = new SerialExecutor();
+            lastSeen[i][0] = -1;
+            lastSeen[i][1] = -1;
+            running[i] = new AtomicInteger();
+        }
+        int total = LOBBIES * 2 * MESSAGES_PER_PLAYER;
+        CountDownLatch done = new CountDownLatch(total);
+        AtomicInteger violations = new AtomicInteger();
+
+        ExecutorService producers = Executors.newVirtualThreadPerTaskExecutor();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int lobby = 0; lobby < LOBBIES; lobby++) {
+            for (int player = 0; player < 2; player++) {
+                int l = lobby;
+                int p = player;
+                producers.submit(() -> {
+                    start.await();
+                    for (int m = 0; m < MESSAGES_PER_PLAYER; m++) {
+                        int message = m;
+                        mailboxes[l].execute(() -> {
+                            if (running[l].incrementAndGet() != 1 || lastSeen[l][p] != message - 1) {
+                                violations.incrementAndGet();
+                            }
+                            lastSeen[l][p] = message;
+                            running[l].decrementAndGet();
+                            done.countDown();
+                        });
+                    }
+                    return null;
+                });
+            }
+        }
+        start.countDown();
+        assertTrue(done.await(60, TimeUnit.SECONDS), "Mailboxes did not drain in time");
+        producers.shutdown();
+        assertEquals(0, violations.get());
+    }
+}
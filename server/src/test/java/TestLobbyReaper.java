@@ -0,0 +1,116 @@
+import it.units.battleship.Defaults;
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.impl.TimingWheel;
+import it.units.battleship.models.Lobby;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbyQuery;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLobbyReaper {
+    AtomicLong clock;
+    TimingWheel reaper;
+    LobbiesService service;
+
+    @BeforeEach
+    public void setup() {
+        clock = new AtomicLong(1_000_000);
+        reaper = new TimingWheel(1_000, 64, clock::get);
+        service = new LobbiesService(reaper);
+    }
+
+    void advanceBy(long millis) {
+        clock.addAndGet(millis);
+        reaper.advance();
+    }
+
+    @Test
+    public void testTimeoutsRunOnlyOnceTheirDeadlinePassed() {
+        List<String> fired = new ArrayList<>();
+        reaper.schedule(2_500, () -> fired.add("short"));
+        // further than one turn of the wheel: it waits in its bucket for a later round
+        reaper.schedule(100_000, () -> fired.add("long"));
+        TimingWheel.Timeout cancelled = reaper.schedule(1_000, () -> fired.add("cancelled"));
+        assertTrue(cancelled.cancel());
+
+        advanceBy(2_000);
+        assertTrue(fired.isEmpty());
+        advanceBy(1_000);
+        assertEquals(List.of("short"), fired);
+        advanceBy(64_000);
+        assertEquals(List.of("short"), fired);
+        advanceBy(34_000);
+        assertEquals(List.of("short", "long"), fired);
+        assertEquals(0, reaper.getPendingCount());
+        assertEquals(2, reaper.getExpiredCount());
+    }
+
+    @Test
+    public void testAdvanceOnlyVisitsExpiredTimeouts() {
+        List<Integer> fired = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int id = i;
+            reaper.schedule(30_000 + (i % 20) * 1_000L, () -> fired.add(id));
+        }
+        reaper.advance();
+        assertEquals(10_000, reaper.getPendingCount());
+        advanceBy(30_000);
+        // only the bucket of the elapsed tick expired
+        assertEquals(500, fired.size());
+        assertEquals(9_500, reaper.getPendingCount());
+    }
+
+    @Test
+    public void testUnclaimedLobbyExpiresAfterCreationTtl() {
+        service.addLobby(LobbyData.builder().lobbyID("empty").lobbyName("Empty").build());
+        service.addLobby(LobbyData.builder().lobbyID("joined").lobbyName("Joined").build());
+        service.connectPlayer("joined", new LobbySocketClient(null, null), "Alice");
+
+        advanceBy(Defaults.LOBBY_CREATION_TTL_MS - 1_000);
+        assertNotNull(service.getLobbyByID("empty"));
+        long version = service.getVersion();
+        advanceBy(2_000);
+        assertNull(service.getLobbyByID("empty"));
+        assertNotNull(service.getLobbyByID("joined"));
+        assertTrue(service.getVersion() > version);
+        assertEquals(1, service.findLobbies(new LobbyQuery(null, false, 0, 10, null)).lobbies().size());
+    }
+
+    @Test
+    public void testIdleLobbyExpiresAndActivityPostponesIt() {
+        service.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("Lobby").build());
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Alice");
+        Lobby lobby = service.getLobbyByID("lobby");
+
+        advanceBy(Defaults.LOBBY_IDLE_TTL_MS - 60_000);
+        service.recordActivity(lobby);
+        advanceBy(120_000);
+        assertNotNull(service.getLobbyByID("lobby"));
+
+        advanceBy(Defaults.LOBBY_IDLE_TTL_MS);
+        assertNull(service.getLobbyByID("lobby"));
+        assertEquals(0, reaper.getPendingCount());
+    }
+
+    @Test
+    public void testRemovedLobbyCancelsItsExpiry() {
+        service.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("Lobby").build());
+        Lobby first = service.getLobbyByID("lobby");
+        service.removeLobby("lobby");
+        assertTrue(first.getExpiry().isCancelled());
+
+        // a new lobby under the same ID keeps its own deadline
+        service.addLobby(LobbyData.builder().lobbyID("lobby").lobbyName("Lobby").build());
+        service.connectPlayer("lobby", new LobbySocketClient(null, null), "Alice");
+        advanceBy(Defaults.LOBBY_CREATION_TTL_MS + 1_000);
+        assertNotNull(service.getLobbyByID("lobby"));
+        assertNotSame(first, service.getLobbyByID("lobby"));
+    }
+}
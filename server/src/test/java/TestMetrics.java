@@ -0,0 +1,113 @@
+import it.units.battleship.data.LobbyData;
+import it.units.battleship.data.socket.GameMessageType;
+import it.units.battleship.impl.LatencyHistogram;
+import it.units.battleship.impl.MetricsRegistry;
+import it.units.battleship.impl.TimingWheel;
+import it.units.battleship.routes.lobbies.LobbiesService;
+import it.units.battleship.routes.lobbies.LobbySocketClient;
+import it.units.battleship.routes.metrics.MetricsService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMetrics {
+
+    @Test
+    public void testHistogramQuantilesAreWithinTheBucketResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(1_000L * 10_000 * 10_001 / 2, histogram.getSum());
+        assertWithin(5_000_000, histogram.valueAtQuantile(0.5));
+        assertWithin(9_900_000, histogram.valueAtQuantile(0.99));
+        assertWithin(10_000_000, histogram.valueAtQuantile(1));
+        assertEquals(0, new LatencyHistogram().valueAtQuantile(0.99));
+    }
+
+    static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.04, "Expected about " + expected + " but was " + actual);
+    }
+
+    @Test
+    public void testScrapeWritesThePrometheusTextFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        LongAdder shots = registry.counter("shots_total", "Shots fired", "player", "one");
+        registry.counter("shots_total", "Shots fired", "player", "two \"b\"");
+        AtomicLong depth = new AtomicLong();
+        registry.beforeScrape(() -> depth.set(7));
+        registry.gauge("queue_depth", "Frames waiting", depth::get);
+        registry.histogram("latency_seconds", "Forward latency").record(3);
+        shots.add(2);
+
+        String page = registry.scrape();
+        assertTrue(page.contains("# HELP shots_total Shots fired\n# TYPE shots_total counter\n"));
+        assertTrue(page.contains("shots_total{player=\"one\"} 2\n"));
+        assertTrue(page.contains("shots_total{player=\"two \\\"b\\\"\"} 0\n"));
+        assertTrue(page.contains("# TYPE queue_depth gauge\nqueue_depth 7\n"));
+        assertTrue(page.contains("# TYPE latency_seconds summary\n"));
+        assertTrue(page.contains("latency_seconds{quantile=\"0.99\"} 3.0E-9\n"));
+        assertTrue(page.contains("latency_seconds_count 1\n"));
+
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("shots_total", "Shots fired", depth::get));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("shots_total", "Shots fired", "player", "one"));
+    }
+
+    @Test
+    public void testServerMetricsReadTheLobbies() {
+        LobbiesService lobbiesService = new LobbiesService(new TimingWheel(1_000, 64, () -> 0));
+        MetricsService metrics = new MetricsService(lobbiesService);
+        lobbiesService.addLobby(LobbyData.builder().lobbyID("waiting").lobbyName("Waiting").build());
+        lobbiesService.addLobby(LobbyData.builder().lobbyID("setup").lobbyName("Setup").build());
+        lobbiesService.connectPlayer("setup", new LobbySocketClient(null, null), "Alice");
+        lobbiesService.connectPlayer("setup", new LobbySocketClient(null, null), "Bob");
+        metrics.recordForward(GameMessageType.SHOT_REQUEST, System.nanoTime());
+        metrics.recordForward(null, System.nanoTime());
+        metrics.recordAuthenticationFailure(MetricsService.AuthenticationFailure.LOBBY_FULL);
+
+        String page = metrics.scrape();
+        assertTrue(page.contains("battleship_lobbies{state=\"waiting\"} 1\n"));
+        assertTrue(page.contains("battleship_lobbies{state=\"setup\"} 1\n"));
+        assertTrue(page.contains("battleship_lobbies{state=\"playing\"} 0\n"));
+        assertTrue(page.contains("battleship_messages_forwarded_total{type=\"shot_request\"} 1\n"));
+        assertTrue(page.contains("battleship_messages_forwarded_total{type=\"other\"} 1\n"));
+        assertTrue(page.contains("battleship_authentication_failures_total{reason=\"lobby_full\"} 1\n"));
+        assertTrue(page.contains("battleship_forward_latency_seconds_count 2\n"));
+        assertEquals(1, metrics.getForwardedCount(GameMessageType.SHOT_REQUEST));
+    }
+
+    @Test
+    public void testUtf8LengthMatchesTheEncoding() {
+        for (String text : new String[]{"", "shot_request", "città", "€100", "🚢 ahoy"}) {
+            assertEquals(text.getBytes(StandardCharsets.UTF_8).length, MetricsService.utf8Length(text), text);
+        }
+    }
+
+    @Test
+    public void testRecordingDoesNotAllocate() {
+        MetricsService metrics = new MetricsService(new LobbiesService(new TimingWheel(1_000, 64, () -> 0)));
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        record(metrics, 100_000);
+        long before = threads.getThreadAllocatedBytes(thread);
+        record(metrics, 1_000_000);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        // the reading of the counter itself may allocate a few bytes, the million recordings nothing
+        assertTrue(allocated < 1_024, "Recording allocated " + allocated + " bytes");
+    }
+
+    static void record(MetricsService metrics, int times) {
+        for (int i = 0; i < times; i++) {
+            long start = System.nanoTime();
+            metrics.recordBytesReceived(64);
+            metrics.recordForward(GameMessageType.GRID_DELTA, start);
+            metrics.recordBytesSent(64);
+        }
+    }
+}
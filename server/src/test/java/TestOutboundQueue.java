@@ -0,0 +1,141 @@
+import it.units.battleship.impl.OutboundQueue;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestOutboundQueue {
+
+    /**
+     * Executor that holds the drains until released, to simulate a peer that does not read.
+     */
+    static class ManualExecutor implements java.util.concurrent.Executor {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public synchronized void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (true) {
+                Runnable task;
+                synchronized (this) {
+                    if (tasks.isEmpty()) {
+                        return;
+                    }
+                    task = tasks.removeFirst();
+                }
+                task.run();
+            }
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testFramesAreSentInOrder() {
+        List<String> sent = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1_000);
+        OutboundQueue queue = new OutboundQueue(text -> {
+            sent.add(text);
+            done.countDown();
+        }, frame -> fail("No binary frame was offered"), () -> fail("The queue must not overflow"), 1_000);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(queue.offer(String.valueOf(i)));
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < sent.size(); i++) {
+            assertEquals(String.valueOf(i), sent.get(i));
+        }
+        assertEquals(1_000, sent.size());
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test
+    public void testSupersededFramesAreCoalesced() {
+        ManualExecutor executor = new ManualExecutor();
+        List<String> sent = new ArrayList<>();
+        OutboundQueue queue = new OutboundQueue(sent::add, frame -> sent.add("binary"), () -> {
+        }, 16, executor);
+        queue.offer("lobby 1", "lobby");
+        queue.offer("shot");
+        queue.offer("lobby 2", "lobby");
+        queue.offerBinary(new byte[]{1}, null);
+        queue.offer("lobby 3", "lobby");
+        assertEquals(3, queue.getDepth());
+        executor.runAll();
+        assertEquals(List.of("shot", "binary", "lobby 3"), sent);
+        assertEquals(2, queue.getCoalescedCount());
+        assertEquals(3, queue.getSentCount());
+
+        // a frame already sent is not superseded
+        queue.offer("lobby 4", "lobby");
+        executor.runAll();
+        assertEquals("lobby 4", sent.getLast());
+        assertEquals(0, queue.getDepth());
+    }
+
+    @Test
+    public void testCoalescedFramesDoNotCountAgainstTheLimit() {
+        ManualExecutor executor = new ManualExecutor();
+        AtomicInteger overflows = new AtomicInteger();
+        OutboundQueue queue = new OutboundQueue(text -> {
+        }, frame -> {
+        }, overflows::incrementAndGet, 4, executor);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.offer("frame " + i));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.offer("grid " + i, "grid_update"));
+        }
+        assertFalse(queue.isClosed());
+        assertEquals(4, queue.getDepth());
+        assertEquals(4, queue.getHighWater());
+        assertEquals(9, queue.getCoalescedCount());
+        executor.runAll();
+        assertEquals(0, overflows.get());
+    }
+
+    @Test
+    public void testSlowConsumerIsDisconnected() {
+        ManualExecutor executor = new ManualExecutor();
+        AtomicInteger overflows = new AtomicInteger();
+        List<String> sent = new ArrayList<>();
+        OutboundQueue queue = new OutboundQueue(sent::add, frame -> {
+        }, overflows::incrementAndGet, 4, executor);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer("frame " + i));
+        }
+        assertFalse(queue.offer("frame 4"));
+        assertFalse(queue.offer("frame 5"));
+        assertTrue(queue.isClosed());
+        assertEquals(0, queue.getDepth());
+        assertEquals(6, queue.getDroppedCount());
+        executor.runAll();
+        assertEquals(1, overflows.get());
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testFailedSendClosesTheQueue() {
+        ManualExecutor executor = new ManualExecutor();
+        OutboundQueue queue = new OutboundQueue(text -> {
+            throw new IllegalStateException("Connection reset");
+        }, frame -> {
+        }, () -> {
+        }, 16, executor);
+        queue.offer("first");
+        queue.offer("second");
+        executor.runAll();
+        assertTrue(queue.isClosed());
+        assertEquals(2, queue.getDroppedCount());
+        assertFalse(queue.offer("third"));
+        assertEquals(0, queue.getSentCount());
+    }
+}
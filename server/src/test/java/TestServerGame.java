@@ -0,0 +1,121 @@
+import it.units.battleship.CellState;
+import it.units.battleship.Coordinate;
+import it.units.battleship.Orientation;
+import it.units.battleship.ShipType;
+import it.units.battleship.data.socket.payloads.GridDeltaDTO;
+import it.units.battleship.data.socket.payloads.ShipDTO;
+import it.units.battleship.models.ServerGame;
+import it.units.battleship.routes.lobbies.LobbiesService.PlayerType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestServerGame {
+    static final Map<ShipType, Integer> FLEET = Map.of(ShipType.DESTROYER, 1, ShipType.FRIGATE, 1);
+
+    static ShipDTO ship(ShipType type, int row, int col, Orientation orientation) {
+        return new ShipDTO(type, type.getShipCoordinates(new Coordinate(row, col), orientation), orientation);
+    }
+
+    static List<ShipDTO> fleet() {
+        return List.of(ship(ShipType.DESTROYER, 0, 0, Orientation.HORIZONTAL_RIGHT),
+                ship(ShipType.FRIGATE, 4, 2, Orientation.HORIZONTAL_RIGHT));
+    }
+
+    static ServerGame startedGame() {
+        ServerGame game = new ServerGame(10, 10, FLEET);
+        game.submitFleet(PlayerType.PLAYER_ONE, fleet());
+        game.submitFleet(PlayerType.PLAYER_TWO, fleet());
+        game.start();
+        return game;
+    }
+
+    @Test
+    public void testInvalidFleetsAreRejected() {
+        ServerGame game = new ServerGame(10, 10, FLEET);
+        // missing frigate
+        assertThrows(IllegalArgumentException.class,
+                () -> game.submitFleet(PlayerType.PLAYER_ONE, List.of(ship(ShipType.DESTROYER, 0, 0, Orientation.HORIZONTAL_RIGHT))));
+        // ships touching diagonally
+        assertThrows(IllegalArgumentException.class, () -> game.submitFleet(PlayerType.PLAYER_ONE, List.of(
+                ship(ShipType.DESTROYER, 0, 0, Orientation.HORIZONTAL_RIGHT),
+                ship(ShipType.FRIGATE, 1, 2, Orientation.HORIZONTAL_RIGHT))));
+        // outside the grid
+        assertThrows(IllegalArgumentException.class, () -> game.submitFleet(PlayerType.PLAYER_ONE, List.of(
+                ship(ShipType.DESTROYER, 0, 9, Orientation.HORIZONTAL_RIGHT),
+                ship(ShipType.FRIGATE, 4, 2, Orientation.HORIZONTAL_RIGHT))));
+        // wrong shape
+        assertThrows(IllegalArgumentException.class, () -> game.submitFleet(PlayerType.PLAYER_ONE, List.of(
+                new ShipDTO(ShipType.DESTROYER, ShipType.DESTROYER.getShipCoordinates(new Coordinate(0, 0), Orientation.VERTICAL_DOWN), Orientation.HORIZONTAL_RIGHT),
+                ship(ShipType.FRIGATE, 4, 2, Orientation.HORIZONTAL_RIGHT))));
+        assertFalse(game.hasFleet(PlayerType.PLAYER_ONE));
+
+        game.submitFleet(PlayerType.PLAYER_ONE, fleet());
+        assertTrue(game.hasFleet(PlayerType.PLAYER_ONE));
+        assertThrows(IllegalStateException.class, game::start);
+    }
+
+    @Test
+    public void testShotsAlternateAndAreValidated() {
+        ServerGame game = startedGame();
+        assertThrows(IllegalStateException.class, () -> game.fire(PlayerType.PLAYER_TWO, 5, 5));
+
+        ServerGame.ShotResult miss = game.fire(PlayerType.PLAYER_ONE, 9, 9);
+        assertFalse(miss.delta().shotOutcome());
+        assertEquals(1, miss.delta().sequence());
+        assertEquals(CellState.MISS, miss.delta().changes().getFirst().state());
+        assertEquals(PlayerType.PLAYER_TWO, game.getTurn());
+
+        assertThrows(IllegalArgumentException.class, () -> game.fire(PlayerType.PLAYER_TWO, 10, 0));
+        ServerGame.ShotResult hit = game.fire(PlayerType.PLAYER_TWO, 4, 2);
+        assertTrue(hit.delta().shotOutcome());
+        assertEquals(CellState.HIT, hit.delta().changes().getFirst().state());
+
+        game.fire(PlayerType.PLAYER_ONE, 8, 8);
+        assertThrows(IllegalArgumentException.class, () -> game.fire(PlayerType.PLAYER_TWO, 4, 2));
+        assertEquals(PlayerType.PLAYER_TWO, game.getTurn());
+    }
+
+    @Test
+    public void testSinkingTheLastShipEndsTheGame() {
+        ServerGame game = startedGame();
+        int[][] targets = {{0, 0}, {0, 1}, {4, 2}, {4, 3}, {4, 4}};
+        ServerGame.ShotResult result = null;
+        for (int i = 0; i < targets.length; i++) {
+            result = game.fire(PlayerType.PLAYER_ONE, targets[i][0], targets[i][1]);
+            if (i == 1) {
+                GridDeltaDTO sunk = result.delta();
+                assertEquals(2, sunk.changes().size());
+                assertTrue(sunk.changes().stream().allMatch(change -> change.state() == CellState.SUNK));
+                assertEquals(ShipType.DESTROYER, sunk.sunkShips().getFirst().type());
+            }
+            if (i < targets.length - 1) {
+                assertFalse(result.gameOver());
+                game.fire(PlayerType.PLAYER_TWO, 9, i);
+            }
+        }
+        assertTrue(result.gameOver());
+        assertEquals(PlayerType.PLAYER_ONE, game.getWinner());
+        assertNull(game.getTurn());
+        assertThrows(IllegalStateException.class, () -> game.fire(PlayerType.PLAYER_TWO, 9, 9));
+    }
+
+    @Test
+    public void testSnapshotReplaysUncoveredCells() {
+        ServerGame game = startedGame();
+        game.fire(PlayerType.PLAYER_ONE, 0, 0);
+        game.fire(PlayerType.PLAYER_TWO, 9, 9);
+        game.fire(PlayerType.PLAYER_ONE, 0, 1);
+        game.fire(PlayerType.PLAYER_TWO, 9, 8);
+        game.fire(PlayerType.PLAYER_ONE, 7, 7);
+
+        GridDeltaDTO snapshot = game.snapshotOfOpponent(PlayerType.PLAYER_ONE);
+        assertTrue(snapshot.reset());
+        assertEquals(4, snapshot.sequence());
+        assertEquals(3, snapshot.changes().size());
+        assertEquals(1, snapshot.sunkShips().size());
+    }
+}